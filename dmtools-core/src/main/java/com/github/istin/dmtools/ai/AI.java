@@ -49,6 +49,27 @@ public interface AI {
         return chat(messages);
     }
 
+    /**
+     * Streams the response: {@code handler} receives the text as it is generated and can stop the generation early.
+     * Clients which can't stream deliver the whole response as one delta.
+     *
+     * @return text generated until the end of the response, or until {@code handler} stopped it
+     */
+    default String chatStream(String model, AIStreamHandler handler, Message... messages) throws Exception {
+        return deliverAsDelta(chat(model, messages), handler);
+    }
+
+    default String chatStream(AIStreamHandler handler, Message... messages) throws Exception {
+        return deliverAsDelta(chat(messages), handler);
+    }
+
+    private static String deliverAsDelta(String response, AIStreamHandler handler) {
+        if (response != null && !response.isEmpty()) {
+            handler.onDelta(response);
+        }
+        return response;
+    }
+
     class AgentParams {
         public final static String AGENT_PROMPT = "agentPrompt";
 
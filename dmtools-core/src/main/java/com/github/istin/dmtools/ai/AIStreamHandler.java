@@ -0,0 +1,15 @@
+package com.github.istin.dmtools.ai;
+
+/**
+ * Receives the response of {@link AI#chatStream(String, AIStreamHandler, Message...)} while it is generated.
+ */
+@FunctionalInterface
+public interface AIStreamHandler {
+
+    /**
+     * Called with each piece of generated text, in order.
+     *
+     * @return {@code false} to stop the generation; the request is closed and no more deltas are delivered
+     */
+    boolean onDelta(String delta);
+}
@@ -8,8 +8,6 @@ import lombok.Getter;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class ChunkPreparation {
     // Configuration fields
@@ -20,6 +18,7 @@ public class ChunkPreparation {
     private final int maxFilesPerChunk;
 
     private final TokenCounter tokenCounter;
+    private final TextChunker textChunker;
 
     public ChunkPreparation() {
         this(new Claude35TokenCounter());
@@ -27,6 +26,7 @@ public class ChunkPreparation {
 
     public ChunkPreparation(TokenCounter tokenCounter) {
         this.tokenCounter = tokenCounter;
+        this.textChunker = new TextChunker(tokenCounter);
         PropertyReader propertyReader = new PropertyReader();
         // Initialize configuration fields from PropertyReader
         this.tokenLimit = propertyReader.getPromptChunkTokenLimit();
@@ -222,173 +222,11 @@ public class ChunkPreparation {
      */
     private List<Chunk> splitLargeObject(String largeString, int tokenLimit) {
         List<Chunk> chunks = new ArrayList<>();
-        StringBuilder chunk = new StringBuilder();
-        int currentTokens = 0;
-
-        // Define a pattern for natural break points
-        // Priority: commas/brackets > newlines > spaces
-        Pattern breakPattern = Pattern.compile("([,}\\]]|\\n|\\s)");
-        Matcher matcher = breakPattern.matcher(largeString);
-
-        int lastEnd = 0;
-        int breakPriority = 0; // 0=none, 1=space, 2=newline, 3=comma/bracket
-
-        while (lastEnd < largeString.length()) {
-            // Find the next potential break point
-            boolean foundBreak = matcher.find(lastEnd);
-            int breakPoint = foundBreak ? matcher.end() : largeString.length();
-            String segment = largeString.substring(lastEnd, breakPoint);
-
-            int segmentTokens = tokenCounter.countTokens(segment);
-
-            // Determine break priority
-            if (foundBreak) {
-                char breakChar = largeString.charAt(matcher.start());
-                if (breakChar == ',' || breakChar == '}' || breakChar == ']') {
-                    breakPriority = 3; // Highest priority
-                } else if (breakChar == '\n') {
-                    breakPriority = 2; // Second priority
-                } else {
-                    breakPriority = 1; // Lowest priority (space)
-                }
-            }
-
-            // If adding this segment would exceed the token limit
-            if (currentTokens + segmentTokens > tokenLimit) {
-                // If we're at a good break point or the segment is too large
-                if (breakPriority >= 2 || segmentTokens > tokenLimit / 2) {
-                    // Finalize current chunk
-                    if (!chunk.isEmpty()) {
-                        chunks.add(new Chunk(chunk.toString(), new ArrayList<>(), 0));
-                        chunk = new StringBuilder();
-                        currentTokens = 0;
-                    }
-
-                    // If the segment itself is too large, we need to split it further
-                    if (segmentTokens > tokenLimit) {
-                        // Look for better break points within this segment
-                        int bestBreakPos = findBestBreakPosition(segment, tokenLimit - currentTokens);
-
-                        if (bestBreakPos > 0) {
-                            // Add partial segment up to the best break point
-                            chunk.append(segment.substring(0, bestBreakPos));
-                            chunks.add(new Chunk(chunk.toString(), new ArrayList<>(), 0));
-
-                            // Process the rest of the segment in the next iteration
-                            lastEnd += bestBreakPos;
-                            chunk = new StringBuilder();
-                            currentTokens = 0;
-                            breakPriority = 0;
-                            continue;
-                        } else {
-                            // Split by characters as a last resort
-                            int charsToAdd = Math.max(1, (tokenLimit - currentTokens) / 2);
-                            chunk.append(segment.substring(0, charsToAdd));
-                            chunks.add(new Chunk(chunk.toString(), new ArrayList<>(), 0));
-
-                            lastEnd += charsToAdd;
-                            chunk = new StringBuilder();
-                            currentTokens = 0;
-                            breakPriority = 0;
-                            continue;
-                        }
-                    }
-                } else {
-                    // Try to find a better break point
-                    int lookAhead = lastEnd;
-                    int bestBreak = lastEnd;
-                    int bestPriority = 0;
-
-                    // Look ahead for a better break point within a reasonable distance
-                    while (lookAhead < lastEnd + 200 && lookAhead < largeString.length()) {
-                        char c = largeString.charAt(lookAhead);
-                        int priority = 0;
-
-                        if (c == ',' || c == '}' || c == ']') {
-                            priority = 3;
-                        } else if (c == '\n') {
-                            priority = 2;
-                        } else if (Character.isWhitespace(c)) {
-                            priority = 1;
-                        }
-
-                        if (priority > bestPriority) {
-                            bestBreak = lookAhead + 1; // Include the break character
-                            bestPriority = priority;
-
-                            // If we found a high-priority break, we can stop looking
-                            if (priority >= 2) break;
-                        }
-
-                        lookAhead++;
-                    }
-
-                    // If we found a better break point, use it
-                    if (bestBreak > lastEnd) {
-                        segment = largeString.substring(lastEnd, bestBreak);
-                        segmentTokens = tokenCounter.countTokens(segment);
-                        breakPoint = bestBreak;
-                        breakPriority = bestPriority;
-                    }
-
-                    // If the segment is still too large, finalize current chunk
-                    if (currentTokens + segmentTokens > tokenLimit) {
-                        chunks.add(new Chunk(chunk.toString(), new ArrayList<>(), 0));
-                        chunk = new StringBuilder();
-                        currentTokens = 0;
-                    }
-                }
-            }
-
-            // Add the segment to the current chunk
-            chunk.append(segment);
-            currentTokens += segmentTokens;
-            lastEnd = breakPoint;
+        for (String part : textChunker.split(largeString, tokenLimit)) {
+            chunks.add(new Chunk(part, new ArrayList<>(), 0));
         }
-
-        // Add the final chunk if not empty
-        if (!chunk.isEmpty()) {
-            chunks.add(new Chunk(chunk.toString(), new ArrayList<>(), 0));
-        }
-
         return chunks;
     }
-
-    /**
-     * Helper method to find the best position to break a segment
-     * Prioritizes commas/brackets > newlines > spaces
-     */
-    private int findBestBreakPosition(String segment, int tokenBudget) {
-        int bestPos = 0;
-        int bestPriority = 0;
-        int currentTokens = 0;
-
-        for (int i = 0; i < segment.length(); i++) {
-            char c = segment.charAt(i);
-            String charStr = String.valueOf(c);
-            currentTokens += tokenCounter.countTokens(charStr);
-
-            if (currentTokens > tokenBudget) {
-                break;
-            }
-
-            int priority = 0;
-            if (c == ',' || c == '}' || c == ']') {
-                priority = 3;
-            } else if (c == '\n') {
-                priority = 2;
-            } else if (Character.isWhitespace(c)) {
-                priority = 1;
-            }
-
-            if (priority > 0) {
-                bestPos = i + 1; // Include the break character
-                bestPriority = priority;
-            }
-        }
-
-        return bestPos;
-    }
 }
 
 /**
@@ -396,5 +234,22 @@ public class ChunkPreparation {
  */
 interface TokenCounter {
     int countTokens(String text);
+
+    /**
+     * Tokens every non-empty text starts with, see {@link #charTokens(char, char)}.
+     */
+    default int baseTokens() {
+        return 0;
+    }
+
+    /**
+     * Tokens char {@code c} adds to a text when it follows {@code previous} ({@code 0} for the first char).
+     * Base tokens plus tokens of all chars give the count of a text, which lets the chunker count while reading.
+     *
+     * @return a negative value if the counter can't count char by char
+     */
+    default int charTokens(char previous, char c) {
+        return -1;
+    }
 }
 
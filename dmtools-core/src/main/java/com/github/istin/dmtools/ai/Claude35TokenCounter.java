@@ -3,66 +3,74 @@ package com.github.istin.dmtools.ai;
 /**
  * Example implementation of TokenCounter for Claude 3.5
  * You would need to implement actual token counting logic here
+ * <p>
+ * Counts in one pass without allocations: every char adds its {@link #charTokens(char, char)}
+ * to the base count, so texts can also be counted while they are read.
  */
 public class Claude35TokenCounter implements TokenCounter {
+
+    // Minimum token count for any non-empty string
+    private static final int BASE_TOKEN_COUNT = 8;
+
     @Override
     public int countTokens(String text) {
-        if (text == null || text.isEmpty()) {
+        if (text == null) {
             return 0;
         }
+        return countTokens(text, 0, text.length());
+    }
 
-        // Minimum token count for any non-empty string
-        int baseTokenCount = 8;
-
-        if (text.length() == 1) {
-            return baseTokenCount;
+    /**
+     * Counts tokens of {@code text} from {@code start} (inclusive) to {@code end} (exclusive) without copying it.
+     */
+    public int countTokens(CharSequence text, int start, int end) {
+        if (text == null || end <= start) {
+            return 0;
+        }
+        if (end - start == 1) {
+            return BASE_TOKEN_COUNT;
         }
 
-        // First, handle JSON structure if present
-        int jsonSyntaxTokens = 0;
-        jsonSyntaxTokens += countOccurrences(text, "{");
-        jsonSyntaxTokens += countOccurrences(text, "}");
-        jsonSyntaxTokens += countOccurrences(text, ":");
-        jsonSyntaxTokens += countOccurrences(text, "\"");
-        jsonSyntaxTokens += countOccurrences(text, "\\");
-
-        int totalTokens = baseTokenCount + jsonSyntaxTokens;
+        int totalTokens = BASE_TOKEN_COUNT;
+        char previous = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            totalTokens += charTokens(previous, c);
+            previous = c;
+        }
+        return totalTokens;
+    }
 
-        // Process the text character by character
-        StringBuilder currentWord = new StringBuilder();
+    @Override
+    public int baseTokens() {
+        return BASE_TOKEN_COUNT;
+    }
 
-        for (int i = 0; i < text.length(); i++) {
-            char c = text.charAt(i);
+    @Override
+    public int charTokens(char previous, char c) {
+        // JSON structure characters add a token
+        int tokens = isJsonSyntax(c) ? 1 : 0;
 
-            // Special characters count as 1 token each
-            if (c == '/' || c == '-' || c == '_' || c == '.' || c == ' ') {
-                // If we have a word before this special character, count it
-                if (currentWord.length() > 0) {
-                    totalTokens += 1;  // Each word is 1 token
-                    currentWord = new StringBuilder();
-                }
-                totalTokens += 1;  // Special character is 1 token
-            }
-            // Each uppercase letter adds an extra token
-            else if (Character.isUpperCase(c)) {
-                currentWord.append(c);
-                totalTokens += 1;  // Extra token for uppercase letter
-            }
-            // Regular character, add to current word
-            else {
-                currentWord.append(c);
-            }
+        // Special characters count as 1 token each
+        if (isSpecial(c)) {
+            return tokens + 1;
         }
-
-        // Don't forget the last word if there is one
-        if (currentWord.length() > 0) {
-            totalTokens += 1;
+        // Each uppercase letter adds an extra token
+        if (Character.isUpperCase(c)) {
+            tokens += 1;
+        }
+        // Each word is 1 token, counted at its first character
+        if (previous == 0 || isSpecial(previous)) {
+            tokens += 1;
         }
+        return tokens;
+    }
 
-        return totalTokens;
+    private static boolean isJsonSyntax(char c) {
+        return c == '{' || c == '}' || c == ':' || c == '"' || c == '\\';
     }
 
-    private int countOccurrences(String text, String substring) {
-        return (text.length() - text.replace(substring, "").length()) / substring.length();
+    private static boolean isSpecial(char c) {
+        return c == '/' || c == '-' || c == '_' || c == '.' || c == ' ';
     }
 }
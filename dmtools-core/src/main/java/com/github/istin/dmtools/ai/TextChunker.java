@@ -0,0 +1,115 @@
+package com.github.istin.dmtools.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits text that exceeds a token limit into parts, reading it once.
+ * Tokens of the current part are counted while reading, using {@link TokenCounter#charTokens(char, char)},
+ * and the part is cut at the best natural break seen so far: commas/brackets > newlines > spaces.
+ */
+class TextChunker {
+
+    private static final int MAX_PRIORITY = 3;
+
+    private final TokenCounter tokenCounter;
+
+    TextChunker(TokenCounter tokenCounter) {
+        this.tokenCounter = tokenCounter;
+    }
+
+    List<String> split(CharSequence text, int tokenLimit) {
+        List<String> parts = new ArrayList<>();
+        int length = text.length();
+        if (length == 0) {
+            return parts;
+        }
+
+        // Counters that can't count char by char get the limit converted to chars by their average tokens per char
+        boolean countByChar = tokenCounter.charTokens((char) 0, 'a') >= 0;
+        int baseTokens = countByChar ? tokenCounter.baseTokens() : 0;
+        int limit = tokenLimit;
+        if (!countByChar) {
+            long totalTokens = Math.max(1, tokenCounter.countTokens(text.toString()));
+            limit = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (long) tokenLimit * length / totalTokens));
+        }
+
+        // Last break of each priority in the current part: end position (after the break char),
+        // tokens of the part up to it and tokens of the text read after it
+        int[] breakEnd = new int[MAX_PRIORITY + 1];
+        int[] breakTokens = new int[MAX_PRIORITY + 1];
+        int[] tailTokens = new int[MAX_PRIORITY + 1];
+
+        int start = 0;
+        int tokens = baseTokens;
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int firstCharTokens = countByChar ? tokenCounter.charTokens((char) 0, c) : 1;
+            int charTokens = i == start ? firstCharTokens : (countByChar ? tokenCounter.charTokens(previous, c) : 1);
+
+            // Breaks are dropped after a cut, so a second pass cuts right before this char
+            while (i > start && tokens + charTokens > limit) {
+                int priority = selectBreak(breakEnd, breakTokens, start, limit);
+                int end = priority > 0 ? breakEnd[priority] : i;
+                parts.add(text.subSequence(start, end).toString());
+                tokens = baseTokens + (priority > 0 ? tailTokens[priority] : 0);
+                start = end;
+                for (int p = 1; p <= MAX_PRIORITY; p++) {
+                    breakEnd[p] = 0;
+                }
+                if (i == start) {
+                    charTokens = firstCharTokens;
+                }
+            }
+
+            tokens += charTokens;
+            for (int p = 1; p <= MAX_PRIORITY; p++) {
+                if (breakEnd[p] > start) {
+                    tailTokens[p] += breakEnd[p] == i ? firstCharTokens : charTokens;
+                }
+            }
+            int priority = breakPriority(c);
+            if (priority > 0) {
+                breakEnd[priority] = i + 1; // Include the break character
+                breakTokens[priority] = tokens;
+                tailTokens[priority] = 0;
+            }
+            previous = c;
+        }
+        parts.add(text.subSequence(start, length).toString());
+        return parts;
+    }
+
+    /**
+     * Prefers the highest priority break that keeps at least half of the limit in the part,
+     * otherwise the latest break of any priority.
+     *
+     * @return priority of the selected break, 0 if the part has no breaks
+     */
+    private static int selectBreak(int[] breakEnd, int[] breakTokens, int start, int limit) {
+        for (int p = MAX_PRIORITY; p > 0; p--) {
+            if (breakEnd[p] > start && breakTokens[p] >= limit / 2) {
+                return p;
+            }
+        }
+        int latest = 0;
+        for (int p = 1; p <= MAX_PRIORITY; p++) {
+            if (breakEnd[p] > start && (latest == 0 || breakEnd[p] > breakEnd[latest])) {
+                latest = p;
+            }
+        }
+        return latest;
+    }
+
+    private static int breakPriority(char c) {
+        if (c == ',' || c == '}' || c == ']') {
+            return 3;
+        } else if (c == '\n') {
+            return 2;
+        } else if (Character.isWhitespace(c)) {
+            return 1;
+        }
+        return 0;
+    }
+}
@@ -1,10 +1,10 @@
 package com.github.istin.dmtools.ai;
 
-import com.github.istin.dmtools.atlassian.common.networking.AtlassianRestClient;
 import com.github.istin.dmtools.atlassian.jira.utils.IssuesIDsParser;
 import com.github.istin.dmtools.common.model.IComment;
 import com.github.istin.dmtools.common.model.ITicket;
 import com.github.istin.dmtools.common.model.ToText;
+import com.github.istin.dmtools.common.tracker.TicketResolver;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.prompt.input.TicketBasedPrompt;
 import lombok.Getter;
@@ -14,12 +14,11 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class TicketContext implements ToText {
@@ -75,38 +74,25 @@ public class TicketContext implements ToText {
                         .collect(Collectors.toList());
 
                 if (!keysToFetch.isEmpty()) {
-                    // Create executor service for parallel processing
-                    // Use a reasonable number of threads to avoid overwhelming the API
-                    int threadPoolSize = Math.min(keysToFetch.size(), 5); // Max 5 concurrent requests
-                    ExecutorService executorService = Executors.newFixedThreadPool(threadPoolSize);
-
-                    // Create CompletableFutures for parallel ticket fetching
-                    List<CompletableFuture<ITicket>> futures = keysToFetch.stream()
-                            .map(key -> CompletableFuture.supplyAsync(() -> fetchSingleTicket(key), executorService))
+                    Map<String, ITicket> fetched = new HashMap<>();
+                    // Try custom details request first if available
+                    if (onTicketDetailsRequest != null) {
+                        fetched.putAll(TicketResolver.loadEach(keysToFetch, this::fetchCustomTicket));
+                        fetched.values().removeIf(Objects::isNull);
+                    }
+
+                    // Remaining keys are resolved with batched requests and reused across tickets of the run
+                    List<String> remainingKeys = keysToFetch.stream()
+                            .filter(key -> !fetched.containsKey(key))
                             .collect(Collectors.toList());
+                    if (!remainingKeys.isEmpty()) {
+                        fetched.putAll(TicketResolver.resolve(trackerClient, remainingKeys, trackerClient.getExtendedQueryFields()));
+                    }
 
-                    // Wait for all tickets to be fetched and collect results
-                    try {
-                        List<ITicket> fetchedTickets = futures.stream()
-                                .map(CompletableFuture::join)
-                                .filter(t -> t != null) // Filter out failed fetches
-                                .collect(Collectors.toList());
-
-                        extraTickets.addAll(fetchedTickets);
-
-                    } catch (Exception e) {
-                        logger.error("TIMING: Error during parallel ticket fetching: {}", e.getMessage());
-                    } finally {
-                        // Shutdown executor service
-                        executorService.shutdown();
-                        try {
-                            if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
-                                executorService.shutdownNow();
-                                logger.warn("TIMING: Executor service forced shutdown after timeout");
-                            }
-                        } catch (InterruptedException e) {
-                            executorService.shutdownNow();
-                            Thread.currentThread().interrupt();
+                    for (String key : keysToFetch) {
+                        ITicket fetchedTicket = fetched.get(key);
+                        if (fetchedTicket != null) {
+                            extraTickets.add(fetchedTicket);
                         }
                     }
                 }
@@ -123,37 +109,11 @@ public class TicketContext implements ToText {
         
     }
 
-    /**
-     * Helper method to fetch a single ticket with proper error handling and timing
-     * This method is designed to be called from parallel processing contexts
-     * 
-     * @param key The ticket key to fetch
-     * @return The fetched ticket or null if fetching failed
-     */
-    private ITicket fetchSingleTicket(String key) {
+    private ITicket fetchCustomTicket(String key) {
         try {
-            ITicket fetchedTicket = null;
-            
-            // Try custom details request first if available
-            if (onTicketDetailsRequest != null) {
-                try {
-                    fetchedTicket = onTicketDetailsRequest.getTicketDetails(key);
-                } catch (Exception e) {
-                    logger.debug("TIMING: Custom ticket details request failed for {}: {}", key, e.getMessage());
-                }
-            }
-            
-            // Fallback to standard performTicket if custom request failed or unavailable
-            if (fetchedTicket == null) {
-                fetchedTicket = trackerClient.performTicket(key, trackerClient.getExtendedQueryFields());
-            }
-            
-
-            return fetchedTicket;
-            
-        } catch (AtlassianRestClient.RestClientException e) {
-            return null;
+            return onTicketDetailsRequest.getTicketDetails(key);
         } catch (Exception e) {
+            logger.debug("TIMING: Custom ticket details request failed for {}: {}", key, e.getMessage());
             return null;
         }
     }
@@ -25,9 +25,21 @@ public abstract class AbstractSimpleAgent<Params, Result> implements IAgent<Para
     public interface GetChunks {
         List<ChunkPreparation.Chunk> getChunks();
 
+        /**
+         * Deadline in milliseconds for processing all chunks, 0 for none.
+         * Chunk calls still running at the deadline are cancelled and left out of the final prompt.
+         */
         default long getChunksProcessingTimeout() {
             return 0;
         }
+
+        /**
+         * Token limit of the chunk responses passed to the final prompt, 0 for no limit.
+         * Responses that exceed it together are reduced in groups with the final prompt first.
+         */
+        default int getChunksReduceTokenLimit() {
+            return 0;
+        }
     }
 
     @Inject
@@ -81,6 +93,7 @@ public abstract class AbstractSimpleAgent<Params, Result> implements IAgent<Para
         
         List<ChunkPreparation.Chunk> chunks = new ArrayList<>();
         long chunksProcessingTimeout = 0;
+        int chunksReduceTokenLimit = 0;
         if (params instanceof GetChunks) {
             GetChunks getChunks = (GetChunks) params;
             List<ChunkPreparation.Chunk> chunksList = getChunks.getChunks();
@@ -88,6 +101,7 @@ public abstract class AbstractSimpleAgent<Params, Result> implements IAgent<Para
                 chunks.addAll(chunksList);
             }
             chunksProcessingTimeout = getChunks.getChunksProcessingTimeout();
+            chunksReduceTokenLimit = getChunks.getChunksReduceTokenLimit();
         }
 
 
@@ -95,41 +109,19 @@ public abstract class AbstractSimpleAgent<Params, Result> implements IAgent<Para
         String response;
         String prompt;
         if (!chunks.isEmpty()) {
-            // Process chunks one by one
-            StringBuilder chunkResponses = new StringBuilder();
-            long startTime = System.currentTimeMillis();
-            
-            for (int i = 0; i < chunks.size(); i++) {
-                ChunkPreparation.Chunk chunk = chunks.get(i);
-                
-                // Check for timeout
-                if (chunksProcessingTimeout > 0 && 
-                    System.currentTimeMillis() - startTime > chunksProcessingTimeout) {
-                    break;
-                }
-                
-                // Process the chunk
-                PromptContext chunkContext = new PromptContext(params);
-                chunkContext.set("chunk", chunk);
-                chunkContext.set("chunkIndex", i);
-                chunkContext.set("totalChunks", chunks.size());
-                
-                String chunkPrompt = promptTemplateReader.read(promptName, chunkContext);
-                String chunkResponse = ai.chat(model, chunkPrompt, agentContext);
-                
-                if (i > 0) {
-                    chunkResponses.append("\n\n");
-                }
-                chunkResponses.append(chunkResponse);
+            // Process chunks concurrently, responses keep the order of the chunks
+            int totalChunks = chunks.size();
+            ChunkMapReduce mapReduce = ChunkMapReduce.forAgent(this);
+            List<String> chunkResponses = mapReduce.map(chunks, chunksProcessingTimeout,
+                    (chunk, index) -> ai.chat(model, readChunkPrompt(params, chunk, index, totalChunks), agentContext));
+
+            if (chunksReduceTokenLimit > 0) {
+                chunkResponses = mapReduce.treeReduce(chunkResponses, chunksReduceTokenLimit,
+                        (partial, index) -> ai.chat(model, readChunkPrompt(params, new ChunkPreparation.Chunk(partial, null, 0), totalChunks, totalChunks), agentContext));
             }
-            PromptContext chunkContext = new PromptContext(params);
-            chunkContext.set("chunk", new ChunkPreparation.Chunk(chunkResponses.toString(), null, 0));
-            chunkContext.set("chunkIndex", chunks.size());
-            chunkContext.set("totalChunks", chunks.size());
-
-            String chunkPrompt = promptTemplateReader.read(promptName, chunkContext);
-            prompt = chunkPrompt;
-            response = ai.chat(model, chunkPrompt, agentContext);
+
+            prompt = readChunkPrompt(params, new ChunkPreparation.Chunk(String.join("\n\n", chunkResponses), null, 0), totalChunks, totalChunks);
+            response = ai.chat(model, prompt, agentContext);
         } else {
             context.set("chunkIndex", -1);
             prompt = promptTemplateReader.read(promptName, context);
@@ -155,6 +147,14 @@ public abstract class AbstractSimpleAgent<Params, Result> implements IAgent<Para
         }
     }
     
+    private String readChunkPrompt(Params params, ChunkPreparation.Chunk chunk, int chunkIndex, int totalChunks) throws Exception {
+        PromptContext chunkContext = new PromptContext(params);
+        chunkContext.set("chunk", chunk);
+        chunkContext.set("chunkIndex", chunkIndex);
+        chunkContext.set("totalChunks", totalChunks);
+        return promptTemplateReader.read(promptName, chunkContext);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Class<Params> getParamsClass() {
@@ -0,0 +1,151 @@
+package com.github.istin.dmtools.ai.agent;
+
+import com.github.istin.dmtools.ai.AI;
+import com.github.istin.dmtools.ai.ChunkPreparation;
+import com.github.istin.dmtools.common.utils.PropertyReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Runs per-chunk AI calls concurrently and reduces their partial results.
+ * <p>
+ * Calls to the same AI provider share one limit of concurrent requests ({@code AI_CHUNK_CONCURRENCY}),
+ * results are returned in the order of the chunks and an optional deadline cancels calls that are still running.
+ */
+public class ChunkMapReduce {
+
+    private static final Logger logger = LogManager.getLogger(ChunkMapReduce.class);
+
+    private static final Map<String, ChunkMapReduce> PROVIDERS = new ConcurrentHashMap<>();
+
+    // Set in map tasks, so nested maps reuse the permit of their task instead of waiting for another one
+    private static final ThreadLocal<Boolean> IN_TASK = ThreadLocal.withInitial(() -> false);
+
+    @FunctionalInterface
+    public interface ChunkCall<T, R> {
+        R call(T item, int index) throws Exception;
+    }
+
+    private final Semaphore permits;
+
+    ChunkMapReduce(int concurrency) {
+        this.permits = new Semaphore(Math.max(1, concurrency));
+    }
+
+    public static ChunkMapReduce forAI(AI ai) {
+        String provider = ai == null ? "default" : ai.getClass().getName();
+        return PROVIDERS.computeIfAbsent(provider, key -> new ChunkMapReduce(new PropertyReader().getAIChunkConcurrency()));
+    }
+
+    public static ChunkMapReduce forAgent(AbstractSimpleAgent<?, ?> agent) {
+        return forAI(agent == null ? null : agent.ai);
+    }
+
+    /**
+     * Instance for calls to a non-AI source, e.g. a tracker search. Sources have their own limit
+     * ({@code SEARCH_SOURCE_CONCURRENCY}), so they don't take permits of AI providers.
+     */
+    public static ChunkMapReduce forSource(String source) {
+        return PROVIDERS.computeIfAbsent("source:" + source, key -> new ChunkMapReduce(new PropertyReader().getSearchSourceConcurrency()));
+    }
+
+    /**
+     * Calls {@code call} for every item, at most the provider limit at a time.
+     *
+     * @param timeoutMillis deadline for all calls, 0 for none. Calls not finished by the deadline are cancelled
+     *                      and their results are left out.
+     * @return results of the finished calls in the order of the items
+     */
+    public <T, R> List<R> map(List<T> items, long timeoutMillis, ChunkCall<T, R> call) throws Exception {
+        List<R> results = new ArrayList<>(items.size());
+        long deadline = timeoutMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0;
+
+        if (items.size() <= 1 || IN_TASK.get()) {
+            for (int i = 0; i < items.size(); i++) {
+                if (deadline > 0 && System.nanoTime() - deadline > 0) {
+                    logger.warn("Chunks processing timeout reached, skipping {} of {} chunks", items.size() - i, items.size());
+                    break;
+                }
+                results.add(call.call(items.get(i), i));
+            }
+            return results;
+        }
+
+        // Not closed with try-with-resources: close() waits for running calls, shutdownNow() cancels them
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                T item = items.get(i);
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    IN_TASK.set(true);
+                    try {
+                        return call.call(item, index);
+                    } finally {
+                        IN_TASK.remove();
+                        permits.release();
+                    }
+                }));
+            }
+
+            int skipped = 0;
+            for (Future<R> future : futures) {
+                if (deadline == 0) {
+                    results.add(future.get());
+                    continue;
+                }
+                try {
+                    results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    skipped++;
+                }
+            }
+            if (skipped > 0) {
+                logger.warn("Chunks processing timeout reached, skipping {} of {} chunks", skipped, items.size());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reduces partial results level by level until they fit into {@code tokenLimit} together:
+     * partials are grouped into chunks of the limit and every group is reduced by one call.
+     *
+     * @return partials that fit into the limit, or the last level if grouping no longer makes them fewer
+     */
+    public List<String> treeReduce(List<String> partials, int tokenLimit, ChunkCall<String, String> reduce) throws Exception {
+        ChunkPreparation chunkPreparation = new ChunkPreparation();
+        List<String> current = partials;
+        while (current.size() > 1) {
+            List<ChunkPreparation.Chunk> groups = chunkPreparation.prepareChunks(current, tokenLimit);
+            if (groups.size() <= 1 || groups.size() >= current.size()) {
+                break;
+            }
+            logger.info("Reducing {} partial results in {} groups", current.size(), groups.size());
+            List<String> texts = new ArrayList<>(groups.size());
+            for (ChunkPreparation.Chunk group : groups) {
+                texts.add(group.getText());
+            }
+            current = map(texts, 0, reduce);
+        }
+        return current;
+    }
+}
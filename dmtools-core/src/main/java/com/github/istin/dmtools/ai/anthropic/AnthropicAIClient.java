@@ -2,9 +2,12 @@ package com.github.istin.dmtools.ai.anthropic;
 
 import com.github.istin.dmtools.ai.AI;
 import com.github.istin.dmtools.ai.AIFileFilter;
+import com.github.istin.dmtools.ai.AIStreamHandler;
 import com.github.istin.dmtools.ai.ConversationObserver;
 import com.github.istin.dmtools.ai.Message;
 import com.github.istin.dmtools.ai.model.Metadata;
+import com.github.istin.dmtools.ai.stream.AIStreams;
+import com.github.istin.dmtools.ai.stream.StreamFormats;
 import com.github.istin.dmtools.common.networking.GenericRequest;
 import com.github.istin.dmtools.common.utils.ImageUtils;
 import com.github.istin.dmtools.common.utils.RetryUtil;
@@ -237,7 +240,11 @@ public class AnthropicAIClient extends AbstractRestClient implements AI {
         String path = getBasePath();
         logger.info(path);
         GenericRequest postRequest = new GenericRequest(this, path);
+        postRequest.setBody(buildRequestBody(model, messagesArray).toString());
+        return RetryUtil.executeWithRetry(() -> processResponse(model, postRequest));
+    }
 
+    private JSONObject buildRequestBody(String model, JSONArray messagesArray) {
         JSONObject jsonObject = new JSONObject()
                 .put("model", model)
                 .put("max_tokens", maxTokens)
@@ -246,8 +253,7 @@ public class AnthropicAIClient extends AbstractRestClient implements AI {
         if (metadata != null) {
             jsonObject.put("metadata", new JSONObject(new Gson().toJson(metadata)));
         }
-        postRequest.setBody(jsonObject.toString());
-        return RetryUtil.executeWithRetry(() -> processResponse(model, postRequest));
+        return jsonObject;
     }
 
     private String processResponse(String model, GenericRequest postRequest) throws IOException {
@@ -330,7 +336,10 @@ public class AnthropicAIClient extends AbstractRestClient implements AI {
         if (model == null) {
             model = this.model;
         }
+        return performChatCompletion(model, buildMessagesArray(messages));
+    }
 
+    private JSONArray buildMessagesArray(Message... messages) throws IOException {
         // Normalize message roles to ensure compatibility with this AI provider
         Message[] normalizedMessages = normalizeMessageRoles(messages);
 
@@ -376,8 +385,7 @@ public class AnthropicAIClient extends AbstractRestClient implements AI {
             messagesArray.put(messageJson);
         }
         logger.info("-------- end chat ai with messages processing --------");
-
-        return performChatCompletion(model, messagesArray);
+        return messagesArray;
     }
 
     @Override
@@ -385,6 +393,29 @@ public class AnthropicAIClient extends AbstractRestClient implements AI {
         return chat(this.model, messages);
     }
 
+    @Override
+    public String chatStream(String model, AIStreamHandler handler, Message... messages) throws Exception {
+        if (model == null) {
+            model = this.model;
+        }
+        GenericRequest postRequest = new GenericRequest(this, getBasePath());
+        postRequest.setBody(buildRequestBody(model, buildMessagesArray(messages)).put("stream", true).toString());
+        String content = AIStreams.streamSse(getClient(), buildPostRequest(postRequest), StreamFormats.ANTHROPIC, handler);
+
+        if (conversationObserver != null) {
+            conversationObserver.addMessage(new ConversationObserver.Message(model, content));
+        }
+        logger.info("-------- ai response --------");
+        logger.info(content);
+        logger.info("-------- end chat ai --------");
+        return content;
+    }
+
+    @Override
+    public String chatStream(AIStreamHandler handler, Message... messages) throws Exception {
+        return chatStream(this.model, handler, messages);
+    }
+
     @Override
     public String chat(String model, String message, List<File> files) throws Exception {
         return chat(model, message, files != null && !files.isEmpty() ? files.getFirst() : null);
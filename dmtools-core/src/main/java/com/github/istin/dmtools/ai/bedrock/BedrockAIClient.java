@@ -2,6 +2,7 @@ package com.github.istin.dmtools.ai.bedrock;
 
 import com.github.istin.dmtools.ai.AI;
 import com.github.istin.dmtools.ai.AIFileFilter;
+import com.github.istin.dmtools.ai.AIStreamHandler;
 import com.github.istin.dmtools.ai.ConversationObserver;
 import com.github.istin.dmtools.ai.Message;
 import com.github.istin.dmtools.ai.model.Metadata;
@@ -9,12 +10,15 @@ import com.github.istin.dmtools.ai.bedrock.auth.BedrockAuthenticationStrategy;
 import com.github.istin.dmtools.ai.bedrock.auth.BearerTokenAuthenticationStrategy;
 import com.github.istin.dmtools.ai.bedrock.auth.DefaultCredentialsAuthenticationStrategy;
 import com.github.istin.dmtools.ai.bedrock.auth.IAMKeysAuthenticationStrategy;
+import com.github.istin.dmtools.ai.stream.AIStreams;
+import com.github.istin.dmtools.ai.stream.StreamFormats;
 import com.github.istin.dmtools.common.networking.GenericRequest;
 import com.github.istin.dmtools.common.utils.ImageUtils;
 import com.github.istin.dmtools.common.utils.RetryUtil;
 import com.github.istin.dmtools.mcp.MCPParam;
 import com.github.istin.dmtools.mcp.MCPTool;
 import com.github.istin.dmtools.networking.AbstractRestClient;
+import com.github.istin.dmtools.networking.cache.CachedResponse;
 import com.google.gson.Gson;
 import lombok.Getter;
 import lombok.Setter;
@@ -22,7 +26,6 @@ import okhttp3.MediaType;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
@@ -433,6 +436,18 @@ public class BedrockAIClient extends AbstractRestClient implements AI {
 
     private String performChatCompletion(String model, JSONArray messagesArray, ModelType modelType) throws Exception {
         // Always use invoke endpoint (Nova models support images via invoke)
+        String path = buildModelPath(model, "invoke");
+        logger.info(path);
+        GenericRequest postRequest = new GenericRequest(this, path);
+
+        // Build standard invoke request body
+        JSONObject jsonObject = buildInvokeBody(model, messagesArray, modelType);
+        postRequest.setBody(jsonObject.toString());
+        logger.debug("Request body for {}: {}", model, sanitizeJsonForLogging(jsonObject));
+        return RetryUtil.executeWithRetry(() -> processResponse(model, postRequest, modelType));
+    }
+
+    private String buildModelPath(String model, String action) {
         // For inference profile ARN, use the full ARN (Bedrock InvokeModel accepts full ARN in path)
         // Inference profile ARN format: arn:aws:bedrock:region:account:inference-profile/model-id
         // Direct model ID format: model-id (e.g., eu.amazon.nova-lite-v1:0)
@@ -451,19 +466,15 @@ public class BedrockAIClient extends AbstractRestClient implements AI {
                 // Fallback: use as-is (may cause issues with special characters)
             }
         }
-        String path = path("/model/" + modelIdForPath + "/invoke");
-        logger.info(path);
-        GenericRequest postRequest = new GenericRequest(this, path);
+        return path("/model/" + modelIdForPath + "/" + action);
+    }
 
-        // Build standard invoke request body
+    private JSONObject buildInvokeBody(String model, JSONArray messagesArray, ModelType modelType) {
         JSONObject jsonObject = buildRequestBody(model, messagesArray, modelType);
         if (metadata != null) {
             jsonObject.put("metadata", new JSONObject(new Gson().toJson(metadata)));
         }
-        
-        postRequest.setBody(jsonObject.toString());
-        logger.debug("Request body for {}: {}", model, sanitizeJsonForLogging(jsonObject));
-        return RetryUtil.executeWithRetry(() -> processResponse(model, postRequest, modelType));
+        return jsonObject;
     }
     
     /**
@@ -772,13 +783,16 @@ public class BedrockAIClient extends AbstractRestClient implements AI {
         if (model == null) {
             model = this.modelId;
         }
+        ModelType modelType = detectModelType(model);
+        return performChatCompletion(model, buildMessagesArray(modelType, messages), modelType);
+    }
 
+    private JSONArray buildMessagesArray(ModelType modelType, Message... messages) throws IOException {
         // Normalize message roles
         Message[] normalizedMessages = normalizeMessageRoles(messages);
 
         logger.info("-------- start chat ai with messages --------");
         JSONArray messagesArray = new JSONArray();
-        ModelType modelType = detectModelType(model);
         
         for (Message message : normalizedMessages) {
             if (conversationObserver != null) {
@@ -924,8 +938,7 @@ public class BedrockAIClient extends AbstractRestClient implements AI {
             messagesArray.put(messageJson);
         }
         logger.info("-------- end chat ai with messages processing --------");
-
-        return performChatCompletion(model, messagesArray, modelType);
+        return messagesArray;
     }
 
     @Override
@@ -933,6 +946,31 @@ public class BedrockAIClient extends AbstractRestClient implements AI {
         return chat(this.modelId, messages);
     }
 
+    @Override
+    public String chatStream(String model, AIStreamHandler handler, Message... messages) throws Exception {
+        if (model == null) {
+            model = this.modelId;
+        }
+        ModelType modelType = detectModelType(model);
+        GenericRequest postRequest = new GenericRequest(this, buildModelPath(model, "invoke-with-response-stream"));
+        postRequest.header("Accept", "application/vnd.amazon.eventstream");
+        postRequest.setBody(buildInvokeBody(model, buildMessagesArray(modelType, messages), modelType).toString());
+        String content = AIStreams.streamEventStream(getClient(), buildPostRequest(postRequest), StreamFormats.BEDROCK, handler);
+
+        if (conversationObserver != null) {
+            conversationObserver.addMessage(new ConversationObserver.Message(model, content));
+        }
+        logger.info("-------- ai response --------");
+        logger.info(content);
+        logger.info("-------- end chat ai --------");
+        return content;
+    }
+
+    @Override
+    public String chatStream(AIStreamHandler handler, Message... messages) throws Exception {
+        return chatStream(this.modelId, handler, messages);
+    }
+
     @Override
     public String chat(String model, String message, List<File> files) throws Exception {
         if (files == null || files.isEmpty()) {
@@ -975,13 +1013,10 @@ public class BedrockAIClient extends AbstractRestClient implements AI {
 
         // Check cache first
         if (isCachePostRequestsEnabled() && !genericRequest.isIgnoreCache()) {
-            String value = getCacheFileName(genericRequest);
-            File cache = new File(getCacheFolderName());
-            cache.mkdirs();
-            File cachedFile = new File(getCacheFolderName() + "/" + value);
-            if (cachedFile.exists()) {
+            CachedResponse cached = getResponseCache().get(getCacheFileName(genericRequest));
+            if (cached != null && !cached.isExpired()) {
                 logger.info("Read From Cache: ");
-                return FileUtils.readFileToString(cachedFile, "UTF-8");
+                return cached.getBody();
             } else {
                 logger.info("Network Request: ");
             }
@@ -989,6 +1024,40 @@ public class BedrockAIClient extends AbstractRestClient implements AI {
             logger.info("Network Request: ");
         }
 
+        Request request = buildPostRequest(genericRequest);
+
+        long startTime = System.currentTimeMillis();
+        logger.debug("POST request starting for URL: {} (attempt: {}, auth: {})", url, 1, authenticationStrategy.getAuthenticationType());
+        
+        try (Response response = getClient().newCall(request).execute()) {
+            long responseTime = System.currentTimeMillis() - startTime;
+            logger.debug("POST response received for URL: {} in {}ms, status: {}", url, responseTime, response.code());
+            
+            if (response.isSuccessful()) {
+                String responseAsString = response.body() != null ? response.body().string() : "";
+                logger.debug("POST success for URL: {} ({}ms, {} chars response)", url, responseTime, responseAsString.length());
+                
+                if (isCachePostRequestsEnabled()) {
+                    getResponseCache().put(getCacheFileName(genericRequest), responseAsString, null);
+                }
+                return responseAsString;
+            } else {
+                logger.warn("POST failed for URL: {} ({}ms, status: {})", url, responseTime, response.code());
+                throw AbstractRestClient.printAndCreateException(request, response);
+            }
+        } catch (IOException e) {
+            logger.warn("POST connection error for URL: {} - Error: {} (Attempt: {}/{})", url, e.getMessage(), 1, 3);
+            throw e;
+        }
+    }
+
+    /**
+     * Builds a POST request signed by the authentication strategy, with Content-Type exactly "application/json".
+     * Used both by {@link #post(GenericRequest)} and by streaming invocations.
+     */
+    @Override
+    protected Request buildPostRequest(GenericRequest genericRequest) {
+        String url = genericRequest.url();
         // Use MediaType without charset for Bedrock API compatibility
         // Create RequestBody with bytes to have full control over Content-Type
         String requestBody = genericRequest.getBody();
@@ -1022,35 +1091,7 @@ public class BedrockAIClient extends AbstractRestClient implements AI {
         // For IAM Keys/Default Credentials, this signs with AWS Signature V4
         String authType = authenticationStrategy.getAuthenticationType();
         logger.info("Signing request with authentication type: {}", authType);
-        Request request = authenticationStrategy.signRequest(requestBuilder, url, requestBody, region, customHeaders);
-        
-        long startTime = System.currentTimeMillis();
-        logger.debug("POST request starting for URL: {} (attempt: {}, auth: {})", url, 1, authType);
-        
-        try (Response response = getClient().newCall(request).execute()) {
-            long responseTime = System.currentTimeMillis() - startTime;
-            logger.debug("POST response received for URL: {} in {}ms, status: {}", url, responseTime, response.code());
-            
-            if (response.isSuccessful()) {
-                String responseAsString = response.body() != null ? response.body().string() : "";
-                logger.debug("POST success for URL: {} ({}ms, {} chars response)", url, responseTime, responseAsString.length());
-                
-                if (isCachePostRequestsEnabled()) {
-                    String value = getCacheFileName(genericRequest);
-                    File cache = new File(getCacheFolderName());
-                    cache.mkdirs();
-                    File cachedFile = new File(getCacheFolderName() + "/" + value);
-                    FileUtils.writeStringToFile(cachedFile, responseAsString, "UTF-8");
-                }
-                return responseAsString;
-            } else {
-                logger.warn("POST failed for URL: {} ({}ms, status: {})", url, responseTime, response.code());
-                throw AbstractRestClient.printAndCreateException(request, response);
-            }
-        } catch (IOException e) {
-            logger.warn("POST connection error for URL: {} - Error: {} (Attempt: {}/{})", url, e.getMessage(), 1, 3);
-            throw e;
-        }
+        return authenticationStrategy.signRequest(requestBuilder, url, requestBody, region, customHeaders);
     }
 
     /**
@@ -2,9 +2,12 @@ package com.github.istin.dmtools.ai.dial;
 
 import com.github.istin.dmtools.ai.AI;
 import com.github.istin.dmtools.ai.AIFileFilter;
+import com.github.istin.dmtools.ai.AIStreamHandler;
 import com.github.istin.dmtools.ai.ConversationObserver;
 import com.github.istin.dmtools.ai.Message;
 import com.github.istin.dmtools.ai.model.Metadata;
+import com.github.istin.dmtools.ai.stream.AIStreams;
+import com.github.istin.dmtools.ai.stream.StreamFormats;
 import com.github.istin.dmtools.common.networking.GenericRequest;
 import com.github.istin.dmtools.common.utils.ImageUtils;
 import com.github.istin.dmtools.common.utils.RetryUtil;
@@ -199,6 +202,14 @@ public class DialAIClient extends AbstractRestClient implements AI {
     }
 
     private String performChatCompletion(String executionModel, JSONArray messagesArray, JSONObject agentContext) throws Exception {
+        String path = buildCompletionPath(executionModel);
+        logger.info(path);
+        GenericRequest postRequest = new GenericRequest(this, path);
+        postRequest.setBody(buildRequestBody(executionModel, messagesArray, agentContext).toString());
+        return RetryUtil.executeWithRetry(() -> processResponse(executionModel, postRequest));
+    }
+
+    private String buildCompletionPath(String executionModel) {
         String basePath = path("openai/deployments/" + executionModel + "/chat/completions");
         String path = basePath;
         
@@ -212,16 +223,15 @@ public class DialAIClient extends AbstractRestClient implements AI {
                 path = urlWithApiVersion.toString();
             }
         }
-        
-        logger.info(path);
-        GenericRequest postRequest = new GenericRequest(this, path);
+        return path;
+    }
 
+    private JSONObject buildRequestBody(String executionModel, JSONArray messagesArray, JSONObject agentContext) {
         JSONObject jsonObject = buildParams(executionModel, messagesArray, agentContext);
         if (metadata != null) {
             jsonObject.put("metadata", new JSONObject(new Gson().toJson(metadata)));
         }
-        postRequest.setBody(jsonObject.toString());
-        return RetryUtil.executeWithRetry(() -> processResponse(executionModel, postRequest));
+        return jsonObject;
     }
 
     private JSONObject buildParams(String executionModel, JSONArray messagesArray, JSONObject agentContext) {
@@ -280,7 +290,10 @@ public class DialAIClient extends AbstractRestClient implements AI {
         if (executionModel == null) {
             executionModel = this.model;
         }
+        return performChatCompletion(executionModel, buildMessagesArray(messages), agentContext);
+    }
 
+    private JSONArray buildMessagesArray(Message... messages) throws IOException {
         // Normalize message roles to ensure compatibility with this AI provider
         Message[] normalizedMessages = normalizeMessageRoles(messages);
 
@@ -320,14 +333,36 @@ public class DialAIClient extends AbstractRestClient implements AI {
             messagesArray.put(messageJson);
         }
         logger.info("-------- end chat ai with messages processing --------");
-
-        return performChatCompletion(executionModel, messagesArray, agentContext);
+        return messagesArray;
     }
 
     @Override
     public String chat(Message... messages) throws Exception {
         return chat((JSONObject) null, messages);
     }
+
+    @Override
+    public String chatStream(String executionModel, AIStreamHandler handler, Message... messages) throws Exception {
+        if (executionModel == null) {
+            executionModel = this.model;
+        }
+        GenericRequest postRequest = new GenericRequest(this, buildCompletionPath(executionModel));
+        postRequest.setBody(buildRequestBody(executionModel, buildMessagesArray(messages), null).put("stream", true).toString());
+        String content = AIStreams.streamSse(getClient(), buildPostRequest(postRequest), StreamFormats.OPENAI, handler);
+
+        if (conversationObserver != null) {
+            conversationObserver.addMessage(new ConversationObserver.Message(executionModel, content));
+        }
+        logger.info("-------- ai response --------");
+        logger.info(content);
+        logger.info("-------- end chat ai --------");
+        return content;
+    }
+
+    @Override
+    public String chatStream(AIStreamHandler handler, Message... messages) throws Exception {
+        return chatStream(this.model, handler, messages);
+    }
     @Override
     public String chat(JSONObject agentContext, Message... messages) throws Exception {
         return chat(this.model, agentContext, messages);
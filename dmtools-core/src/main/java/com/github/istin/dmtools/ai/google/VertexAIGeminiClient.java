@@ -2,11 +2,14 @@ package com.github.istin.dmtools.ai.google;
 
 import com.github.istin.dmtools.ai.AI;
 import com.github.istin.dmtools.ai.AIFileFilter;
+import com.github.istin.dmtools.ai.AIStreamHandler;
 import com.github.istin.dmtools.ai.ConversationObserver;
 import com.github.istin.dmtools.ai.Message;
 import com.github.istin.dmtools.ai.model.Metadata;
 import com.github.istin.dmtools.ai.google.auth.GeminiAuthenticationStrategy;
 import com.github.istin.dmtools.ai.google.auth.ServiceAccountAuthenticationStrategy;
+import com.github.istin.dmtools.ai.stream.AIStreams;
+import com.github.istin.dmtools.ai.stream.StreamFormats;
 import com.github.istin.dmtools.common.networking.GenericRequest;
 import com.github.istin.dmtools.mcp.MCPParam;
 import com.github.istin.dmtools.mcp.MCPTool;
@@ -167,6 +170,17 @@ public class VertexAIGeminiClient extends AbstractRestClient implements AI {
                 basePath, apiVersion, projectId, location, modelName);
     }
 
+    /**
+     * Builds the endpoint URL for streamGenerateContent with server-sent events.
+     *
+     * @param modelName The model to use
+     * @return Complete streaming endpoint URL
+     */
+    private String buildStreamEndpointUrl(String modelName) {
+        return String.format("%s/%s/projects/%s/locations/%s/publishers/google/models/%s:streamGenerateContent?alt=sse",
+                basePath, apiVersion, projectId, location, modelName);
+    }
+
     @Override
     public void setMetadata(Metadata metadata) {
         this.metadata = metadata;
@@ -315,7 +329,42 @@ public class VertexAIGeminiClient extends AbstractRestClient implements AI {
     @Override
     public String chat(String model, Message... messages) throws Exception {
         String modelToUse = (model == null || model.trim().isEmpty()) ? this.model : model;
+        JSONObject requestJson = buildConversationRequest(messages);
+
+        logger.debug("Sending multi-turn conversation to Vertex AI Gemini");
+        logger.debug("Request body: {}", requestJson.toString(2));
+
+        // Make API call
+        String responseBody = performPost(buildEndpointUrl(modelToUse), requestJson.toString());
+
+        // Parse and return response
+        return parseGeminiResponse(responseBody);
+    }
+
+    @Override
+    public String chatStream(String model, AIStreamHandler handler, Message... messages) throws Exception {
+        String modelToUse = (model == null || model.trim().isEmpty()) ? this.model : model;
+        GenericRequest request = new GenericRequest(this, buildStreamEndpointUrl(modelToUse));
+        request.setBody(buildConversationRequest(messages).toString());
+
+        logger.debug("Streaming multi-turn conversation from Vertex AI Gemini");
+        String aiResponse = AIStreams.streamSse(getClient(), buildPostRequest(request), StreamFormats.GEMINI, handler);
 
+        if (conversationObserver != null) {
+            conversationObserver.addMessage(new ConversationObserver.Message("AI", aiResponse));
+        }
+        return aiResponse;
+    }
+
+    @Override
+    public String chatStream(AIStreamHandler handler, Message... messages) throws Exception {
+        return chatStream(this.model, handler, messages);
+    }
+
+    /**
+     * Builds generateContent request body with the conversation history.
+     */
+    private JSONObject buildConversationRequest(Message... messages) throws IOException {
         // Normalize message roles to "model" (Gemini's assistant role name)
         messages = normalizeMessageRoles(messages);
 
@@ -365,15 +414,7 @@ public class VertexAIGeminiClient extends AbstractRestClient implements AI {
 
         // Note: Vertex AI Gemini doesn't use the Metadata class for temperature/maxTokens
         // Those would be set via environment variables or configuration if needed
-
-        logger.debug("Sending multi-turn conversation to Vertex AI Gemini");
-        logger.debug("Request body: {}", requestJson.toString(2));
-
-        // Make API call
-        String responseBody = performPost(buildEndpointUrl(modelToUse), requestJson.toString());
-
-        // Parse and return response
-        return parseGeminiResponse(responseBody);
+        return requestJson;
     }
 
     @Override
@@ -1,9 +1,12 @@
 package com.github.istin.dmtools.ai.ollama;
 
 import com.github.istin.dmtools.ai.AI;
+import com.github.istin.dmtools.ai.AIStreamHandler;
 import com.github.istin.dmtools.ai.ConversationObserver;
 import com.github.istin.dmtools.ai.Message;
 import com.github.istin.dmtools.ai.model.Metadata;
+import com.github.istin.dmtools.ai.stream.AIStreams;
+import com.github.istin.dmtools.ai.stream.StreamFormats;
 import com.github.istin.dmtools.common.networking.GenericRequest;
 import com.github.istin.dmtools.common.utils.ImageUtils;
 import com.github.istin.dmtools.common.utils.RetryUtil;
@@ -273,7 +276,11 @@ public class OllamaAIClient extends AbstractRestClient implements AI {
         String path = path("/v1/chat/completions");
         logger.info(path);
         GenericRequest postRequest = new GenericRequest(this, path);
+        postRequest.setBody(buildRequestBody(model, messagesArray).toString());
+        return RetryUtil.executeWithRetry(() -> processResponse(model, postRequest));
+    }
 
+    private JSONObject buildRequestBody(String model, JSONArray messagesArray) {
         JSONObject jsonObject = new JSONObject()
                 .put("model", model)
                 .put("temperature", 0.1)
@@ -292,8 +299,7 @@ public class OllamaAIClient extends AbstractRestClient implements AI {
         if (metadata != null) {
             jsonObject.put("metadata", new JSONObject(new Gson().toJson(metadata)));
         }
-        postRequest.setBody(jsonObject.toString());
-        return RetryUtil.executeWithRetry(() -> processResponse(model, postRequest));
+        return jsonObject;
     }
 
     private String processResponse(String model, GenericRequest postRequest) throws IOException {
@@ -325,7 +331,10 @@ public class OllamaAIClient extends AbstractRestClient implements AI {
         if (model == null) {
             model = this.model;
         }
+        return performChatCompletion(model, buildMessagesArray(messages));
+    }
 
+    private JSONArray buildMessagesArray(Message... messages) throws IOException {
         // Normalize message roles to ensure compatibility with this AI provider
         Message[] normalizedMessages = normalizeMessageRoles(messages);
 
@@ -365,8 +374,7 @@ public class OllamaAIClient extends AbstractRestClient implements AI {
             messagesArray.put(messageJson);
         }
         logger.info("-------- end chat ai with messages processing --------");
-
-        return performChatCompletion(model, messagesArray);
+        return messagesArray;
     }
 
     @Override
@@ -374,6 +382,29 @@ public class OllamaAIClient extends AbstractRestClient implements AI {
         return chat(this.model, messages);
     }
 
+    @Override
+    public String chatStream(String model, AIStreamHandler handler, Message... messages) throws Exception {
+        if (model == null) {
+            model = this.model;
+        }
+        GenericRequest postRequest = new GenericRequest(this, path("/v1/chat/completions"));
+        postRequest.setBody(buildRequestBody(model, buildMessagesArray(messages)).put("stream", true).toString());
+        String content = AIStreams.streamSse(getClient(), buildPostRequest(postRequest), StreamFormats.OPENAI, handler);
+
+        if (conversationObserver != null) {
+            conversationObserver.addMessage(new ConversationObserver.Message(model, content));
+        }
+        logger.info("-------- ai response --------");
+        logger.info(content);
+        logger.info("-------- end chat ai --------");
+        return content;
+    }
+
+    @Override
+    public String chatStream(AIStreamHandler handler, Message... messages) throws Exception {
+        return chatStream(this.model, handler, messages);
+    }
+
     @Override
     public String chat(String model, String message, List<File> files) throws Exception {
         return chat(model, message, files != null && !files.isEmpty() ? files.getFirst() : null);
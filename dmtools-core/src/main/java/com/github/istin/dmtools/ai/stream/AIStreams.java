@@ -0,0 +1,116 @@
+package com.github.istin.dmtools.ai.stream;
+
+import com.github.istin.dmtools.ai.AIStreamHandler;
+import com.github.istin.dmtools.networking.AbstractRestClient;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Executes streaming AI requests and delivers text deltas to an {@link AIStreamHandler} while the response is read.
+ * The response body is consumed incrementally and never buffered as a whole.
+ */
+public class AIStreams {
+
+    private AIStreams() {
+    }
+
+    /**
+     * Executes {@code request} and reads its server-sent events body.
+     *
+     * @return the complete generated text, or the text generated until the handler stopped the stream
+     */
+    public static String streamSse(OkHttpClient client, Request request, StreamFormat format, AIStreamHandler handler) throws IOException {
+        return execute(client, request, source -> readSse(source, format, handler));
+    }
+
+    /**
+     * Executes {@code request} and reads its AWS event stream body.
+     *
+     * @return the complete generated text, or the text generated until the handler stopped the stream
+     */
+    public static String streamEventStream(OkHttpClient client, Request request, StreamFormat format, AIStreamHandler handler) throws IOException {
+        return execute(client, request, source -> readEventStream(source, format, handler));
+    }
+
+    public static String readSse(BufferedSource source, StreamFormat format, AIStreamHandler handler) throws IOException {
+        SseReader reader = new SseReader(source);
+        StringBuilder text = new StringBuilder();
+        SseReader.Event event;
+        while ((event = reader.next()) != null) {
+            if (!deliver(format, event.getName(), event.getData(), text, handler)) {
+                break;
+            }
+        }
+        return text.toString();
+    }
+
+    public static String readEventStream(BufferedSource source, StreamFormat format, AIStreamHandler handler) throws IOException {
+        EventStreamReader reader = new EventStreamReader(source);
+        StringBuilder text = new StringBuilder();
+        EventStreamReader.Message message;
+        while ((message = reader.next()) != null) {
+            String payload = new String(message.getPayload(), StandardCharsets.UTF_8);
+            if ("exception".equals(message.getHeader(":message-type"))) {
+                throw new IOException("Event stream exception " + message.getHeader(":exception-type") + ": " + payload);
+            }
+            if (!"chunk".equals(message.getHeader(":event-type"))) {
+                continue;
+            }
+            String bytes = new JSONObject(payload).optString("bytes", null);
+            if (bytes == null) {
+                continue;
+            }
+            String chunk = new String(Base64.getDecoder().decode(bytes), StandardCharsets.UTF_8);
+            if (!deliver(format, null, chunk, text, handler)) {
+                break;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return false if reading should stop
+     */
+    private static boolean deliver(StreamFormat format, String event, String data, StringBuilder text, AIStreamHandler handler) throws IOException {
+        String delta = format.delta(event, data);
+        if (delta != null && !delta.isEmpty()) {
+            text.append(delta);
+            if (!handler.onDelta(delta)) {
+                return false;
+            }
+        }
+        return !format.isEnd(event, data);
+    }
+
+    private static String execute(OkHttpClient client, Request request, BodyReader reader) throws IOException {
+        Call call = client.newCall(request);
+        try (Response response = call.execute()) {
+            if (!response.isSuccessful()) {
+                throw AbstractRestClient.printAndCreateException(request, response);
+            }
+            ResponseBody body = response.body();
+            if (body == null) {
+                return "";
+            }
+            try {
+                return reader.read(body.source());
+            } finally {
+                // the handler may stop before the server finishes, don't keep generating tokens nobody reads
+                call.cancel();
+            }
+        }
+    }
+
+    private interface BodyReader {
+        String read(BufferedSource source) throws IOException;
+    }
+}
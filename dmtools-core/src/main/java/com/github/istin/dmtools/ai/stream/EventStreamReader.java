@@ -0,0 +1,125 @@
+package com.github.istin.dmtools.ai.stream;
+
+import okio.Buffer;
+import okio.BufferedSource;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Reads messages of the binary AWS event stream format ({@code application/vnd.amazon.eventstream}) used by
+ * Bedrock streaming responses, one message at a time as they arrive.
+ * <p>
+ * Message layout: total length (4), headers length (4), prelude CRC (4), headers, payload, message CRC (4).
+ */
+public class EventStreamReader {
+
+    private static final int PRELUDE_LENGTH = 12;
+
+    private static final int MIN_MESSAGE_LENGTH = PRELUDE_LENGTH + 4;
+
+    private static final int MAX_MESSAGE_LENGTH = 16 * 1024 * 1024;
+
+    private final BufferedSource source;
+
+    public EventStreamReader(BufferedSource source) {
+        this.source = source;
+    }
+
+    /**
+     * @return next message, or {@code null} at the end of the stream
+     */
+    public Message next() throws IOException {
+        if (source.exhausted()) {
+            return null;
+        }
+        source.require(PRELUDE_LENGTH);
+        int totalLength = source.peek().readInt();
+        if (totalLength < MIN_MESSAGE_LENGTH || totalLength > MAX_MESSAGE_LENGTH) {
+            throw new IOException("Invalid event stream message length: " + totalLength);
+        }
+        byte[] message = source.readByteArray(totalLength);
+        Buffer buffer = new Buffer().write(message);
+        buffer.readInt();
+        int headersLength = buffer.readInt();
+        long preludeCrc = buffer.readInt() & 0xFFFFFFFFL;
+        if (crc(message, 0, 8) != preludeCrc) {
+            throw new IOException("Event stream prelude checksum mismatch");
+        }
+        long messageCrc = ((message[totalLength - 4] & 0xFFL) << 24) | ((message[totalLength - 3] & 0xFFL) << 16)
+                | ((message[totalLength - 2] & 0xFFL) << 8) | (message[totalLength - 1] & 0xFFL);
+        if (crc(message, 0, totalLength - 4) != messageCrc) {
+            throw new IOException("Event stream message checksum mismatch");
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        long headersEnd = buffer.size() - headersLength;
+        while (buffer.size() > headersEnd) {
+            String name = buffer.readUtf8(buffer.readByte() & 0xFF);
+            int type = buffer.readByte();
+            String value = readHeaderValue(buffer, type);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        byte[] payload = buffer.readByteArray(totalLength - PRELUDE_LENGTH - headersLength - 4);
+        return new Message(headers, payload);
+    }
+
+    private static String readHeaderValue(Buffer buffer, int type) throws IOException {
+        switch (type) {
+            case 0:
+                return "true";
+            case 1:
+                return "false";
+            case 2:
+                return String.valueOf(buffer.readByte());
+            case 3:
+                return String.valueOf(buffer.readShort());
+            case 4:
+                return String.valueOf(buffer.readInt());
+            case 5:
+            case 8:
+                return String.valueOf(buffer.readLong());
+            case 6:
+                buffer.skip(buffer.readShort() & 0xFFFF);
+                return null;
+            case 7:
+                return buffer.readUtf8(buffer.readShort() & 0xFFFF);
+            case 9:
+                buffer.skip(16);
+                return null;
+            default:
+                throw new IOException("Unknown event stream header type: " + type);
+        }
+    }
+
+    private static long crc(byte[] bytes, int offset, int length) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, offset, length);
+        return crc32.getValue();
+    }
+
+    public static final class Message {
+        private final Map<String, String> headers;
+        private final byte[] payload;
+
+        public Message(Map<String, String> headers, byte[] payload) {
+            this.headers = headers;
+            this.payload = payload;
+        }
+
+        /**
+         * @return string value of header {@code name}, e.g. {@code :event-type}
+         */
+        public String getHeader(String name) {
+            return headers.get(name);
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+    }
+}
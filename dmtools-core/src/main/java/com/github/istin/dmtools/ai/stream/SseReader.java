@@ -0,0 +1,77 @@
+package com.github.istin.dmtools.ai.stream;
+
+import okio.BufferedSource;
+
+import java.io.IOException;
+
+/**
+ * Reads server-sent events from a response body as they arrive.
+ * Only complete lines are decoded, so a UTF-8 character split between network reads is never decoded in halves.
+ */
+public class SseReader {
+
+    private final BufferedSource source;
+
+    public SseReader(BufferedSource source) {
+        this.source = source;
+    }
+
+    /**
+     * @return next event, or {@code null} at the end of the stream
+     */
+    public Event next() throws IOException {
+        String name = null;
+        StringBuilder data = null;
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            if (line.isEmpty()) {
+                if (data != null) {
+                    return new Event(name, data.toString());
+                }
+                name = null;
+                continue;
+            }
+            if (line.charAt(0) == ':') {
+                // comment, e.g. keep-alive
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            if ("event".equals(field)) {
+                name = value;
+            } else if ("data".equals(field)) {
+                if (data == null) {
+                    data = new StringBuilder(value);
+                } else {
+                    data.append('\n').append(value);
+                }
+            }
+        }
+        return data != null ? new Event(name, data.toString()) : null;
+    }
+
+    public static final class Event {
+        private final String name;
+        private final String data;
+
+        public Event(String name, String data) {
+            this.name = name;
+            this.data = data;
+        }
+
+        /**
+         * @return value of the {@code event:} field, {@code null} for unnamed events
+         */
+        public String getName() {
+            return name;
+        }
+
+        public String getData() {
+            return data;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.istin.dmtools.ai.stream;
+
+import java.io.IOException;
+
+/**
+ * Extracts generated text from one event of a provider specific streaming response.
+ */
+public interface StreamFormat {
+
+    /**
+     * @param event name of the event, {@code null} when the provider doesn't name events
+     * @param data  event payload
+     * @return text delta carried by the event, {@code null} if the event carries no text
+     * @throws IOException if the event reports an error
+     */
+    String delta(String event, String data) throws IOException;
+
+    /**
+     * @return true if the event marks the end of the response
+     */
+    default boolean isEnd(String event, String data) {
+        return false;
+    }
+}
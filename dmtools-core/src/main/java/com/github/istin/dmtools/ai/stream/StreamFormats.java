@@ -0,0 +1,144 @@
+package com.github.istin.dmtools.ai.stream;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+
+/**
+ * Stream formats of the supported AI providers.
+ */
+public class StreamFormats {
+
+    private StreamFormats() {
+    }
+
+    /**
+     * OpenAI compatible chat completions ({@code "stream": true}), used by OpenAI, Dial and Ollama.
+     */
+    public static final StreamFormat OPENAI = new StreamFormat() {
+        @Override
+        public String delta(String event, String data) throws IOException {
+            if (isEnd(event, data)) {
+                return null;
+            }
+            return choicesDelta(parse(data));
+        }
+
+        @Override
+        public boolean isEnd(String event, String data) {
+            return "[DONE]".equals(data.trim());
+        }
+    };
+
+    /**
+     * Anthropic messages API ({@code "stream": true}). Proxies exposing the OpenAI format are handled as well.
+     */
+    public static final StreamFormat ANTHROPIC = new StreamFormat() {
+        @Override
+        public String delta(String event, String data) throws IOException {
+            if (OPENAI.isEnd(event, data)) {
+                return null;
+            }
+            JSONObject json = parse(data);
+            String type = json.optString("type", event);
+            if ("content_block_delta".equals(type)) {
+                JSONObject delta = json.optJSONObject("delta");
+                return delta != null ? delta.optString("text", null) : null;
+            }
+            return choicesDelta(json);
+        }
+
+        @Override
+        public boolean isEnd(String event, String data) {
+            return "message_stop".equals(event) || OPENAI.isEnd(event, data);
+        }
+    };
+
+    /**
+     * Vertex AI Gemini {@code streamGenerateContent?alt=sse}.
+     */
+    public static final StreamFormat GEMINI = (event, data) -> {
+        JSONObject json = parse(data);
+        JSONObject promptFeedback = json.optJSONObject("promptFeedback");
+        if (promptFeedback != null && promptFeedback.has("blockReason")) {
+            throw new IOException("Gemini blocked the prompt: " + promptFeedback.optString("blockReason"));
+        }
+        JSONArray candidates = json.optJSONArray("candidates");
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        JSONObject candidate = candidates.getJSONObject(0);
+        if ("SAFETY".equals(candidate.optString("finishReason"))) {
+            throw new IOException("Gemini stopped the response for safety reasons");
+        }
+        JSONObject content = candidate.optJSONObject("content");
+        JSONArray parts = content != null ? content.optJSONArray("parts") : null;
+        if (parts == null) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < parts.length(); i++) {
+            text.append(parts.getJSONObject(i).optString("text", ""));
+        }
+        return text.length() > 0 ? text.toString() : null;
+    };
+
+    /**
+     * Bedrock {@code invoke-with-response-stream} chunks, {@code data} is the decoded chunk payload.
+     * Covers Claude, Nova and the OpenAI style Qwen/Mistral responses.
+     */
+    public static final StreamFormat BEDROCK = new StreamFormat() {
+        @Override
+        public String delta(String event, String data) throws IOException {
+            JSONObject json = parse(data);
+            if ("content_block_delta".equals(json.optString("type"))) {
+                JSONObject delta = json.optJSONObject("delta");
+                return delta != null ? delta.optString("text", null) : null;
+            }
+            JSONObject contentBlockDelta = json.optJSONObject("contentBlockDelta");
+            if (contentBlockDelta != null) {
+                JSONObject delta = contentBlockDelta.optJSONObject("delta");
+                return delta != null ? delta.optString("text", null) : null;
+            }
+            JSONArray outputs = json.optJSONArray("outputs");
+            if (outputs != null && !outputs.isEmpty()) {
+                return outputs.getJSONObject(0).optString("text", null);
+            }
+            return choicesDelta(json);
+        }
+
+        @Override
+        public boolean isEnd(String event, String data) {
+            return data.contains("\"message_stop\"") || data.contains("\"messageStop\"");
+        }
+    };
+
+    private static JSONObject parse(String data) throws IOException {
+        JSONObject json = new JSONObject(data);
+        Object error = json.opt("error");
+        if (error instanceof JSONObject) {
+            throw new IOException("Stream error: " + ((JSONObject) error).optString("message", error.toString()));
+        }
+        if ("error".equals(json.optString("type")) && error != null) {
+            throw new IOException("Stream error: " + error);
+        }
+        return json;
+    }
+
+    private static String choicesDelta(JSONObject json) {
+        JSONArray choices = json.optJSONArray("choices");
+        if (choices == null || choices.isEmpty()) {
+            return null;
+        }
+        JSONObject choice = choices.getJSONObject(0);
+        JSONObject delta = choice.optJSONObject("delta");
+        if (delta == null) {
+            delta = choice.optJSONObject("message");
+        }
+        if (delta == null || delta.isNull("content")) {
+            return null;
+        }
+        return delta.optString("content", null);
+    }
+}
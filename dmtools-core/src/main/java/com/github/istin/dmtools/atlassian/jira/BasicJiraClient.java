@@ -34,6 +34,8 @@ public class BasicJiraClient extends JiraClient<Ticket> {
 
     private static final int JIRA_SEARCH_MAX_RESULTS;
 
+    private static final int JIRA_SEARCH_PREFETCH_PAGES;
+
     public static final String[] DEFAULT_QUERY_FIELDS = {
             Fields.SUMMARY,
             Fields.STATUS,
@@ -80,6 +82,7 @@ public class BasicJiraClient extends JiraClient<Ticket> {
         JIRA_EXTRA_FIELDS = propertyReader.getJiraExtraFields();
         JIRA_EXTRA_FIELDS_PROJECT = propertyReader.getJiraExtraFieldsProject();
         JIRA_SEARCH_MAX_RESULTS = propertyReader.getJiraMaxSearchResults();
+        JIRA_SEARCH_PREFETCH_PAGES = propertyReader.getJiraSearchPrefetchPages();
     }
 
 
@@ -114,6 +117,7 @@ public class BasicJiraClient extends JiraClient<Ticket> {
         setClearCache(IS_JIRA_CLEAR_CACHE);
         setTransformCustomFieldsToNames(IS_JIRA_TRANSFORM_CUSTOM_FIELDS_TO_NAMES);
         setProjectContext(JIRA_EXTRA_FIELDS_PROJECT);
+        setSearchPrefetchPages(JIRA_SEARCH_PREFETCH_PAGES);
 
         List<String> defaultFields = new ArrayList<>(Arrays.asList(DEFAULT_QUERY_FIELDS));
 
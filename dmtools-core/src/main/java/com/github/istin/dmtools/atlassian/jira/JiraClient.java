@@ -7,18 +7,24 @@ import com.github.istin.dmtools.atlassian.jira.utils.IssuesIDsParser;
 import com.github.istin.dmtools.atlassian.jira.utils.JiraResponseUtils;
 import com.github.istin.dmtools.common.model.*;
 import com.github.istin.dmtools.common.networking.GenericRequest;
+import com.github.istin.dmtools.common.networking.PagePipeline;
 import com.github.istin.dmtools.common.networking.RestClient;
 import com.github.istin.dmtools.common.timeline.ReportIteration;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.common.tracker.model.Status;
 import com.github.istin.dmtools.common.utils.CacheManager;
 import com.github.istin.dmtools.common.utils.DateUtils;
+import com.github.istin.dmtools.common.utils.PropertyReader;
 import com.github.istin.dmtools.common.utils.StringUtils;
 import com.github.istin.dmtools.context.UriToObject;
 import com.github.istin.dmtools.mcp.MCPParam;
 import com.github.istin.dmtools.mcp.MCPTool;
+import com.github.istin.dmtools.networking.HttpClients;
 import com.github.istin.dmtools.networking.RetryPolicy;
 import com.github.istin.dmtools.networking.RetryPolicyConfig;
+import com.github.istin.dmtools.networking.cache.CachedResponse;
+import com.github.istin.dmtools.networking.cache.ResponseCache;
+import com.github.istin.dmtools.networking.cache.ResponseCaches;
 import kotlin.Pair;
 import lombok.Getter;
 import lombok.Setter;
@@ -42,9 +48,8 @@ import java.net.ConnectException;
 import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.net.URLEncoder;
-import java.nio.file.Files;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.FileTime;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -132,6 +137,23 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
     // Retry policy for handling rate limits and transient failures
     private RetryPolicy retryPolicy;
 
+    // GET responses cache, shared by all clients with the same cache folder
+    private ResponseCache responseCache;
+
+    /**
+     * Number of search pages fetched ahead of the performer (0 = sequential paging).
+     * For legacy server search with a known total this is the number of parallel {@code startAt} windows.
+     */
+    @Setter
+    @Getter
+    private int searchPrefetchPages = 0;
+
+    private static final int BULK_CHANGELOG_MAX_ISSUES = 1000;
+
+    private static final int BULK_CHANGELOG_MAX_RESULTS = 10000;
+
+    private volatile boolean isBulkChangelogSupported = true;
+
     public void setClearCache(boolean clearCache) throws IOException {
         isClearCache = clearCache;
         initCache();
@@ -165,14 +187,18 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
         this.authorization = authorization;
         this.logger = logger != null ? logger : LogManager.getLogger(JiraClient.class);
         this.maxResults = maxResults;
-        Builder builder = new Builder();
+        Builder builder = HttpClients.newBuilder();
         builder.connectTimeout(60, TimeUnit.SECONDS);
         builder.writeTimeout(60, TimeUnit.SECONDS);
         builder.readTimeout(60, TimeUnit.SECONDS);
         this.client = builder.build();
 
         // Initialize cache manager for keys logic only (memory caching for field mappings, cloud detection, etc.)
-        this.cacheManager = new CacheManager(this.logger);
+        // Field mappings can be saved next to the GET requests cache to survive restarts
+        Path cacheSnapshot = new PropertyReader().isCacheManagerPersistenceEnabled()
+                ? Paths.get("cache" + getClass().getSimpleName(), "cache_manager_" + Integer.toHexString(String.valueOf(basePath).hashCode()) + ".json")
+                : null;
+        this.cacheManager = new CacheManager(this.logger, cacheSnapshot);
 
         // Initialize retry policy - check if this is cloud Jira and use appropriate settings
         String cloudIndicator = System.getenv("JIRA_CLOUD");
@@ -194,11 +220,23 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
             cache.mkdirs();
         }
         if (isClearCache) {
+            getResponseCache().clear();
             cache.mkdirs();
             FileUtils.deleteDirectory(cache);
         }
     }
 
+    public synchronized ResponseCache getResponseCache() {
+        if (responseCache == null) {
+            responseCache = ResponseCaches.forFolder(getCacheFolderName());
+        }
+        return responseCache;
+    }
+
+    public synchronized void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
     private void setCacheFolderNameAndReinit(String cacheFolderName) throws IOException {
         this.cacheFolderName = cacheFolderName;
         initCache();
@@ -294,19 +332,135 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
         }
     }
 
-    private void clearRequestIfExpired(GenericRequest genericRequest, Long updated) throws IOException {
-        File cachedFile = getCachedFile(genericRequest);
-        clearRequestIfExpired(genericRequest, updated, cachedFile);
+    /**
+     * Cloud instances load changelogs with {@code POST /rest/api/3/changelog/bulkfetch} (up to
+     * {@value #BULK_CHANGELOG_MAX_ISSUES} issues per request). Complete changelogs expanded in the
+     * search response are reused, Server instances fall back to per-ticket requests.
+     */
+    @Override
+    public Map<String, IChangelog> getChangeLogs(List<? extends ITicket> tickets) throws IOException {
+        Map<String, IChangelog> result = new LinkedHashMap<>();
+        Map<String, String> keysById = new LinkedHashMap<>();
+        List<ITicket> remaining = new ArrayList<>();
+        for (ITicket ticket : tickets) {
+            if (ticket instanceof Ticket) {
+                Changelog preloaded = ((Ticket) ticket).getChangelog();
+                if (preloaded != null && isCompleteChangelog(preloaded)) {
+                    result.put(ticket.getKey(), preloaded);
+                    continue;
+                }
+                String id = ((Ticket) ticket).getId();
+                if (id != null) {
+                    keysById.put(id, ticket.getKey());
+                }
+            }
+            remaining.add(ticket);
+        }
+        if (remaining.isEmpty()) {
+            return result;
+        }
+        if (isBulkChangelogSupported && keysById.size() == remaining.size() && isCloudJira()) {
+            List<String> ids = new ArrayList<>(keysById.keySet());
+            for (int from = 0; from < ids.size(); from += BULK_CHANGELOG_MAX_ISSUES) {
+                List<String> chunk = ids.subList(from, Math.min(ids.size(), from + BULK_CHANGELOG_MAX_ISSUES));
+                Map<String, IChangelog> bulk = bulkFetchChangelogs(chunk, keysById);
+                if (bulk == null) {
+                    break;
+                }
+                result.putAll(bulk);
+            }
+            if (isBulkChangelogSupported) {
+                return result;
+            }
+        }
+        for (ITicket ticket : remaining) {
+            if (!result.containsKey(ticket.getKey())) {
+                result.put(ticket.getKey(), getChangeLog(ticket.getKey(), ticket));
+            }
+        }
+        return result;
     }
 
-    private void clearRequestIfExpired(GenericRequest genericRequest, Long updated, File cachedFile) throws IOException {
-        if (cachedFile.exists() && updated != null) {
-            BasicFileAttributes attr = Files.readAttributes(cachedFile.toPath(), BasicFileAttributes.class);
-            FileTime fileTime = attr.lastModifiedTime();
-            if (fileTime.toMillis() < updated) {
-                clearCache(genericRequest);
+    /**
+     * @return changelogs by ticket key or {@code null} if the endpoint is not available on this instance
+     */
+    private Map<String, IChangelog> bulkFetchChangelogs(List<String> issueIds, Map<String, String> keysById) throws IOException {
+        Map<String, JSONArray> historiesById = new HashMap<>();
+        String nextPageToken = null;
+        do {
+            JSONObject body = new JSONObject()
+                    .put("issueIdsOrKeys", new JSONArray(issueIds))
+                    .put("maxResults", BULK_CHANGELOG_MAX_RESULTS);
+            if (nextPageToken != null) {
+                body.put("nextPageToken", nextPageToken);
+            }
+            GenericRequest request = new GenericRequest(this, basePath + "/rest/api/3/changelog/bulkfetch");
+            request.setBody(body.toString());
+            String response = request.post();
+            JSONObject json;
+            try {
+                json = new JSONObject(response);
+            } catch (JSONException | NullPointerException e) {
+                json = null;
+            }
+            if (json == null || !json.has("issueChangeLogs")) {
+                logger.warn("Bulk changelog endpoint is not available, falling back to per-ticket requests: {}", response);
+                isBulkChangelogSupported = false;
+                return null;
             }
+            JSONArray issueChangeLogs = json.getJSONArray("issueChangeLogs");
+            for (int i = 0; i < issueChangeLogs.length(); i++) {
+                JSONObject issueChangeLog = issueChangeLogs.getJSONObject(i);
+                JSONArray target = historiesById.computeIfAbsent(issueChangeLog.optString("issueId"), k -> new JSONArray());
+                JSONArray changeHistories = issueChangeLog.optJSONArray("changeHistories");
+                if (changeHistories != null) {
+                    for (int j = 0; j < changeHistories.length(); j++) {
+                        target.put(normalizeBulkHistory(changeHistories.getJSONObject(j)));
+                    }
+                }
+            }
+            nextPageToken = json.optString("nextPageToken", null);
+        } while (nextPageToken != null && !nextPageToken.isEmpty());
+
+        Map<String, IChangelog> result = new LinkedHashMap<>();
+        for (String id : issueIds) {
+            JSONArray histories = historiesById.getOrDefault(id, new JSONArray());
+            result.put(keysById.get(id), new Changelog(new JSONObject()
+                    .put(Changelog.HISTORIES, histories)
+                    .put(Changelog.TOTAL, histories.length())));
+        }
+        return result;
+    }
+
+    /**
+     * Search responses expand at most a page of histories, {@code total} tells if some were cut off.
+     */
+    private static boolean isCompleteChangelog(Changelog changelog) {
+        JSONArray histories = changelog.getJSONArray(Changelog.HISTORIES);
+        if (histories == null) {
+            return false;
         }
+        return !changelog.getJSONObject().has(Changelog.TOTAL) || histories.length() >= changelog.getTotal();
+    }
+
+    /**
+     * The bulk endpoint returns {@code created} as epoch millis, {@link History} expects the issue changelog format.
+     */
+    private static JSONObject normalizeBulkHistory(JSONObject history) {
+        Object created = history.opt("created");
+        if (created instanceof Number) {
+            history.put("created", new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ")
+                    .format(new Date(((Number) created).longValue())));
+        }
+        return history;
+    }
+
+    private void clearRequestIfExpired(GenericRequest genericRequest, Long updated) {
+        getResponseCache().invalidateIfOlderThan(getCacheKey(genericRequest.url()), updated);
+    }
+
+    private static String getCacheKey(String url) {
+        return DigestUtils.md5Hex(url);
     }
 
     @MCPTool(
@@ -486,49 +640,29 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
                 throw new RestClient.RestClientException("Search failed: " + errorMessages.toString(), errorMessages.toString(), -1);
             }
             
-            boolean isBreak = false;
-            int ticketIndex = 0;
-            while (true) {
-                List<Ticket> tickets = searchResults.getIssues();
-                if (tickets == null || tickets.isEmpty()) {
-                    //log("No more tickets to process");
-                    break;
-                }
-                
-                for (Ticket ticket : tickets) {
-                    if (performer instanceof ProgressPerformer) {
-                        isBreak = ((ProgressPerformer) performer).perform(createTicket(ticket), ticketIndex, -1, -1);
-                    } else {
-                        isBreak = performer.perform(createTicket(ticket));
-                    }
-                    if (isBreak) {
+            try (PagePipeline<SearchResult> pages = PagePipeline.chained(searchResults,
+                    previous -> fetchNextCloudPage(searchQueryJQL, previous, resolvedFields),
+                    searchPrefetchPages, "jira-search")) {
+                int ticketIndex = 0;
+                SearchResult page;
+                while ((page = pages.next()) != null) {
+                    List<Ticket> tickets = page.getIssues();
+                    if (tickets == null || tickets.isEmpty()) {
                         break;
                     }
-                    ticketIndex++;
-                }
-                if (isBreak) {
-                    break;
-                }
-                if (searchResults.isLast()) {
-                    break;
-                }
-                
-                String nextToken = searchResults.getNextPageToken();
-                if (nextToken == null || nextToken.isEmpty()) {
-                    log("No next page token available, ending pagination");
-                    break;
-                }
-                
-                log("current index : " + ticketIndex);
-                try {
-                    searchResults = searchByPage(searchQueryJQL, nextToken, resolvedFields);
-                    if (searchResults == null) {
-                        log("Received null search results during pagination, ending");
-                        break;
+                    for (Ticket ticket : tickets) {
+                        boolean isBreak;
+                        if (performer instanceof ProgressPerformer) {
+                            isBreak = ((ProgressPerformer) performer).perform(createTicket(ticket), ticketIndex, -1, -1);
+                        } else {
+                            isBreak = performer.perform(createTicket(ticket));
+                        }
+                        if (isBreak) {
+                            return;
+                        }
+                        ticketIndex++;
                     }
-                } catch (Exception e) {
-                    logger.error("Error during pagination at token {}: {}", nextToken, e.getMessage());
-                    throw new RestClient.RestClientException("Pagination failed: " + e.getMessage(), e.toString(), -1);
+                    log("current index : " + ticketIndex);
                 }
             }
         } else {
@@ -536,6 +670,32 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
         }
     }
 
+    /**
+     * Resolves the page following {@code previous} for Cloud {@code search/jql} pagination.
+     * Runs on the prefetch thread when {@link #searchPrefetchPages} is enabled.
+     */
+    private SearchResult fetchNextCloudPage(String searchQueryJQL, SearchResult previous, List<String> resolvedFields) throws IOException {
+        JSONArray issues = previous.getJSONArray(SearchResult.ISSUES);
+        if (issues == null || issues.isEmpty() || previous.isLast()) {
+            return null;
+        }
+        String nextToken = previous.getNextPageToken();
+        if (nextToken == null || nextToken.isEmpty()) {
+            log("No next page token available, ending pagination");
+            return null;
+        }
+        try {
+            SearchResult searchResults = searchByPage(searchQueryJQL, nextToken, resolvedFields);
+            if (searchResults == null) {
+                log("Received null search results during pagination, ending");
+            }
+            return searchResults;
+        } catch (Exception e) {
+            logger.error("Error during pagination at token {}: {}", nextToken, e.getMessage());
+            throw new RestClient.RestClientException("Pagination failed: " + e.getMessage(), e.toString(), -1);
+        }
+    }
+
     private void legacyServerJiraSearch(Performer<T> performer, String searchQueryJQL, List<String> resolvedFields) throws Exception {
         int startAt = 0;
         SearchResult searchResults = search(searchQueryJQL, startAt, resolvedFields);
@@ -550,6 +710,10 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
             log("total search query results: " + 0);
             return;
         }
+        if (searchPrefetchPages > 0 && maxResults > 0 && total > maxResults) {
+            parallelLegacyServerJiraSearch(performer, searchQueryJQL, resolvedFields, searchResults);
+            return;
+        }
 
         boolean isBreak = false;
         int ticketIndex = 0;
@@ -582,6 +746,43 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
         }
     }
 
+    /**
+     * Legacy {@code /search} with a known total: fans out {@code startAt} windows in parallel
+     * ({@link #searchPrefetchPages} in flight) and performs tickets in the original order.
+     */
+    private void parallelLegacyServerJiraSearch(Performer<T> performer, String searchQueryJQL, List<String> resolvedFields, SearchResult firstPage) throws Exception {
+        int pageSize = firstPage.getMaxResults();
+        int total = firstPage.getTotal();
+        int pageCount = (total + pageSize - 1) / pageSize;
+        log("total search query results: " + total + ", fetching " + pageCount + " pages with " + searchPrefetchPages + " in parallel");
+        try (PagePipeline<SearchResult> pages = PagePipeline.windowed(pageCount,
+                pageIndex -> pageIndex == 0 ? firstPage : search(searchQueryJQL, pageIndex * pageSize, resolvedFields),
+                searchPrefetchPages, "jira-search")) {
+            int ticketIndex = 0;
+            int pageIndex = 0;
+            SearchResult page;
+            while ((page = pages.next()) != null) {
+                pageIndex++;
+                List<Ticket> tickets = page.getIssues();
+                if (tickets == null || tickets.isEmpty()) {
+                    break;
+                }
+                for (Ticket ticket : tickets) {
+                    boolean isBreak;
+                    if (performer instanceof ProgressPerformer) {
+                        isBreak = ((ProgressPerformer) performer).perform(createTicket(ticket), ticketIndex, pageIndex * pageSize, total);
+                    } else {
+                        isBreak = performer.perform(createTicket(ticket));
+                    }
+                    if (isBreak) {
+                        return;
+                    }
+                    ticketIndex++;
+                }
+            }
+        }
+    }
+
     @MCPTool(
             name = "jira_search_with_pagination",
             description = "[Deprecated] Search for Jira tickets using JQL with pagination support",
@@ -793,6 +994,44 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
         return jiraRequest;
     }
 
+    private static final Pattern QUOTED_TICKET_KEY = Pattern.compile("'([A-Za-z][A-Za-z0-9_]*-\\d+)'");
+
+    @Override
+    public boolean isBatchFetchSupported() {
+        return true;
+    }
+
+    /**
+     * Loads tickets with one {@code key in (...)} search. Jira rejects the whole query when one of the keys
+     * doesn't exist, such keys are taken from the error message and the search is repeated once without them.
+     */
+    @Override
+    public List<T> performTickets(List<String> ticketKeys, String[] fields) throws IOException {
+        List<String> keys = new ArrayList<>(ticketKeys);
+        for (int attempt = 0; ; attempt++) {
+            if (keys.isEmpty()) {
+                return new ArrayList<>();
+            }
+            try {
+                return searchAndPerform("key in (" + StringUtils.concatenate(",", keys) + ")", fields);
+            } catch (Exception e) {
+                Set<String> missingKeys = new HashSet<>();
+                Matcher matcher = QUOTED_TICKET_KEY.matcher(String.valueOf(e.getMessage()));
+                while (matcher.find()) {
+                    missingKeys.add(matcher.group(1).toUpperCase());
+                }
+                boolean removed = keys.removeIf(key -> missingKeys.contains(key.toUpperCase()));
+                if (attempt > 0 || !removed) {
+                    if (e instanceof IOException) {
+                        throw (IOException) e;
+                    }
+                    throw new IOException("Failed to load tickets " + keys, e);
+                }
+                logger.debug("Tickets {} don't exist, repeating the search without them", missingKeys);
+            }
+        }
+    }
+
     public List<RemoteLink> performGettingRemoteLinks(String ticket) throws IOException {
         return JSONModel.convertToModels(RemoteLink.class, new JSONArray(getRemoteLinks(ticket).execute()));
     }
@@ -933,10 +1172,7 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
     }
 
     public void clearCache(GenericRequest jiraRequest) throws IOException {
-        File cachedFile = getCachedFile(jiraRequest);
-        if (cachedFile.exists()) {
-            cachedFile.delete();
-        }
+        getResponseCache().invalidate(getCacheKey(jiraRequest.url()));
     }
 
     @NotNull
@@ -1703,8 +1939,7 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
     private boolean isFieldResolutionCachedAsNotFound(String projectKey, String fieldName) {
         String negativeKey = "negativeField_" + projectKey + "_" + fieldName.toLowerCase();
         
-        // Use getOrComputeWithTTL with a supplier that returns null to just check the cache
-        String cached = cacheManager.getOrComputeWithTTL(negativeKey, () -> null, NEGATIVE_FIELD_CACHE_TTL);
+        String cached = cacheManager.getIfPresentWithTTL(negativeKey, NEGATIVE_FIELD_CACHE_TTL);
         return FIELD_NOT_FOUND_MARKER.equals(cached);
     }
     
@@ -2487,7 +2722,7 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
         }
     }
 
-    private HashMap<String, Long> timeMeasurement = new HashMap<>();
+    private final Map<String, Long> timeMeasurement = new ConcurrentHashMap<>();
 
 
     @Override
@@ -2566,13 +2801,12 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
         try {
             timeMeasurement.put(url, System.currentTimeMillis());
 
+            String cacheKey = getCacheKey(url);
+            CachedResponse cached = null;
             if (!isIgnoreCache && isReadCacheGetRequestsEnabled) {
-                String value = DigestUtils.md5Hex(url);
-                File cache = new File(getCacheFolderName());
-                cache.mkdirs();
-                File cachedFile = new File(getCacheFolderName() + "/" + value);
-                if (cachedFile.exists()) {
-                    return FileUtils.readFileToString(cachedFile, "UTF-8");
+                cached = getResponseCache().get(cacheKey);
+                if (cached != null && !cached.isExpired()) {
+                    return cached.getBody();
                 }
             }
             if (isWaitBeforePerform) {
@@ -2589,18 +2823,21 @@ public abstract class JiraClient<T extends Ticket> implements RestClient, Tracke
 
             while (attemptNumber <= retryPolicy.getMaxRetries()) {
                 try {
-                    Request request = sign(new Request.Builder())
-                            .url(url)
-                            .build();
+                    Request.Builder requestBuilder = sign(new Request.Builder())
+                            .url(url);
+                    if (cached != null && cached.canRevalidate()) {
+                        requestBuilder.header("If-None-Match", cached.getEtag());
+                    }
+                    Request request = requestBuilder.build();
                     try (Response response = client.newCall(request).execute()) {
+                        if (response.code() == 304 && cached != null) {
+                            getResponseCache().touch(cacheKey);
+                            return cached.getBody();
+                        }
                         if (response.isSuccessful()) {
                             String result = response.body() != null ? response.body().string() : null;
                             if (isReadCacheGetRequestsEnabled) {
-                                String value = DigestUtils.md5Hex(url);
-                                File cache = new File(getCacheFolderName());
-                                cache.mkdirs();
-                                File cachedFile = new File(getCacheFolderName() + "/" + value);
-                                FileUtils.writeStringToFile(cachedFile, result, "UTF-8");
+                                getResponseCache().put(cacheKey, result, response.header("ETag"));
                             }
                             return result;
                         } else {
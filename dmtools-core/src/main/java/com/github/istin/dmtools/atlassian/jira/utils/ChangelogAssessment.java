@@ -5,6 +5,7 @@ import com.github.istin.dmtools.atlassian.jira.JiraClient;
 import com.github.istin.dmtools.atlassian.jira.model.Fields;
 import com.github.istin.dmtools.atlassian.jira.model.Ticket;
 import com.github.istin.dmtools.common.model.*;
+import com.github.istin.dmtools.common.tracker.ChangelogStore;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.report.model.KeyTime;
 import com.github.istin.dmtools.team.Employees;
@@ -41,7 +42,7 @@ public class ChangelogAssessment {
 
 
     public static List<KeyTime> findDatesWhenTicketWasInStatus(String ignoreIfStatus, String customName, boolean isSetWeight, TrackerClient trackerClient, String key, ITicket ticket, String... statuses) throws IOException {
-        IChangelog changeLog = trackerClient.getChangeLog(key, ticket);
+        IChangelog changeLog = ChangelogStore.getChangeLog(trackerClient, key, ticket);
         List<IHistory> histories = (List<IHistory>) changeLog.getHistories();
         List<KeyTime> result = new ArrayList<>();
         boolean ifStatusChanged = false;
@@ -99,7 +100,7 @@ public class ChangelogAssessment {
     }
 
     public static Pair<IUser, IHistoryItem> findSourceStatusForRequestedOne(TrackerClient trackerClient, String key, ITicket ticket, String targetStatus) throws IOException {
-        IChangelog changeLog = trackerClient.getChangeLog(key, ticket);
+        IChangelog changeLog = ChangelogStore.getChangeLog(trackerClient, key, ticket);
         List<IHistory> histories = (List<IHistory>) changeLog.getHistories();
         for (IHistory history : histories) {
             List<IHistoryItem> items = (List<IHistoryItem>) history.getHistoryItems();
@@ -130,7 +131,7 @@ public class ChangelogAssessment {
     }
 
     public static String findWhoFromEmployeeMovedToStatus(TrackerClient trackerClient, String key, ITicket ticket,  IEmployees teamToFilter, String... targetStatuses) throws IOException {
-        IChangelog changeLog = trackerClient.getChangeLog(key, ticket);
+        IChangelog changeLog = ChangelogStore.getChangeLog(trackerClient, key, ticket);
         List<IHistory> histories = (List<IHistory>) changeLog.getHistories();
         String lastAssignee = null;
         for (IHistory history : histories) {
@@ -180,7 +181,7 @@ public class ChangelogAssessment {
     }
 
     public static Pair<String, IHistoryItem> findLastAssigneeForStatus(TrackerClient trackerClient, String key, ITicket ticket, IEmployees teamToFilter, String... targetStatuses) throws IOException {
-        IChangelog changeLog = trackerClient.getChangeLog(key, ticket);
+        IChangelog changeLog = ChangelogStore.getChangeLog(trackerClient, key, ticket);
         List<IHistory> histories = (List<IHistory>) changeLog.getHistories();
         String lastAssignee = null;
         IHistoryItem lastStatusChangeHistoryItem = null;
@@ -259,7 +260,7 @@ public class ChangelogAssessment {
 
 
     public static boolean fieldWasChangedByUser(JiraClient jiraClient, String ticketKey, String field, String user, Ticket ticket) throws IOException {
-        IChangelog changeLog = jiraClient.getChangeLog(ticketKey, ticket);
+        IChangelog changeLog = ChangelogStore.getChangeLog(jiraClient, ticketKey, ticket);
         List<IHistory> histories = (List<IHistory>) changeLog.getHistories();
         for (IHistory history : histories) {
             List<IHistoryItem> items = (List<IHistoryItem>) history.getHistoryItems();
@@ -274,7 +275,7 @@ public class ChangelogAssessment {
     }
 
     public static boolean isFirstTimeRight(TrackerClient jiraClient, String ticketKey, ITicket ticket, String[] inProgressStatuses, String[] qualityStatuses) throws IOException {
-        IChangelog changeLog = jiraClient.getChangeLog(ticketKey, ticket);
+        IChangelog changeLog = ChangelogStore.getChangeLog(jiraClient, ticketKey, ticket);
         List<IHistory> histories = (List<IHistory>) changeLog.getHistories();
         boolean isWasInQualityStatus = false;
         for (IHistory history : histories) {
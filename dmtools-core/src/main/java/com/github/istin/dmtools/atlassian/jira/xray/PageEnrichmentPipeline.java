@@ -0,0 +1,129 @@
+package com.github.istin.dmtools.atlassian.jira.xray;
+
+import com.github.istin.dmtools.atlassian.jira.JiraClient;
+import com.github.istin.dmtools.atlassian.jira.model.Ticket;
+import com.github.istin.dmtools.networking.IntegrationScheduler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Performer between a Jira search and the caller's performer that enriches search results page by page.
+ * <p>
+ * Tickets are collected into pages of {@code pageSize}, and every full page is enriched on its own thread while the
+ * search goes on with the next one. Enriched pages are passed to the downstream performer in search order. At most
+ * {@code window} pages wait for their enrichment, when the window is full the search waits for the oldest page, so
+ * memory doesn't grow with the search results. Once the downstream performer asks to stop, the search is stopped and
+ * pending enrichments are cancelled on {@link #close()}.
+ */
+class PageEnrichmentPipeline implements JiraClient.Performer<Ticket>, AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(PageEnrichmentPipeline.class);
+
+    @FunctionalInterface
+    interface PageEnricher {
+        void enrich(List<Ticket> page) throws Exception;
+    }
+
+    private record Page(List<Ticket> tickets, Future<?> enrichment) {
+    }
+
+    private final JiraClient.Performer<Ticket> performer;
+    private final PageEnricher enricher;
+    private final int pageSize;
+    private final int window;
+    private final ExecutorService executor = IntegrationScheduler.newExecutor();
+    private final Deque<Page> pages = new ArrayDeque<>();
+    private List<Ticket> collecting = new ArrayList<>();
+    private boolean stopped;
+    private int performed;
+
+    PageEnrichmentPipeline(JiraClient.Performer<Ticket> performer, PageEnricher enricher, int pageSize, int window) {
+        this.performer = performer;
+        this.enricher = enricher;
+        this.pageSize = Math.max(1, pageSize);
+        this.window = Math.max(1, window);
+    }
+
+    @Override
+    public boolean perform(Ticket ticket) throws Exception {
+        if (stopped) {
+            return true;
+        }
+        collecting.add(ticket);
+        if (collecting.size() < pageSize) {
+            return false;
+        }
+        submit();
+        // Pages already enriched are passed on right away, the oldest one is waited for only when the window is full
+        while (!pages.isEmpty() && (pages.size() > window || pages.peekFirst().enrichment().isDone())) {
+            if (deliver(pages.pollFirst())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Enriches the last, incomplete page and passes the remaining pages on, called once the search is complete.
+     */
+    void finish() throws Exception {
+        if (stopped) {
+            return;
+        }
+        if (!collecting.isEmpty()) {
+            submit();
+        }
+        while (!pages.isEmpty()) {
+            if (deliver(pages.pollFirst())) {
+                return;
+            }
+        }
+    }
+
+    int getPerformed() {
+        return performed;
+    }
+
+    private void submit() {
+        List<Ticket> page = collecting;
+        collecting = new ArrayList<>();
+        pages.addLast(new Page(page, executor.submit(() -> {
+            enricher.enrich(page);
+            return null;
+        })));
+    }
+
+    private boolean deliver(Page page) throws Exception {
+        try {
+            page.enrichment().get();
+        } catch (ExecutionException e) {
+            logger.warn("Failed to enrich {} tickets, passing them on without enrichment: {}", page.tickets().size(), e.getCause().getMessage());
+        }
+        for (Ticket ticket : page.tickets()) {
+            performed++;
+            if (performer.perform(ticket)) {
+                logger.debug("Performer requested to stop processing");
+                stopped = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        for (Page page : pages) {
+            page.enrichment().cancel(true);
+        }
+        pages.clear();
+        executor.shutdownNow();
+    }
+}
@@ -5,6 +5,7 @@ import com.github.istin.dmtools.atlassian.jira.JiraClient;
 import com.github.istin.dmtools.atlassian.jira.model.Fields;
 import com.github.istin.dmtools.atlassian.jira.model.Ticket;
 import com.github.istin.dmtools.common.model.ITicket;
+import com.github.istin.dmtools.common.tracker.TicketResolver;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.common.utils.PropertyReader;
 import com.github.istin.dmtools.mcp.MCPParam;
@@ -73,6 +74,7 @@ public class XrayClient extends JiraClient<Ticket> {
     private static final String[] STEPS_FIELD_NAMES = {"steps", "testSteps", "xraySteps", "xrayTestSteps", "test_steps"};
     private static final String[] PRECONDITIONS_FIELD_NAMES = {"preconditions", "xrayPreconditions", "testPreconditions", "test_preconditions"};
     private static final String[] GHERKIN_FIELD_NAMES = {"gherkin", "cucumber", "cucumber_scenario", "xrayGherkin", "gherkin_scenario"};
+    private static final String[] PRECONDITION_FIELDS = {"summary", "description"};
     private static final String[] DATASET_FIELD_NAMES = {"dataset", "xrayDataset", "testDataset", "test_dataset", "data_driven"};
 
     private static volatile XrayClient instance;
@@ -974,36 +976,7 @@ public class XrayClient extends JiraClient<Ticket> {
         
         logger.debug("Found {} tickets, enriching Test/Precondition issues with X-ray data", tickets.size());
         
-        // Filter Test and Precondition issues
-        List<Ticket> testTickets = new ArrayList<>();
-        for (Ticket ticket : tickets) {
-            if (ticket == null) {
-                continue;
-            }
-            String ticketKey = ticket.getKey() != null ? ticket.getKey() : "unknown";
-            try {
-                String issueType = ticket.getIssueType();
-                if (issueType != null && (issueType.equalsIgnoreCase("Test") || issueType.equalsIgnoreCase("Precondition"))) {
-                    if (ticketKey != null && !ticketKey.isEmpty()) {
-                        testTickets.add(ticket);
-                        logger.debug("Found Test/Precondition ticket: {}", ticketKey);
-                    }
-                } else if (issueType == null) {
-                    // If issuetype field is not available, treat all tickets as potential tests
-                    // This happens when issuetype is not requested in fields array
-                    if (ticketKey != null && !ticketKey.isEmpty()) {
-                        testTickets.add(ticket);
-                        logger.debug("Found ticket without issuetype field, treating as potential test: {}", ticketKey);
-                    }
-                }
-            } catch (Exception e) {
-                // If issuetype field is not available (not requested in fields), treat as potential test
-                logger.debug("Issue type check failed for ticket {}, treating as potential test: {}", ticketKey, e.getMessage());
-                if (ticketKey != null && !ticketKey.isEmpty()) {
-                    testTickets.add(ticket);
-                }
-            }
-        }
+        List<Ticket> testTickets = filterTestTickets(tickets);
         
         if (testTickets.isEmpty()) {
             logger.debug("No Test or Precondition issues found in results, skipping X-ray enrichment");
@@ -1053,156 +1026,7 @@ public class XrayClient extends JiraClient<Ticket> {
             }
             logger.debug("Retrieved {} tests from X-ray GraphQL API", xrayTests.length());
             
-            // Create a map of X-ray test data by ticket key for fast lookup
-            Map<String, JSONObject> xrayDataMap = new HashMap<>();
-            Set<String> preconditionKeys = new HashSet<>();
-            
-            for (int i = 0; i < xrayTests.length(); i++) {
-                JSONObject xrayTest = xrayTests.getJSONObject(i);
-                if (xrayTest.has("jira")) {
-                    JSONObject jira = xrayTest.getJSONObject("jira");
-                    String key = jira.optString("key", null);
-                    if (key != null && !key.isEmpty()) {
-                        xrayDataMap.put(key, xrayTest);
-                        
-                        // Collect all precondition keys for batch fetching from Jira
-                        if (xrayTest.has("preconditions")) {
-                            JSONObject preconditionsObj = xrayTest.getJSONObject("preconditions");
-                            if (preconditionsObj.has("results")) {
-                                JSONArray preconditions = preconditionsObj.getJSONArray("results");
-                                for (int j = 0; j < preconditions.length(); j++) {
-                                    JSONObject precondition = preconditions.getJSONObject(j);
-                                    if (precondition.has("jira")) {
-                                        JSONObject precJira = precondition.getJSONObject("jira");
-                                        String precKey = precJira.optString("key", null);
-                                        if (precKey != null && !precKey.isEmpty()) {
-                                            preconditionKeys.add(precKey);
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-            
-            logger.debug("X-ray data map contains {} entries", xrayDataMap.size());
-            
-            // Batch fetch precondition summary/description from Jira
-            Map<String, Ticket> preconditionTicketsMap = new HashMap<>();
-            if (!preconditionKeys.isEmpty()) {
-                logger.debug("Fetching {} preconditions from Jira", preconditionKeys.size());
-                for (String preconditionKey : preconditionKeys) {
-                    try {
-                        Ticket preconditionTicket = performTicket(preconditionKey, new String[]{"summary", "description"});
-                        if (preconditionTicket != null) {
-                            preconditionTicketsMap.put(preconditionKey, preconditionTicket);
-                        }
-                    } catch (IOException e) {
-                        logger.debug("Failed to get Jira data for precondition {}: {}", preconditionKey, e.getMessage());
-                    }
-                }
-            }
-            
-            // Enrich tickets with X-ray data
-            for (Ticket ticket : testTickets) {
-                try {
-                    String ticketKey = ticket.getKey();
-                    JSONObject xrayData = xrayDataMap.get(ticketKey);
-                    
-                    if (xrayData == null) {
-                        logger.debug("No X-ray data found for ticket {} (may not be a test with steps)", ticketKey);
-                        continue;
-                    }
-                    
-                    Fields fieldsObj = ticket.getFields();
-                    if (fieldsObj == null) {
-                        logger.warn("Ticket {} has no fields object", ticketKey);
-                        continue;
-                    }
-                    
-                    // Add test steps
-                    if (xrayData.has("steps")) {
-                        JSONArray steps = xrayData.optJSONArray("steps");
-                        if (steps != null && steps.length() > 0) {
-                            fieldsObj.getJSONObject().put("xrayTestSteps", steps);
-                            logger.info("✅ Added {} test steps to ticket {}", steps.length(), ticketKey);
-                        } else {
-                            logger.debug("Ticket {} has empty steps array", ticketKey);
-                        }
-                    } else {
-                        logger.debug("Ticket {} has no steps in X-ray data", ticketKey);
-                    }
-
-                    // Add test type and gherkin for Cucumber tests
-                    if (xrayData.has("testType")) {
-                        JSONObject testType = xrayData.optJSONObject("testType");
-                        if (testType != null) {
-                            fieldsObj.getJSONObject().put("xrayTestType", testType);
-                            logger.debug("Added test type {} to ticket {}", testType.optString("name", "unknown"), ticketKey);
-                        }
-                    }
-                    if (xrayData.has("gherkin")) {
-                        String gherkin = xrayData.optString("gherkin", null);
-                        if (gherkin != null && !gherkin.isEmpty()) {
-                            fieldsObj.getJSONObject().put("xrayGherkin", gherkin);
-                            logger.info("✅ Added gherkin content to ticket {}", ticketKey);
-                        }
-                    }
-                    
-                    // Add dataset for tests with data-driven scenarios
-                    if (xrayData.has("dataset")) {
-                        JSONObject dataset = xrayData.optJSONObject("dataset");
-                        if (dataset != null && !dataset.isEmpty()) {
-                            fieldsObj.getJSONObject().put("xrayDataset", dataset);
-                            int paramsCount = dataset.has("parameters") ? dataset.getJSONArray("parameters").length() : 0;
-                            int rowsCount = dataset.has("rows") ? dataset.getJSONArray("rows").length() : 0;
-                            logger.info("✅ Added dataset to ticket {} ({} parameters, {} rows)", ticketKey, paramsCount, rowsCount);
-                        }
-                    }
-                    
-                    // Add preconditions with definition from Xray and summary/description from Jira
-                    if (xrayData.has("preconditions")) {
-                        JSONObject preconditionsObj = xrayData.optJSONObject("preconditions");
-                        if (preconditionsObj != null && preconditionsObj.has("results")) {
-                            JSONArray preconditions = preconditionsObj.getJSONArray("results");
-                            
-                            // Enrich each precondition with Jira data
-                            for (int i = 0; i < preconditions.length(); i++) {
-                                JSONObject precondition = preconditions.getJSONObject(i);
-                                
-                                String preconditionKey = null;
-                                if (precondition.has("jira")) {
-                                    JSONObject jira = precondition.getJSONObject("jira");
-                                    preconditionKey = jira.optString("key", null);
-                                }
-                                
-                                if (preconditionKey != null && !preconditionKey.isEmpty()) {
-                                    Ticket preconditionTicket = preconditionTicketsMap.get(preconditionKey);
-                                    if (preconditionTicket != null) {
-                                        Fields preconditionFields = preconditionTicket.getFields();
-                                        if (preconditionFields != null) {
-                                            if (preconditionFields.getSummary() != null) {
-                                                precondition.put("summary", preconditionFields.getSummary());
-                                            }
-                                            if (preconditionFields.getDescription() != null) {
-                                                precondition.put("description", preconditionFields.getDescription());
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                            
-                            fieldsObj.getJSONObject().put("xrayPreconditions", preconditions);
-                            logger.info("✅ Added {} preconditions to ticket {}", preconditions.length(), ticketKey);
-                        }
-                    }
-                    
-                } catch (Exception e) {
-                    logger.warn("Error enriching ticket {} with X-ray data: {}", ticket.getKey(), e.getMessage(), e);
-                    // Continue processing other tickets even if one fails
-                }
-            }
+            int xrayTestsFound = applyXrayData(testTickets, xrayTests);
 
             // Calculate final metrics
             long endTime = System.currentTimeMillis();
@@ -1256,7 +1080,7 @@ public class XrayClient extends JiraClient<Ticket> {
             logger.info("X-RAY DATA ENRICHMENT SUMMARY");
             logger.info("================================================================================");
             logger.info("Total Test/Precondition Tickets:  {}", testTickets.size());
-            logger.info("X-ray Tests Retrieved:             {}", xrayDataMap.size());
+            logger.info("X-ray Tests Retrieved:             {}", xrayTestsFound);
             logger.info("X-ray Cucumber Tests (Gherkin):    {}", cucumberTests);
             logger.info("X-ray Test Steps:                  {}", totalSteps);
             logger.info("X-ray Preconditions:               {}", totalPreconditions);
@@ -1292,6 +1116,242 @@ public class XrayClient extends JiraClient<Ticket> {
         }
     }
 
+    /**
+     * Picks Test and Precondition tickets, and tickets without issue type, from search results.
+     */
+    private List<Ticket> filterTestTickets(List<Ticket> tickets) {
+        List<Ticket> testTickets = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            if (ticket == null) {
+                continue;
+            }
+            String ticketKey = ticket.getKey() != null ? ticket.getKey() : "unknown";
+            try {
+                String issueType = ticket.getIssueType();
+                if (issueType != null && (issueType.equalsIgnoreCase("Test") || issueType.equalsIgnoreCase("Precondition"))) {
+                    if (ticketKey != null && !ticketKey.isEmpty()) {
+                        testTickets.add(ticket);
+                        logger.debug("Found Test/Precondition ticket: {}", ticketKey);
+                    }
+                } else if (issueType == null) {
+                    // If issuetype field is not available, treat all tickets as potential tests
+                    // This happens when issuetype is not requested in fields array
+                    if (ticketKey != null && !ticketKey.isEmpty()) {
+                        testTickets.add(ticket);
+                        logger.debug("Found ticket without issuetype field, treating as potential test: {}", ticketKey);
+                    }
+                }
+            } catch (Exception e) {
+                // If issuetype field is not available (not requested in fields), treat as potential test
+                logger.debug("Issue type check failed for ticket {}, treating as potential test: {}", ticketKey, e.getMessage());
+                if (ticketKey != null && !ticketKey.isEmpty()) {
+                    testTickets.add(ticket);
+                }
+            }
+        }
+        return testTickets;
+    }
+
+    /**
+     * Adds X-ray test steps, test type, gherkin, dataset and preconditions to the test tickets.
+     *
+     * @param testTickets Test/Precondition tickets to enrich (modified in place)
+     * @param xrayTests X-ray GraphQL test results for the tickets
+     * @return number of X-ray tests matched by key
+     */
+    private int applyXrayData(List<Ticket> testTickets, JSONArray xrayTests) {
+        // Create a map of X-ray test data by ticket key for fast lookup
+        Map<String, JSONObject> xrayDataMap = new HashMap<>();
+        Set<String> preconditionKeys = new HashSet<>();
+
+        for (int i = 0; i < xrayTests.length(); i++) {
+            JSONObject xrayTest = xrayTests.getJSONObject(i);
+            if (xrayTest.has("jira")) {
+                JSONObject jira = xrayTest.getJSONObject("jira");
+                String key = jira.optString("key", null);
+                if (key != null && !key.isEmpty()) {
+                    xrayDataMap.put(key, xrayTest);
+
+                    // Collect all precondition keys for batch fetching from Jira
+                    if (xrayTest.has("preconditions")) {
+                        JSONObject preconditionsObj = xrayTest.getJSONObject("preconditions");
+                        if (preconditionsObj.has("results")) {
+                            JSONArray preconditions = preconditionsObj.getJSONArray("results");
+                            for (int j = 0; j < preconditions.length(); j++) {
+                                JSONObject precondition = preconditions.getJSONObject(j);
+                                if (precondition.has("jira")) {
+                                    JSONObject precJira = precondition.getJSONObject("jira");
+                                    String precKey = precJira.optString("key", null);
+                                    if (precKey != null && !precKey.isEmpty()) {
+                                        preconditionKeys.add(precKey);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        logger.debug("X-ray data map contains {} entries", xrayDataMap.size());
+
+        // Batch fetch precondition summary/description from Jira
+        Map<String, Ticket> preconditionTicketsMap = resolvePreconditionTickets(preconditionKeys);
+
+        // Enrich tickets with X-ray data
+        for (Ticket ticket : testTickets) {
+            try {
+                String ticketKey = ticket.getKey();
+                JSONObject xrayData = xrayDataMap.get(ticketKey);
+
+                if (xrayData == null) {
+                    logger.debug("No X-ray data found for ticket {} (may not be a test with steps)", ticketKey);
+                    continue;
+                }
+
+                Fields fieldsObj = ticket.getFields();
+                if (fieldsObj == null) {
+                    logger.warn("Ticket {} has no fields object", ticketKey);
+                    continue;
+                }
+
+                // Add test steps
+                if (xrayData.has("steps")) {
+                    JSONArray steps = xrayData.optJSONArray("steps");
+                    if (steps != null && steps.length() > 0) {
+                        fieldsObj.getJSONObject().put("xrayTestSteps", steps);
+                        logger.info("✅ Added {} test steps to ticket {}", steps.length(), ticketKey);
+                    } else {
+                        logger.debug("Ticket {} has empty steps array", ticketKey);
+                    }
+                } else {
+                    logger.debug("Ticket {} has no steps in X-ray data", ticketKey);
+                }
+
+                // Add test type and gherkin for Cucumber tests
+                if (xrayData.has("testType")) {
+                    JSONObject testType = xrayData.optJSONObject("testType");
+                    if (testType != null) {
+                        fieldsObj.getJSONObject().put("xrayTestType", testType);
+                        logger.debug("Added test type {} to ticket {}", testType.optString("name", "unknown"), ticketKey);
+                    }
+                }
+                if (xrayData.has("gherkin")) {
+                    String gherkin = xrayData.optString("gherkin", null);
+                    if (gherkin != null && !gherkin.isEmpty()) {
+                        fieldsObj.getJSONObject().put("xrayGherkin", gherkin);
+                        logger.info("✅ Added gherkin content to ticket {}", ticketKey);
+                    }
+                }
+
+                // Add dataset for tests with data-driven scenarios
+                if (xrayData.has("dataset")) {
+                    JSONObject dataset = xrayData.optJSONObject("dataset");
+                    if (dataset != null && !dataset.isEmpty()) {
+                        fieldsObj.getJSONObject().put("xrayDataset", dataset);
+                        int paramsCount = dataset.has("parameters") ? dataset.getJSONArray("parameters").length() : 0;
+                        int rowsCount = dataset.has("rows") ? dataset.getJSONArray("rows").length() : 0;
+                        logger.info("✅ Added dataset to ticket {} ({} parameters, {} rows)", ticketKey, paramsCount, rowsCount);
+                    }
+                }
+
+                // Add preconditions with definition from Xray and summary/description from Jira
+                if (xrayData.has("preconditions")) {
+                    JSONObject preconditionsObj = xrayData.optJSONObject("preconditions");
+                    if (preconditionsObj != null && preconditionsObj.has("results")) {
+                        JSONArray preconditions = preconditionsObj.getJSONArray("results");
+
+                        // Enrich each precondition with Jira data
+                        for (int i = 0; i < preconditions.length(); i++) {
+                            JSONObject precondition = preconditions.getJSONObject(i);
+
+                            String preconditionKey = null;
+                            if (precondition.has("jira")) {
+                                JSONObject jira = precondition.getJSONObject("jira");
+                                preconditionKey = jira.optString("key", null);
+                            }
+
+                            if (preconditionKey != null && !preconditionKey.isEmpty()) {
+                                Ticket preconditionTicket = preconditionTicketsMap.get(preconditionKey);
+                                if (preconditionTicket != null) {
+                                    Fields preconditionFields = preconditionTicket.getFields();
+                                    if (preconditionFields != null) {
+                                        if (preconditionFields.getSummary() != null) {
+                                            precondition.put("summary", preconditionFields.getSummary());
+                                        }
+                                        if (preconditionFields.getDescription() != null) {
+                                            precondition.put("description", preconditionFields.getDescription());
+                                        }
+                                    }
+                                }
+                            }
+                        }
+
+                        fieldsObj.getJSONObject().put("xrayPreconditions", preconditions);
+                        logger.info("✅ Added {} preconditions to ticket {}", preconditions.length(), ticketKey);
+                    }
+                }
+
+            } catch (Exception e) {
+                logger.warn("Error enriching ticket {} with X-ray data: {}", ticket.getKey(), e.getMessage(), e);
+                // Continue processing other tickets even if one fails
+            }
+        }
+
+        return xrayDataMap.size();
+    }
+
+    /**
+     * Loads summary and description of preconditions with batched Jira searches, remembered by {@link TicketResolver}
+     * so preconditions shared by tests of many pages are requested once.
+     */
+    private Map<String, Ticket> resolvePreconditionTickets(Set<String> preconditionKeys) {
+        Map<String, Ticket> preconditionTickets = new HashMap<>();
+        if (preconditionKeys.isEmpty()) {
+            return preconditionTickets;
+        }
+        logger.debug("Fetching {} preconditions from Jira", preconditionKeys.size());
+        // Batched lookups are Jira searches, which must not be enriched themselves
+        boolean wasEnriching = isEnriching.get();
+        isEnriching.set(true);
+        try {
+            Map<String, ITicket> resolved = TicketResolver.resolve(this, new ArrayList<>(preconditionKeys), PRECONDITION_FIELDS);
+            for (Map.Entry<String, ITicket> entry : resolved.entrySet()) {
+                if (entry.getValue() instanceof Ticket) {
+                    preconditionTickets.put(entry.getKey(), (Ticket) entry.getValue());
+                }
+            }
+        } finally {
+            isEnriching.set(wasEnriching);
+        }
+        return preconditionTickets;
+    }
+
+    /**
+     * Enriches one page of search results with a batched GraphQL {@code getTests(issueIds: [...])} request.
+     * Runs on the threads of {@link PageEnrichmentPipeline}, failures leave the page as it is.
+     */
+    private void enrichPage(List<Ticket> page) {
+        List<Ticket> testTickets = filterTestTickets(page);
+        List<String> issueIds = new ArrayList<>();
+        for (Ticket ticket : testTickets) {
+            String id = ticket.getId();
+            if (id != null && !id.isEmpty()) {
+                issueIds.add(id);
+            }
+        }
+        if (issueIds.isEmpty()) {
+            return;
+        }
+        try {
+            JSONArray xrayTests = xrayRestClient.getTestsByIssueIdsGraphQL(issueIds);
+            int xrayTestsFound = applyXrayData(testTickets, xrayTests);
+            logger.debug("Enriched {} of {} Test/Precondition tickets of the page with X-ray data", xrayTestsFound, testTickets.size());
+        } catch (IOException e) {
+            logger.warn("Failed to get X-ray data for {} tickets starting with {}: {}", testTickets.size(), testTickets.get(0).getKey(), e.getMessage());
+        }
+    }
+
     /**
      * Overrides searchAndPerform to enrich test tickets with X-ray test steps and preconditions.
      * First calls the parent method to get tickets from Jira, then for each Test issue,
@@ -1313,6 +1373,10 @@ public class XrayClient extends JiraClient<Ticket> {
             @MCPParam(name = "searchQueryJQL", description = "JQL search query (e.g., 'project = TP AND issueType = Test')", required = true, example = "project = TP AND issueType = Test") String searchQueryJQL,
             @MCPParam(name = "fields", description = "Array of field names to retrieve (e.g., ['summary', 'description', 'status'])", required = false, example = "summary,description,status") String[] fields
     ) throws Exception {
+        if (isEnriching.get()) {
+            return super.searchAndPerform(searchQueryJQL, fields);
+        }
+
         // Ensure issuetype field is always included for X-ray enrichment
         fields = ensureIssueTypeField(fields);
 
@@ -1367,8 +1431,10 @@ public class XrayClient extends JiraClient<Ticket> {
 
     /**
      * Overrides searchAndPerform with Performer callback to enrich test tickets with X-ray test steps and preconditions.
-     * For each ticket that is a Test issue, retrieves test steps and preconditions from X-ray GraphQL API
-     * and adds them to the ticket before passing it to the Performer callback.
+     * Search results are enriched page by page with batched X-ray GraphQL requests while Jira fetches the next page,
+     * and passed to the Performer callback in search order as soon as their page is enriched. Only a few pages are
+     * buffered ({@code XRAY_PARALLEL_THREADS}), so large test repositories are processed in constant memory, and
+     * nothing more is fetched once the Performer asks to stop.
      * 
      * @param performer Performer callback to process each ticket
      * @param searchQueryJQL JQL search query
@@ -1401,34 +1467,13 @@ public class XrayClient extends JiraClient<Ticket> {
         logger.debug("XrayClient.searchAndPerform with Performer: enriching tickets with X-ray data for JQL: {}", searchQueryJQL);
         isEnriching.set(true);
 
-        try {
-            // First, get all tickets using parent's searchAndPerform with Performer (not the List version to avoid recursion)
-            // We use a collector Performer to gather tickets first, then enrich them
-            List<Ticket> tickets = new ArrayList<>();
-            super.searchAndPerform(ticket -> {
-                tickets.add(ticket);
-                return false; // Continue collecting all tickets
-            }, searchQueryJQL, fields);
-            
-            if (tickets == null || tickets.isEmpty()) {
-                logger.debug("No tickets found for query: {}", searchQueryJQL);
-                return;
-            }
-            
-            // Enrich tickets with X-ray data
-            enrichTicketsWithXrayData(tickets, searchQueryJQL);
-        
-            // Now process all tickets with the Performer callback
-            logger.debug("Processing {} tickets with Performer callback", tickets.size());
-            for (Ticket ticket : tickets) {
-                boolean shouldBreak = performer.perform(ticket);
-                if (shouldBreak) {
-                    logger.debug("Performer requested to stop processing");
-                    break;
-                }
-            }
-            
-            logger.debug("Finished processing tickets with Performer callback");
+        PropertyReader propertyReader = new PropertyReader();
+        int pageSize = Math.min(XrayRestClient.GET_TESTS_LIMIT, propertyReader.getXrayParallelBatchSize());
+        try (PageEnrichmentPipeline pipeline = new PageEnrichmentPipeline(performer, this::enrichPage,
+                pageSize, propertyReader.getXrayParallelThreads())) {
+            super.searchAndPerform(pipeline, searchQueryJQL, fields);
+            pipeline.finish();
+            logger.debug("Finished processing {} tickets with Performer callback", pipeline.getPerformed());
         } finally {
             isEnriching.set(false);
         }
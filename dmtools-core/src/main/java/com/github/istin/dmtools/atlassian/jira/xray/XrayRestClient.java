@@ -37,6 +37,55 @@ public class XrayRestClient extends AbstractRestClient {
     private volatile long tokenExpiryTime;
     private static final long TOKEN_REFRESH_BUFFER_MS = 60000; // Refresh 1 minute before expiry
     
+    // Test fields requested by getTests queries: steps, test type, gherkin, dataset and preconditions
+    private static final String TEST_RESULT_FIELDS =
+            "      issueId " +
+            "      projectId " +
+            "      jira(fields: [\"key\", \"summary\", \"description\"]) " +
+            "      testType { name } " +
+            "      folder { path } " +
+            "      steps { " +
+            "        id " +
+            "        action " +
+            "        data " +
+            "        result " +
+            "        attachments { " +
+            "          id " +
+            "          filename " +
+            "          downloadLink " +
+            "        } " +
+            "        customFields { " +
+            "          id " +
+            "          name " +
+            "          value " +
+            "        } " +
+            "      } " +
+            "      scenarioType " +
+            "      gherkin " +
+            "      unstructured " +
+            "      dataset { " +
+            "        parameters { " +
+            "          name " +
+            "          type " +
+            "          listValues " +
+            "        } " +
+            "        rows { " +
+            "          order " +
+            "          Values " +
+            "        } " +
+            "      } " +
+            "      preconditions(limit: 10) { " +
+            "        total " +
+            "        results { " +
+            "          issueId " +
+            "          definition " +
+            "          jira(fields: [\"key\", \"summary\"]) " +
+            "        } " +
+            "      } ";
+
+    // Maximum results of one getTests query
+    static final int GET_TESTS_LIMIT = 100;
+
     // Pagination limit override (default 100, can be set for testing)
     private volatile int paginationLimit = 100;
 
@@ -443,55 +492,51 @@ public class XrayRestClient extends AbstractRestClient {
             "query { " +
             "  getTests(jql: \"%s\", limit: %d) { " +
             "    results { " +
-            "      issueId " +
-            "      projectId " +
-            "      jira(fields: [\"key\", \"summary\", \"description\"]) " +
-            "      testType { name } " +
-            "      folder { path } " +
-            "      steps { " +
-            "        id " +
-            "        action " +
-            "        data " +
-            "        result " +
-            "        attachments { " +
-            "          id " +
-            "          filename " +
-            "          downloadLink " +
-            "        } " +
-            "        customFields { " +
-            "          id " +
-            "          name " +
-            "          value " +
-            "        } " +
-            "      } " +
-            "      scenarioType " +
-            "      gherkin " +
-            "      unstructured " +
-            "      dataset { " +
-            "        parameters { " +
-            "          name " +
-            "          type " +
-            "          listValues " +
-            "        } " +
-            "        rows { " +
-            "          order " +
-            "          Values " +
-            "        } " +
-            "      } " +
-            "      preconditions(limit: 10) { " +
-            "        total " +
-            "        results { " +
-            "          issueId " +
-            "          definition " +
-            "          jira(fields: [\"key\", \"summary\"]) " +
-            "        } " +
-            "      } " +
+            TEST_RESULT_FIELDS +
             "    } " +
             "  } " +
             "}",
             escapedJQL, limit
         );
+        return executeGetTests(query, "JQL " + jqlQuery);
+    }
+
+    /**
+     * Gets test details with steps and preconditions for Jira issue ids, with one GraphQL
+     * {@code getTests(issueIds: [...])} request per {@value #GET_TESTS_LIMIT} ids.
+     * Issues that aren't tests are not returned.
+     *
+     * @param issueIds Jira issue ids (not keys)
+     * @return JSONArray of test details including steps and preconditions
+     * @throws IOException if API call fails
+     */
+    public JSONArray getTestsByIssueIdsGraphQL(List<String> issueIds) throws IOException {
+        JSONArray allResults = new JSONArray();
+        for (int from = 0; from < issueIds.size(); from += GET_TESTS_LIMIT) {
+            List<String> batch = issueIds.subList(from, Math.min(from + GET_TESTS_LIMIT, issueIds.size()));
+            String query = String.format(
+                "query { " +
+                "  getTests(issueIds: %s, limit: %d) { " +
+                "    results { " +
+                TEST_RESULT_FIELDS +
+                "    } " +
+                "  } " +
+                "}",
+                new JSONArray(batch), GET_TESTS_LIMIT
+            );
+            JSONObject pageData = executeGetTests(query, "issue ids " + batch.get(0) + "..." + batch.get(batch.size() - 1));
+            JSONArray results = pageData != null ? pageData.optJSONArray("results") : null;
+            if (results != null) {
+                for (int i = 0; i < results.length(); i++) {
+                    allResults.put(results.getJSONObject(i));
+                }
+            }
+        }
+        logger.debug("GraphQL returned {} tests for {} issue ids", allResults.length(), issueIds.size());
+        return allResults;
+    }
 
+    private JSONObject executeGetTests(String query, String context) throws IOException {
         try {
             String response = executeGraphQL(query);
             if (response == null || response.trim().isEmpty()) {
@@ -504,7 +549,7 @@ public class XrayRestClient extends AbstractRestClient {
             if (responseJson.has("errors")) {
                 JSONArray errors = responseJson.getJSONArray("errors");
                 String errorMessage = errors.length() > 0 ? errors.getJSONObject(0).optString("message", "Unknown GraphQL error") : "GraphQL error";
-                logger.warn("GraphQL query returned errors for JQL {}: {}", jqlQuery, errorMessage);
+                logger.warn("GraphQL query returned errors for {}: {}", context, errorMessage);
                 return null;
             }
 
@@ -518,7 +563,7 @@ public class XrayRestClient extends AbstractRestClient {
 
             return null;
         } catch (Exception e) {
-            logger.error("Error executing GraphQL query for JQL {}", jqlQuery, e);
+            logger.error("Error executing GraphQL query for {}", context, e);
             throw new IOException("Failed to get tests via GraphQL: " + e.getMessage(), e);
         }
     }
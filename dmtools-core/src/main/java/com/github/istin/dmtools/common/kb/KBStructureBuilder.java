@@ -1,6 +1,7 @@
 package com.github.istin.dmtools.common.kb;
 
 import com.github.istin.dmtools.common.kb.model.*;
+import com.github.istin.dmtools.common.kb.utils.KBIndex;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -208,6 +209,7 @@ public class KBStructureBuilder {
         
         Path questionFile = questionDir.resolve(question.getId() + ".md");
         createQuestionFile(questionFile, question, sourceName, answerIds, noteIds);
+        KBIndex.forPath(outputPath).update(questionFile);
     }
 
     /**
@@ -224,6 +226,7 @@ public class KBStructureBuilder {
         
         Path answerFile = answerDir.resolve(answer.getId() + ".md");
         createAnswerFile(answerFile, answer, sourceName);
+        KBIndex.forPath(outputPath).update(answerFile);
     }
     
     /**
@@ -240,6 +243,7 @@ public class KBStructureBuilder {
         
         Path noteFile = noteDir.resolve(note.getId() + ".md");
         createNoteFile(noteFile, note, sourceName);
+        KBIndex.forPath(outputPath).update(noteFile);
     }
     
 
@@ -1,11 +1,14 @@
 package com.github.istin.dmtools.common.kb.utils;
 
+import com.github.istin.dmtools.ai.agent.ChunkMapReduce;
 import com.github.istin.dmtools.common.kb.model.KBResult;
 import org.apache.logging.log4j.Logger;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -42,6 +45,9 @@ public class KBAggregateOnlyService {
             logger.info("Found {} people in existing KB", people.size());
         }
         
+        // Entities to regenerate are collected first and aggregated concurrently afterwards
+        List<KBAggregationBatchHelper.Aggregation> aggregations = new ArrayList<>();
+        
         int skippedPeople = 0;
         int regeneratedPeople = 0;
         
@@ -64,7 +70,7 @@ public class KBAggregateOnlyService {
                 regeneratedPeople++;
             }
             
-            aggregationHelper.aggregatePerson(personId, outputPath, extraInstructions);
+            aggregations.add(() -> aggregationHelper.aggregatePerson(personId, outputPath, extraInstructions));
         }
         
         if (smartMode && logger != null) {
@@ -98,13 +104,18 @@ public class KBAggregateOnlyService {
                 regeneratedTopics++;
             }
             
-            aggregationHelper.aggregateTopicById(topicId, outputPath, extraInstructions);
+            aggregations.add(() -> aggregationHelper.aggregateTopicById(topicId, outputPath, extraInstructions));
         }
         
         if (smartMode && logger != null) {
             logger.info("Topics: regenerated {}, skipped {}", regeneratedTopics, skippedTopics);
         }
 
+        ChunkMapReduce.forAgent(aggregationHelper.getAggregationAgent()).map(aggregations, 0, (aggregation, index) -> {
+            aggregation.run();
+            return index;
+        });
+
         structureManager.generateIndexes(outputPath);
         return structureManager.buildResult(null, outputPath, fileUtils);
     }
@@ -1,10 +1,13 @@
 package com.github.istin.dmtools.common.kb.utils;
 
+import com.github.istin.dmtools.ai.agent.ChunkMapReduce;
 import com.github.istin.dmtools.common.kb.model.AnalysisResult;
 import org.apache.logging.log4j.Logger;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -23,20 +26,34 @@ public class KBAggregationBatchHelper {
                                String extraInstructions,
                                Logger logger) throws Exception {
         Set<String> people = collectPeople(analysisResult);
+        Set<String> topics = collectTopics(analysisResult);
+
+        // People and topics write separate description files, so all of them are aggregated concurrently
+        List<Aggregation> aggregations = new ArrayList<>();
         for (String person : people) {
-            aggregationHelper.aggregatePerson(person, outputPath, extraInstructions);
+            aggregations.add(() -> aggregationHelper.aggregatePerson(person, outputPath, extraInstructions));
         }
-
-        Set<String> topics = collectTopics(analysisResult);
         for (String topic : topics) {
-            aggregationHelper.aggregateTopic(topic, outputPath, extraInstructions);
+            aggregations.add(() -> aggregationHelper.aggregateTopic(topic, outputPath, extraInstructions));
         }
+        ChunkMapReduce.forAgent(aggregationHelper.getAggregationAgent()).map(aggregations, 0, (aggregation, index) -> {
+            aggregation.run();
+            return index;
+        });
 
         if (logger != null) {
             logger.info("Aggregated {} people and {} topics", people.size(), topics.size());
         }
     }
 
+    /**
+     * Single aggregation call
+     */
+    @FunctionalInterface
+    interface Aggregation {
+        void run() throws Exception;
+    }
+
     private Set<String> collectPeople(AnalysisResult analysisResult) {
         Set<String> people = new LinkedHashSet<>();
         analysisResult.getQuestions().forEach(q -> people.add(q.getAuthor()));
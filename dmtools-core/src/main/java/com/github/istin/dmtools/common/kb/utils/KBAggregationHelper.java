@@ -38,6 +38,10 @@ public class KBAggregationHelper {
         this.contextLoader = contextLoader;
     }
     
+    public KBAggregationAgent getAggregationAgent() {
+        return aggregationAgent;
+    }
+    
     /**
      * Aggregate person profile - generate AI description
      */
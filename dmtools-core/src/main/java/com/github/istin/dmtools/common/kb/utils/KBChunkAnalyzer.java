@@ -1,6 +1,7 @@
 package com.github.istin.dmtools.common.kb.utils;
 
 import com.github.istin.dmtools.ai.ChunkPreparation;
+import com.github.istin.dmtools.ai.agent.ChunkMapReduce;
 import com.github.istin.dmtools.common.kb.KBAnalysisResultMerger;
 import com.github.istin.dmtools.common.kb.agent.KBAnalysisAgent;
 import com.github.istin.dmtools.common.kb.model.AnalysisResult;
@@ -8,7 +9,6 @@ import com.github.istin.dmtools.common.kb.model.KBContext;
 import com.github.istin.dmtools.common.kb.params.AnalysisParams;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -41,13 +41,13 @@ public class KBChunkAnalyzer {
                                                 KBContext context,
                                                 String extraInstructions,
                                                 Logger logger) throws Exception {
-        List<AnalysisResult> chunkResults = new ArrayList<>();
-        for (int i = 0; i < chunks.size(); i++) {
+        // Chunks are analyzed concurrently, results keep the order of the chunks for the merge
+        List<AnalysisResult> chunkResults = ChunkMapReduce.forAgent(analysisAgent).map(chunks, 0, (chunk, i) -> {
             if (logger != null) {
                 logger.info("Processing chunk {} of {}", i + 1, chunks.size());
             }
-            chunkResults.add(analyzeChunk(chunks.get(i).getText(), sourceName, context, extraInstructions));
-        }
+            return analyzeChunk(chunk.getText(), sourceName, context, extraInstructions);
+        });
         if (logger != null) {
             logger.info("Merging {} chunk results", chunkResults.size());
         }
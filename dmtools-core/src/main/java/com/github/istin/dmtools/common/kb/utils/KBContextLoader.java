@@ -55,30 +55,13 @@ public class KBContextLoader {
             }
         }
         
-        // Load existing questions for Q&A mapping
-        Path questionsDir = outputPath.resolve("questions");
-        if (Files.exists(questionsDir)) {
-            try (Stream<Path> questions = Files.list(questionsDir)) {
-                questions.filter(Files::isRegularFile)
-                        .filter(p -> p.getFileName().toString().endsWith(".md"))
-                        .forEach(p -> {
-                            try {
-                                String content = Files.readString(p);
-                                String id = p.getFileName().toString().replace(".md", "");
-                                String author = fileParser.extractAuthor(content);
-                                String area = fileParser.extractArea(content);
-                                boolean answered = content.contains("answered: true");
-                                String text = fileParser.extractQuestionText(content);
-                                
-                                if (author != null && text != null) {
-                                    context.getExistingQuestions().add(
-                                        new KBContext.QuestionSummary(id, author, text, area, answered)
-                                    );
-                                }
-                            } catch (IOException e) {
-                                logger.warn("Failed to read question file: {}", p, e);
-                            }
-                        });
+        // Load existing questions for Q&A mapping from the KB index, only changed files are parsed
+        KBIndex index = KBIndex.forPath(outputPath);
+        for (KBIndex.Entry entry : index.getEntries(KBIndex.QUESTIONS)) {
+            if (entry.getAuthor() != null && entry.getQuestionText() != null) {
+                context.getExistingQuestions().add(
+                    new KBContext.QuestionSummary(entry.getId(), entry.getAuthor(), entry.getQuestionText(), entry.getArea(), entry.isAnswered())
+                );
             }
         }
         
@@ -99,32 +82,7 @@ public class KBContextLoader {
      * Find maximum ID for a given prefix in a directory
      */
     public int findMaxId(Path outputPath, String prefix, String dirName) throws IOException {
-        int maxId = 0;
-        Path dir = outputPath.resolve(dirName);
-        
-        if (!Files.exists(dir)) {
-            return maxId;
-        }
-        
-        try (Stream<Path> files = Files.list(dir)) {
-            maxId = files
-                    .filter(Files::isRegularFile)
-                    .filter(p -> p.getFileName().toString().startsWith(prefix))
-                    .filter(p -> p.getFileName().toString().endsWith(".md"))
-                    .mapToInt(p -> {
-                        String filename = p.getFileName().toString();
-                        String idPart = filename.substring(prefix.length(), filename.lastIndexOf("."));
-                        try {
-                            return Integer.parseInt(idPart);
-                        } catch (NumberFormatException e) {
-                            return 0;
-                        }
-                    })
-                    .max()
-                    .orElse(0);
-        }
-        
-        return maxId;
+        return KBIndex.forPath(outputPath).getMaxId(dirName, prefix);
     }
     
     /**
@@ -8,16 +8,48 @@ import com.github.istin.dmtools.common.kb.model.Question;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility for mapping temporary IDs to permanent IDs in KB entities
+ * <p>
+ * IDs are allocated atomically in blocks: builds of the same KB that run at the same time
+ * get distinct, contiguous IDs in the order of their entities, even if they loaded the same max IDs.
  */
 public class KBIdMapper {
     
     private static final Logger logger = LogManager.getLogger(KBIdMapper.class);
     
+    private static final Map<Path, KBIdMapper> MAPPERS = new ConcurrentHashMap<>();
+    
+    // KB directory to check for IDs written since the context was loaded, null for a standalone mapper
+    private final Path outputPath;
+    
+    // Last IDs allocated by builds that haven't written their files yet
+    private int lastQuestionId;
+    private int lastAnswerId;
+    private int lastNoteId;
+    private int activeBuilds;
+    
+    /**
+     * ID mapper of the KB at {@code outputPath}, shared by all builds of that KB in this process
+     */
+    public static KBIdMapper forPath(Path outputPath) {
+        return MAPPERS.computeIfAbsent(outputPath.toAbsolutePath().normalize(), KBIdMapper::new);
+    }
+    
+    public KBIdMapper() {
+        this(null);
+    }
+    
+    private KBIdMapper(Path outputPath) {
+        this.outputPath = outputPath;
+    }
+    
     /**
      * Map temporary IDs (q_1, a_1, n_1) to real IDs (q_0001, a_0001, n_0001)
      * and update Q→A references accordingly.
@@ -38,8 +70,22 @@ public class KBIdMapper {
     private Map<String, String> createIdMapping(AnalysisResult analysisResult, KBContext context) {
         Map<String, String> idMapping = new HashMap<>();
         
+        // Allocate a block of IDs per type at once
+        int nextQuestionId;
+        int nextAnswerId;
+        int nextNoteId;
+        synchronized (this) {
+            // Counted first, so release() balances it even if reading the last IDs fails
+            activeBuilds++;
+            nextQuestionId = Math.max(lastQuestionId, maxId(context.getMaxQuestionId(), KBIndex.QUESTIONS, "q_")) + 1;
+            lastQuestionId = nextQuestionId + analysisResult.getQuestions().size() - 1;
+            nextAnswerId = Math.max(lastAnswerId, maxId(context.getMaxAnswerId(), KBIndex.ANSWERS, "a_")) + 1;
+            lastAnswerId = nextAnswerId + analysisResult.getAnswers().size() - 1;
+            nextNoteId = Math.max(lastNoteId, maxId(context.getMaxNoteId(), KBIndex.NOTES, "n_")) + 1;
+            lastNoteId = nextNoteId + analysisResult.getNotes().size() - 1;
+        }
+        
         // Map questions
-        int nextQuestionId = context.getMaxQuestionId() + 1;
         for (Question question : analysisResult.getQuestions()) {
             String tempId = question.getId(); // e.g., "q_1"
             String realId = String.format("q_%04d", nextQuestionId++);
@@ -48,7 +94,6 @@ public class KBIdMapper {
         }
         
         // Map answers
-        int nextAnswerId = context.getMaxAnswerId() + 1;
         for (Answer answer : analysisResult.getAnswers()) {
             String tempId = answer.getId(); // e.g., "a_1"
             String realId = String.format("a_%04d", nextAnswerId++);
@@ -57,7 +102,6 @@ public class KBIdMapper {
         }
         
         // Map notes
-        int nextNoteId = context.getMaxNoteId() + 1;
         for (Note note : analysisResult.getNotes()) {
             String tempId = note.getId(); // e.g., "n_1"
             String realId = String.format("n_%04d", nextNoteId++);
@@ -68,6 +112,33 @@ public class KBIdMapper {
         return idMapping;
     }
     
+    /**
+     * Max ID of the context, or of the files on disk if another build wrote more since the context was loaded
+     */
+    private int maxId(int contextMaxId, String dirName, String prefix) {
+        if (outputPath == null) {
+            return contextMaxId;
+        }
+        try {
+            return Math.max(contextMaxId, KBIndex.forPath(outputPath).getMaxId(dirName, prefix));
+        } catch (IOException e) {
+            logger.warn("Failed to read max ID from {}, using loaded context", dirName, e);
+            return contextMaxId;
+        }
+    }
+    
+    /**
+     * Called by a build after it wrote the files of its mapped IDs. Once no build holds allocated IDs,
+     * allocation starts from the max IDs on disk again.
+     */
+    public synchronized void release() {
+        if (activeBuilds > 0 && --activeBuilds == 0) {
+            lastQuestionId = 0;
+            lastAnswerId = 0;
+            lastNoteId = 0;
+        }
+    }
+    
     /**
      * Update Q→A references using mapped IDs
      */
@@ -0,0 +1,256 @@
+package com.github.istin.dmtools.common.kb.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import lombok.Data;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Persistent index of the parsed question, answer and note files of a KB.
+ * <p>
+ * Keeps front-matter fields and Q/A links of every file keyed by its path in the KB, with the file's
+ * modification time and size. Listing a directory reads and parses only the files that changed since
+ * they were indexed, so a run costs in proportion to what it changes. Saved to {@code inbox/kb_index.json}.
+ */
+public class KBIndex {
+
+    private static final Logger logger = LogManager.getLogger(KBIndex.class);
+
+    public static final String QUESTIONS = "questions";
+    public static final String ANSWERS = "answers";
+    public static final String NOTES = "notes";
+
+    private static final List<String> INDEXED_DIRS = List.of(QUESTIONS, ANSWERS, NOTES);
+    private static final String INDEX_FILE_NAME = "kb_index.json";
+    private static final int VERSION = 1;
+    private static final Gson GSON = new Gson();
+
+    private static final Map<Path, KBIndex> INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * Parsed metadata of a single KB file
+     */
+    @Data
+    public static class Entry {
+        private String id;
+        private long modified;
+        private long size;
+        private String author;
+        private String area;
+        private String date;
+        private List<String> topics = new ArrayList<>();
+        private boolean answered;
+        private String questionText;
+        private String answeredBy;
+        private String answersQuestion;
+    }
+
+    private static class Snapshot {
+        int version;
+        TreeMap<String, Entry> entries;
+    }
+
+    private final Path outputPath;
+    private final KBFileParser parser;
+    private TreeMap<String, Entry> entries;
+    private boolean dirty;
+
+    KBIndex(Path outputPath, KBFileParser parser) {
+        this.outputPath = outputPath;
+        this.parser = parser;
+    }
+
+    /**
+     * Index of the KB at {@code outputPath}, shared by all readers of that KB in this process
+     */
+    public static KBIndex forPath(Path outputPath) {
+        return INDEXES.computeIfAbsent(outputPath.toAbsolutePath().normalize(), path -> new KBIndex(path, new KBFileParser()));
+    }
+
+    /**
+     * Entries of all {@code .md} files in the KB directory {@code dirName}, e.g. {@link #QUESTIONS},
+     * sorted by file name. Changed and new files are parsed again, removed files are dropped.
+     */
+    public synchronized List<Entry> getEntries(String dirName) throws IOException {
+        refresh(dirName);
+        save();
+        return new ArrayList<>(entries.subMap(dirName + "/", dirName + "0").values());
+    }
+
+    /**
+     * Maximum numeric ID of files in {@code dirName} named {@code prefix + number}, 0 if there are none
+     */
+    public int getMaxId(String dirName, String prefix) throws IOException {
+        int maxId = 0;
+        for (Entry entry : getEntries(dirName)) {
+            if (entry.getId().startsWith(prefix)) {
+                try {
+                    maxId = Math.max(maxId, Integer.parseInt(entry.getId().substring(prefix.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return maxId;
+    }
+
+    /**
+     * Re-indexes a single file right after it was written, so readers don't need to parse it again.
+     * The index is saved on the next listing.
+     */
+    public synchronized void update(Path file) throws IOException {
+        load();
+        String key = keyOf(file);
+        if (key == null) {
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            dirty |= entries.remove(key) != null;
+            return;
+        }
+        entries.put(key, parse(file, Files.readAttributes(file, BasicFileAttributes.class)));
+        dirty = true;
+    }
+
+    /**
+     * Drops the index and parses all files again
+     */
+    public synchronized void rebuild() throws IOException {
+        load();
+        Set<String> dirNames = new TreeSet<>(INDEXED_DIRS);
+        for (String key : entries.keySet()) {
+            dirNames.add(key.substring(0, key.indexOf('/')));
+        }
+        entries = new TreeMap<>();
+        dirty = true;
+        for (String dirName : dirNames) {
+            refresh(dirName);
+        }
+        save();
+        logger.info("Rebuilt KB index: {} files", entries.size());
+    }
+
+    private void refresh(String dirName) throws IOException {
+        load();
+        String keyPrefix = dirName + "/";
+        Set<String> present = new HashSet<>();
+        int parsed = 0;
+
+        Path dir = outputPath.resolve(dirName);
+        if (Files.isDirectory(dir)) {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String fileName = file.getFileName().toString();
+                    if (!fileName.endsWith(".md")) {
+                        continue;
+                    }
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (!attributes.isRegularFile()) {
+                        continue;
+                    }
+                    String key = keyPrefix + fileName;
+                    present.add(key);
+                    Entry entry = entries.get(key);
+                    if (entry != null && entry.getModified() == modifiedOf(attributes) && entry.getSize() == attributes.size()) {
+                        continue;
+                    }
+                    try {
+                        entries.put(key, parse(file, attributes));
+                        parsed++;
+                        dirty = true;
+                    } catch (IOException e) {
+                        logger.warn("Failed to read file: {}", file, e);
+                    }
+                }
+            }
+        }
+
+        int sizeBefore = entries.size();
+        entries.subMap(keyPrefix, dirName + "0").keySet().retainAll(present);
+        if (entries.size() != sizeBefore) {
+            dirty = true;
+        }
+        if (parsed > 0) {
+            logger.debug("KB index: parsed {} changed files in {}", parsed, dirName);
+        }
+    }
+
+    private Entry parse(Path file, BasicFileAttributes attributes) throws IOException {
+        String content = Files.readString(file);
+        Entry entry = new Entry();
+        entry.setId(file.getFileName().toString().replace(".md", ""));
+        entry.setModified(modifiedOf(attributes));
+        entry.setSize(attributes.size());
+        entry.setAuthor(parser.extractAuthor(content));
+        entry.setArea(parser.extractArea(content));
+        entry.setDate(parser.extractDate(content));
+        entry.setTopics(parser.extractTopics(content));
+        entry.setAnswered(content.contains("answered: true"));
+        entry.setQuestionText(parser.extractQuestionText(content));
+        entry.setAnsweredBy(parser.extractAnsweredBy(content));
+        entry.setAnswersQuestion(parser.extractAnswersQuestion(content));
+        return entry;
+    }
+
+    private String keyOf(Path file) {
+        Path parent = file.toAbsolutePath().normalize().getParent();
+        if (parent == null || !outputPath.equals(parent.getParent())) {
+            return null;
+        }
+        String fileName = file.getFileName().toString();
+        return fileName.endsWith(".md") ? parent.getFileName() + "/" + fileName : null;
+    }
+
+    private static long modifiedOf(BasicFileAttributes attributes) {
+        return attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+    }
+
+    private Path indexFile() {
+        return outputPath.resolve("inbox").resolve(INDEX_FILE_NAME);
+    }
+
+    private void load() {
+        if (entries != null) {
+            return;
+        }
+        entries = new TreeMap<>();
+        Path indexFile = indexFile();
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try {
+            Snapshot snapshot = GSON.fromJson(Files.readString(indexFile), Snapshot.class);
+            if (snapshot != null && snapshot.version == VERSION && snapshot.entries != null) {
+                entries = snapshot.entries;
+            }
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Failed to load KB index, it will be rebuilt: {}", indexFile, e);
+        }
+    }
+
+    private void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Path indexFile = indexFile();
+        Files.createDirectories(indexFile.getParent());
+        Snapshot snapshot = new Snapshot();
+        snapshot.version = VERSION;
+        snapshot.entries = entries;
+        // Write to a temporary file first, so an interrupted run never leaves a truncated index
+        Path tempFile = indexFile.resolveSibling(INDEX_FILE_NAME + ".tmp");
+        Files.writeString(tempFile, GSON.toJson(snapshot));
+        Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        dirty = false;
+    }
+}
@@ -49,6 +49,9 @@ public class KBRegenerationManager {
         readAnswers(outputPath, combinedResult, logger);
         readNotes(outputPath, combinedResult, logger);
 
+        // Full regeneration also rebuilds the KB index from scratch
+        KBIndex.forPath(outputPath).rebuild();
+
         if (logger != null) {
             logger.info("Rebuilding KB structure (topics, areas, people)...");
         }
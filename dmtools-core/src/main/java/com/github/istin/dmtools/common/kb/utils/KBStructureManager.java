@@ -9,7 +9,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Stream;
 
 /**
  * Encapsulates structure building steps previously handled in KBOrchestrator.
@@ -38,40 +37,46 @@ public class KBStructureManager {
                                Logger logger) throws Exception {
         // Map temporary IDs (q_1, a_1, n_1) to permanent IDs (q_0001, a_0001, n_0001)
         KBContext idMappingContext = contextLoader.loadKBContext(outputPath);
-        KBIdMapper idMapper = new KBIdMapper();
-        idMapper.mapAndUpdateIds(analysisResult, idMappingContext);
-        
-        // CRITICAL: Collect person contributions AFTER ID mapping
-        // This ensures we use permanent IDs (q_0001) not temporary IDs (q_1)
-        if (personContributions == null) {
-            personContributions = collectPersonContributionsFromAnalysis(analysisResult);
-            if (logger != null) {
-                logger.info("Collected contributions for {} people from current analysis (after ID mapping)", personContributions.size());
-                if (!personContributions.isEmpty()) {
-                    logger.debug("Person contributions collected: {}", personContributions.keySet());
-                    for (Map.Entry<String, PersonContributions> entry : personContributions.entrySet()) {
-                        logger.debug("  - {}: Q={}, A={}, N={}", entry.getKey(), 
-                            entry.getValue().getQuestions().size(),
-                            entry.getValue().getAnswers().size(),
-                            entry.getValue().getNotes().size());
+        KBIdMapper idMapper = KBIdMapper.forPath(outputPath);
+        try {
+            // IDs are reserved here, release() below frees them whatever happens next
+            idMapper.mapAndUpdateIds(analysisResult, idMappingContext);
+
+            // CRITICAL: Collect person contributions AFTER ID mapping
+            // This ensures we use permanent IDs (q_0001) not temporary IDs (q_1)
+            if (personContributions == null) {
+                personContributions = collectPersonContributionsFromAnalysis(analysisResult);
+                if (logger != null) {
+                    logger.info("Collected contributions for {} people from current analysis (after ID mapping)", personContributions.size());
+                    if (!personContributions.isEmpty()) {
+                        logger.debug("Person contributions collected: {}", personContributions.keySet());
+                        for (Map.Entry<String, PersonContributions> entry : personContributions.entrySet()) {
+                            logger.debug("  - {}: Q={}, A={}, N={}", entry.getKey(), 
+                                entry.getValue().getQuestions().size(),
+                                entry.getValue().getAnswers().size(),
+                                entry.getValue().getNotes().size());
+                        }
                     }
                 }
             }
-        }
-        
-        // Build answers first
-        for (Answer answer : analysisResult.getAnswers()) {
-            structureBuilder.buildAnswerFile(answer, outputPath, sourceName);
-        }
 
-        // Build questions with references
-        for (Question question : analysisResult.getQuestions()) {
-            structureBuilder.buildQuestionFile(question, outputPath, sourceName, analysisResult);
-        }
+            // Build answers first
+            for (Answer answer : analysisResult.getAnswers()) {
+                structureBuilder.buildAnswerFile(answer, outputPath, sourceName);
+            }
 
-        // Build notes
-        for (Note note : analysisResult.getNotes()) {
-            structureBuilder.buildNoteFile(note, outputPath, sourceName);
+            // Build questions with references
+            for (Question question : analysisResult.getQuestions()) {
+                structureBuilder.buildQuestionFile(question, outputPath, sourceName, analysisResult);
+            }
+
+            // Build notes
+            for (Note note : analysisResult.getNotes()) {
+                structureBuilder.buildNoteFile(note, outputPath, sourceName);
+            }
+        } finally {
+            // Mapped IDs are on disk now, or the build failed and they can be allocated again
+            idMapper.release();
         }
 
         // Build topic & area structures
@@ -206,44 +211,23 @@ public class KBStructureManager {
                 }
             }
 
-            Path answersDir = outputPath.resolve("answers");
-            Path notesDir = outputPath.resolve("notes");
-
-            if (Files.exists(answersDir)) {
-                try (Stream<Path> files = Files.list(answersDir)) {
-                    files.filter(Files::isRegularFile)
-                            .forEach(path -> {
-                                try {
-                                    String content = Files.readString(path);
-                                    String author = statsCollector.extractAuthor(content);
-                                    if (author != null) {
-                                        // Normalize author name using the same method as peopleFromCurrentAnalysis
-                                        String normalizedAuthor = structureBuilder.normalizePersonName(author);
-                                        PersonStatsCollector.PersonStats stats = personStats.computeIfAbsent(normalizedAuthor, k -> new PersonStatsCollector.PersonStats());
-                                        stats.answers++;
-                                    }
-                                } catch (java.io.IOException ignored) {
-                                }
-                            });
+            // Authors come from the KB index, only files changed since the last scan are read
+            KBIndex index = KBIndex.forPath(outputPath);
+            for (KBIndex.Entry entry : index.getEntries(KBIndex.ANSWERS)) {
+                if (entry.getAuthor() != null) {
+                    // Normalize author name using the same method as peopleFromCurrentAnalysis
+                    String normalizedAuthor = structureBuilder.normalizePersonName(entry.getAuthor());
+                    PersonStatsCollector.PersonStats stats = personStats.computeIfAbsent(normalizedAuthor, k -> new PersonStatsCollector.PersonStats());
+                    stats.answers++;
                 }
             }
 
-            if (Files.exists(notesDir)) {
-                try (Stream<Path> files = Files.list(notesDir)) {
-                    files.filter(Files::isRegularFile)
-                            .forEach(path -> {
-                                try {
-                                    String content = Files.readString(path);
-                                    String author = statsCollector.extractAuthor(content);
-                                    if (author != null) {
-                                        // Normalize author name using the same method as peopleFromCurrentAnalysis
-                                        String normalizedAuthor = structureBuilder.normalizePersonName(author);
-                                        PersonStatsCollector.PersonStats stats = personStats.computeIfAbsent(normalizedAuthor, k -> new PersonStatsCollector.PersonStats());
-                                        stats.notes++;
-                                    }
-                                } catch (java.io.IOException ignored) {
-                                }
-                            });
+            for (KBIndex.Entry entry : index.getEntries(KBIndex.NOTES)) {
+                if (entry.getAuthor() != null) {
+                    // Normalize author name using the same method as peopleFromCurrentAnalysis
+                    String normalizedAuthor = structureBuilder.normalizePersonName(entry.getAuthor());
+                    PersonStatsCollector.PersonStats stats = personStats.computeIfAbsent(normalizedAuthor, k -> new PersonStatsCollector.PersonStats());
+                    stats.notes++;
                 }
             }
         } else {
@@ -517,96 +501,30 @@ public class KBStructureManager {
             personTopicCounts.put(person, new HashMap<>());
         }
         
-        // Read questions directory
-        Path questionsDir = outputPath.resolve("questions");
-        if (Files.exists(questionsDir)) {
-            try (java.util.stream.Stream<Path> files = Files.list(questionsDir)) {
-                files.filter(Files::isRegularFile)
-                     .filter(p -> p.getFileName().toString().endsWith(".md"))
-                     .forEach(file -> {
-                         try {
-                             String content = Files.readString(file);
-                             String author = statsCollector.getFileParser().extractAuthor(content);
-                             List<String> topics = statsCollector.getFileParser().extractTopics(content);
-                             
-                             if (author != null && topics != null && !topics.isEmpty()) {
-                                 String normalizedAuthor = structureBuilder.normalizePersonName(author);
-                                 Map<String, Integer> topicCounts = personTopicCounts.get(normalizedAuthor);
-                                 if (topicCounts != null) {
-                                     for (String topic : topics) {
-                                         String topicSlug = structureBuilder.slugify(topic);
-                                         topicCounts.merge(topicSlug, 1, Integer::sum);
-                                     }
-                                 }
-                             }
-                         } catch (IOException e) {
-                             // Skip files that can't be read
-                         }
-                     });
+        // Read questions, answers and notes from the KB index
+        KBIndex index = KBIndex.forPath(outputPath);
+        for (String dirName : List.of(KBIndex.QUESTIONS, KBIndex.ANSWERS, KBIndex.NOTES)) {
+            List<KBIndex.Entry> entries;
+            try {
+                entries = index.getEntries(dirName);
             } catch (IOException e) {
-                // Skip if directory doesn't exist or can't be read
+                // Skip if directory can't be read
+                continue;
             }
-        }
-        
-        // Read answers directory
-        Path answersDir = outputPath.resolve("answers");
-        if (Files.exists(answersDir)) {
-            try (java.util.stream.Stream<Path> files = Files.list(answersDir)) {
-                files.filter(Files::isRegularFile)
-                     .filter(p -> p.getFileName().toString().endsWith(".md"))
-                     .forEach(file -> {
-                         try {
-                             String content = Files.readString(file);
-                             String author = statsCollector.getFileParser().extractAuthor(content);
-                             List<String> topics = statsCollector.getFileParser().extractTopics(content);
-                             
-                             if (author != null && topics != null && !topics.isEmpty()) {
-                                 String normalizedAuthor = structureBuilder.normalizePersonName(author);
-                                 Map<String, Integer> topicCounts = personTopicCounts.get(normalizedAuthor);
-                                 if (topicCounts != null) {
-                                     for (String topic : topics) {
-                                         String topicSlug = structureBuilder.slugify(topic);
-                                         topicCounts.merge(topicSlug, 1, Integer::sum);
-                                     }
-                                 }
-                             }
-                         } catch (IOException e) {
-                             // Skip files that can't be read
-                         }
-                     });
-            } catch (IOException e) {
-                // Skip if directory doesn't exist or can't be read
-            }
-        }
-        
-        // Read notes directory
-        Path notesDir = outputPath.resolve("notes");
-        if (Files.exists(notesDir)) {
-            try (java.util.stream.Stream<Path> files = Files.list(notesDir)) {
-                files.filter(Files::isRegularFile)
-                     .filter(p -> p.getFileName().toString().endsWith(".md"))
-                     .forEach(file -> {
-                         try {
-                             String content = Files.readString(file);
-                             String author = statsCollector.getFileParser().extractAuthor(content);
-                             List<String> topics = statsCollector.getFileParser().extractTopics(content);
-                             
-                             if (author != null && topics != null && !topics.isEmpty()) {
-                                 String normalizedAuthor = structureBuilder.normalizePersonName(author);
-                                 Map<String, Integer> topicCounts = personTopicCounts.get(normalizedAuthor);
-                                 if (topicCounts != null) {
-                                     for (String topic : topics) {
-                                         String topicSlug = structureBuilder.slugify(topic);
-                                         topicCounts.merge(topicSlug, 1, Integer::sum);
-                                     }
-                                 }
-                             }
-                         } catch (IOException e) {
-                             // Skip files that can't be read
-                         }
-                     });
-            } catch (IOException e) {
-                // Skip if directory doesn't exist or can't be read
+            for (KBIndex.Entry entry : entries) {
+                String author = entry.getAuthor();
+                List<String> topics = entry.getTopics();
+                
+                if (author != null && topics != null && !topics.isEmpty()) {
+                    String normalizedAuthor = structureBuilder.normalizePersonName(author);
+                    Map<String, Integer> topicCounts = personTopicCounts.get(normalizedAuthor);
+                    if (topicCounts != null) {
+                        for (String topic : topics) {
+                            String topicSlug = structureBuilder.slugify(topic);
+                            topicCounts.merge(topicSlug, 1, Integer::sum);
+                        }
+                    }
+                }
             }
         }
         
@@ -13,7 +13,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
 
 /**
  * Utility for collecting person statistics and contributions from KB files
@@ -91,23 +90,15 @@ public class PersonStatsCollector {
             return stats;
         }
         
-        try (Stream<Path> files = Files.list(directory)) {
-            files.filter(Files::isRegularFile)
-                 .filter(p -> p.getFileName().toString().endsWith(".md"))
-                 .forEach(file -> {
-                     try {
-                        String content = Files.readString(file);
-                        String author = parser.extractAuthor(content);
-                        if (author != null) {
-                            // Normalize author name to match peopleFromCurrentAnalysis format
-                            String normalizedAuthor = structureBuilder.normalizePersonName(author);
-                            PersonStats stat = stats.computeIfAbsent(normalizedAuthor, k -> new PersonStats());
-                            updater.update(stat);
-                        }
-                    } catch (IOException e) {
-                        logger.warn("Failed to read file: {}", file, e);
-                    }
-                 });
+        // Authors come from the KB index, only files changed since the last scan are read
+        for (KBIndex.Entry entry : KBIndex.forPath(directory.getParent()).getEntries(directory.getFileName().toString())) {
+            String author = entry.getAuthor();
+            if (author != null) {
+                // Normalize author name to match peopleFromCurrentAnalysis format
+                String normalizedAuthor = structureBuilder.normalizePersonName(author);
+                PersonStats stat = stats.computeIfAbsent(normalizedAuthor, k -> new PersonStats());
+                updater.update(stat);
+            }
         }
         
         return stats;
@@ -176,31 +167,19 @@ public class PersonStatsCollector {
             return contributions;
         }
         
-        try (Stream<Path> files = Files.list(directory)) {
-            files.filter(Files::isRegularFile)
-                 .filter(p -> p.getFileName().toString().endsWith(".md"))
-                 .forEach(file -> {
-                     try {
-                         String content = Files.readString(file);
-                         String author = parser.extractAuthor(content);
-                         List<String> topics = parser.extractTopics(content);
-                         String date = parser.extractDate(content);
-                         String id = file.getFileName().toString().replace(".md", "");
-                         
-                        if (author != null && topics != null && !topics.isEmpty()) {
-                            // CRITICAL: Normalize author name to match keys from current analysis
-                            String normalizedAuthor = structureBuilder.normalizePersonName(author);
-                            PersonContributions pc = contributions.computeIfAbsent(normalizedAuthor, k -> new PersonContributions());
-                            // Add contribution for each topic
-                            for (String topic : topics) {
-                                String topicSlug = structureBuilder.slugify(topic);
-                                adder.add(pc, id, topicSlug, date);
-                            }
-                        }
-                     } catch (IOException e) {
-                         logger.warn("Failed to read file: {}", file, e);
-                     }
-                 });
+        for (KBIndex.Entry entry : KBIndex.forPath(directory.getParent()).getEntries(directory.getFileName().toString())) {
+            String author = entry.getAuthor();
+            List<String> topics = entry.getTopics();
+            if (author != null && topics != null && !topics.isEmpty()) {
+                // CRITICAL: Normalize author name to match keys from current analysis
+                String normalizedAuthor = structureBuilder.normalizePersonName(author);
+                PersonContributions pc = contributions.computeIfAbsent(normalizedAuthor, k -> new PersonContributions());
+                // Add contribution for each topic
+                for (String topic : topics) {
+                    String topicSlug = structureBuilder.slugify(topic);
+                    adder.add(pc, entry.getId(), topicSlug, entry.getDate());
+                }
+            }
         }
         
         return contributions;
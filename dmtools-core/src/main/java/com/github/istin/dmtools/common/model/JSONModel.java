@@ -21,6 +21,28 @@ public class JSONModel {
      */
     private JSONObject jo;
 
+    /**
+     * Sub-model views returned by getModel/getModels, reused while the key holds the same JSON value.
+     * Kept as a short immutable list: models usually have just a few nested objects.
+     */
+    private transient volatile View views;
+
+    private static final class View {
+        final String key;
+        final Class<?> type;
+        final Object json;
+        final Object model;
+        final View next;
+
+        View(String key, Class<?> type, Object json, Object model, View next) {
+            this.key = key;
+            this.type = type;
+            this.json = json;
+            this.model = model;
+            this.next = next;
+        }
+    }
+
     /**
      * Instantiates a new base model.
      */
@@ -62,6 +84,7 @@ public class JSONModel {
      * @param value the value
      */
     public final void set(final String key, final Object value) {
+        invalidateView(key);
         try {
             synchronized (jo) {
                 if (value == null) {
@@ -76,6 +99,7 @@ public class JSONModel {
     }
 
     public final void setArray(final String key, final String... values) {
+        invalidateView(key);
         try {
             synchronized (jo) {
                 if (values == null) {
@@ -94,6 +118,7 @@ public class JSONModel {
     }
 
     protected final void setModel(final String key, final JSONModel model) {
+        invalidateView(key);
         synchronized (jo) {
             if (model == null) {
                 jo.remove(key);
@@ -259,42 +284,60 @@ public class JSONModel {
         return null;
     }
 
+    /**
+     * Gets the nested JSON object as a model. The model is created once and returned again while
+     * the key holds the same JSON object.
+     *
+     * @param clazz the model class, must have a no-arg constructor
+     * @param key   the key
+     * @return the model or null if there is no JSON object for the key
+     */
+    @SuppressWarnings("unchecked")
     public  <Model extends JSONModel> Model getModel(Class<Model> clazz, final String key) {
         JSONObject jsonObject = getJSONObject(key);
         if (jsonObject == null) {
             return null;
         }
-        Model model = null;
-        try {
-            model = clazz.newInstance();
-        } catch (Exception e) {
-            throw new IllegalStateException(e);
+        View view = findView(key, clazz, jsonObject);
+        if (view != null) {
+            return (Model) view.model;
         }
+        Model model = ModelFactory.create(clazz);
         model.setJO(jsonObject);
+        putView(key, clazz, jsonObject, model);
         return model;
     }
 
+    /**
+     * Gets the JSON array as a list of models. Models of items that are the same JSON objects
+     * as in the previous call are reused, the list is a new one every call.
+     */
+    @SuppressWarnings("unchecked")
     public  <ReturnType, Model extends JSONModel> List<ReturnType> getModels(Class<Model> clazz, final String key) {
         JSONArray jsonArray = getJSONArray(key);
-        return convertToModels(clazz, jsonArray);
+        if (jsonArray == null || jsonArray.length() == 0) {
+            return Collections.emptyList();
+        }
+        View view = findView(key, clazz, jsonArray);
+        List<JSONModel> previous = view != null ? (List<JSONModel>) view.model : null;
+        List<JSONModel> models = new ArrayList<>(jsonArray.length());
+        for (int i = 0; i < jsonArray.length(); i++) {
+            JSONModel model = previous != null && i < previous.size() ? previous.get(i) : null;
+            Object item = jsonArray.opt(i);
+            if (model == null || model.getJSONObject() != item) {
+                model = createModel(clazz, jsonArray, i);
+            }
+            models.add(model);
+        }
+        putView(key, clazz, jsonArray, models);
+        return (List<ReturnType>) new ArrayList<>(models);
     }
 
     public static  <ReturnType, Model extends JSONModel> List<ReturnType> convertToModels(Class<Model> clazz, JSONArray jsonArray) {
         if (jsonArray != null && jsonArray.length() > 0) {
             List<ReturnType> models = new ArrayList<>();
             for (int i = 0; i < jsonArray.length(); i++) {
-                Model model = null;
-                try {
-                    model = clazz.newInstance();
-                } catch (Exception e) {
-                    throw new IllegalStateException(e);
-                }
-                try {
-                    model.setJO(jsonArray.getJSONObject(i));
-                } catch (JSONException e) {
-                    throw new IllegalStateException(String.valueOf(jsonArray.opt(i)), e);
-                }
-                models.add((ReturnType) model);
+                models.add((ReturnType) createModel(clazz, jsonArray, i));
             }
             return models;
 
@@ -302,6 +345,49 @@ public class JSONModel {
         return Collections.emptyList();
     }
 
+    private static <Model extends JSONModel> Model createModel(Class<Model> clazz, JSONArray jsonArray, int index) {
+        Model model = ModelFactory.create(clazz);
+        try {
+            model.setJO(jsonArray.getJSONObject(index));
+        } catch (JSONException e) {
+            throw new IllegalStateException(String.valueOf(jsonArray.opt(index)), e);
+        }
+        return model;
+    }
+
+    private View findView(String key, Class<?> type, Object json) {
+        for (View view = views; view != null; view = view.next) {
+            if (view.key.equals(key)) {
+                return view.type == type && view.json == json ? view : null;
+            }
+        }
+        return null;
+    }
+
+    // Unsynchronized on purpose: a lost update only costs a new model on the next call,
+    // a stale view never matches as the JSON value is compared by identity.
+    private void putView(String key, Class<?> type, Object json, Object model) {
+        views = new View(key, type, json, model, without(views, key));
+    }
+
+    private void invalidateView(String key) {
+        View head = views;
+        if (head != null) {
+            views = without(head, key);
+        }
+    }
+
+    private static View without(View view, String key) {
+        if (view == null) {
+            return null;
+        }
+        if (view.key.equals(key)) {
+            return view.next;
+        }
+        View next = without(view.next, key);
+        return next == view.next ? view : new View(view.key, view.type, view.json, view.model, next);
+    }
+
     /**
      * Gets the JSONArray value size.
      *
@@ -331,6 +417,7 @@ public class JSONModel {
 
     public void setJO(JSONObject object) {
         this.jo = object;
+        this.views = null;
     }
 
     @Override
@@ -0,0 +1,65 @@
+package com.github.istin.dmtools.common.model;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link JSONModel} instances through their no-arg constructors without reflection on every call.
+ * A factory is built once per class: a lambda bound to the constructor, or a constructor method handle
+ * if the lambda can't be spun for the class (e.g. it's loaded by another class loader).
+ */
+final class ModelFactory {
+
+    private static final ClassValue<Supplier<?>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected Supplier<?> computeValue(Class<?> type) {
+            return factoryOf(type);
+        }
+    };
+
+    private ModelFactory() {
+    }
+
+    static <Model extends JSONModel> Model create(Class<Model> clazz) {
+        return clazz.cast(FACTORIES.get(clazz).get());
+    }
+
+    private static Supplier<?> factoryOf(Class<?> type) {
+        if (Modifier.isAbstract(type.getModifiers())) {
+            InstantiationException e = new InstantiationException(type.getName());
+            return () -> {
+                throw new IllegalStateException(e);
+            };
+        }
+        MethodHandle constructor;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Same failure newInstance() had, but only when a model is actually created
+            return () -> {
+                throw new IllegalStateException(e);
+            };
+        }
+
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                    constructor, MethodType.methodType(type));
+            return (Supplier<?>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            MethodHandle generic = constructor.asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return generic.invokeExact();
+                } catch (RuntimeException | Error error) {
+                    throw error;
+                } catch (Throwable throwable) {
+                    throw new IllegalStateException(throwable);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.github.istin.dmtools.common.networking;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches pages of a paginated API ahead of the consumer so that network latency overlaps with
+ * the processing of the previous page.
+ *
+ * <ul>
+ *     <li>{@link #chained} - for cursor/token pagination where page N+1 depends on page N. A background
+ *     fetcher runs up to {@code lookAhead} pages in front of the consumer (bounded queue = backpressure).
+ *     A {@code lookAhead} of 0 fetches lazily on the consumer thread, i.e. plain sequential paging.</li>
+ *     <li>{@link #windowed} - for offset pagination with a known number of pages. Up to {@code parallelism}
+ *     windows are requested concurrently and handed out in order.</li>
+ * </ul>
+ *
+ * Pages are always returned in request order. {@link #close()} cancels outstanding fetches, so consumers
+ * which stop early (e.g. a performer returning {@code true}) do not keep loading pages.
+ *
+ * @param <P> page type
+ */
+public abstract class PagePipeline<P> implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(PagePipeline.class);
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    @FunctionalInterface
+    public interface NextPageFetcher<P> {
+        /**
+         * @return next page or {@code null} if {@code previous} was the last one
+         */
+        P fetchNext(P previous) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface IndexedPageFetcher<P> {
+        P fetch(int pageIndex) throws Exception;
+    }
+
+    protected final ExecutorService executor;
+    private volatile boolean closed;
+
+    protected PagePipeline(int threads, String name) {
+        this.executor = threads > 0 ? Executors.newFixedThreadPool(threads, daemonThreads(name)) : null;
+    }
+
+    /**
+     * @return next page in order, or {@code null} when there are no more pages
+     * @throws Exception the exception thrown by the page fetcher
+     */
+    public abstract P next() throws Exception;
+
+    public static <P> PagePipeline<P> chained(P firstPage, NextPageFetcher<P> fetcher, int lookAhead, String name) {
+        if (lookAhead <= 0) {
+            return new Sequential<>(firstPage, fetcher);
+        }
+        return new Chained<>(firstPage, fetcher, lookAhead, name);
+    }
+
+    public static <P> PagePipeline<P> windowed(int pageCount, IndexedPageFetcher<P> fetcher, int parallelism, String name) {
+        return new Windowed<>(pageCount, fetcher, Math.max(1, parallelism), name);
+    }
+
+    protected boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            onClose();
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    protected void onClose() {
+    }
+
+    protected static Exception unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        return e;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-prefetch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Sequential<P> extends PagePipeline<P> {
+
+        private final NextPageFetcher<P> fetcher;
+        private P current;
+        private boolean started;
+
+        Sequential(P firstPage, NextPageFetcher<P> fetcher) {
+            super(0, null);
+            this.current = firstPage;
+            this.fetcher = fetcher;
+        }
+
+        @Override
+        public P next() throws Exception {
+            if (!started) {
+                started = true;
+                return current;
+            }
+            if (current == null || isClosed()) {
+                return null;
+            }
+            current = fetcher.fetchNext(current);
+            return current;
+        }
+    }
+
+    private static final class Chained<P> extends PagePipeline<P> {
+
+        private static final Object END = new Object();
+
+        private final BlockingQueue<Object> queue;
+        private P first;
+        private boolean finished;
+
+        Chained(P firstPage, NextPageFetcher<P> fetcher, int lookAhead, String name) {
+            super(1, name);
+            this.first = firstPage;
+            this.queue = new ArrayBlockingQueue<>(lookAhead);
+            if (firstPage != null) {
+                executor.submit(() -> produce(firstPage, fetcher));
+            } else {
+                finished = true;
+            }
+        }
+
+        private void produce(P firstPage, NextPageFetcher<P> fetcher) {
+            Object last = END;
+            P current = firstPage;
+            try {
+                while (!isClosed()) {
+                    current = fetcher.fetchNext(current);
+                    if (current == null) {
+                        break;
+                    }
+                    queue.put(current);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                last = e;
+            }
+            try {
+                if (!isClosed()) {
+                    queue.put(last);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public P next() throws Exception {
+            if (first != null) {
+                P page = first;
+                first = null;
+                return page;
+            }
+            if (finished || isClosed()) {
+                return null;
+            }
+            Object item = queue.take();
+            if (item == END) {
+                finished = true;
+                return null;
+            }
+            if (item instanceof Exception) {
+                finished = true;
+                throw (Exception) item;
+            }
+            return (P) item;
+        }
+
+        @Override
+        protected void onClose() {
+            queue.clear();
+        }
+    }
+
+    private static final class Windowed<P> extends PagePipeline<P> {
+
+        private final int pageCount;
+        private final IndexedPageFetcher<P> fetcher;
+        private final Deque<Future<P>> inFlight = new ArrayDeque<>();
+        private int nextToSubmit;
+
+        Windowed(int pageCount, IndexedPageFetcher<P> fetcher, int parallelism, String name) {
+            super(parallelism, name);
+            this.pageCount = pageCount;
+            this.fetcher = fetcher;
+            while (nextToSubmit < pageCount && inFlight.size() < parallelism) {
+                submitNext();
+            }
+        }
+
+        private void submitNext() {
+            int pageIndex = nextToSubmit++;
+            Callable<P> task = () -> fetcher.fetch(pageIndex);
+            inFlight.addLast(executor.submit(task));
+        }
+
+        @Override
+        public P next() throws Exception {
+            Future<P> head = inFlight.pollFirst();
+            if (head == null || isClosed()) {
+                return null;
+            }
+            if (nextToSubmit < pageCount) {
+                submitNext();
+            }
+            try {
+                return head.get();
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            }
+        }
+
+        @Override
+        protected void onClose() {
+            int cancelled = 0;
+            for (Future<P> future : inFlight) {
+                if (future.cancel(true)) {
+                    cancelled++;
+                }
+            }
+            inFlight.clear();
+            if (cancelled > 0) {
+                logger.debug("Cancelled {} outstanding page fetches", cancelled);
+            }
+        }
+    }
+}
@@ -66,8 +66,6 @@ public interface RestClient {
                 } else {
                     throw new IOException(response.code() + " " + response.body());
                 }
-            } finally {
-                client.connectionPool().evictAll();
             }
         }
 
@@ -0,0 +1,258 @@
+package com.github.istin.dmtools.common.tracker;
+
+import com.github.istin.dmtools.atlassian.jira.JiraClient;
+import com.github.istin.dmtools.common.model.IChangelog;
+import com.github.istin.dmtools.common.model.IHistory;
+import com.github.istin.dmtools.common.model.IHistoryItem;
+import com.github.istin.dmtools.common.model.ITicket;
+import com.github.istin.dmtools.common.model.IUser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run-scoped store of parsed changelogs shared by all metric rules of a report run.
+ * <p>
+ * Rules read changelogs through {@link #getChangeLog(TrackerClient, String, ITicket)}. When a store is
+ * {@link #open() opened} on the current thread the changelog of a ticket is fetched and parsed once and
+ * then served from memory to every rule; without an open store the call goes straight to the tracker.
+ * <p>
+ * {@link #prefetch(TrackerClient, List)} loads the changelogs of a whole batch of tickets with
+ * {@link TrackerClient#getChangeLogs(List)}, which trackers implement with a bulk endpoint where available.
+ */
+public class ChangelogStore {
+
+    private static final Logger logger = LogManager.getLogger(ChangelogStore.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private static final ThreadLocal<ChangelogStore> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, IChangelog> changelogs = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder fetched = new LongAdder();
+
+    /**
+     * Makes this store the current one for the calling thread until the returned scope is closed.
+     */
+    public Scope open() {
+        ChangelogStore previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public static ChangelogStore current() {
+        return CURRENT.get();
+    }
+
+    public static IChangelog getChangeLog(TrackerClient trackerClient, String key, ITicket ticket) throws IOException {
+        ChangelogStore store = CURRENT.get();
+        if (store == null) {
+            return trackerClient.getChangeLog(key, ticket);
+        }
+        return store.get(trackerClient, key, ticket);
+    }
+
+    public IChangelog get(TrackerClient trackerClient, String key, ITicket ticket) throws IOException {
+        IChangelog changelog = changelogs.get(key);
+        if (changelog != null) {
+            hits.increment();
+            return changelog;
+        }
+        changelog = parse(trackerClient.getChangeLog(key, ticket));
+        fetched.increment();
+        if (changelog != null) {
+            changelogs.put(key, changelog);
+        }
+        return changelog;
+    }
+
+    /**
+     * Loads changelogs of the tickets which are not in the store yet with a single bulk call.
+     * Failures are logged and left to the per-ticket fallback in {@link #get}.
+     */
+    @SuppressWarnings("unchecked")
+    public void prefetch(TrackerClient trackerClient, List<? extends ITicket> tickets) {
+        List<ITicket> missing = new ArrayList<>();
+        for (ITicket ticket : tickets) {
+            if (!changelogs.containsKey(ticket.getKey())) {
+                missing.add(ticket);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, IChangelog> loaded = trackerClient.getChangeLogs(missing);
+            if (loaded == null) {
+                return;
+            }
+            for (Map.Entry<String, IChangelog> entry : loaded.entrySet()) {
+                IChangelog changelog = parse(entry.getValue());
+                if (changelog != null) {
+                    changelogs.put(entry.getKey(), changelog);
+                    fetched.increment();
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Changelog prefetch failed for {} tickets, falling back to per-ticket requests: {}", missing.size(), e.getMessage());
+        }
+    }
+
+    public boolean contains(String key) {
+        return changelogs.containsKey(key);
+    }
+
+    public int size() {
+        return changelogs.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getFetched() {
+        return fetched.sum();
+    }
+
+    public void clear() {
+        changelogs.clear();
+    }
+
+    /**
+     * Wraps {@code performer} so that tickets are handed over in batches of {@code batchSize}
+     * after their changelogs were prefetched into this store. {@link Prefetcher#flush()} must be called
+     * once the search completes to process the last incomplete batch.
+     */
+    public <T extends ITicket> Prefetcher<T> prefetcher(TrackerClient trackerClient, int batchSize, JiraClient.Performer<T> performer) {
+        return new Prefetcher<>(this, trackerClient, batchSize, performer);
+    }
+
+    private static IChangelog parse(IChangelog changelog) {
+        if (changelog == null || changelog instanceof Parsed) {
+            return changelog;
+        }
+        List<? extends IHistory> histories = changelog.getHistories();
+        if (histories == null) {
+            return changelog;
+        }
+        List<IHistory> parsed = new ArrayList<>(histories.size());
+        for (IHistory history : histories) {
+            parsed.add(new ParsedHistory(history));
+        }
+        return new Parsed(Collections.unmodifiableList(parsed));
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static class Prefetcher<T extends ITicket> implements JiraClient.Performer<T> {
+
+        private final ChangelogStore store;
+        private final TrackerClient trackerClient;
+        private final int batchSize;
+        private final JiraClient.Performer<T> performer;
+        private final List<T> batch = new ArrayList<>();
+        private boolean stopped;
+
+        Prefetcher(ChangelogStore store, TrackerClient trackerClient, int batchSize, JiraClient.Performer<T> performer) {
+            this.store = store;
+            this.trackerClient = trackerClient;
+            this.batchSize = Math.max(1, batchSize);
+            this.performer = performer;
+        }
+
+        @Override
+        public boolean perform(T ticket) throws Exception {
+            batch.add(ticket);
+            if (batch.size() >= batchSize) {
+                return flush();
+            }
+            return false;
+        }
+
+        /**
+         * @return true if the wrapped performer requested to stop
+         */
+        public boolean flush() throws Exception {
+            if (stopped || batch.isEmpty()) {
+                batch.clear();
+                return stopped;
+            }
+            store.prefetch(trackerClient, batch);
+            try (Scope ignored = store.open()) {
+                for (T ticket : batch) {
+                    if (performer.perform(ticket)) {
+                        stopped = true;
+                        break;
+                    }
+                }
+            } finally {
+                batch.clear();
+            }
+            return stopped;
+        }
+    }
+
+    private static class Parsed implements IChangelog {
+
+        private final List<IHistory> histories;
+
+        Parsed(List<IHistory> histories) {
+            this.histories = histories;
+        }
+
+        @Override
+        public List<? extends IHistory> getHistories() {
+            return histories;
+        }
+    }
+
+    private static class ParsedHistory implements IHistory {
+
+        private final List<? extends IHistoryItem> items;
+        private final IUser author;
+        private final Calendar created;
+
+        ParsedHistory(IHistory history) {
+            List<? extends IHistoryItem> historyItems = history.getHistoryItems();
+            this.items = historyItems == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(historyItems));
+            this.author = history.getAuthor();
+            this.created = history.getCreated();
+        }
+
+        @Override
+        public List<? extends IHistoryItem> getHistoryItems() {
+            return items;
+        }
+
+        @Override
+        public IUser getAuthor() {
+            return author;
+        }
+
+        @Override
+        public Calendar getCreated() {
+            // callers may shift the calendar, keep the stored value intact
+            return created == null ? null : (Calendar) created.clone();
+        }
+    }
+}
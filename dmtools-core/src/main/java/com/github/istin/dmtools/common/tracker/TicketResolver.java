@@ -0,0 +1,201 @@
+package com.github.istin.dmtools.common.tracker;
+
+import com.github.istin.dmtools.common.model.ITicket;
+import com.github.istin.dmtools.common.utils.PropertyReader;
+import com.github.istin.dmtools.networking.IntegrationScheduler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves tickets referenced by key with as few tracker requests as possible.
+ * <p>
+ * Keys are loaded in batches of {@code TRACKER_BATCH_FETCH_SIZE} through {@link TrackerClient#performTickets(List, String[])}
+ * on trackers that support it, and one by one, concurrently, on the rest. Found tickets and keys that don't exist
+ * are remembered for a few minutes per tracker client, so jobs preparing context for many tickets don't request the
+ * same linked tickets again.
+ */
+public class TicketResolver {
+
+    private static final Logger logger = LogManager.getLogger(TicketResolver.class);
+
+    static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    // Resolvers don't reference their clients, so a client and its memo are collected together
+    private static final Map<TrackerClient<?>, TicketResolver> RESOLVERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @FunctionalInterface
+    public interface KeyLoader {
+        ITicket load(String key) throws Exception;
+    }
+
+    private record Entry(ITicket ticket, long expiresAt) {
+    }
+
+    private final int batchSize;
+    private final Map<String, Entry> memo = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+
+    TicketResolver(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Resolves tickets with the resolver shared by all callers of the tracker client.
+     *
+     * @return found tickets by key, in the order of the keys
+     */
+    public static Map<String, ITicket> resolve(TrackerClient<? extends ITicket> trackerClient, List<String> keys, String[] fields) {
+        TicketResolver resolver;
+        synchronized (RESOLVERS) {
+            resolver = RESOLVERS.computeIfAbsent(trackerClient, client -> new TicketResolver(new PropertyReader().getTrackerBatchFetchSize()));
+        }
+        return resolver.resolveTickets(trackerClient, keys, fields);
+    }
+
+    Map<String, ITicket> resolveTickets(TrackerClient<? extends ITicket> trackerClient, List<String> keys, String[] fields) {
+        String fieldsKey = fields == null ? "" : String.join(",", fields);
+        long now = System.currentTimeMillis();
+        Map<String, ITicket> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            Entry entry = memo.get(memoKey(fieldsKey, key));
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                if (entry.ticket() != null) {
+                    found.put(key, entry.ticket());
+                }
+            } else {
+                missing.add(key);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            memo.values().removeIf(entry -> entry.expiresAt() <= now);
+            Map<String, ITicket> loaded = trackerClient.isBatchFetchSupported()
+                    ? loadInBatches(trackerClient, missing, fields)
+                    : loadEach(missing, key -> performTicket(trackerClient, key, fields));
+            long expiresAt = System.currentTimeMillis() + TTL_MILLIS;
+            for (Map.Entry<String, ITicket> loadedEntry : loaded.entrySet()) {
+                memo.put(memoKey(fieldsKey, loadedEntry.getKey()), new Entry(loadedEntry.getValue(), expiresAt));
+                if (loadedEntry.getValue() != null) {
+                    found.put(loadedEntry.getKey(), loadedEntry.getValue());
+                }
+            }
+            logger.debug("Resolved {} tickets: {} from memo, {} loaded", keys.size(), keys.size() - missing.size(), missing.size());
+        }
+
+        Map<String, ITicket> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            ITicket ticket = found.get(key);
+            if (ticket != null) {
+                result.put(key, ticket);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads tickets one by one on virtual threads, requests to the tracker are bounded by {@link IntegrationScheduler}.
+     *
+     * @return loaded tickets by key, null for keys without a ticket; keys that failed to load are left out
+     */
+    public static Map<String, ITicket> loadEach(List<String> keys, KeyLoader loader) {
+        Map<String, ITicket> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+        ExecutorService executorService = IntegrationScheduler.newExecutor();
+        try {
+            Map<String, CompletableFuture<ITicket>> futures = new LinkedHashMap<>();
+            for (String key : keys) {
+                futures.put(key, CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return loader.load(key);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, executorService));
+            }
+            for (Map.Entry<String, CompletableFuture<ITicket>> future : futures.entrySet()) {
+                try {
+                    result.put(future.getKey(), future.getValue().join());
+                } catch (Exception e) {
+                    logger.debug("Failed to load ticket {}: {}", future.getKey(), e.getMessage());
+                }
+            }
+        } finally {
+            executorService.shutdown();
+            try {
+                if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
+                    executorService.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executorService.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        return result;
+    }
+
+    private Map<String, ITicket> loadInBatches(TrackerClient<? extends ITicket> trackerClient, List<String> keys, String[] fields) {
+        Map<String, ITicket> result = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            List<String> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+            List<String> notReturned = new ArrayList<>();
+            try {
+                requests.increment();
+                Map<String, ITicket> byKey = new HashMap<>();
+                for (ITicket ticket : trackerClient.performTickets(batch, fields)) {
+                    byKey.put(ticket.getKey().toUpperCase(), ticket);
+                }
+                for (String key : batch) {
+                    ITicket ticket = byKey.get(key.toUpperCase());
+                    if (ticket != null) {
+                        result.put(key, ticket);
+                    } else {
+                        notReturned.add(key);
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to load {} tickets with one request, loading them one by one: {}", batch.size(), e.getMessage());
+                notReturned = batch;
+            }
+            // Moved tickets come back under their new keys, and a failed batch may have one broken key only
+            result.putAll(loadEach(notReturned, key -> performTicket(trackerClient, key, fields)));
+        }
+        return result;
+    }
+
+    private ITicket performTicket(TrackerClient<? extends ITicket> trackerClient, String key, String[] fields) throws IOException {
+        requests.increment();
+        return trackerClient.performTicket(key, fields);
+    }
+
+    private static String memoKey(String fieldsKey, String key) {
+        return fieldsKey + "|" + key.toUpperCase();
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getRequests() {
+        return requests.sum();
+    }
+}
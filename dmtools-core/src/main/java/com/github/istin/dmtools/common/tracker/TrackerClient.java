@@ -10,7 +10,10 @@ import org.json.JSONArray;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface TrackerClient<T extends ITicket> extends ContentUtils.UrlToImageFile {
 
@@ -38,6 +41,23 @@ public interface TrackerClient<T extends ITicket> extends ContentUtils.UrlToImag
 
     IChangelog getChangeLog(String ticketKey, ITicket ticket) throws IOException;
 
+    /**
+     * Loads changelogs of several tickets at once. Trackers with a bulk changelog API override this,
+     * the default implementation requests them one by one.
+     *
+     * @return changelogs by ticket key; tickets without a changelog may be missing from the map
+     */
+    default Map<String, IChangelog> getChangeLogs(List<? extends ITicket> tickets) throws IOException {
+        Map<String, IChangelog> result = new LinkedHashMap<>();
+        for (ITicket ticket : tickets) {
+            IChangelog changelog = getChangeLog(ticket.getKey(), ticket);
+            if (changelog != null) {
+                result.put(ticket.getKey(), changelog);
+            }
+        }
+        return result;
+    }
+
     void deleteLabelInTicket(T ticket, String label) throws IOException;
 
     void addLabelIfNotExists(ITicket ticket, String label) throws IOException;
@@ -52,6 +72,31 @@ public interface TrackerClient<T extends ITicket> extends ContentUtils.UrlToImag
 
     T performTicket(String ticketKey, String[] fields) throws IOException;
 
+    /**
+     * Whether {@link #performTickets(List, String[])} loads several tickets with one request.
+     * Callers request tickets one by one, a few at a time, when it doesn't.
+     */
+    default boolean isBatchFetchSupported() {
+        return false;
+    }
+
+    /**
+     * Loads several tickets at once. Trackers able to search by a list of keys override this together with
+     * {@link #isBatchFetchSupported()}, the default implementation requests them one by one.
+     *
+     * @return found tickets in the order of the keys; keys of tickets that don't exist are skipped
+     */
+    default List<T> performTickets(List<String> ticketKeys, String[] fields) throws IOException {
+        List<T> result = new ArrayList<>();
+        for (String ticketKey : ticketKeys) {
+            T ticket = performTicket(ticketKey, fields);
+            if (ticket != null) {
+                result.add(ticket);
+            }
+        }
+        return result;
+    }
+
     void postCommentIfNotExists(String ticketKey, String comment) throws IOException;
 
     List<? extends IComment> getComments(String ticketKey, ITicket ticket) throws IOException;
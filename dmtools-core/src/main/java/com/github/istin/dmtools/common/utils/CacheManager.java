@@ -1,46 +1,107 @@
 package com.github.istin.dmtools.common.utils;
 
+import com.google.gson.*;
+import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Map;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
  * Generic cache manager that provides in-memory TTL caching and simple in-memory caching capabilities.
- * 
- * This class can be used by any component that needs memory caching functionality for keys, 
+ *
+ * This class can be used by any component that needs memory caching functionality for keys,
  * field mappings, and other business logic data.
+ * <p>
+ * Both caches are bounded by {@code CACHE_MANAGER_MAX_ENTRIES} and evict the least recently used entries.
+ * Concurrent misses of the same key wait for a single call of the supplier. TTL entries read close to their
+ * expiration are reloaded in background, so callers keep getting the cached value. If a snapshot file is set,
+ * TTL entries with string, boolean, string list or string map values are saved to it and loaded on start.
  */
 public class CacheManager {
-    
+
+    private static final Logger statsLogger = LogManager.getLogger(CacheManager.class);
+
     private Logger logger;
-    
-    // In-memory cache for objects with TTL
-    private final Map<String, CacheEntry<Object>> memoryCache = new ConcurrentHashMap<>();
-    
-    // Simple in-memory cache for objects without TTL
-    private final Map<String, Object> simpleCache = new ConcurrentHashMap<>();
-    
+
+    // In-memory cache for objects with TTL, in access order for LRU eviction
+    private final LinkedHashMap<String, CacheEntry<Object>> memoryCache;
+
+    // Simple in-memory cache for objects without TTL, in access order for LRU eviction
+    private final LinkedHashMap<String, Object> simpleCache;
+
+    // Running loads by cache and key, so concurrent misses call the supplier once
+    private final Map<String, Loader> loading = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final Path snapshotFile;
+    private final CacheManagerStats stats = new CacheManagerStats();
+
     // Default TTL: 24 hours in milliseconds
     private static final long DEFAULT_TTL = 24 * 60 * 60 * 1000L;
 
+    // TTL entries read after this part of their TTL are reloaded in background
+    private static final double REFRESH_AHEAD_RATIO = 0.8;
+
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final Gson GSON = new Gson();
+
+    private static final Set<CacheManager> INSTANCES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CacheManager::logAllStats, "cache-manager-stats"));
+    }
+
     /**
      * Constructor for CacheManager
-     * 
+     *
      * @param logger Logger instance for debug output
      */
     public CacheManager(Logger logger) {
+        this(logger, null);
+    }
+
+    /**
+     * @param logger Logger instance for debug output
+     * @param snapshotFile file TTL entries are saved to and loaded from, {@code null} keeps them in memory only
+     */
+    public CacheManager(Logger logger, Path snapshotFile) {
+        this(logger, new PropertyReader().getCacheManagerMaxEntries(), snapshotFile);
+    }
+
+    CacheManager(Logger logger, int maxEntries, Path snapshotFile) {
         if (new PropertyReader().isCacheManagerLoggingEnabled()) {
             this.logger = logger;
         }
+        this.maxEntries = Math.max(1, maxEntries);
+        this.snapshotFile = snapshotFile;
+        this.memoryCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry<Object>> eldest) {
+                return evict(size(), eldest.getKey());
+            }
+        };
+        this.simpleCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return evict(size(), eldest.getKey());
+            }
+        };
+        loadSnapshot();
+        INSTANCES.add(this);
     }
-    
 
-    
     /**
      * Get or compute value with TTL-based memory caching
-     * 
+     *
      * @param key Cache key
      * @param supplier Function to execute if cache miss or expired
      * @param ttlMillis Time-to-live in milliseconds (0 = no expiration)
@@ -49,39 +110,62 @@ public class CacheManager {
     @SuppressWarnings("unchecked")
     public <T> T getOrComputeWithTTL(String key, Supplier<T> supplier, long ttlMillis) {
         long currentTime = System.currentTimeMillis();
-        
+
         // Check if cache entry exists and is not expired
-        CacheEntry<Object> entry = memoryCache.get(key);
+        CacheEntry<Object> entry = getEntry(key);
         if (entry != null) {
-            if (ttlMillis <= 0 || (currentTime - entry.timestamp) <= ttlMillis) {
+            long age = currentTime - entry.timestamp;
+            if (ttlMillis <= 0 || age <= ttlMillis) {
+                stats.recordHit();
                 if (logger != null) {
                     logger.debug("TTL cache hit for key: " + key);
                 }
+                if (ttlMillis > 0 && age > ttlMillis * REFRESH_AHEAD_RATIO) {
+                    refreshAhead(key, supplier);
+                }
                 return (T) entry.value;
             } else {
                 // Entry expired, remove it
-                memoryCache.remove(key);
+                removeEntry(key, entry);
                 if (logger != null) {
                     logger.debug("TTL cache expired for key: " + key);
                 }
             }
         }
-        
-        // Cache miss or expired, compute new value
-        T result = supplier.get();
-        if (result != null) {
-            memoryCache.put(key, new CacheEntry<>(result, currentTime));
-            if (logger != null) {
-                logger.debug("Stored in TTL cache for key: " + key);
-            }
+        stats.recordMiss();
+
+        // Cache miss or expired, compute new value once for all threads missing this key
+        return load("ttl:" + key, () -> {
+            CacheEntry<Object> loaded = getEntry(key);
+            return loaded != null && (ttlMillis <= 0 || System.currentTimeMillis() - loaded.timestamp <= ttlMillis)
+                    ? (T) loaded.value : null;
+        }, supplier, result -> putEntry(key, result));
+    }
+
+    /**
+     * Read-only lookup in the TTL cache, nothing is loaded or refreshed
+     *
+     * @param key Cache key
+     * @param ttlMillis Time-to-live in milliseconds (0 = no expiration)
+     * @return Cached value, {@code null} if there is none or it expired
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getIfPresentWithTTL(String key, long ttlMillis) {
+        CacheEntry<Object> entry = getEntry(key);
+        if (entry != null && (ttlMillis <= 0 || System.currentTimeMillis() - entry.timestamp <= ttlMillis)) {
+            stats.recordHit();
+            return (T) entry.value;
+        }
+        if (entry != null) {
+            removeEntry(key, entry);
         }
-        
-        return result;
+        stats.recordMiss();
+        return null;
     }
-    
+
     /**
      * Get or compute value with default TTL (24 hours)
-     * 
+     *
      * @param key Cache key
      * @param supplier Function to execute if cache miss or expired
      * @return Cached or freshly computed result
@@ -89,93 +173,322 @@ public class CacheManager {
     public <T> T getOrComputeWithDefaultTTL(String key, Supplier<T> supplier) {
         return getOrComputeWithTTL(key, supplier, DEFAULT_TTL);
     }
-    
+
     /**
      * Simple memory cache operations without TTL
      */
     @SuppressWarnings("unchecked")
     public <T> T getFromSimpleCache(String key) {
-        Object value = simpleCache.get(key);
+        Object value;
+        synchronized (this) {
+            value = simpleCache.get(key);
+        }
         if (value != null && logger != null) {
             logger.debug("Simple cache hit for key: " + key);
         }
         return (T) value;
     }
-    
+
     public <T> void putInSimpleCache(String key, T value) {
-        simpleCache.put(key, value);
+        synchronized (this) {
+            simpleCache.put(key, value);
+        }
         if (logger != null) {
             logger.debug("Stored in simple cache for key: " + key);
         }
     }
-    
+
     public <T> T getOrComputeSimple(String key, Supplier<T> supplier) {
         T cachedValue = getFromSimpleCache(key);
         if (cachedValue != null) {
+            stats.recordHit();
             return cachedValue;
         }
-        
-        T result = supplier.get();
-        if (result != null) {
-            putInSimpleCache(key, result);
-        }
-        return result;
+        stats.recordMiss();
+        return load("simple:" + key, () -> getFromSimpleCache(key), supplier, result -> putInSimpleCache(key, result));
     }
-    
+
     /**
      * Cache management operations
      */
     public void clearAllMemoryCache() {
-        memoryCache.clear();
-        simpleCache.clear();
+        synchronized (this) {
+            memoryCache.clear();
+            simpleCache.clear();
+        }
+        saveSnapshot();
         if (logger != null) {
             logger.debug("Cleared all memory caches");
         }
     }
-    
+
     public void clearTTLCache() {
-        memoryCache.clear();
+        synchronized (this) {
+            memoryCache.clear();
+        }
+        saveSnapshot();
         if (logger != null) {
             logger.debug("Cleared TTL cache");
         }
     }
-    
+
     public void clearSimpleCache() {
-        simpleCache.clear();
+        synchronized (this) {
+            simpleCache.clear();
+        }
         if (logger != null) {
             logger.debug("Cleared simple cache");
         }
     }
-    
+
     public void removeFromCache(String key) {
-        memoryCache.remove(key);
-        simpleCache.remove(key);
+        boolean removedTTL;
+        synchronized (this) {
+            removedTTL = memoryCache.remove(key) != null;
+            simpleCache.remove(key);
+        }
+        if (removedTTL) {
+            saveSnapshot();
+        }
         if (logger != null) {
             logger.debug("Removed from caches for key: " + key);
         }
     }
-    
+
     /**
      * Cache statistics and information
      */
-    public int getTTLCacheSize() {
+    public synchronized int getTTLCacheSize() {
         return memoryCache.size();
     }
-    
-    public int getSimpleCacheSize() {
+
+    public synchronized int getSimpleCacheSize() {
         return simpleCache.size();
     }
-    
+
+    public CacheManagerStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Logs statistics of all caches that were used, called on shutdown
+     */
+    public static void logAllStats() {
+        List<CacheManager> instances;
+        synchronized (INSTANCES) {
+            instances = new ArrayList<>(INSTANCES);
+        }
+        for (CacheManager cacheManager : instances) {
+            CacheManagerStats cacheStats = cacheManager.getStats();
+            if (cacheStats.getHits() + cacheStats.getMisses() > 0) {
+                statsLogger.info("Cache manager{}: {}",
+                        cacheManager.snapshotFile != null ? " " + cacheManager.snapshotFile : "", cacheStats);
+            }
+        }
+    }
+
+    private synchronized CacheEntry<Object> getEntry(String key) {
+        return memoryCache.get(key);
+    }
+
+    private void putEntry(String key, Object value) {
+        synchronized (this) {
+            memoryCache.put(key, new CacheEntry<>(value, System.currentTimeMillis()));
+        }
+        if (logger != null) {
+            logger.debug("Stored in TTL cache for key: " + key);
+        }
+        if (snapshotFile != null && isPersistable(value)) {
+            saveSnapshot();
+        }
+    }
+
+    private synchronized void removeEntry(String key, CacheEntry<Object> entry) {
+        memoryCache.remove(key, entry);
+    }
+
+    private boolean evict(int size, String eldestKey) {
+        if (size <= maxEntries) {
+            return false;
+        }
+        stats.recordEviction();
+        if (logger != null) {
+            logger.debug("Evicted least recently used key: " + eldestKey);
+        }
+        return true;
+    }
+
+    /**
+     * Calls {@code supplier} unless another thread is loading the same key already, then waits for its result.
+     *
+     * @param cached value stored by a load that finished right before this one started, checked first
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T load(String loadKey, Supplier<T> cached, Supplier<T> supplier, Consumer<T> store) {
+        Loader loader = new Loader();
+        Loader running = loading.putIfAbsent(loadKey, loader);
+        if (running != null) {
+            if (running.owner == Thread.currentThread()) {
+                // The supplier asks for its own key, waiting would never end
+                return supplier.get();
+            }
+            return (T) await(running.result);
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = cached.get();
+            if (result == null) {
+                result = supplier.get();
+                stats.recordLoad(System.nanoTime() - start, false);
+                if (result != null) {
+                    store.accept(result);
+                }
+            }
+            loader.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            stats.recordLoad(System.nanoTime() - start, true);
+            loader.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(loadKey, loader);
+        }
+    }
+
+    private <T> void refreshAhead(String key, Supplier<T> supplier) {
+        String loadKey = "ttl:" + key;
+        if (loading.containsKey(loadKey)) {
+            return;
+        }
+        Thread.ofVirtual().name("cache-refresh").start(() -> {
+            try {
+                // Counted only when the supplier had something to store
+                load(loadKey, () -> null, supplier, result -> {
+                    stats.recordRefresh();
+                    putEntry(key, result);
+                });
+            } catch (RuntimeException e) {
+                // The cached value stays until it expires, the next miss loads it again
+                if (logger != null) {
+                    logger.debug("Refresh failed for key: " + key + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isPersistable(Object value) {
+        if (value instanceof String || value instanceof Boolean) {
+            return true;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().allMatch(item -> item instanceof String);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.entrySet().stream().allMatch(e -> e.getKey() instanceof String && e.getValue() instanceof String);
+        }
+        return false;
+    }
+
+    private void saveSnapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        JsonObject entries = new JsonObject();
+        synchronized (this) {
+            for (Map.Entry<String, CacheEntry<Object>> entry : memoryCache.entrySet()) {
+                Object value = entry.getValue().value;
+                if (!isPersistable(value)) {
+                    continue;
+                }
+                JsonObject json = new JsonObject();
+                json.addProperty("type", value instanceof List ? "list" : value instanceof Map ? "map" : value instanceof Boolean ? "boolean" : "string");
+                json.addProperty("timestamp", entry.getValue().timestamp);
+                json.add("value", GSON.toJsonTree(value));
+                entries.add(entry.getKey(), json);
+            }
+        }
+        JsonObject snapshot = new JsonObject();
+        snapshot.addProperty("version", SNAPSHOT_VERSION);
+        snapshot.add("entries", entries);
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            // Write to a temporary file first, so an interrupted run never leaves a truncated snapshot
+            Path tempFile = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            Files.writeString(tempFile, GSON.toJson(snapshot));
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            statsLogger.warn("Failed to save cache snapshot: {}", snapshotFile, e);
+        }
+    }
+
+    private void loadSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        try {
+            JsonObject snapshot = JsonParser.parseString(Files.readString(snapshotFile)).getAsJsonObject();
+            if (!snapshot.has("version") || snapshot.get("version").getAsInt() != SNAPSHOT_VERSION) {
+                return;
+            }
+            synchronized (this) {
+                for (Map.Entry<String, JsonElement> entry : snapshot.getAsJsonObject("entries").entrySet()) {
+                    JsonObject json = entry.getValue().getAsJsonObject();
+                    JsonElement value = json.get("value");
+                    Object restored = switch (json.get("type").getAsString()) {
+                        case "list" -> new ArrayList<>(Arrays.asList(GSON.fromJson(value, String[].class)));
+                        case "map" -> {
+                            Map<String, String> map = new ConcurrentHashMap<>();
+                            value.getAsJsonObject().entrySet().forEach(e -> map.put(e.getKey(), e.getValue().getAsString()));
+                            yield map;
+                        }
+                        case "boolean" -> value.getAsBoolean();
+                        default -> value.getAsString();
+                    };
+                    memoryCache.put(entry.getKey(), new CacheEntry<>(restored, json.get("timestamp").getAsLong()));
+                }
+            }
+            if (logger != null) {
+                logger.debug("Loaded " + memoryCache.size() + " entries from cache snapshot: " + snapshotFile);
+            }
+        } catch (IOException | RuntimeException e) {
+            statsLogger.warn("Failed to load cache snapshot, it will be rebuilt: {}", snapshotFile, e);
+        }
+    }
+
     /**
      * Internal cache entry class for TTL cache
      */
     private static class CacheEntry<T> {
         final T value;
         final long timestamp;
-        
+
         CacheEntry(T value, long timestamp) {
             this.value = value;
             this.timestamp = timestamp;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Load of a key in progress, other threads missing the key wait for its result
+     */
+    private static class Loader {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        final Thread owner = Thread.currentThread();
+    }
+}
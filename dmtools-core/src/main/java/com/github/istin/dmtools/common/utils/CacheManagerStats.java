@@ -0,0 +1,83 @@
+package com.github.istin.dmtools.common.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit/miss/load counters of a {@link CacheManager}. Counters are lock-free and can be
+ * updated concurrently from several client threads.
+ */
+public class CacheManagerStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadTimeNanos = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordLoad(long nanos, boolean failed) {
+        loads.increment();
+        loadTimeNanos.add(nanos);
+        if (failed) {
+            loadFailures.increment();
+        }
+    }
+
+    void recordRefresh() {
+        refreshes.increment();
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getLoadFailures() {
+        return loadFailures.sum();
+    }
+
+    public long getTotalLoadTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(loadTimeNanos.sum());
+    }
+
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, hitRatio=%.2f, loads=%d (failed=%d, %d ms), refreshes=%d, evictions=%d",
+                getHits(), getMisses(), getHitRatio(), getLoads(), getLoadFailures(), getTotalLoadTimeMillis(), getRefreshes(), getEvictions());
+    }
+}
@@ -315,6 +315,13 @@ public class PropertyReader {
         }
     }
 
+	/**
+	 * Number of Jira search pages fetched ahead of the performer, 0 (default) keeps sequential paging.
+	 */
+	public int getJiraSearchPrefetchPages() {
+		return (int) getLongValue("JIRA_SEARCH_PREFETCH_PAGES", 0L);
+	}
+
 	public String[] getJiraExtraFields() {
 		String value = getValue("JIRA_EXTRA_FIELDS");
 		if (value == null) {
@@ -351,6 +358,52 @@ public class PropertyReader {
 		return Boolean.parseBoolean(value);
 	}
 
+	/**
+	 * Response cache engine: {@code file} (one file per response, default) or {@code segment}.
+	 */
+	public String getCacheEngine() {
+		return getValue("DMTOOLS_CACHE_ENGINE", "file");
+	}
+
+	public long getCacheMaxSizeMb() {
+		return getLongValue("DMTOOLS_CACHE_MAX_SIZE_MB", 512L);
+	}
+
+	public long getCacheMemoryMaxSizeMb() {
+		return getLongValue("DMTOOLS_CACHE_MEMORY_MAX_SIZE_MB", 64L);
+	}
+
+	/**
+	 * Precompile all prompt templates in background at startup.
+	 */
+	public boolean isTemplateWarmUpEnabled() {
+		String value = getValue("DMTOOLS_TEMPLATE_WARMUP");
+		if (value == null) {
+			return false;
+		}
+		return Boolean.parseBoolean(value);
+	}
+
+	/**
+	 * Default TTL of cached responses in hours, 0 means responses never expire by time.
+	 */
+	public long getCacheTtlHours() {
+		return getLongValue("DMTOOLS_CACHE_TTL_HOURS", 0L);
+	}
+
+	private long getLongValue(String propertyKey, long defaultValue) {
+		String value = getValue(propertyKey);
+		if (value == null || value.trim().isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			logger.warn("Invalid {} value: {}, using default: {}", propertyKey, value, defaultValue);
+			return defaultValue;
+		}
+	}
+
 	public boolean isXrayCacheGetRequestsEnabled() {
 		String value = getValue("XRAY_CACHE_GET_REQUESTS_ENABLED");
 		if (value == null) {
@@ -452,6 +505,22 @@ public class PropertyReader {
 		return value;
 	}
 
+	/**
+	 * Gets the number of work item batches requested ahead of the performer in Azure DevOps searches
+	 * @return batches in flight, default is 4
+	 */
+	public int getAdoBatchPrefetch() {
+		String value = getValue("ADO_BATCH_PREFETCH");
+		if (value == null || value.trim().isEmpty()) {
+			return DEFAULT_ADO_BATCH_PREFETCH;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		} catch (NumberFormatException e) {
+			return DEFAULT_ADO_BATCH_PREFETCH;
+		}
+	}
+
 	public String getBitbucketToken() {
 		return getValue("BITBUCKET_TOKEN");
 	}
@@ -723,6 +792,13 @@ public class PropertyReader {
 	private static final long DEFAULT_PROMPT_CHUNK_MAX_SINGLE_FILE_SIZE = 4 * 1024 * 1024; // 5MB
 	private static final long DEFAULT_PROMPT_CHUNK_MAX_TOTAL_FILES_SIZE = 4 * 1024 * 1024; // 5MB
 	private static final int DEFAULT_PROMPT_CHUNK_MAX_FILES = 10;
+	private static final int DEFAULT_AI_CHUNK_CONCURRENCY = 4;
+	private static final int DEFAULT_SEARCH_SOURCE_CONCURRENCY = 4;
+	private static final int DEFAULT_CACHE_MANAGER_MAX_ENTRIES = 1000;
+	private static final int DEFAULT_MERMAID_INDEX_CONCURRENCY = 4;
+	private static final int DEFAULT_TRACKER_BATCH_FETCH_SIZE = 50;
+	private static final int DEFAULT_ADO_BATCH_PREFETCH = 4;
+	private static final int DEFAULT_INTEGRATION_MAX_IN_FLIGHT = 16;
 
 	/**
 	 * Gets the maximum token limit for AI model
@@ -790,6 +866,126 @@ public class PropertyReader {
 		}
 	}
 
+	/**
+	 * Gets the maximum number of chunk requests sent to one AI provider at the same time
+	 * @return concurrent chunk requests, default is 4
+	 */
+	public int getAIChunkConcurrency() {
+		String value = getValue("AI_CHUNK_CONCURRENCY");
+		if (value == null || value.trim().isEmpty()) {
+			return DEFAULT_AI_CHUNK_CONCURRENCY;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		} catch (NumberFormatException e) {
+			return DEFAULT_AI_CHUNK_CONCURRENCY;
+		}
+	}
+
+	/**
+	 * Gets the maximum number of searches and fetches sent to one search source (tracker, wiki, files) at the same time
+	 * @return concurrent source requests, default is 4
+	 */
+	public int getSearchSourceConcurrency() {
+		String value = getValue("SEARCH_SOURCE_CONCURRENCY");
+		if (value == null || value.trim().isEmpty()) {
+			return DEFAULT_SEARCH_SOURCE_CONCURRENCY;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		} catch (NumberFormatException e) {
+			return DEFAULT_SEARCH_SOURCE_CONCURRENCY;
+		}
+	}
+
+	/**
+	 * Gets the maximum number of diagrams generated at the same time by Mermaid indexing
+	 * @return concurrent diagram generations, default is 4
+	 */
+	public int getMermaidIndexConcurrency() {
+		String value = getValue("MERMAID_INDEX_CONCURRENCY");
+		if (value == null || value.trim().isEmpty()) {
+			return DEFAULT_MERMAID_INDEX_CONCURRENCY;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		} catch (NumberFormatException e) {
+			return DEFAULT_MERMAID_INDEX_CONCURRENCY;
+		}
+	}
+
+	/**
+	 * Gets the maximum number of tickets loaded with one tracker request when tickets are fetched by keys
+	 * @return tickets per request, default is 50
+	 */
+	public int getTrackerBatchFetchSize() {
+		String value = getValue("TRACKER_BATCH_FETCH_SIZE");
+		if (value == null || value.trim().isEmpty()) {
+			return DEFAULT_TRACKER_BATCH_FETCH_SIZE;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		} catch (NumberFormatException e) {
+			return DEFAULT_TRACKER_BATCH_FETCH_SIZE;
+		}
+	}
+
+	/**
+	 * Gets the maximum number of requests in flight to one integration host, shared by all clients of the process
+	 * @return requests in flight per host, default is 16
+	 */
+	public int getIntegrationMaxInFlight() {
+		String value = getValue("INTEGRATION_MAX_IN_FLIGHT");
+		if (value == null || value.trim().isEmpty()) {
+			return DEFAULT_INTEGRATION_MAX_IN_FLIGHT;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		} catch (NumberFormatException e) {
+			return DEFAULT_INTEGRATION_MAX_IN_FLIGHT;
+		}
+	}
+
+	/**
+	 * Gets the maximum number of requests per second to one integration host
+	 * @return requests per second per host, default is 0 (no limit)
+	 */
+	public double getIntegrationRateLimitPerSecond() {
+		String value = getValue("INTEGRATION_RATE_LIMIT_PER_SECOND");
+		if (value == null || value.trim().isEmpty()) {
+			return 0;
+		}
+		try {
+			return Math.max(0, Double.parseDouble(value.trim()));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Gets the number of PDF pages processed at the same time
+	 * @return concurrent pages, default is the number of processors, at most 4
+	 */
+	public int getPdfRenderConcurrency() {
+		int defaultConcurrency = Math.min(4, Runtime.getRuntime().availableProcessors());
+		String value = getValue("PDF_RENDER_CONCURRENCY");
+		if (value == null || value.trim().isEmpty()) {
+			return defaultConcurrency;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		} catch (NumberFormatException e) {
+			return defaultConcurrency;
+		}
+	}
+
+	/**
+	 * Gets per host limits overriding the defaults, as {@code host:permitsPerSecond:maxInFlight,...}
+	 */
+	public String getIntegrationLimits() {
+		return getValue("INTEGRATION_LIMITS");
+	}
+
 	/**
 	 * Returns the maximum attachment file size (in bytes) allowed for AI clients.
 	 * Read from {@code AI_ATTACHMENT_MAX_SIZE_MB}. Returns 0 (no limit) if not set.
@@ -1239,6 +1435,32 @@ public class PropertyReader {
 		return Boolean.parseBoolean(value);
     }
 
+	/**
+	 * Maximum number of entries of each in-memory cache of a {@link CacheManager}, least recently used entries are evicted above it.
+	 */
+	public int getCacheManagerMaxEntries() {
+		String value = getValue("CACHE_MANAGER_MAX_ENTRIES");
+		if (value == null || value.trim().isEmpty()) {
+			return DEFAULT_CACHE_MANAGER_MAX_ENTRIES;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(value.trim()));
+		} catch (NumberFormatException e) {
+			return DEFAULT_CACHE_MANAGER_MAX_ENTRIES;
+		}
+	}
+
+	/**
+	 * Saves field mappings and other TTL entries of client cache managers to the client cache folder, so they survive restarts.
+	 */
+	public boolean isCacheManagerPersistenceEnabled() {
+		String value = getValue("CACHE_MANAGER_PERSISTENCE_ENABLED");
+		if (value == null) {
+			return false;
+		}
+		return Boolean.parseBoolean(value);
+	}
+
 	// TestRail configuration methods
 	public String getTestRailBasePath() {
 		return getValue("TESTRAIL_BASE_PATH");
@@ -0,0 +1,350 @@
+package com.github.istin.dmtools.common.utils;
+
+import freemarker.cache.ClassTemplateLoader;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Shared, thread-safe FreeMarker engine for prompts and HTML reports.
+ * <p>
+ * One {@link Configuration} is kept per class loader and base path, so templates are loaded and parsed once
+ * and served from FreeMarker's template cache afterwards. Renders to a string go through a per-thread pooled
+ * {@link StringBuilder} writer, and render times are collected per template.
+ */
+public final class TemplateService {
+
+    private static final Logger logger = LogManager.getLogger(TemplateService.class);
+
+    public static final String PROMPTS_FOLDER = "prompts";
+
+    private static final String DEFAULT_BASE_PATH = "/ftl";
+
+    private static final String[] PROMPT_EXTENSIONS = {".md", ".xml"};
+
+    // Builders which grew larger than this are not kept for the next render
+    private static final int MAX_POOLED_BUILDER_CAPACITY = 1024 * 1024;
+
+    private static final ThreadLocal<PooledStringWriter> WRITERS = ThreadLocal.withInitial(PooledStringWriter::new);
+
+    private final Map<List<Object>, Configuration> configurations = new ConcurrentHashMap<>();
+
+    private final Map<List<Object>, Template> prompts = new ConcurrentHashMap<>();
+
+    private final Map<String, RenderStats> renderStats = new ConcurrentHashMap<>();
+
+    private TemplateService() {
+        Configurator.initialize(new DefaultConfiguration());
+    }
+
+    private static final class InstanceHolder {
+        private static final TemplateService INSTANCE = new TemplateService();
+    }
+
+    public static TemplateService getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * @return template {@code name} relative to {@code basePath} of {@code classLoader}, parsed once and cached
+     */
+    public Template getTemplate(ClassLoader classLoader, String basePath, String name) throws IOException {
+        return getConfiguration(classLoader, basePath).getTemplate(name);
+    }
+
+    /**
+     * @return prompt template {@code /ftl/prompts/<name>.md}, or {@code .xml} if there is no markdown version
+     */
+    public Template getPromptTemplate(ClassLoader classLoader, String name) throws IOException {
+        List<Object> key = Arrays.asList(classLoader, name);
+        Template template = prompts.get(key);
+        if (template != null) {
+            return template;
+        }
+        Configuration configuration = getConfiguration(classLoader, DEFAULT_BASE_PATH);
+        IOException notFound = null;
+        for (String extension : PROMPT_EXTENSIONS) {
+            try {
+                template = configuration.getTemplate(PROMPTS_FOLDER + "/" + name + extension);
+                prompts.put(key, template);
+                return template;
+            } catch (IOException e) {
+                if (notFound == null) {
+                    notFound = e;
+                }
+            }
+        }
+        throw new IOException("Template file not found: " + name + " (neither .md nor .xml)", notFound);
+    }
+
+    /**
+     * Renders a prompt template into a string.
+     */
+    public String renderPrompt(ClassLoader classLoader, String name, Object model) throws IOException, TemplateException {
+        return render(getPromptTemplate(classLoader, name), model);
+    }
+
+    /**
+     * Renders {@code template} into a string using a pooled writer.
+     */
+    public String render(Template template, Object model) throws IOException, TemplateException {
+        PooledStringWriter pooled = WRITERS.get();
+        // nested render on the same thread (e.g. from a model method) gets its own writer
+        PooledStringWriter writer = pooled.inUse ? new PooledStringWriter() : pooled;
+        writer.inUse = true;
+        try {
+            render(template, model, writer);
+            return writer.builder.toString();
+        } finally {
+            writer.reset();
+        }
+    }
+
+    /**
+     * Renders {@code template} into {@code out}, recording the render time.
+     */
+    public void render(Template template, Object model, Writer out) throws IOException, TemplateException {
+        long start = System.nanoTime();
+        try {
+            template.process(model, out);
+        } finally {
+            long duration = System.nanoTime() - start;
+            renderStats.computeIfAbsent(template.getName(), RenderStats::new).record(duration);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Rendered template {} in {}ms", template.getName(), duration / 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * Loads and parses all prompt templates of {@code classLoader}, so the first render of each prompt doesn't pay for it.
+     *
+     * @return number of precompiled templates
+     */
+    public int warmUpPrompts(ClassLoader classLoader) {
+        long start = System.currentTimeMillis();
+        int count = 0;
+        for (String name : listPromptNames(classLoader)) {
+            try {
+                getPromptTemplate(classLoader, name);
+                count++;
+            } catch (Exception e) {
+                logger.debug("Failed to precompile prompt {}: {}", name, e.getMessage());
+            }
+        }
+        logger.info("Precompiled {} prompt templates in {}ms", count, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    /**
+     * Starts {@link #warmUpPrompts(ClassLoader)} on a background daemon thread if DMTOOLS_TEMPLATE_WARMUP is enabled.
+     */
+    public static void warmUpPromptsIfEnabled() {
+        if (!new PropertyReader().isTemplateWarmUpEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(() -> getInstance().warmUpPrompts(TemplateService.class.getClassLoader()), "template-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return render statistics by template name
+     */
+    public Map<String, RenderStats> getRenderStats() {
+        return new TreeMap<>(renderStats);
+    }
+
+    /**
+     * Drops all cached templates and statistics.
+     */
+    public void clear() {
+        configurations.clear();
+        prompts.clear();
+        renderStats.clear();
+    }
+
+    private Configuration getConfiguration(ClassLoader classLoader, String basePath) {
+        List<Object> key = Arrays.asList(classLoader, basePath);
+        return configurations.computeIfAbsent(key, k -> {
+            Configuration cfg = new Configuration(Configuration.VERSION_2_3_27);
+            cfg.setLocalizedLookup(false);
+            cfg.setTemplateLoader(new ClassTemplateLoader(classLoader, basePath));
+            // templates are packaged resources, don't check them for modifications on every lookup
+            cfg.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+            return cfg;
+        });
+    }
+
+    /**
+     * @return names of all prompts below {@code ftl/prompts}, without extension, e.g. {@code agents/story_description}
+     */
+    static List<String> listPromptNames(ClassLoader classLoader) {
+        String folder = DEFAULT_BASE_PATH.substring(1) + "/" + PROMPTS_FOLDER + "/";
+        List<String> names = new ArrayList<>();
+        try {
+            Enumeration<URL> roots = classLoader.getResources(folder);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if ("file".equals(root.getProtocol())) {
+                    collectFileNames(new File(root.toURI()), "", names);
+                } else {
+                    URLConnection connection = root.openConnection();
+                    if (connection instanceof JarURLConnection) {
+                        JarFile jarFile = ((JarURLConnection) connection).getJarFile();
+                        Enumeration<JarEntry> entries = jarFile.entries();
+                        while (entries.hasMoreElements()) {
+                            String entryName = entries.nextElement().getName();
+                            if (entryName.startsWith(folder) && !entryName.endsWith("/")) {
+                                addPromptName(entryName.substring(folder.length()), names);
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to list prompt templates: {}", e.getMessage());
+        }
+        return names;
+    }
+
+    private static void collectFileNames(File dir, String prefix, List<String> names) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collectFileNames(file, prefix + file.getName() + "/", names);
+            } else {
+                addPromptName(prefix + file.getName(), names);
+            }
+        }
+    }
+
+    private static void addPromptName(String path, List<String> names) {
+        for (String extension : PROMPT_EXTENSIONS) {
+            if (path.endsWith(extension)) {
+                String name = path.substring(0, path.length() - extension.length());
+                if (!names.contains(name)) {
+                    names.add(name);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Render count and timings of one template.
+     */
+    public static final class RenderStats {
+        private final String template;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private RenderStats(String template) {
+            this.template = template;
+        }
+
+        private void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public String getTemplate() {
+            return template;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.get();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public double getAverageMillis() {
+            long renders = count.get();
+            return renders == 0 ? 0 : totalNanos.get() / (renders * 1_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return template + ": " + getCount() + " renders, avg " + String.format("%.2f", getAverageMillis()) + "ms, max "
+                    + (getMaxNanos() / 1_000_000) + "ms";
+        }
+    }
+
+    /**
+     * Unsynchronized writer into a reusable {@link StringBuilder}.
+     */
+    private static final class PooledStringWriter extends Writer {
+        private StringBuilder builder = new StringBuilder(8 * 1024);
+        private boolean inUse;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            builder.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            builder.append(str, off, off + len);
+        }
+
+        @Override
+        public Writer append(CharSequence csq) {
+            builder.append(csq);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void reset() {
+            inUse = false;
+            if (builder.capacity() > MAX_POOLED_BUILDER_CAPACITY) {
+                builder = new StringBuilder(8 * 1024);
+            } else {
+                builder.setLength(0);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.github.istin.dmtools.ai.ChunkPreparation;
 import com.github.istin.dmtools.ai.agent.ContentMergeAgent;
 import com.github.istin.dmtools.ai.agent.SummaryContextAgent;
 import com.github.istin.dmtools.common.model.ToText;
+import com.github.istin.dmtools.networking.IntegrationScheduler;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.logging.log4j.LogManager;
@@ -20,7 +21,6 @@ public class ContextOrchestrator {
     
     private Map<String, Map<String, Object>> contextMemory = new ConcurrentHashMap<>();
     private final ExecutorService executorService;
-    private static final int THREAD_POOL_SIZE = 10; // Increased to handle more concurrent URI processing
 
 
     protected SummaryContextAgent summaryContextAgent;
@@ -30,15 +30,8 @@ public class ContextOrchestrator {
     public ContextOrchestrator(SummaryContextAgent summaryContextAgent, ContentMergeAgent contentMergeAgent) {
         this.summaryContextAgent = summaryContextAgent;
         this.contentMergeAgent = contentMergeAgent;
-        this.executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE, new ThreadFactory() {
-            private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
-            @Override
-            public Thread newThread(Runnable r) {
-                Thread thread = defaultFactory.newThread(r);
-                thread.setDaemon(true); // Make threads daemon to allow JVM to exit
-                return thread;
-            }
-        });
+        // Virtual threads, requests to each integration are bounded by the shared IntegrationScheduler
+        this.executorService = IntegrationScheduler.newExecutor();
     }
 
     public boolean processFullContent(String resourceUriKey, Object object, UriToObject uriProcessor, List<? extends UriToObject> uriToObjectList, int depth) throws Exception {
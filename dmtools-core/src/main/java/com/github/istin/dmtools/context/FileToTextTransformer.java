@@ -1,12 +1,11 @@
 package com.github.istin.dmtools.context;
 
-import com.github.istin.dmtools.common.model.IAttachment;
 import com.github.istin.dmtools.context.converter.DocxToImagesConverter;
 import com.github.istin.dmtools.context.converter.FileConverter;
 import com.github.istin.dmtools.context.converter.PptxToImagesConverter;
-import com.github.istin.dmtools.pdf.PdfAsTrackerClient;
-import com.github.istin.dmtools.pdf.model.PdfPageAsTicket;
+import com.github.istin.dmtools.pdf.ReadPDFFile;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -115,44 +114,20 @@ public class FileToTextTransformer {
     }
 
     private static List<TransformationResult> transformPdf(File pdfFile) throws Exception {
-        // Create a folder for PDF processing in the same directory
+        // Pages are written next to the PDF, in the layout PdfAsTrackerClient uses
         String folderName = pdfFile.getName().replace(".pdf", "");
-        File pdfFolder = new File(pdfFile.getParent(), folderName);
-        pdfFolder.mkdirs();
+        File cacheFolder = new File(new File(pdfFile.getParent(), folderName), "cache/" + pdfFile.getName().split("\\.")[0]);
 
-        // Copy PDF file to the new folder
-        File pdfCopy = new File(pdfFolder, pdfFile.getName());
-        FileUtils.copyFile(pdfFile, pdfCopy);
-
-        // Initialize PdfAsTrackerClient with the new folder
-        PdfAsTrackerClient trackerClient = new PdfAsTrackerClient(pdfFolder.getAbsolutePath());
-
-        // Get all PDF pages as tickets
-        List<PdfPageAsTicket> pdfPages = trackerClient.searchAndPerform(null, null);
-
-        // Convert PdfPageAsTicket objects to TransformationResults
         List<TransformationResult> results = new ArrayList<>();
-
-        for (PdfPageAsTicket ticket : pdfPages) {
+        ReadPDFFile.renderPages(pdfFile, cacheFolder, page -> {
             List<File> files = new ArrayList<>();
-
-            // Add all attachments
-            List<? extends IAttachment> attachments = ticket.getAttachments();
-            if (attachments != null && !attachments.isEmpty()) {
-                if (ticket.getPageSnapshot() != null) {
-                    files.add(ticket.getPageSnapshot());
-                }
-                //TODO think about reading full page screenshot or attachments
-                //files.addAll(ticket.getAttachmentsAsFiles());
+            if (!page.getAttachments().isEmpty() && page.getPageSnapshot() != null) {
+                files.add(page.getPageSnapshot());
             }
-
-            // Create TransformationResult with ticket description and files
-            results.add(new TransformationResult(
-                    ticket.getTicketDescription(),
-                    files
-            ));
-        }
-
+            //TODO think about reading full page screenshot or attachments
+            //files.addAll(page.getAttachments());
+            results.add(new TransformationResult(StringUtils.normalizeSpace(page.getText().trim()), files));
+        });
         return results;
     }
 
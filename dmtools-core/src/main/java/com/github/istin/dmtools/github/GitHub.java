@@ -13,6 +13,9 @@ import com.github.istin.dmtools.job.JobRunner;
 import com.github.istin.dmtools.mcp.MCPParam;
 import com.github.istin.dmtools.mcp.MCPTool;
 import com.github.istin.dmtools.networking.AbstractRestClient;
+import com.github.istin.dmtools.networking.IntegrationScheduler;
+import com.github.istin.dmtools.networking.RetryPolicy;
+import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
 import org.apache.logging.log4j.LogManager;
@@ -1317,22 +1320,14 @@ public abstract class GitHub extends AbstractRestClient implements SourceCode, U
             try {
                 response = execute(getRequest);
             } catch (RateLimitException rateLimitException) {
+                // The scheduler has already paused GitHub for all callers until the quota resets, the repeated
+                // request waits for it there. Only a limit it didn't see, e.g. a secondary limit 403, pauses it here.
                 Response errorResponse = rateLimitException.getResponse();
-                String resetTimeStr = errorResponse.header("X-RateLimit-Reset");
-
-                if (resetTimeStr != null) {
-                    long resetTime = Long.parseLong(resetTimeStr) * 1000; // Convert seconds to milliseconds
-                    long currentTime = System.currentTimeMillis();
-                    long waitTime = resetTime - currentTime;
-
-                    if (waitTime > 0) {
-                        logger.warn("Rate limit reached. Waiting for " + (waitTime / 1000) + " seconds.");
-                        Thread.sleep(waitTime + 1000);
-                    }
-                } else {
-                    logger.warn("Rate limit reached. Default waiting for 60 seconds.");
-                    Thread.sleep(60000);
+                if (errorResponse == null || !IntegrationScheduler.isThrottling(errorResponse)) {
+                    long waitTime = errorResponse != null ? RetryPolicy.parseRetryAfterMs(errorResponse) : -1;
+                    IntegrationScheduler.getInstance().backoff(HttpUrl.get(getRequest.url()).host(), waitTime);
                 }
+                logger.warn("Rate limit reached, repeating the search once GitHub is available again.");
                 response = execute(getRequest);
             }
 
@@ -8,6 +8,7 @@ import com.github.istin.dmtools.atlassian.jira.index.JiraMermaidIndexIntegration
 import com.github.istin.dmtools.common.model.ITicket;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.common.utils.ImageResizer;
+import com.github.istin.dmtools.common.utils.PropertyReader;
 import com.github.istin.dmtools.common.utils.StringUtils;
 import com.github.istin.dmtools.context.FileToTextTransformer;
 import org.apache.logging.log4j.LogManager;
@@ -19,12 +20,19 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 /**
  * Core orchestration class for Mermaid indexing.
@@ -33,6 +41,8 @@ import java.util.Set;
 public class MermaidIndex {
     
     private static final Logger logger = LogManager.getLogger(MermaidIndex.class);
+
+    private static final Set<String> MULTI_PAGE_EXTENSIONS = Set.of("pdf", "docx", "pptx");
     
     // Maximum number of images per request to avoid 413 errors (6MB limit)
     // Each base64-encoded image can be large, so limit to 5 images per request
@@ -44,6 +54,11 @@ public class MermaidIndex {
     private final MermaidIndexIntegration integration;
     private final MermaidDiagramGeneratorAgent diagramGenerator;
     private final ImageResizer imageResizer;
+    private int concurrency;
+
+    // State of the current run
+    private MermaidIndexManifest manifest;
+    private Semaphore generations;
     
     /**
      * Creates a new MermaidIndex instance for Confluence integration.
@@ -72,6 +87,7 @@ public class MermaidIndex {
         this.excludePatterns = excludePatterns;
         this.diagramGenerator = diagramGenerator;
         this.imageResizer = new ImageResizer();
+        this.concurrency = new PropertyReader().getMermaidIndexConcurrency();
         
         // Create integration instance based on name
         if ("confluence".equalsIgnoreCase(integrationName)) {
@@ -118,6 +134,7 @@ public class MermaidIndex {
         this.excludePatterns = excludePatterns;
         this.diagramGenerator = diagramGenerator;
         this.imageResizer = new ImageResizer();
+        this.concurrency = new PropertyReader().getMermaidIndexConcurrency();
         
         // Create integration instance based on name
         // Both "jira" and "jira_xray" use JiraMermaidIndexIntegration, but with different TrackerClient instances
@@ -134,103 +151,249 @@ public class MermaidIndex {
     /**
      * Executes the indexing process.
      * Retrieves content from the integration and generates diagrams for matching items.
+     * Items whose content and attachments didn't change since the last run are skipped,
+     * the rest are processed concurrently: at most {@code MERMAID_INDEX_CONCURRENCY} diagrams are generated at a time
+     * and the integration waits while twice as many items are queued.
      */
     public void index() throws Exception {
-        logger.info("Starting Mermaid indexing for integration: {}", integrationName);
-        
-        integration.getContentForIndex(includePatterns, excludePatterns, (pathOrId, contentName, content, metadata, attachments, lastModified) -> {
-            try {
-                processContent(pathOrId, contentName, content, metadata, attachments, lastModified);
-            } catch (Exception e) {
-                logger.error("Error processing content {}: {}", pathOrId, e.getMessage(), e);
-            }
-        });
-        
+        logger.info("Starting Mermaid indexing for integration: {} (concurrency: {})", integrationName, concurrency);
+
+        manifest = MermaidIndexManifest.load(Paths.get(storagePath, integrationName));
+        generations = new Semaphore(concurrency);
+        Semaphore queue = new Semaphore(concurrency * 2);
+        Path workDir = Files.createTempDirectory("mermaid-index-");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            integration.getContentForIndex(includePatterns, excludePatterns, (pathOrId, contentName, content, metadata, attachments, lastModified) -> {
+                IndexItem item;
+                try {
+                    item = prepareItem(pathOrId, contentName, content, attachments, lastModified, workDir);
+                } catch (Exception e) {
+                    logger.error("Error processing content {}: {}", pathOrId, e.getMessage(), e);
+                    return;
+                }
+                if (item == null) {
+                    return;
+                }
+                try {
+                    queue.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    item.cleanup();
+                    throw new IllegalStateException("Mermaid indexing was interrupted", e);
+                }
+                executor.submit(() -> {
+                    try {
+                        processItem(item);
+                    } catch (Exception e) {
+                        logger.error("Error processing content {}: {}", item.pathOrId, e.getMessage(), e);
+                    } finally {
+                        item.cleanup();
+                        queue.release();
+                    }
+                });
+            });
+        } finally {
+            // Saved also when the run fails, so the next run resumes from the finished items
+            manifest.save();
+            deleteDirectory(workDir);
+        }
+
         logger.info("Mermaid indexing completed");
     }
-    
+
     /**
-     * Processes a single content item.
-     * Checks if diagram needs to be generated/updated and creates it if necessary.
-     * Processes attachments: images are attached directly, PDFs are transformed first.
+     * Sets the number of diagrams generated at a time, {@code MERMAID_INDEX_CONCURRENCY} by default.
      */
-    private void processContent(String pathOrId, String contentName, String content, 
-                               List<String> metadata, List<File> attachments, Date lastModified) throws Exception {
-        // Parse pathOrId to extract spaceKey and path components
-        // Format for root pages: spaceKey/pageId
-        // Format for child pages: spaceKey/parentPageId/parentPageName/childPageId
-        String[] parts = pathOrId.split("/");
-        if (parts.length < 2) {
+    public void setConcurrency(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Content item with the diagrams that have to be generated for it.
+     */
+    private static class IndexItem {
+        final String pathOrId;
+        final String content;
+        final Path baseDir;
+        final Path diagramPath;
+        final String contentHash;
+        final boolean contentChanged;
+        final List<PendingAttachment> attachments;
+        final Date lastModified;
+        final Path copyDir;
+
+        IndexItem(String pathOrId, String content, Path baseDir, Path diagramPath, String contentHash, boolean contentChanged,
+                  List<PendingAttachment> attachments, Date lastModified, Path copyDir) {
+            this.pathOrId = pathOrId;
+            this.content = content;
+            this.baseDir = baseDir;
+            this.diagramPath = diagramPath;
+            this.contentHash = contentHash;
+            this.contentChanged = contentChanged;
+            this.attachments = attachments;
+            this.lastModified = lastModified;
+            this.copyDir = copyDir;
+        }
+
+        void cleanup() {
+            if (copyDir != null) {
+                deleteDirectory(copyDir);
+            }
+        }
+    }
+
+    private record PendingAttachment(File file, String hash) {
+    }
+
+    /**
+     * Checks what has to be generated for a content item. Runs in the integration callback: attachments
+     * that changed are copied to the work folder, as integrations delete their files once the callback returns.
+     *
+     * @return the item, or null if all its diagrams are up to date
+     */
+    private IndexItem prepareItem(String pathOrId, String contentName, String content,
+                                  List<File> attachments, Date lastModified, Path workDir) throws IOException {
+        Path baseDir = resolveBaseDir(pathOrId);
+        if (baseDir == null) {
             logger.warn("Invalid pathOrId format: {}, expected at least spaceKey/pageId", pathOrId);
-            return;
+            return null;
         }
-        
-        String spaceKey = sanitizePath(parts[0]);
-        String sanitizedContentName = sanitizeFileName(contentName);
-        
-        // Build file path based on path structure
-        // For root pages: storagePath/integrationName/spaceKey/pageId/pageTitle.mmd
-        // For child pages: storagePath/integrationName/spaceKey/parentPageId/parentPageName/childPageId/pageTitle.mmd
-        Path baseDir;
-        if (parts.length == 2) {
-            // Root page: spaceKey/pageId
-            String pageId = sanitizePath(parts[1]);
-            baseDir = Paths.get(storagePath, integrationName, spaceKey, pageId);
-        } else {
-            // Child page: spaceKey/parentPageId/parentPageName/childPageId
-            // Build path with all components
-            String[] pathComponents = new String[parts.length - 1];
-            for (int i = 1; i < parts.length; i++) {
-                pathComponents[i - 1] = sanitizePath(parts[i]);
+        Path diagramPath = baseDir.resolve(sanitizeFileName(contentName) + ".mmd");
+        String contentString = content == null ? "" : content;
+        String contentHash = MermaidIndexManifest.hash(contentString);
+        boolean contentChanged = !isUpToDate(diagramPath, contentHash, lastModified);
+
+        List<PendingAttachment> pendingAttachments = new ArrayList<>();
+        Path copyDir = null;
+        if (attachments != null) {
+            Path attachmentsDir = baseDir.resolve("attachments");
+            for (File attachment : attachments) {
+                if (attachment == null || !attachment.exists()) {
+                    continue;
+                }
+                String hash = MermaidIndexManifest.hash(attachment.toPath());
+                if (isUpToDate(attachmentDiagramPath(attachment, attachmentsDir), hash, lastModified)) {
+                    continue;
+                }
+                if (copyDir == null) {
+                    copyDir = Files.createTempDirectory(workDir, "item-");
+                }
+                Path copy = copyDir.resolve(attachment.getName());
+                Files.copy(attachment.toPath(), copy, StandardCopyOption.REPLACE_EXISTING);
+                pendingAttachments.add(new PendingAttachment(copy.toFile(), hash));
             }
-            baseDir = Paths.get(storagePath, integrationName, spaceKey);
-            for (String component : pathComponents) {
-                baseDir = baseDir.resolve(component);
+        }
+
+        if (!contentChanged && pendingAttachments.isEmpty()) {
+            return null;
+        }
+        return new IndexItem(pathOrId, contentString, baseDir, diagramPath, contentHash, contentChanged,
+                pendingAttachments, lastModified, copyDir);
+    }
+
+    /**
+     * Builds the folder of the item's diagrams.
+     * For root pages: storagePath/integrationName/spaceKey/pageId
+     * For child pages: storagePath/integrationName/spaceKey/parentPageId/parentPageName/childPageId
+     */
+    private Path resolveBaseDir(String pathOrId) {
+        String[] parts = pathOrId.split("/");
+        if (parts.length < 2) {
+            return null;
+        }
+        Path baseDir = Paths.get(storagePath, integrationName, sanitizePath(parts[0]));
+        for (int i = 1; i < parts.length; i++) {
+            baseDir = baseDir.resolve(sanitizePath(parts[i]));
+        }
+        return baseDir;
+    }
+
+    /**
+     * Checks if the diagram was generated from the same content.
+     * Diagrams made before the manifest existed are compared by modification time once and their hash is recorded.
+     */
+    private boolean isUpToDate(Path diagramPath, String hash, Date lastModified) {
+        String recordedHash = manifest.getHash(manifestKey(diagramPath));
+        if (recordedHash != null && Files.exists(diagramPath)) {
+            if (recordedHash.equals(hash)) {
+                logger.info("✓ SKIP: {} - content is unchanged", diagramPath.getFileName());
+                return true;
             }
+            logger.info("↻ REGENERATE: {} - content was modified", diagramPath.getFileName());
+            return false;
         }
-        
-        Path diagramPath = baseDir.resolve(sanitizedContentName + ".mmd");
-        
-        // Check if file exists and compare modification time
-        if (Files.exists(diagramPath)) {
+        if (Files.isRegularFile(diagramPath)) {
             try {
                 long fileModTime = Files.getLastModifiedTime(diagramPath).toMillis();
-                long contentModTime = lastModified.getTime();
-                
-                // If file was created after content was last modified, skip
-                if (fileModTime >= contentModTime) {
-                    logger.info("✓ SKIP: {} - diagram is up to date (file: {}, content: {})", 
-                        diagramPath.getFileName(), 
+                if (lastModified != null && fileModTime >= lastModified.getTime()) {
+                    logger.info("✓ SKIP: {} - diagram is up to date (file: {}, content: {})",
+                        diagramPath.getFileName(),
                         new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(fileModTime)),
-                        new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(contentModTime)));
-                    return;
+                        new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(lastModified));
+                    manifest.put(manifestKey(diagramPath), hash);
+                    return true;
                 }
-                logger.info("↻ REGENERATE: {} - content was modified (file: {}, content: {})", 
-                    diagramPath.getFileName(),
-                    new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(fileModTime)),
-                    new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(contentModTime)));
+                logger.info("↻ REGENERATE: {} - content was modified", diagramPath.getFileName());
             } catch (Exception e) {
                 logger.warn("Failed to check modification time for {}: {}", diagramPath, e.getMessage());
             }
-        } else {
-            logger.info("→ NEW: {} - creating diagram for the first time", diagramPath.getFileName());
+            return false;
         }
-        
-        // Main diagram processes ONLY the page content itself
-        // ALL attachments (any type) will be processed separately via generateAttachmentDiagram()
-        String contentString = content;
-        logger.info("Generating main diagram for: {} (content length: {}, {} attachments will be processed separately)", 
-            diagramPath, contentString.length(), attachments != null ? attachments.size() : 0);
-        
+        logger.info("→ NEW: {} - creating diagram for the first time", diagramPath.getFileName());
+        return false;
+    }
+
+    private String manifestKey(Path diagramPath) {
+        return Paths.get(storagePath, integrationName).relativize(diagramPath).toString().replace('\\', '/');
+    }
+
+    /**
+     * Generates the item's diagrams: the main diagram and every changed attachment are processed concurrently.
+     */
+    private void processItem(IndexItem item) throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        if (item.contentChanged) {
+            tasks.add(() -> {
+                try {
+                    generateMainDiagram(item);
+                } catch (Exception e) {
+                    logger.error("Error processing content {}: {}", item.pathOrId, e.getMessage(), e);
+                }
+            });
+        }
+        if (!item.attachments.isEmpty()) {
+            logger.info("Generating separate diagrams for {} attachments of {}", item.attachments.size(), item.pathOrId);
+            Path attachmentsDir = item.baseDir.resolve("attachments");
+            for (PendingAttachment attachment : item.attachments) {
+                tasks.add(() -> {
+                    try {
+                        generateAttachmentDiagram(attachment.file(), attachmentsDir, item.lastModified, attachment.hash());
+                    } catch (Exception e) {
+                        logger.warn("Failed to generate diagram for attachment {}: {}", attachment.file().getName(), e.getMessage());
+                    }
+                });
+            }
+        }
+        runAll(tasks);
+    }
+
+    /**
+     * Generates the main diagram from ONLY the page content itself.
+     * ALL attachments (any type) are processed separately via generateAttachmentDiagram().
+     */
+    private void generateMainDiagram(IndexItem item) throws Exception {
+        String contentString = item.content;
+        logger.info("Generating main diagram for: {} (content length: {})", item.diagramPath, contentString.length());
+
         // Check if content is empty or whitespace-only
         String diagram;
-        if (contentString == null || contentString.trim().isEmpty()) {
+        if (contentString.trim().isEmpty()) {
             logger.info("No content for diagram, using placeholder");
             diagram = "no diagram";
         } else {
             MermaidDiagramGeneratorAgent.Params params;
             List<ChunkPreparation.Chunk> chunks = prepareChunksIfNeeded(contentString);
-            
+
             if (chunks != null && !chunks.isEmpty()) {
                 logger.info("Content is too large, using {} chunks for processing", chunks.size());
                 params = new MermaidDiagramGeneratorAgent.Params(
@@ -238,58 +401,44 @@ public class MermaidIndex {
                     null, // No images in main diagram - all processed separately
                     chunks
                 );
-                    } else {
+            } else {
                 params = new MermaidDiagramGeneratorAgent.Params(
-                    contentString, 
+                    contentString,
                     null // No images in main diagram - all processed separately
                 );
             }
-            diagram = diagramGenerator.run(params);
+            diagram = generateDiagram(params);
         }
-        
-        // Create directory if it doesn't exist
-        Files.createDirectories(baseDir);
-        
-        // Write diagram to file
-        Files.write(diagramPath, diagram.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-        
-        // Set file modification time to match content last modified date
-        try {
-            Files.setLastModifiedTime(diagramPath, java.nio.file.attribute.FileTime.fromMillis(lastModified.getTime()));
-        } catch (Exception e) {
-            logger.warn("Failed to set modification time for {}: {}", diagramPath, e.getMessage());
-        }
-        
-        // Generate separate diagrams for each attachment in attachments subdirectory
-        if (attachments != null && !attachments.isEmpty()) {
-            logger.info("Generating separate diagrams for {} attachments", attachments.size());
-            // Create attachments subdirectory
-            Path attachmentsDir = baseDir.resolve("attachments");
-            for (File attachment : attachments) {
-                if (attachment == null || !attachment.exists()) {
-                    continue;
-                }
-                
-                try {
-                    generateAttachmentDiagram(attachment, attachmentsDir, lastModified);
-                } catch (Exception e) {
-                    logger.warn("Failed to generate diagram for attachment {}: {}", attachment.getName(), e.getMessage());
-                }
-            }
+
+        writeDiagram(item.diagramPath, diagram, item.lastModified);
+        manifest.put(manifestKey(item.diagramPath), item.contentHash);
+        logger.debug("Processed diagram for: {}", item.diagramPath);
+    }
+
+    /**
+     * Path of the attachment's diagram, or of the folder with page diagrams for multi-page documents.
+     */
+    private Path attachmentDiagramPath(File attachment, Path attachmentsDir) {
+        String attachmentName = attachment.getName();
+        int lastDot = attachmentName.lastIndexOf('.');
+        String extension = lastDot > 0 ? attachmentName.substring(lastDot + 1).toLowerCase() : "";
+        String baseName = sanitizeFileName(lastDot > 0 ? attachmentName.substring(0, lastDot) : attachmentName);
+        if (MULTI_PAGE_EXTENSIONS.contains(extension)) {
+            return attachmentsDir.resolve(baseName);
         }
-        
-        logger.debug("Processed diagram for: {} with {} attachments", diagramPath, attachments != null ? attachments.size() : 0);
+        return attachmentsDir.resolve(baseName + ".mmd");
     }
-    
+
     /**
      * Generates a separate Mermaid diagram for a single attachment.
      * 
      * @param attachment the attachment file to process
      * @param attachmentsDir the attachments directory where attachment diagrams are stored (e.g., baseDir/attachments)
      * @param lastModified the last modified date for the attachment
+     * @param hash the content hash of the attachment
      * @throws Exception if diagram generation fails
      */
-    private void generateAttachmentDiagram(File attachment, Path attachmentsDir, Date lastModified) throws Exception {
+    private void generateAttachmentDiagram(File attachment, Path attachmentsDir, Date lastModified, String hash) throws Exception {
         String attachmentName = attachment.getName();
         String fileName = attachmentName.toLowerCase();
         String extension = "";
@@ -300,29 +449,9 @@ public class MermaidIndex {
         
         // Remove extension for diagram filename
         String baseName = lastDot > 0 ? attachmentName.substring(0, lastDot) : attachmentName;
-        String sanitizedAttachmentName = sanitizeFileName(baseName);
         // Create attachments directory if it doesn't exist
         Files.createDirectories(attachmentsDir);
-        Path attachmentDiagramPath = attachmentsDir.resolve(sanitizedAttachmentName + ".mmd");
-        
-        // Check if file exists and compare modification time
-        if (Files.exists(attachmentDiagramPath)) {
-            try {
-                long fileModTime = Files.getLastModifiedTime(attachmentDiagramPath).toMillis();
-                long attachmentModTime = lastModified.getTime();
-                
-                // If file was created after attachment was last modified, skip
-                if (fileModTime >= attachmentModTime) {
-                    logger.info("  ✓ SKIP attachment: {} - diagram is up to date", attachmentName);
-                    return;
-                }
-                logger.info("  ↻ REGENERATE attachment: {} - was modified", attachmentName);
-            } catch (Exception e) {
-                logger.warn("Failed to check modification time for {}: {}", attachmentDiagramPath, e.getMessage());
-            }
-        } else {
-            logger.info("  → NEW attachment: {} - creating diagram", attachmentName);
-        }
+        Path attachmentDiagramPath = attachmentDiagramPath(attachment, attachmentsDir);
         
         // Supported image extensions (only: gif, jpeg, png, webp)
         Set<String> imageExtensions = Set.of("gif", "jpeg", "png", "webp");
@@ -351,10 +480,10 @@ public class MermaidIndex {
                 logger.warn("Failed to process image {}, using original: {}", attachmentName, e.getMessage());
                 attachmentImageFiles.add(attachment);
             }
-        } else if (extension.equals("pdf") || extension.equals("docx") || extension.equals("pptx")) {
+        } else if (MULTI_PAGE_EXTENSIONS.contains(extension)) {
             // For PDFs and Office documents: Create subfolder and process each image separately
             logger.info("Processing multi-page document attachment: {} ({})", attachmentName, extension.toUpperCase());
-            processMultiPageAttachment(attachment, attachmentsDir, baseName, lastModified);
+            processMultiPageAttachment(attachment, attachmentsDir, baseName, lastModified, hash);
             return; // Multi-page processing complete, return early
         } else {
             // Known binary formats that shouldn't be processed as text
@@ -417,7 +546,7 @@ public class MermaidIndex {
             }
         
         try {
-            attachmentDiagram = diagramGenerator.run(attachmentParams);
+            attachmentDiagram = generateDiagram(attachmentParams);
             logger.debug("Diagram generation completed for attachment {}, result length: {}", 
                 attachmentName, attachmentDiagram != null ? attachmentDiagram.length() : 0);
         } catch (Exception e) {
@@ -434,19 +563,12 @@ public class MermaidIndex {
             String placeholder = "%% Diagram generation returned empty result for attachment: " + attachmentName + "\n%% This may indicate the image could not be analyzed or converted to a diagram.";
             Files.write(attachmentDiagramPath, placeholder.getBytes(StandardCharsets.UTF_8), 
                 StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            manifest.put(manifestKey(attachmentDiagramPath), hash);
             return;
         }
         
-        // Write diagram to file
-        Files.write(attachmentDiagramPath, attachmentDiagram.getBytes(StandardCharsets.UTF_8), 
-            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-        
-        // Set file modification time to match attachment last modified date
-        try {
-            Files.setLastModifiedTime(attachmentDiagramPath, java.nio.file.attribute.FileTime.fromMillis(lastModified.getTime()));
-        } catch (Exception e) {
-            logger.warn("Failed to set modification time for {}: {}", attachmentDiagramPath, e.getMessage());
-        }
+        writeDiagram(attachmentDiagramPath, attachmentDiagram, lastModified);
+        manifest.put(manifestKey(attachmentDiagramPath), hash);
         
         logger.info("Generated diagram for attachment: {} ({} bytes)", attachmentDiagramPath, attachmentDiagram.length());
     }
@@ -473,14 +595,16 @@ public class MermaidIndex {
     /**
      * Process multi-page documents (PDF, DOCX, PPTX) by creating a subfolder
      * and generating separate Mermaid diagrams for each extracted image/page.
+     * Pages are generated concurrently, pages whose image didn't change since the last run are skipped.
      * 
      * @param attachment the document file to process
      * @param attachmentsDir the attachments directory
      * @param baseName base name for the document (without extension)
      * @param lastModified last modified date
+     * @param hash the content hash of the document
      * @throws Exception if processing fails
      */
-    private void processMultiPageAttachment(File attachment, Path attachmentsDir, String baseName, Date lastModified) throws Exception {
+    private void processMultiPageAttachment(File attachment, Path attachmentsDir, String baseName, Date lastModified, String hash) throws Exception {
         String attachmentName = attachment.getName();
         String sanitizedBaseName = sanitizeFileName(baseName);
         
@@ -507,103 +631,143 @@ public class MermaidIndex {
         // Supported image extensions
         Set<String> imageExtensions = Set.of("gif", "jpeg", "jpg", "png", "webp");
         
-        // Process each extracted image separately
-        int imageCount = 0;
+        // Collect page images in document order
+        List<File> pageImages = new ArrayList<>();
         for (FileToTextTransformer.TransformationResult result : results) {
             if (result.files() != null) {
                 for (File extractedImage : result.files()) {
                     String extractedFileName = extractedImage.getName().toLowerCase();
-                    String extractedExt = "";
                     int dotIndex = extractedFileName.lastIndexOf('.');
-                    if (dotIndex > 0) {
-                        extractedExt = extractedFileName.substring(dotIndex + 1);
-                        // Normalize "jpg" to "jpeg"
-                        if (extractedExt.equals("jpg")) {
-                            extractedExt = "jpeg";
-                        }
-                    }
-                    
-                    if (imageExtensions.contains(extractedExt)) {
-                        imageCount++;
-                        String pageName = String.format("page_%03d", imageCount);
-                        Path pageDiagramPath = documentFolder.resolve(pageName + ".mmd");
-                        
-                        // Check if diagram already exists and is up to date
-                        if (Files.exists(pageDiagramPath)) {
-                            try {
-                                long fileModTime = Files.getLastModifiedTime(pageDiagramPath).toMillis();
-                                long attachmentModTime = lastModified.getTime();
-                                
-                                if (fileModTime >= attachmentModTime) {
-                                    logger.info("    ✓ SKIP page {}: diagram is up to date", imageCount);
-                                    continue;
-                                }
-                                logger.info("    ↻ REGENERATE page {}: was modified", imageCount);
-                            } catch (Exception e) {
-                                logger.warn("Failed to check modification time for {}: {}", pageDiagramPath, e.getMessage());
-                            }
-                        } else {
-                            logger.info("    → NEW page {}: creating diagram", imageCount);
-                        }
-                        
-                        // Generate diagram for this single image
-                        logger.info("Generating diagram for page {} of {}", imageCount, attachmentName);
-                        
-                        String pageContent = String.format(
-                            "Analyze page %d from document '%s' and create a Mermaid diagram. " +
-                            "Extract structure, relationships, or information flow. " +
-                            "If the page contains a diagram, flowchart, or architecture, convert it to Mermaid syntax. " +
-                            "If it shows a process or workflow, create a flowchart. " +
-                            "If it shows relationships between entities, create an appropriate diagram.",
-                            imageCount, attachmentName
-                        );
-                        
-                        // Process image (resize if needed, convert to JPEG)
-                        File imageToProcess = extractedImage;
-                        try {
-                            imageToProcess = imageResizer.processImage(extractedImage);
-                            logger.debug("Processed page {} image to: {}", imageCount, imageToProcess.getName());
-                        } catch (Exception e) {
-                            logger.warn("Failed to process page {} image, using original: {}", imageCount, e.getMessage());
-                        }
-                        
-                        List<File> singleImageList = Collections.singletonList(imageToProcess);
-                        
-                        MermaidDiagramGeneratorAgent.Params pageParams = new MermaidDiagramGeneratorAgent.Params(
-                            pageContent,
-                            singleImageList
-                        );
-                        
-                        try {
-                            String pageDiagram = diagramGenerator.run(pageParams);
-                            
-                            if (pageDiagram != null && !pageDiagram.trim().isEmpty()) {
-                                Files.write(pageDiagramPath, pageDiagram.getBytes(StandardCharsets.UTF_8), 
-                                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-                                
-                                // Set modification time
-                                try {
-                                    Files.setLastModifiedTime(pageDiagramPath, 
-                                        java.nio.file.attribute.FileTime.fromMillis(lastModified.getTime()));
-                                } catch (Exception e) {
-                                    logger.warn("Failed to set modification time for {}: {}", pageDiagramPath, e.getMessage());
-                                }
-                                
-                                logger.info("Successfully generated diagram for page {} → {}", imageCount, pageDiagramPath);
-                            } else {
-                                logger.warn("Generated diagram for page {} is empty, skipping", imageCount);
-                            }
-                        } catch (Exception e) {
-                            logger.error("Failed to generate diagram for page {} of {}: {}", 
-                                imageCount, attachmentName, e.getMessage(), e);
-                        }
+                    if (dotIndex > 0 && imageExtensions.contains(extractedFileName.substring(dotIndex + 1))) {
+                        pageImages.add(extractedImage);
                     }
                 }
             }
         }
-        
-        logger.info("Completed processing multi-page document {}: {} diagrams generated in {}", 
-            attachmentName, imageCount, documentFolder);
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < pageImages.size(); i++) {
+            int pageNumber = i + 1;
+            File extractedImage = pageImages.get(i);
+            tasks.add(() -> {
+                try {
+                    generatePageDiagram(extractedImage, pageNumber, attachmentName, documentFolder, lastModified);
+                } catch (Exception e) {
+                    failed.set(true);
+                    logger.error("Failed to generate diagram for page {} of {}: {}",
+                        pageNumber, attachmentName, e.getMessage(), e);
+                }
+            });
+        }
+        runAll(tasks);
+
+        if (!failed.get()) {
+            manifest.put(manifestKey(documentFolder), hash);
+        }
+        logger.info("Completed processing multi-page document {}: {} pages in {}",
+            attachmentName, pageImages.size(), documentFolder);
+    }
+
+    private void generatePageDiagram(File extractedImage, int pageNumber, String attachmentName,
+                                     Path documentFolder, Date lastModified) throws Exception {
+        Path pageDiagramPath = documentFolder.resolve(String.format("page_%03d", pageNumber) + ".mmd");
+        String pageHash = MermaidIndexManifest.hash(extractedImage.toPath());
+        if (isUpToDate(pageDiagramPath, pageHash, lastModified)) {
+            return;
+        }
+
+        // Generate diagram for this single image
+        logger.info("Generating diagram for page {} of {}", pageNumber, attachmentName);
+
+        String pageContent = String.format(
+            "Analyze page %d from document '%s' and create a Mermaid diagram. " +
+            "Extract structure, relationships, or information flow. " +
+            "If the page contains a diagram, flowchart, or architecture, convert it to Mermaid syntax. " +
+            "If it shows a process or workflow, create a flowchart. " +
+            "If it shows relationships between entities, create an appropriate diagram.",
+            pageNumber, attachmentName
+        );
+
+        // Process image (resize if needed, convert to JPEG)
+        File imageToProcess = extractedImage;
+        try {
+            imageToProcess = imageResizer.processImage(extractedImage);
+            logger.debug("Processed page {} image to: {}", pageNumber, imageToProcess.getName());
+        } catch (Exception e) {
+            logger.warn("Failed to process page {} image, using original: {}", pageNumber, e.getMessage());
+        }
+
+        MermaidDiagramGeneratorAgent.Params pageParams = new MermaidDiagramGeneratorAgent.Params(
+            pageContent,
+            Collections.singletonList(imageToProcess)
+        );
+
+        String pageDiagram = generateDiagram(pageParams);
+        if (pageDiagram != null && !pageDiagram.trim().isEmpty()) {
+            writeDiagram(pageDiagramPath, pageDiagram, lastModified);
+            manifest.put(manifestKey(pageDiagramPath), pageHash);
+            logger.info("Successfully generated diagram for page {} → {}", pageNumber, pageDiagramPath);
+        } else {
+            logger.warn("Generated diagram for page {} is empty, skipping", pageNumber);
+        }
+    }
+
+    /**
+     * Runs the diagram generator, at most {@code concurrency} calls at a time across the whole run.
+     */
+    private String generateDiagram(MermaidDiagramGeneratorAgent.Params params) throws Exception {
+        generations.acquire();
+        try {
+            return diagramGenerator.run(params);
+        } finally {
+            generations.release();
+        }
+    }
+
+    /**
+     * Writes the diagram and sets its modification time to the content's last modified date.
+     */
+    private void writeDiagram(Path diagramPath, String diagram, Date lastModified) throws IOException {
+        Files.createDirectories(diagramPath.getParent());
+        Files.write(diagramPath, diagram.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (lastModified == null) {
+            return;
+        }
+        try {
+            Files.setLastModifiedTime(diagramPath, java.nio.file.attribute.FileTime.fromMillis(lastModified.getTime()));
+        } catch (Exception e) {
+            logger.warn("Failed to set modification time for {}: {}", diagramPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the tasks on virtual threads and waits for all of them. Tasks handle their own failures.
+     */
+    private static void runAll(List<Runnable> tasks) {
+        if (tasks.size() == 1) {
+            tasks.get(0).run();
+            return;
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Runnable task : tasks) {
+                executor.submit(task);
+            }
+        }
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.debug("Failed to delete temp file: {}", path, e);
+                }
+            });
+        } catch (IOException e) {
+            logger.debug("Failed to delete temp directory: {}", directory, e);
+        }
     }
     
     /**
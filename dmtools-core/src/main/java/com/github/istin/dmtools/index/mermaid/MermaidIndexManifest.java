@@ -0,0 +1,121 @@
+package com.github.istin.dmtools.index.mermaid;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.TreeMap;
+
+/**
+ * Content hashes of the sources of generated diagrams, keyed by the diagram's path in the index.
+ * <p>
+ * A diagram is regenerated only when the hash of its source changes, so metadata-only updates and
+ * re-uploads of the same attachment don't trigger new AI calls. Hashes are recorded after the diagram
+ * is written and saved periodically, so an interrupted run resumes from the items it already finished.
+ * Saved to {@code .mermaid-index.json} in the integration's index folder.
+ */
+class MermaidIndexManifest {
+
+    private static final Logger logger = LogManager.getLogger(MermaidIndexManifest.class);
+
+    static final String FILE_NAME = ".mermaid-index.json";
+    private static final int VERSION = 1;
+    private static final int SAVE_EVERY = 20;
+    private static final Gson GSON = new Gson();
+
+    private static class Snapshot {
+        int version;
+        TreeMap<String, String> hashes;
+    }
+
+    private final Path manifestFile;
+    private TreeMap<String, String> hashes = new TreeMap<>();
+    private int unsaved;
+
+    private MermaidIndexManifest(Path manifestFile) {
+        this.manifestFile = manifestFile;
+    }
+
+    static MermaidIndexManifest load(Path indexDir) {
+        MermaidIndexManifest manifest = new MermaidIndexManifest(indexDir.resolve(FILE_NAME));
+        if (!Files.exists(manifest.manifestFile)) {
+            return manifest;
+        }
+        try {
+            Snapshot snapshot = GSON.fromJson(Files.readString(manifest.manifestFile), Snapshot.class);
+            if (snapshot != null && snapshot.version == VERSION && snapshot.hashes != null) {
+                manifest.hashes = snapshot.hashes;
+            }
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Failed to load Mermaid index manifest, diagrams will be checked by modification time: {}", manifest.manifestFile, e);
+        }
+        return manifest;
+    }
+
+    synchronized String getHash(String key) {
+        return hashes.get(key);
+    }
+
+    /**
+     * Records the source hash of a written diagram, the manifest is saved every few updates.
+     */
+    synchronized void put(String key, String hash) {
+        if (hash.equals(hashes.put(key, hash))) {
+            return;
+        }
+        if (++unsaved >= SAVE_EVERY) {
+            save();
+        }
+    }
+
+    synchronized void save() {
+        if (unsaved == 0) {
+            return;
+        }
+        Snapshot snapshot = new Snapshot();
+        snapshot.version = VERSION;
+        snapshot.hashes = hashes;
+        try {
+            Files.createDirectories(manifestFile.getParent());
+            // Write to a temporary file first, so an interrupted run never leaves a truncated manifest
+            Path tempFile = manifestFile.resolveSibling(FILE_NAME + ".tmp");
+            Files.writeString(tempFile, GSON.toJson(snapshot));
+            Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            unsaved = 0;
+        } catch (IOException e) {
+            logger.warn("Failed to save Mermaid index manifest {}: {}", manifestFile, e.getMessage());
+        }
+    }
+
+    static String hash(String text) {
+        return HexFormat.of().formatHex(digest().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static String hash(Path file) throws IOException {
+        MessageDigest digest = digest();
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -20,6 +20,8 @@ public abstract class AbstractJob<Params, Result> implements Job<Params, Result>
     @Getter
     @Setter
     protected AI ai;
+
+    private final JavaScriptBridges javaScriptBridges = new JavaScriptBridges();
     
 
     /**
@@ -152,7 +154,14 @@ public abstract class AbstractJob<Params, Result> implements Job<Params, Result>
      * @return JavaScriptExecutor for fluent configuration
      */
     protected JavaScriptExecutor js(String jsCode) {
-        return new JavaScriptExecutor(jsCode);
+        return new JavaScriptExecutor(jsCode, javaScriptBridges);
+    }
+
+    /**
+     * Closes the JavaScript contexts kept by {@link #js(String)} executors, call it when the job run is finished.
+     */
+    public void closeJavaScriptBridges() {
+        javaScriptBridges.close();
     }
 
     /**
@@ -0,0 +1,69 @@
+package com.github.istin.dmtools.job;
+
+import com.github.istin.dmtools.ai.AI;
+import com.github.istin.dmtools.atlassian.confluence.Confluence;
+import com.github.istin.dmtools.common.code.SourceCode;
+import com.github.istin.dmtools.common.kb.tool.KBTools;
+import com.github.istin.dmtools.common.tracker.TrackerClient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bridges kept for one job run, so JavaScript actions executed for every ticket reuse a context
+ * with the MCP tool wrappers already evaluated instead of creating one per execution.
+ * <p>
+ * A bridge is used by one execution at a time; concurrent executions get their own bridges,
+ * which are returned for reuse afterwards. Call {@link #close()} when the job run is finished.
+ */
+public class JavaScriptBridges implements AutoCloseable {
+
+    private final Map<List<Object>, Deque<JobJavaScriptBridge>> idle = new HashMap<>();
+    private final List<JobJavaScriptBridge> created = new ArrayList<>();
+
+    /**
+     * @return an idle bridge for these clients or a new one, give it back with {@link #release}
+     */
+    public synchronized JobJavaScriptBridge acquire(TrackerClient<?> trackerClient, AI ai, Confluence confluence, SourceCode sourceCode, KBTools kbTools) {
+        JobJavaScriptBridge bridge = idle.computeIfAbsent(key(trackerClient, ai, confluence, sourceCode, kbTools), k -> new ArrayDeque<>()).pollFirst();
+        if (bridge == null) {
+            bridge = new JobJavaScriptBridge(trackerClient, ai, confluence, sourceCode, kbTools);
+            created.add(bridge);
+        }
+        return bridge;
+    }
+
+    public synchronized void release(TrackerClient<?> trackerClient, AI ai, Confluence confluence, SourceCode sourceCode, KBTools kbTools, JobJavaScriptBridge bridge) {
+        if (created.contains(bridge)) {
+            idle.computeIfAbsent(key(trackerClient, ai, confluence, sourceCode, kbTools), k -> new ArrayDeque<>()).addFirst(bridge);
+        } else {
+            // Acquired before close(), the context it may have created since is not closed by anyone else
+            bridge.close();
+        }
+    }
+
+    synchronized int getCreatedBridges() {
+        return created.size();
+    }
+
+    /**
+     * Closes the contexts of all bridges. Bridges acquired afterwards are new ones.
+     */
+    @Override
+    public synchronized void close() {
+        for (JobJavaScriptBridge bridge : created) {
+            bridge.close();
+        }
+        created.clear();
+        idle.clear();
+    }
+
+    private static List<Object> key(TrackerClient<?> trackerClient, AI ai, Confluence confluence, SourceCode sourceCode, KBTools kbTools) {
+        return Arrays.asList(trackerClient, ai, confluence, sourceCode, kbTools);
+    }
+}
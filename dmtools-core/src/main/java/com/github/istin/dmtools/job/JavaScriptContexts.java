@@ -0,0 +1,175 @@
+package com.github.istin.dmtools.job;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide GraalJS infrastructure for {@link JobJavaScriptBridge}.
+ * <p>
+ * All contexts share one {@link Engine}, so a {@link Source} parsed in one context is not parsed again in another.
+ * Sources are cached by content hash. Contexts themselves are never shared: every bridge gets its own context with
+ * the MCP tool wrappers installed, so JavaScript globals of one bridge are not visible to another.
+ */
+final class JavaScriptContexts {
+
+    private static final Logger logger = LogManager.getLogger(JavaScriptContexts.class);
+
+    private static final int MAX_CACHED_SOURCES = 512;
+
+    private static final Map<String, Source> SOURCES = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger CREATED_CONTEXTS = new AtomicInteger();
+
+    private JavaScriptContexts() {
+    }
+
+    private static final class EngineHolder {
+        private static final Engine ENGINE = Engine.create();
+    }
+
+    /**
+     * Tool wrapper functions and schemas generated for one set of integrations.
+     */
+    static final class ToolSet {
+        private final String key;
+        private final Map<String, Map<String, Object>> schemas;
+        private final Map<String, Source> wrappers;
+
+        ToolSet(String key, Map<String, Map<String, Object>> schemas, Map<String, Source> wrappers) {
+            this.key = key;
+            this.schemas = schemas;
+            this.wrappers = wrappers;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        Map<String, Object> getSchema(String toolName) {
+            return schemas.get(toolName);
+        }
+
+        int size() {
+            return wrappers.size();
+        }
+    }
+
+    /**
+     * The context of one bridge together with the modules loaded into it.
+     */
+    static final class BridgeContext implements AutoCloseable {
+        private final Context context;
+        private final Map<String, Object> modules = new ConcurrentHashMap<>();
+        private Value jsonParse;
+        private String scriptDirectory = "";
+
+        private BridgeContext(Context context) {
+            this.context = context;
+        }
+
+        Value getBindings() {
+            return context.getBindings("js");
+        }
+
+        Value eval(Source source) {
+            return context.eval(source);
+        }
+
+        /**
+         * @return {@code json} parsed by the context's {@code JSON.parse}, without compiling a new script
+         */
+        Value parseJson(String json) {
+            if (jsonParse == null) {
+                jsonParse = context.eval(source("json-parse.js", "JSON.parse"));
+            }
+            return jsonParse.execute(json);
+        }
+
+        /**
+         * Modules loaded by {@code require()} in this context, keyed by resolved path.
+         */
+        Map<String, Object> getModules() {
+            return modules;
+        }
+
+        String getScriptDirectory() {
+            return scriptDirectory;
+        }
+
+        void setScriptDirectory(String scriptDirectory) {
+            this.scriptDirectory = scriptDirectory;
+        }
+
+        @Override
+        public void close() {
+            modules.clear();
+            try {
+                context.close(true);
+            } catch (Exception e) {
+                logger.debug("Failed to close JavaScript context: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return cached source for {@code code}; sources are keyed by content so identical scripts share parsed code
+     */
+    static Source source(String name, String code) {
+        String hash = DigestUtils.sha256Hex(code);
+        Source source = SOURCES.get(hash);
+        if (source != null) {
+            return source;
+        }
+        if (SOURCES.size() >= MAX_CACHED_SOURCES) {
+            SOURCES.clear();
+        }
+        return SOURCES.computeIfAbsent(hash, key -> Source.newBuilder("js", code, name).cached(true).buildLiteral());
+    }
+
+    static ToolSet toolSet(String key, Map<String, Map<String, Object>> schemas, List<Map.Entry<String, String>> wrapperFunctions) {
+        Map<String, Source> wrappers = new LinkedHashMap<>();
+        for (Map.Entry<String, String> wrapper : wrapperFunctions) {
+            wrappers.put(wrapper.getKey(), source(wrapper.getKey() + ".js", wrapper.getValue()));
+        }
+        return new ToolSet(key, schemas, wrappers);
+    }
+
+    static int getCreatedContexts() {
+        return CREATED_CONTEXTS.get();
+    }
+
+    /**
+     * Creates a new context on the shared engine with the tool wrappers of {@code toolSet} evaluated into it.
+     */
+    static BridgeContext create(ToolSet toolSet) {
+        long startTime = System.currentTimeMillis();
+        Context context = Context.newBuilder("js")
+                .engine(EngineHolder.ENGINE)
+                .allowAllAccess(false) // Restricted access for security
+                .allowExperimentalOptions(true)
+                // parameters are passed as proxies, give them the usual Object/Array prototype methods
+                .option("js.foreign-object-prototype", "true")
+                .build();
+        for (Map.Entry<String, Source> wrapper : toolSet.wrappers.entrySet()) {
+            try {
+                context.eval(wrapper.getValue());
+            } catch (Exception e) {
+                logger.error("Failed to expose tool {} to JavaScript", wrapper.getKey(), e);
+            }
+        }
+        CREATED_CONTEXTS.incrementAndGet();
+        logger.debug("Created JavaScript context with {} MCP tools in {}ms", toolSet.size(), System.currentTimeMillis() - startTime);
+        return new BridgeContext(context);
+    }
+}
@@ -25,6 +25,7 @@ public class JavaScriptExecutor {
     private static final Logger logger = LoggerFactory.getLogger(JavaScriptExecutor.class);
     
     private final String jsCode;
+    private final JavaScriptBridges bridges;
     private final Map<String, Object> parameters = new HashMap<>();
     
     private TrackerClient<?> trackerClient;
@@ -34,7 +35,15 @@ public class JavaScriptExecutor {
     private com.github.istin.dmtools.common.kb.tool.KBTools kbTools;
     
     public JavaScriptExecutor(String jsCode) {
+        this(jsCode, null);
+    }
+
+    /**
+     * @param bridges bridges of the job run to execute with, {@code null} to create a bridge for this execution only
+     */
+    public JavaScriptExecutor(String jsCode, JavaScriptBridges bridges) {
         this.jsCode = jsCode;
+        this.bridges = bridges;
     }
     
     /**
@@ -90,8 +99,10 @@ public class JavaScriptExecutor {
         try {
             logger.info("Executing JavaScript post-processing");
             
-            // Create JobJavaScriptBridge instance
-            JobJavaScriptBridge jsBridge = new JobJavaScriptBridge(trackerClient, ai, confluence, sourceCode, kbTools);
+            // Reuse a bridge of the job run, its context already has the MCP tools
+            JobJavaScriptBridge jsBridge = bridges != null
+                    ? bridges.acquire(trackerClient, ai, confluence, sourceCode, kbTools)
+                    : new JobJavaScriptBridge(trackerClient, ai, confluence, sourceCode, kbTools);
             
             // Convert parameters for JavaScript execution
             Map<String, Object> jsParams = convertParametersForJS();
@@ -101,7 +112,16 @@ public class JavaScriptExecutor {
             for (Map.Entry<String, Object> entry : jsParams.entrySet()) {
                 jsParamsJson.put(entry.getKey(), entry.getValue());
             }
-            Object result = jsBridge.executeJavaScript(jsCode, jsParamsJson);
+            Object result;
+            try {
+                result = jsBridge.executeJavaScript(jsCode, jsParamsJson);
+            } finally {
+                if (bridges != null) {
+                    bridges.release(trackerClient, ai, confluence, sourceCode, kbTools, jsBridge);
+                } else {
+                    jsBridge.close();
+                }
+            }
             
             logger.info("JavaScript executed successfully: {}", result);
             return result;
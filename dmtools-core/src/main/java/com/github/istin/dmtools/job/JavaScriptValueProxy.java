@@ -0,0 +1,282 @@
+package com.github.istin.dmtools.job;
+
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.Proxy;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyObject;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes JSON parameters to JavaScript without serialising them to text and parsing them back.
+ * Objects and arrays are wrapped lazily, level by level, the first time a script reads them. Writes made
+ * by a script go to the proxy's own copy of the members, so the caller's {@link JSONObject} is never modified.
+ */
+final class JavaScriptValueProxy {
+
+    private JavaScriptValueProxy() {
+    }
+
+    /**
+     * @return value which can be passed to GraalJS: a primitive, {@code null} or a proxy for structured data
+     */
+    static Object wrap(Object value) {
+        if (value == null || value == JSONObject.NULL) {
+            return null;
+        }
+        if (value instanceof String || value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof Double || value instanceof Float || value instanceof Short || value instanceof Byte
+                || value instanceof Proxy || value instanceof Value) {
+            return value;
+        }
+        if (value instanceof Number) {
+            // BigDecimal, BigInteger and other numbers are not interop numbers, JSON numbers are doubles in JS anyway
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Character || value instanceof Enum) {
+            return value.toString();
+        }
+        if (value instanceof JSONObject) {
+            JSONObject jsonObject = (JSONObject) value;
+            Map<String, Object> members = new LinkedHashMap<>();
+            for (String key : jsonObject.keySet()) {
+                members.put(key, jsonObject.opt(key));
+            }
+            return new ObjectProxy(members);
+        }
+        if (value instanceof JSONArray) {
+            JSONArray jsonArray = (JSONArray) value;
+            List<Object> elements = new ArrayList<>(jsonArray.length());
+            for (int i = 0; i < jsonArray.length(); i++) {
+                elements.add(jsonArray.opt(i));
+            }
+            return new ArrayProxy(elements);
+        }
+        if (value instanceof Map) {
+            Map<String, Object> members = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                members.put(String.valueOf(entry.getKey()), entry.getValue());
+            }
+            return new ObjectProxy(members);
+        }
+        if (value instanceof Collection) {
+            return new ArrayProxy(new ArrayList<>((Collection<?>) value));
+        }
+        if (value instanceof Object[]) {
+            return new ArrayProxy(new ArrayList<>(Arrays.asList((Object[]) value)));
+        }
+        // Domain objects (e.g. Ticket extends JSONModel) whose toString() is JSON are exposed as that JSON
+        String str = value.toString();
+        try {
+            if (str.startsWith("{")) {
+                return wrap(new JSONObject(str));
+            } else if (str.startsWith("[")) {
+                return wrap(new JSONArray(str));
+            }
+        } catch (Exception ignored) {
+            // not JSON, expose as plain string
+        }
+        return str;
+    }
+
+    static boolean isProxy(Object value) {
+        return value instanceof ObjectProxy || value instanceof ArrayProxy;
+    }
+
+    /**
+     * Converts a proxy, a polyglot value or anything reachable from them back to org.json structures.
+     */
+    static Object unwrap(Object value) {
+        if (value instanceof ObjectProxy) {
+            JSONObject jsonObject = new JSONObject();
+            for (Map.Entry<String, Object> entry : ((ObjectProxy) value).members.entrySet()) {
+                jsonObject.put(entry.getKey(), unwrap(entry.getValue()));
+            }
+            return jsonObject;
+        }
+        if (value instanceof ArrayProxy) {
+            JSONArray jsonArray = new JSONArray();
+            for (Object element : ((ArrayProxy) value).elements) {
+                Object unwrapped = unwrap(element);
+                jsonArray.put(unwrapped != null ? unwrapped : JSONObject.NULL);
+            }
+            return jsonArray;
+        }
+        if (value instanceof Value) {
+            return unwrapValue((Value) value);
+        }
+        return value;
+    }
+
+    private static Object unwrapValue(Value value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (value.isString()) {
+            return value.asString();
+        }
+        if (value.isBoolean()) {
+            return value.asBoolean();
+        }
+        if (value.isNumber()) {
+            return numberOf(value);
+        }
+        if (value.isProxyObject()) {
+            return unwrap(value.asProxyObject());
+        }
+        if (value.isHostObject()) {
+            return value.asHostObject();
+        }
+        if (value.hasArrayElements()) {
+            JSONArray jsonArray = new JSONArray();
+            for (long i = 0; i < value.getArraySize(); i++) {
+                Object unwrapped = unwrapValue(value.getArrayElement(i));
+                jsonArray.put(unwrapped != null ? unwrapped : JSONObject.NULL);
+            }
+            return jsonArray;
+        }
+        if (value.hasMembers()) {
+            JSONObject jsonObject = new JSONObject();
+            for (String key : value.getMemberKeys()) {
+                jsonObject.put(key, unwrapValue(value.getMember(key)));
+            }
+            return jsonObject;
+        }
+        return value.toString();
+    }
+
+    /**
+     * Stores a value written by a script: primitives and proxies are kept as Java objects, JavaScript objects
+     * stay as polyglot values and are converted by {@link #unwrap(Object)} when the result leaves the script.
+     */
+    private static Object fromScript(Value value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isString()) {
+            return value.asString();
+        }
+        if (value.isBoolean()) {
+            return value.asBoolean();
+        }
+        if (value.isNumber()) {
+            return numberOf(value);
+        }
+        if (value.isProxyObject()) {
+            return value.asProxyObject();
+        }
+        if (value.isHostObject()) {
+            return value.asHostObject();
+        }
+        return value;
+    }
+
+    private static Object numberOf(Value value) {
+        if (value.fitsInInt()) {
+            return value.asInt();
+        }
+        if (value.fitsInLong()) {
+            return value.asLong();
+        }
+        return value.asDouble();
+    }
+
+    static final class ObjectProxy implements ProxyObject {
+
+        private final Map<String, Object> members;
+
+        private ObjectProxy(Map<String, Object> members) {
+            this.members = members;
+        }
+
+        @Override
+        public Object getMember(String key) {
+            Object value = members.get(key);
+            Object wrapped = wrap(value);
+            if (wrapped != value) {
+                // keep the wrapper so that the script sees the same object and its writes on the next read
+                members.put(key, wrapped);
+            }
+            return wrapped;
+        }
+
+        @Override
+        public Object getMemberKeys() {
+            return ProxyArray.fromArray(members.keySet().toArray());
+        }
+
+        @Override
+        public boolean hasMember(String key) {
+            return members.containsKey(key);
+        }
+
+        @Override
+        public void putMember(String key, Value value) {
+            members.put(key, fromScript(value));
+        }
+
+        @Override
+        public boolean removeMember(String key) {
+            if (!members.containsKey(key)) {
+                return false;
+            }
+            members.remove(key);
+            return true;
+        }
+    }
+
+    static final class ArrayProxy implements ProxyArray {
+
+        private final List<Object> elements;
+
+        private ArrayProxy(List<Object> elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Object get(long index) {
+            checkIndex(index, elements.size());
+            int i = (int) index;
+            Object value = elements.get(i);
+            Object wrapped = wrap(value);
+            if (wrapped != value) {
+                elements.set(i, wrapped);
+            }
+            return wrapped;
+        }
+
+        @Override
+        public void set(long index, Value value) {
+            checkIndex(index, Integer.MAX_VALUE);
+            while (elements.size() <= index) {
+                elements.add(null);
+            }
+            elements.set((int) index, fromScript(value));
+        }
+
+        @Override
+        public boolean remove(long index) {
+            checkIndex(index, elements.size());
+            elements.remove((int) index);
+            return true;
+        }
+
+        @Override
+        public long getSize() {
+            return elements.size();
+        }
+
+        private static void checkIndex(long index, int size) {
+            if (index < 0 || index >= size) {
+                throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+        }
+    }
+}
@@ -13,7 +13,6 @@ import com.github.istin.dmtools.microsoft.teams.BasicTeamsClient;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 import org.json.JSONArray;
@@ -36,6 +35,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * JavaScript bridge for AI jobs using generated MCP infrastructure.
  * Provides sandboxed JavaScript execution with access to MCP-compatible methods
  * and support for loading JavaScript from remote source code URLs, resources, or inline code.
+ * <p>
+ * Each bridge runs its scripts in its own context created by {@link JavaScriptContexts} on the shared engine, with
+ * the MCP tool wrappers installed; parameters are passed as {@link JavaScriptValueProxy} proxies.
  */
 @Singleton
 public class JobJavaScriptBridge {
@@ -48,10 +50,12 @@ public class JobJavaScriptBridge {
     private final SourceCode sourceCode;
     private final com.github.istin.dmtools.common.kb.tool.KBTools kbTools;
     private final Map<String, String> resourceCache = new ConcurrentHashMap<>();
-    private final Map<String, Object> moduleCache = new ConcurrentHashMap<>();
-    private Context jsContext;
     private final Map<String, Object> clientInstances;
-    private String currentScriptDirectory;
+    private volatile JavaScriptContexts.ToolSet toolSet;
+    private JavaScriptContexts.BridgeContext jsContext;
+
+    // Tool wrappers and schemas only depend on the set of integrations, generate them once per process
+    private static final Map<String, JavaScriptContexts.ToolSet> TOOL_SETS = new ConcurrentHashMap<>();
 
     @Inject
     public JobJavaScriptBridge(TrackerClient<?> trackerClient, AI ai, Confluence confluence, SourceCode sourceCode, com.github.istin.dmtools.common.kb.tool.KBTools kbTools) {
@@ -164,62 +168,59 @@ public class JobJavaScriptBridge {
             logger.debug("BasicFigmaClient not initialized: {}. Figma tools will not be available.", e.getMessage());
         }
 
-        // Don't initialize JavaScript context in constructor - use lazy initialization instead
+        // Don't initialize JavaScript tools in constructor - use lazy initialization instead
         // This significantly improves startup time for commands that don't need JS execution
-        // initializeJavaScriptContext();
     }
 
     /**
-     * Ensure JavaScript context is initialized (lazy initialization).
+     * Get MCP tool set for this bridge's integrations (lazy initialization).
      * This method is called before any JS execution to avoid startup overhead.
      */
-    private synchronized void ensureJavaScriptContext() {
-        if (jsContext == null) {
-            long startTime = System.currentTimeMillis();
-            logger.info("🚀 [PERFORMANCE] Starting lazy JavaScript context initialization...");
-            initializeJavaScriptContext();
-            long duration = System.currentTimeMillis() - startTime;
-            logger.info("✅ [PERFORMANCE] JavaScript context initialized in {}ms", duration);
+    private JavaScriptContexts.ToolSet getToolSet() {
+        JavaScriptContexts.ToolSet result = toolSet;
+        if (result == null) {
+            synchronized (this) {
+                if (toolSet == null) {
+                    long startTime = System.currentTimeMillis();
+                    logger.info("🚀 [PERFORMANCE] Starting lazy JavaScript tools initialization...");
+                    toolSet = exposeMCPToolsUsingGenerated();
+                    long duration = System.currentTimeMillis() - startTime;
+                    logger.info("✅ [PERFORMANCE] JavaScript tools initialized in {}ms", duration);
+                }
+                result = toolSet;
+            }
         }
+        return result;
     }
 
     /**
-     * Initialize JavaScript context with MCP method bindings
+     * Get the context of this bridge, created on first use with this bridge's tool executor and require function.
      */
-    private void initializeJavaScriptContext() {
-        try {
-            logger.debug("Initializing JavaScript context (lazy initialization)");
-            jsContext = Context.newBuilder("js")
-                    .allowAllAccess(false) // Restricted access for security
-                    .build();
-
-            // Expose the Java bridge for tool execution using ProxyObject
-            jsContext.getBindings("js").putMember("executeToolViaJava", new ExecuteToolProxy());
-
-            // Expose require function for module loading
-            jsContext.getBindings("js").putMember("require", new RequireProxy());
-
-            // Expose MCP tools using generated infrastructure
-            exposeMCPToolsUsingGenerated();
-
-            logger.debug("JavaScript context initialized successfully");
-        } catch (Exception e) {
-            logger.error("Failed to initialize JavaScript context", e);
-            throw new RuntimeException("JavaScript bridge initialization failed", e);
+    private synchronized JavaScriptContexts.BridgeContext getContext() {
+        if (jsContext == null) {
+            JavaScriptContexts.BridgeContext context = JavaScriptContexts.create(getToolSet());
+            try {
+                Value bindings = context.getBindings();
+                bindings.putMember("executeToolViaJava", new ExecuteToolProxy(context));
+                bindings.putMember("require", new RequireProxy(context));
+            } catch (RuntimeException e) {
+                context.close();
+                throw e;
+            }
+            jsContext = context;
         }
+        return jsContext;
     }
-    
+
     /**
      * Convert Java objects to JavaScript-compatible format.
      * Builds the full JSON string in pure Java first (via toJsonString), then
-     * evaluates it once in GraalJS.  This avoids the previous bug where
+     * parses it once with the context's JSON.parse.  This avoids the previous bug where
      * intermediate GraalVM Values were placed back into a JSONArray and then
      * serialised with JSONArray.toString(), which called Value.toString() and
      * produced JS object-literal syntax with unquoted keys instead of valid JSON.
      */
-    private Object convertToJSCompatible(Object obj) {
-        ensureJavaScriptContext();
-
+    private Object convertToJSCompatible(JavaScriptContexts.BridgeContext context, Object obj) {
         if (obj == null) {
             return null;
         }
@@ -229,18 +230,28 @@ public class JobJavaScriptBridge {
             return obj;
         }
 
-        // Build a valid JSON string entirely in Java, then evaluate once in GraalJS
+        // Build a valid JSON string entirely in Java, then parse it once in GraalJS
         String jsonStr = toJsonString(obj);
         try {
-            return jsContext.eval("js", "(" + jsonStr + ")");
+            return context.parseJson(jsonStr);
         } catch (Exception e) {
             logger.warn("Failed to convert to JS compatible: {}", e.getMessage());
             return jsonStr;
         }
     }
+
+    /**
+     * Convert a member of JavaScript arguments to Java; parameter proxies are converted back to JSON
+     */
+    private Object toJavaArgument(Value value) {
+        if (value.isProxyObject() && JavaScriptValueProxy.isProxy(value.asProxyObject())) {
+            return JavaScriptValueProxy.unwrap(value.asProxyObject());
+        }
+        return value.as(Object.class);
+    }
     
     /**
-     * Execute MCP tool from JavaScript
+     * Execute MCP tool from JavaScript, returns the tool result as a Java object
      */
     public Object executeToolFromJS(String toolName, Object jsArgs) {
         try {
@@ -254,7 +265,7 @@ public class JobJavaScriptBridge {
                 
                 if (argsValue.hasMembers()) {
                     for (String key : argsValue.getMemberKeys()) {
-                        Object memberValue = argsValue.getMember(key).as(Object.class);
+                        Object memberValue = toJavaArgument(argsValue.getMember(key));
                         // Convert PolyglotMap to JSONObject or PolyglotList to JSONArray for better compatibility
                         if (memberValue != null) {
                             String className = memberValue.getClass().getName();
@@ -419,66 +430,63 @@ public class JobJavaScriptBridge {
             }
             
             // Execute using generated MCP infrastructure
-            Object result = MCPToolExecutor.executeTool(toolName, convertedArgsMap, clientInstances);
-            
-            // Convert result to JavaScript-compatible format
-            return convertToJSCompatible(result);
+            return MCPToolExecutor.executeTool(toolName, convertedArgsMap, clientInstances);
         } catch (Exception e) {
             logger.error("Tool execution failed for {}: {}", toolName, e.getMessage(), e);
             throw new RuntimeException("Tool execution failed: " + e.getMessage(), e);
         }
     }
 
-    // Cache for tool schemas
-    private Map<String, Map<String, Object>> toolSchemasCache = null;
-
     /**
      * Expose MCP tools using generated MCPToolExecutor - much better than reflection!
+     * Wrappers are generated once per set of integrations and installed into every bridge context.
      */
-    private void exposeMCPToolsUsingGenerated() {
+    private JavaScriptContexts.ToolSet exposeMCPToolsUsingGenerated() {
         // Get all available integrations dynamically based on what's actually configured
         Set<String> integrations = new java.util.HashSet<>(Set.of("jira", "ado", "ai", "confluence", "figma", "file", "cli", "teams", "sharepoint", "kb", "mermaid", "testrail", "github"));
         // Add jira_xray if XrayClient is available
         if (trackerClient instanceof com.github.istin.dmtools.atlassian.jira.xray.XrayClient) {
             integrations.add("jira_xray");
         }
-        
+        String toolSetKey = String.join(",", new java.util.TreeSet<>(integrations));
+        return TOOL_SETS.computeIfAbsent(toolSetKey, key -> generateToolSet(key, integrations));
+    }
+
+    private JavaScriptContexts.ToolSet generateToolSet(String toolSetKey, Set<String> integrations) {
         // Generate tool schemas using MCP infrastructure
         Map<String, Object> toolsResponse = MCPSchemaGenerator.generateToolsListResponse(integrations);
         @SuppressWarnings("unchecked")
         List<Map<String, Object>> tools = (List<Map<String, Object>>) toolsResponse.get("tools");
         
         // Cache tool schemas for later use
-        toolSchemasCache = new HashMap<>();
+        Map<String, Map<String, Object>> toolSchemas = new HashMap<>();
         for (Map<String, Object> tool : tools) {
             String toolName = (String) tool.get("name");
-            toolSchemasCache.put(toolName, tool);
+            toolSchemas.put(toolName, tool);
         }
         
         // Ensure deterministic order by tool name
         tools.sort(Comparator.comparing(t -> (String) t.get("name")));
 
         // Expose each tool to JavaScript with generic parameter mapping
+        List<Map.Entry<String, String>> wrappers = new ArrayList<>();
         for (Map<String, Object> tool : tools) {
             String toolName = (String) tool.get("name");
-            exposeToolToJS(toolName, tool);
+            wrappers.add(Map.entry(toolName, exposeToolToJS(toolName, tool)));
             if (toolName.contains("mermaid")) {
                 logger.info("Exposed Mermaid tool to JavaScript: {}", toolName);
             }
         }
         
         logger.info("Exposed {} MCP tools to JavaScript using generated infrastructure", tools.size());
+        return JavaScriptContexts.toolSet(toolSetKey, toolSchemas, wrappers);
     }
 
     /**
      * Get tool schema from cache
      */
     private Map<String, Object> getToolSchema(String toolName) {
-        if (toolSchemasCache == null) {
-            // Initialize cache if not already done
-            exposeMCPToolsUsingGenerated();
-        }
-        return toolSchemasCache != null ? toolSchemasCache.get(toolName) : null;
+        return getToolSet().getSchema(toolName);
     }
 
     /**
@@ -530,6 +538,12 @@ public class JobJavaScriptBridge {
      * ProxyExecutable implementation for GraalVM Polyglot compatibility
      */
     private class ExecuteToolProxy implements ProxyExecutable {
+        private final JavaScriptContexts.BridgeContext context;
+
+        private ExecuteToolProxy(JavaScriptContexts.BridgeContext context) {
+            this.context = context;
+        }
+
         @Override
         public Object execute(Value... arguments) {
             if (arguments.length < 1) {
@@ -539,14 +553,15 @@ public class JobJavaScriptBridge {
             String toolName = arguments[0].asString();
             Object jsArgs = arguments.length > 1 ? arguments[1] : null;
             
-            return executeToolFromJS(toolName, jsArgs);
+            // Convert result to JavaScript-compatible format
+            return convertToJSCompatible(context, executeToolFromJS(toolName, jsArgs));
         }
     }
 
     /**
-     * Expose a single MCP tool to JavaScript context using generated executor
+     * Generate the JavaScript wrapper exposing a single MCP tool through the generated executor
      */
-    private void exposeToolToJS(String toolName, Map<String, Object> toolSchema) {
+    private String exposeToolToJS(String toolName, Map<String, Object> toolSchema) {
         // Extract parameter information from the tool schema
         @SuppressWarnings("unchecked")
         Map<String, Object> inputSchema = (Map<String, Object>) toolSchema.get("inputSchema");
@@ -587,44 +602,34 @@ public class JobJavaScriptBridge {
                 return executeToolViaJava('%s', args);
             }
             """, toolName, parameterMappingLogic.toString(), toolName, toolName, toolName);
-            
-        try {
-            jsContext.eval("js", jsFunction);
-            logger.debug("Exposed MCP tool {} to JavaScript", toolName);
-        } catch (Exception e) {
-            logger.error("Failed to expose tool {} to JavaScript", toolName, e);
-        }
+        logger.debug("Generated JavaScript wrapper for MCP tool {}", toolName);
+        return jsFunction;
     }
 
     /**
-     * Execute JavaScript code with dynamic JSON parameters
+     * Execute JavaScript code with dynamic JSON parameters.
+     * The context is single-threaded, so executions of one bridge run one after another.
      */
-    public Object executeJavaScript(String jsSourceOrPath, JSONObject parameters) throws Exception {
-        ensureJavaScriptContext();
+    public synchronized Object executeJavaScript(String jsSourceOrPath, JSONObject parameters) throws Exception {
+        JavaScriptContexts.BridgeContext context = getContext();
 
         try {
             // Set current script directory for relative path resolution
-            setCurrentScriptDirectory(jsSourceOrPath);
+            context.setScriptDirectory(getScriptDirectory(jsSourceOrPath));
 
             String jsCode = loadJavaScriptCode(jsSourceOrPath);
 
-            // Make the tool executor available to JavaScript using ProxyExecutable
-            jsContext.getBindings("js").putMember("executeToolViaJava", new ExecuteToolProxy());
-
-            // Ensure require function is available for this execution
-            jsContext.getBindings("js").putMember("require", new RequireProxy());
-            
-            // Evaluate the JavaScript code
-            jsContext.eval("js", jsCode);
-            
-            // Get the action function
-            Value actionFunction = jsContext.getBindings("js").getMember("action");
+            // Evaluate the JavaScript code in its own function scope, so top-level declarations don't leak
+            // into the next execution, and get the action function it defines. An 'action' global left by
+            // a previous script is removed first, a script without one must not run it.
+            context.getBindings().removeMember("action");
+            Value actionFunction = context.eval(JavaScriptContexts.source("action.js", wrapActionScript(jsCode)));
             if (actionFunction == null || !actionFunction.canExecute()) {
                 throw new IllegalArgumentException("JavaScript code must define an 'action' function");
             }
             
-            // Convert JSONObject to JavaScript-compatible object
-            Object jsCompatibleParams = convertToJSCompatible(parameters);
+            // Pass parameters as proxies, without a JSON round-trip through the JS parser
+            Object jsCompatibleParams = JavaScriptValueProxy.wrap(parameters);
             
             // Execute the function with proper parameter passing
             Value result = actionFunction.execute(jsCompatibleParams);
@@ -633,8 +638,10 @@ public class JobJavaScriptBridge {
             // First check if it's a Polyglot array/list and convert directly
             Object javaResult = null;
             try {
-                // Check if result is a Polyglot array/list
-                if (result.hasArrayElements()) {
+                if (result.isProxyObject() && JavaScriptValueProxy.isProxy(result.asProxyObject())) {
+                    // Parameters (or a part of them) returned as is
+                    javaResult = JavaScriptValueProxy.unwrap(result.asProxyObject());
+                } else if (result.hasArrayElements()) {
                     // Convert PolyglotList directly to JSONArray
                     javaResult = convertPolyglotValueToJSON(result.as(Object.class));
                 } else if (result.hasMembers()) {
@@ -654,13 +661,25 @@ public class JobJavaScriptBridge {
             logger.error("JavaScript execution failed for source: {}", 
                          jsSourceOrPath.length() > 100 ? jsSourceOrPath.substring(0, 100) + "..." : jsSourceOrPath, e);
             throw new RuntimeException("JavaScript execution failed: " + e.getMessage(), e);
+        } finally {
+            context.setScriptDirectory("");
         }
     }
 
+    /**
+     * Wrap script code into a function returning the {@code action} function it defines
+     */
+    private static String wrapActionScript(String jsCode) {
+        return "(function() {\n" + jsCode + "\n;return typeof action === 'function' ? action : undefined;\n})()";
+    }
+
     /**
      * Convert PolyglotMap to JSONObject or PolyglotList to JSONArray for better compatibility with MCP tools
      */
     private Object convertPolyglotValueToJSON(Object polyglotValue) {
+        if (JavaScriptValueProxy.isProxy(polyglotValue)) {
+            return JavaScriptValueProxy.unwrap(polyglotValue);
+        }
         try {
             Value value = Value.asValue(polyglotValue);
             String className = polyglotValue.getClass().getName();
@@ -673,7 +692,8 @@ public class JobJavaScriptBridge {
                     // Recursively convert nested PolyglotMaps and PolyglotLists
                     if (memberValue != null) {
                         String memberClassName = memberValue.getClass().getName();
-                        if (memberClassName.contains("PolyglotMap") || memberClassName.contains("PolyglotList")) {
+                        if (memberClassName.contains("PolyglotMap") || memberClassName.contains("PolyglotList")
+                                || JavaScriptValueProxy.isProxy(memberValue)) {
                             memberValue = convertPolyglotValueToJSON(memberValue);
                         }
                     }
@@ -691,7 +711,8 @@ public class JobJavaScriptBridge {
                     // Recursively convert nested PolyglotMaps and PolyglotLists
                     if (elementValue != null) {
                         String elementClassName = elementValue.getClass().getName();
-                        if (elementClassName.contains("PolyglotMap") || elementClassName.contains("PolyglotList")) {
+                        if (elementClassName.contains("PolyglotMap") || elementClassName.contains("PolyglotList")
+                                || JavaScriptValueProxy.isProxy(elementValue)) {
                             elementValue = convertPolyglotValueToJSON(elementValue);
                         }
                     }
@@ -799,18 +820,6 @@ public class JobJavaScriptBridge {
         });
     }
 
-    /**
-     * Convert JSONObject to JavaScript-compatible object using GraalVM's Value system
-     */
-    private Object convertToJSCompatible(JSONObject jsonObject) {
-        ensureJavaScriptContext();
-
-        // Convert JSONObject to a simple string and parse it in JavaScript
-        // This ensures proper conversion to JavaScript object
-        String jsonString = jsonObject.toString();
-        return jsContext.eval("js", "(" + jsonString + ")");
-    }
-
     /**
      * Recursively converts a Java object to a valid JSON string.
      * All structural traversal is done at the Java level so that GraalVM Values
@@ -911,27 +920,26 @@ public class JobJavaScriptBridge {
     }
 
     /**
-     * Set current script directory for relative path resolution
+     * Get script directory for relative path resolution
      */
-    private void setCurrentScriptDirectory(String jsSourceOrPath) {
+    private String getScriptDirectory(String jsSourceOrPath) {
+        String scriptDirectory = "";
         if (jsSourceOrPath.contains("/")) {
             // Extract directory from path
             int lastSlash = jsSourceOrPath.lastIndexOf('/');
             if (lastSlash > 0) {
-                currentScriptDirectory = jsSourceOrPath.substring(0, lastSlash);
-            } else {
-                currentScriptDirectory = "";
+                scriptDirectory = jsSourceOrPath.substring(0, lastSlash);
             }
-        } else {
-            currentScriptDirectory = "";
         }
-        logger.debug("Set current script directory to: {}", currentScriptDirectory);
+        logger.debug("Set current script directory to: {}", scriptDirectory);
+        return scriptDirectory;
     }
 
     /**
      * Resolve module path relative to current script
      */
-    private String resolveModulePath(String modulePath) {
+    private String resolveModulePath(JavaScriptContexts.BridgeContext context, String modulePath) {
+        String currentScriptDirectory = context.getScriptDirectory();
         if (modulePath.startsWith("./") || modulePath.startsWith("../")) {
             // Relative path - resolve relative to current script directory
             if (currentScriptDirectory != null && !currentScriptDirectory.isEmpty()) {
@@ -948,10 +956,9 @@ public class JobJavaScriptBridge {
     /**
      * Load and execute a JavaScript module, returning its exports
      */
-    private Object loadModule(String modulePath) throws IOException {
-        ensureJavaScriptContext();
-
-        String resolvedPath = resolveModulePath(modulePath);
+    private Object loadModule(JavaScriptContexts.BridgeContext context, String modulePath) throws IOException {
+        String resolvedPath = resolveModulePath(context, modulePath);
+        Map<String, Object> moduleCache = context.getModules();
 
         // Check module cache first
         if (moduleCache.containsKey(resolvedPath)) {
@@ -963,25 +970,12 @@ public class JobJavaScriptBridge {
         
         // Save current script directory and update it for this module
         // This ensures relative paths within the module resolve correctly
-        String savedScriptDirectory = currentScriptDirectory;
-        try {
-            // Update currentScriptDirectory to the directory of the module being loaded
-            // This allows relative requires within this module to resolve correctly
-            if (resolvedPath.contains("/")) {
-                int lastSlash = resolvedPath.lastIndexOf('/');
-                if (lastSlash > 0) {
-                    currentScriptDirectory = resolvedPath.substring(0, lastSlash);
-                } else {
-                    currentScriptDirectory = "";
-                }
-            } else {
-                currentScriptDirectory = "";
-            }
-            logger.debug("Updated current script directory to: {} for module: {}", currentScriptDirectory, resolvedPath);
-        } catch (Exception e) {
-            // If updating fails, continue with saved directory
-            logger.warn("Failed to update script directory for module: {}", resolvedPath, e);
-        }
+        String savedScriptDirectory = context.getScriptDirectory();
+        // Update current script directory to the directory of the module being loaded
+        // This allows relative requires within this module to resolve correctly
+        int lastSlash = resolvedPath.lastIndexOf('/');
+        context.setScriptDirectory(lastSlash > 0 ? resolvedPath.substring(0, lastSlash) : "");
+        logger.debug("Updated current script directory to: {} for module: {}", context.getScriptDirectory(), resolvedPath);
         
         // Put a placeholder in cache to prevent circular dependency loops
         // This is important for handling circular requires
@@ -1003,8 +997,8 @@ public class JobJavaScriptBridge {
                 })()
                 """, moduleCode);
 
-            // Execute the wrapped module code
-            Object moduleExports = jsContext.eval("js", wrappedCode);
+            // Execute the wrapped module code, the parsed source is shared with other contexts
+            Object moduleExports = context.eval(JavaScriptContexts.source(resolvedPath, wrappedCode));
             
             // Replace placeholder with actual exports
             moduleCache.put(resolvedPath, moduleExports);
@@ -1019,8 +1013,8 @@ public class JobJavaScriptBridge {
             throw new RuntimeException("Failed to load module: " + resolvedPath, e);
         } finally {
             // Restore the original script directory
-            currentScriptDirectory = savedScriptDirectory;
-            logger.debug("Restored current script directory to: {}", currentScriptDirectory);
+            context.setScriptDirectory(savedScriptDirectory);
+            logger.debug("Restored current script directory to: {}", savedScriptDirectory);
         }
     }
 
@@ -1028,6 +1022,12 @@ public class JobJavaScriptBridge {
      * ProxyExecutable for require() function
      */
     private class RequireProxy implements ProxyExecutable {
+        private final JavaScriptContexts.BridgeContext context;
+
+        private RequireProxy(JavaScriptContexts.BridgeContext context) {
+            this.context = context;
+        }
+
         @Override
         public Object execute(Value... arguments) {
             if (arguments.length != 1) {
@@ -1038,7 +1038,7 @@ public class JobJavaScriptBridge {
             logger.debug("require() called with: {}", modulePath);
             
             try {
-                return loadModule(modulePath);
+                return loadModule(context, modulePath);
             } catch (Exception e) {
                 logger.error("require() failed for module: {}", modulePath, e);
                 throw new RuntimeException("Failed to require module: " + modulePath, e);
@@ -1047,12 +1047,13 @@ public class JobJavaScriptBridge {
     }
 
     /**
-     * Clean up resources
+     * Clean up resources.
      */
-    public void close() {
+    public synchronized void close() {
         if (jsContext != null) {
             jsContext.close();
+            jsContext = null;
         }
-        moduleCache.clear();
+        resourceCache.clear();
     }
 }
@@ -4,6 +4,7 @@ package com.github.istin.dmtools.job;
 import com.github.istin.dmtools.ai.AI;
 import com.github.istin.dmtools.ai.model.Metadata;
 import com.github.istin.dmtools.common.utils.PropertyReader;
+import com.github.istin.dmtools.common.utils.TemplateService;
 import com.github.istin.dmtools.ba.BusinessAnalyticDORGeneration;
 import com.github.istin.dmtools.ba.RequirementsCollector;
 import com.github.istin.dmtools.ba.UserStoryGenerator;
@@ -164,6 +165,7 @@ public class JobRunner {
                 return;
             }
             if ("run".equals(firstArg)) {
+                TemplateService.warmUpPromptsIfEnabled();
                 // Handle new run command with file + optional encoded parameter
                 RunCommandProcessor processor = new RunCommandProcessor();
                 JobParams jobParams = processor.processRunCommand(args);
@@ -183,6 +185,7 @@ public class JobRunner {
             return;
         }
         
+        TemplateService.warmUpPromptsIfEnabled();
         // Existing base64-only parameter handling for backward compatibility
         String decodedParams = new String(decodeBase64(args[0]));
         validateJobParamsJson(decodedParams);
@@ -253,6 +256,9 @@ public class JobRunner {
                 
                 return result;
             } finally {
+                if (job instanceof AbstractJob) {
+                    ((AbstractJob<?, ?>) job).closeJavaScriptBridges();
+                }
                 PropertyReader.clearOverrides();
             }
         }
@@ -3,6 +3,7 @@ package com.github.istin.dmtools.metrics.rules;
 import com.github.istin.dmtools.atlassian.jira.model.Ticket;
 import com.github.istin.dmtools.atlassian.jira.utils.ChangelogAssessment;
 import com.github.istin.dmtools.common.model.*;
+import com.github.istin.dmtools.common.tracker.ChangelogStore;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.common.utils.DateUtils;
 import com.github.istin.dmtools.common.utils.PropertyReader;
@@ -81,7 +82,7 @@ public class TicketFieldsChangesRule implements TrackerRule<ITicket> {
 
     @Override
     public List<KeyTime> check(TrackerClient trackerClient, ITicket ticket) throws Exception {
-        IChangelog changeLog = trackerClient.getChangeLog(ticket.getKey(), ticket);
+        IChangelog changeLog = ChangelogStore.getChangeLog(trackerClient, ticket.getKey(), ticket);
 
         // Determine who reported the ticket (works across Jira/ADO/Rally)
         String who;
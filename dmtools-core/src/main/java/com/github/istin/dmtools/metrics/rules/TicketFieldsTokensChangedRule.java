@@ -4,6 +4,7 @@ import com.github.istin.dmtools.ai.Claude35TokenCounter;
 import com.github.istin.dmtools.atlassian.jira.model.Ticket;
 import com.github.istin.dmtools.atlassian.jira.utils.ChangelogAssessment;
 import com.github.istin.dmtools.common.model.*;
+import com.github.istin.dmtools.common.tracker.ChangelogStore;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.common.utils.DateUtils;
 import com.github.istin.dmtools.metrics.TrackerRule;
@@ -63,7 +64,7 @@ public class TicketFieldsTokensChangedRule implements TrackerRule<ITicket> {
 
     @Override
     public List<KeyTime> check(TrackerClient trackerClient, ITicket ticket) throws Exception {
-        IChangelog changeLog = trackerClient.getChangeLog(ticket.getKey(), ticket);
+        IChangelog changeLog = ChangelogStore.getChangeLog(trackerClient, ticket.getKey(), ticket);
         String who = null;
         try {
             if (ticket instanceof Ticket) {
@@ -5,6 +5,7 @@ import com.github.istin.dmtools.common.model.IChangelog;
 import com.github.istin.dmtools.common.model.IComment;
 import com.github.istin.dmtools.common.model.ITicket;
 import com.github.istin.dmtools.common.networking.GenericRequest;
+import com.github.istin.dmtools.common.networking.PagePipeline;
 import com.github.istin.dmtools.common.networking.RestClient;
 import com.github.istin.dmtools.common.timeline.ReportIteration;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
@@ -17,6 +18,7 @@ import com.github.istin.dmtools.microsoft.ado.model.WorkItemChangelog;
 import com.github.istin.dmtools.microsoft.ado.model.AdoUser;
 import com.github.istin.dmtools.common.model.IUser;
 import com.github.istin.dmtools.networking.AbstractRestClient;
+import com.github.istin.dmtools.networking.IntegrationScheduler;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.RequestBody;
@@ -28,7 +30,16 @@ import org.json.JSONObject;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Azure DevOps REST API Client.
@@ -40,10 +51,19 @@ public abstract class AzureDevOpsClient extends AbstractRestClient implements Tr
 
     private static final Logger logger = LogManager.getLogger(AzureDevOpsClient.class);
     private static final String API_VERSION = "7.0";
+    // ADO supports up to 200 ids per work items request
+    static final int WORK_ITEMS_BATCH_SIZE = 200;
+    // WIQL fails with VS402337 for queries returning more work items
+    static final int WIQL_RESULT_LIMIT = 20000;
+    static final int WIQL_SHARDS = 8;
+    static final int DEFAULT_BATCH_PREFETCH = 4;
+    private static final Pattern WIQL_WHERE = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WIQL_ORDER_BY = Pattern.compile("\\bORDER\\s+BY\\b", Pattern.CASE_INSENSITIVE);
 
     private final String organization;
     private final String project;
     private boolean isLogEnabled = true;
+    private int batchPrefetch = DEFAULT_BATCH_PREFETCH;
 
     /**
      * Constructor for AzureDevOpsClient.
@@ -251,53 +271,226 @@ public abstract class AzureDevOpsClient extends AbstractRestClient implements Tr
             String[] fields
     ) throws Exception {
         List<WorkItem> results = new ArrayList<>();
-        searchAndPerform(results::add, wiqlQuery, fields);
+        searchAndPerform(workItem -> {
+            results.add(workItem);
+            return false;
+        }, wiqlQuery, fields);
         return results;
     }
 
+    /**
+     * Runs the WIQL query and performs the work items in the query's order. Batches of
+     * {@value #WORK_ITEMS_BATCH_SIZE} work items are requested {@link #setBatchPrefetch(int) ahead} of the performer,
+     * nothing more is requested once the performer stops.
+     */
     @Override
     public void searchAndPerform(JiraClient.Performer<WorkItem> performer, String wiqlQuery, String[] fields) throws Exception {
-        // Execute WIQL query to get work item IDs
+        List<Integer> ids = queryWorkItemIds(wiqlQuery);
+        if (ids.isEmpty()) {
+            log("No work items found for query: " + wiqlQuery);
+            return;
+        }
+
+        int batchCount = (ids.size() + WORK_ITEMS_BATCH_SIZE - 1) / WORK_ITEMS_BATCH_SIZE;
+        try (PagePipeline<List<WorkItem>> batches = PagePipeline.windowed(batchCount,
+                batchIndex -> getWorkItemsBatch(ids.subList(batchIndex * WORK_ITEMS_BATCH_SIZE,
+                        Math.min((batchIndex + 1) * WORK_ITEMS_BATCH_SIZE, ids.size())), fields),
+                batchPrefetch, "ado-workitems")) {
+            List<WorkItem> batch;
+            while ((batch = batches.next()) != null) {
+                for (WorkItem workItem : batch) {
+                    if (performer.perform(workItem)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Work item ids of the WIQL query. Queries over the WIQL limit of {@value #WIQL_RESULT_LIMIT} results are
+     * split into ranges of creation dates queried in parallel, their ids are ordered by the ranges.
+     * <p>
+     * WIQL compares dates in the time zone of the user's profile, not UTC. The first range has no lower bound and
+     * the last one no upper bound, so work items created on the first or the last day are not lost to the offset.
+     */
+    protected List<Integer> queryWorkItemIds(String wiqlQuery) throws IOException {
+        try {
+            return runWiql(wiqlQuery, null);
+        } catch (IOException e) {
+            if (!isResultLimitExceeded(e)) {
+                throw e;
+            }
+            LocalDate earliest = findEarliestCreatedDate(wiqlQuery);
+            if (earliest == null) {
+                throw e;
+            }
+            log("WIQL query exceeds " + WIQL_RESULT_LIMIT + " results, splitting it by creation date since " + earliest);
+            return queryByCreatedDate(wiqlQuery, earliest, LocalDate.now(ZoneOffset.UTC).plusDays(1), true, true, WIQL_SHARDS);
+        }
+    }
+
+    /**
+     * @param isOpenFrom the first shard has no lower bound
+     * @param isOpenTo   the last shard has no upper bound
+     */
+    private List<Integer> queryByCreatedDate(String wiqlQuery, LocalDate from, LocalDate to, boolean isOpenFrom, boolean isOpenTo,
+                                             int shards) throws IOException {
+        long days = ChronoUnit.DAYS.between(from, to);
+        int count = (int) Math.max(1, Math.min(shards, days));
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        try (ExecutorService executor = IntegrationScheduler.newExecutor()) {
+            for (int i = 0; i < count; i++) {
+                LocalDate shardFrom = from.plusDays(days * i / count);
+                LocalDate shardTo = i == count - 1 ? to : from.plusDays(days * (i + 1) / count);
+                boolean isShardOpenFrom = isOpenFrom && i == 0;
+                boolean isShardOpenTo = isOpenTo && i == count - 1;
+                futures.add(executor.submit(() -> queryCreatedDateRange(wiqlQuery, shardFrom, shardTo, isShardOpenFrom, isShardOpenTo)));
+            }
+            List<Integer> ids = new ArrayList<>();
+            for (Future<List<Integer>> future : futures) {
+                ids.addAll(future.get());
+            }
+            return ids;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("WIQL query failed: " + wiqlQuery, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running WIQL query: " + wiqlQuery, e);
+        }
+    }
+
+    private List<Integer> queryCreatedDateRange(String wiqlQuery, LocalDate from, LocalDate to, boolean isOpenFrom, boolean isOpenTo) throws IOException {
+        try {
+            return runWiql(withCreatedDateRange(wiqlQuery, isOpenFrom ? null : from, isOpenTo ? null : to), null);
+        } catch (IOException e) {
+            // A single day over the limit can't be split further by date
+            if (!isResultLimitExceeded(e) || ChronoUnit.DAYS.between(from, to) <= 1) {
+                throw e;
+            }
+            return queryByCreatedDate(wiqlQuery, from, to, isOpenFrom, isOpenTo, 2);
+        }
+    }
+
+    private LocalDate findEarliestCreatedDate(String wiqlQuery) throws IOException {
+        List<Integer> first = runWiql(withOrderBy(wiqlQuery, "[System.CreatedDate] ASC"), 1);
+        if (first.isEmpty()) {
+            return null;
+        }
+        List<WorkItem> workItems = getWorkItemsBatch(first, new String[]{"System.CreatedDate"});
+        if (workItems.isEmpty()) {
+            return null;
+        }
+        String createdDate = workItems.get(0).getFieldValueAsString("System.CreatedDate");
+        if (createdDate == null) {
+            return null;
+        }
+        return OffsetDateTime.parse(createdDate).atZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+
+    protected List<Integer> runWiql(String wiqlQuery, Integer top) throws IOException {
         String path = String.format("/%s/_apis/wit/wiql", project);
         GenericRequest wiqlRequest = new GenericRequest(this, path(path))
                 .param("api-version", API_VERSION);
+        if (top != null) {
+            wiqlRequest.param("$top", String.valueOf(top));
+        }
 
         JSONObject wiqlBody = new JSONObject();
         wiqlBody.put("query", wiqlQuery);
         wiqlRequest.setBody(wiqlBody.toString());
 
-        String response = wiqlRequest.post();
-        JSONObject result = new JSONObject(response);
-        JSONArray workItems = result.optJSONArray("workItems");
-
-        if (workItems == null || workItems.length() == 0) {
-            log("No work items found for query: " + wiqlQuery);
-            return;
+        JSONArray workItems = new JSONObject(wiqlRequest.post()).optJSONArray("workItems");
+        List<Integer> ids = new ArrayList<>();
+        if (workItems != null) {
+            for (int i = 0; i < workItems.length(); i++) {
+                ids.add(workItems.getJSONObject(i).getInt("id"));
+            }
         }
+        return ids;
+    }
 
-        // Get detailed work items
-        List<Integer> ids = new ArrayList<>();
-        for (int i = 0; i < workItems.length(); i++) {
-            JSONObject wi = workItems.getJSONObject(i);
-            ids.add(wi.getInt("id"));
+    static boolean isResultLimitExceeded(IOException e) {
+        String message = e.getMessage();
+        return message != null && (message.contains("VS402337") || message.contains("exceeds the size limit"));
+    }
+
+    /**
+     * Adds a creation date range to the WIQL query's conditions, keeping its ORDER BY.
+     *
+     * @param from first creation date, or null for no lower bound
+     * @param to   creation date after the range, or null for no upper bound
+     */
+    static String withCreatedDateRange(String wiqlQuery, LocalDate from, LocalDate to) {
+        List<String> bounds = new ArrayList<>();
+        if (from != null) {
+            bounds.add("[System.CreatedDate] >= '" + from + "'");
+        }
+        if (to != null) {
+            bounds.add("[System.CreatedDate] < '" + to + "'");
+        }
+        if (bounds.isEmpty()) {
+            return wiqlQuery;
+        }
+        String range = String.join(" AND ", bounds);
+        String[] parts = splitOrderBy(wiqlQuery);
+        Matcher where = WIQL_WHERE.matcher(maskLiterals(parts[0]));
+        String query;
+        if (where.find()) {
+            query = parts[0].substring(0, where.end()) + " (" + parts[0].substring(where.end()).trim() + ") AND " + range;
+        } else {
+            query = parts[0].trim() + " WHERE " + range;
         }
+        return parts[1].isEmpty() ? query : query + " " + parts[1];
+    }
+
+    static String withOrderBy(String wiqlQuery, String orderBy) {
+        return splitOrderBy(wiqlQuery)[0].trim() + " ORDER BY " + orderBy;
+    }
 
-        // Batch fetch work items (ADO supports up to 200 IDs per request)
-        int batchSize = 200;
-        for (int i = 0; i < ids.size(); i += batchSize) {
-            List<Integer> batch = ids.subList(i, Math.min(i + batchSize, ids.size()));
-            List<WorkItem> workItemsBatch = getWorkItemsBatch(batch, fields);
+    private static String[] splitOrderBy(String wiqlQuery) {
+        Matcher orderBy = WIQL_ORDER_BY.matcher(maskLiterals(wiqlQuery));
+        if (orderBy.find()) {
+            return new String[]{wiqlQuery.substring(0, orderBy.start()), wiqlQuery.substring(orderBy.start()).trim()};
+        }
+        return new String[]{wiqlQuery, ""};
+    }
 
-            for (WorkItem workItem : workItemsBatch) {
-                performer.perform(workItem);
+    /**
+     * The query with the contents of string literals and [field] names blanked out, so keywords are only found in
+     * the query itself. Positions are the same as in the query; doubled quotes inside literals close and reopen them.
+     */
+    private static String maskLiterals(String wiqlQuery) {
+        StringBuilder masked = new StringBuilder(wiqlQuery);
+        char closing = 0;
+        for (int i = 0; i < wiqlQuery.length(); i++) {
+            char c = wiqlQuery.charAt(i);
+            if (closing != 0) {
+                if (c == closing) {
+                    closing = 0;
+                } else {
+                    masked.setCharAt(i, ' ');
+                }
+            } else if (c == '\'' || c == '"') {
+                closing = c;
+            } else if (c == '[') {
+                closing = ']';
             }
         }
+        return masked.toString();
+    }
+
+    public void setBatchPrefetch(int batchPrefetch) {
+        this.batchPrefetch = Math.max(1, batchPrefetch);
     }
 
     /**
      * Fetch multiple work items in a single request.
      */
-    private List<WorkItem> getWorkItemsBatch(List<Integer> ids, String[] fields) throws IOException {
+    protected List<WorkItem> getWorkItemsBatch(List<Integer> ids, String[] fields) throws IOException {
         // Convert Integer list to comma-separated string
         StringBuilder idsBuilder = new StringBuilder();
         for (int i = 0; i < ids.size(); i++) {
@@ -308,7 +501,9 @@ public abstract class AzureDevOpsClient extends AbstractRestClient implements Tr
         String path = String.format("/%s/_apis/wit/workitems", project);
         GenericRequest request = new GenericRequest(this, path(path))
                 .param("api-version", API_VERSION)
-                .param("ids", idsBuilder.toString());
+                .param("ids", idsBuilder.toString())
+                // Deleted or inaccessible work items come back as nulls instead of failing the whole batch
+                .param("errorPolicy", "omit");
 
         if (fields != null && fields.length > 0) {
             String[] resolvedFields = resolveFieldNames(fields);
@@ -326,13 +521,37 @@ public abstract class AzureDevOpsClient extends AbstractRestClient implements Tr
         List<WorkItem> items = new ArrayList<>();
         if (workItems != null) {
             for (int i = 0; i < workItems.length(); i++) {
-                items.add(new WorkItem(workItems.getJSONObject(i)));
+                JSONObject workItem = workItems.optJSONObject(i);
+                if (workItem != null) {
+                    items.add(new WorkItem(workItem));
+                }
             }
         }
 
         return items;
     }
 
+    @Override
+    public boolean isBatchFetchSupported() {
+        return true;
+    }
+
+    @Override
+    public List<WorkItem> performTickets(List<String> workItemIds, String[] fields) throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        for (String workItemId : workItemIds) {
+            try {
+                ids.add(Integer.parseInt(workItemId.trim()));
+            } catch (NumberFormatException e) {
+                logger.debug("Skipping non-numeric work item id: {}", workItemId);
+            }
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return getWorkItemsBatch(ids, fields);
+    }
+
     // ========== Comment Operations ==========
 
     @Override
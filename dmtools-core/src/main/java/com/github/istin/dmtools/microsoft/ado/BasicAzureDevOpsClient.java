@@ -22,6 +22,7 @@ public class BasicAzureDevOpsClient extends AzureDevOpsClient {
     public static final String PROJECT;
     public static final String PAT_TOKEN;
     public static final String BASE_PATH;
+    public static final int BATCH_PREFETCH;
 
     static {
         PropertyReader propertyReader = new PropertyReader();
@@ -29,6 +30,7 @@ public class BasicAzureDevOpsClient extends AzureDevOpsClient {
         PROJECT = propertyReader.getAdoProject();
         PAT_TOKEN = propertyReader.getAdoPatToken();
         BASE_PATH = propertyReader.getAdoBasePath();
+        BATCH_PREFETCH = propertyReader.getAdoBatchPrefetch();
     }
 
     private static BasicAzureDevOpsClient instance;
@@ -38,6 +40,7 @@ public class BasicAzureDevOpsClient extends AzureDevOpsClient {
      */
     private BasicAzureDevOpsClient(String organization, String project, String patToken) throws IOException {
         super(organization, project, patToken);
+        setBatchPrefetch(BATCH_PREFETCH);
     }
 
     /**
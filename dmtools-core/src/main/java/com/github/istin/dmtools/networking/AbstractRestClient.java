@@ -2,6 +2,9 @@ package com.github.istin.dmtools.networking;
 
 import com.github.istin.dmtools.common.networking.GenericRequest;
 import com.github.istin.dmtools.common.networking.RestClient;
+import com.github.istin.dmtools.networking.cache.CachedResponse;
+import com.github.istin.dmtools.networking.cache.ResponseCache;
+import com.github.istin.dmtools.networking.cache.ResponseCaches;
 import okhttp3.*;
 import org.apache.commons.codec.digest.DigestUtils;
 import java.util.Arrays;
@@ -14,10 +17,6 @@ import java.io.File;
 import java.io.IOException;
 
 import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.FileTime;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import com.github.istin.dmtools.common.utils.PropertyReader;
@@ -48,17 +47,16 @@ public abstract class AbstractRestClient implements RestClient {
 
     private boolean isCachePostRequestsEnabled = false;
     private boolean isWaitBeforePerform = false;
-    private HashMap<String, Long> timeMeasurement = new HashMap<>();
     private RetryPolicy retryPolicy;
+    private ResponseCache responseCache;
 
     public AbstractRestClient(String basePath, String authorization) throws IOException {
-        this.client = new OkHttpClient.Builder()
+        // Connection pool and dispatcher are shared by all clients, credentials are added per request in sign()
+        this.client = HttpClients.newBuilder()
                 .connectTimeout(getTimeout(), TimeUnit.SECONDS)
                 .writeTimeout(getTimeout(), TimeUnit.SECONDS)
                 .readTimeout(getTimeout(), TimeUnit.SECONDS)
                 .protocols(Arrays.asList(Protocol.HTTP_1_1)) // Force HTTP/1.1 to avoid HTTP/2 protocol issues
-                // Enhanced connection pool for cloud environments
-                .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
                 // Add connection retry on failure
                 .retryOnConnectionFailure(true)
                 .build();
@@ -124,11 +122,27 @@ public abstract class AbstractRestClient implements RestClient {
         File cache = new File(getCacheFolderName());
         logger.info("cache folder: {}", cache.getAbsolutePath());
         if (isClearCache) {
+            getResponseCache().clear();
             cache.mkdirs();
             FileUtils.deleteDirectory(cache);
         }
     }
 
+    /**
+     * Returns the response cache of this client. By default it is shared with all clients
+     * that use the same cache folder, see {@link ResponseCaches}.
+     */
+    public synchronized ResponseCache getResponseCache() {
+        if (responseCache == null) {
+            responseCache = ResponseCaches.forFolder(getCacheFolderName());
+        }
+        return responseCache;
+    }
+
+    public synchronized void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
     /**
      * Sanitizes a URL by redacting sensitive query parameters to prevent credential exposure in logs.
      * 
@@ -231,30 +245,22 @@ public abstract class AbstractRestClient implements RestClient {
 
     public void clearCache(GenericRequest jiraRequest) {
         if (isCacheGetRequestsEnabled) {
-            File cachedFile = getCachedFile(jiraRequest);
-            if (cachedFile.exists()) {
-                cachedFile.delete();
-            }
+            getResponseCache().invalidate(getCacheFileName(jiraRequest));
         }
     }
 
     protected void clearRequestIfExpired(GenericRequest genericRequest, Long updated) throws IOException {
-        File cachedFile = getCachedFile(genericRequest);
-        clearRequestIfExpired(genericRequest, updated, cachedFile);
-    }
-
-    protected void clearRequestIfExpired(GenericRequest genericRequest, Long updated, File cachedFile) throws IOException {
-        if (cachedFile.exists() && updated != null) {
-            BasicFileAttributes attr = Files.readAttributes(cachedFile.toPath(), BasicFileAttributes.class);
-            FileTime fileTime = attr.lastModifiedTime();
-            if (fileTime.toMillis() < updated) {
-                clearCache(genericRequest);
-            }
+        if (updated == null) {
+            return;
+        }
+        Long storedAt = getResponseCache().getStoredAt(getCacheFileName(genericRequest));
+        if (storedAt != null && storedAt < updated) {
+            clearCache(genericRequest);
         }
     }
 
     public static String resolveRedirect(RestClient restClient, String urlString) throws IOException {
-        OkHttpClient client = new OkHttpClient.Builder()
+        OkHttpClient client = HttpClients.newBuilder()
                 .followRedirects(false)  // Don't follow redirects automatically
                 .build();
 
@@ -330,15 +336,15 @@ public abstract class AbstractRestClient implements RestClient {
     }
     
     private String execute(String url, boolean isRepeatIfFails, boolean isIgnoreCache, GenericRequest genericRequest, int retryCount) throws IOException {
+        // Kept per call, clients execute requests from several threads at once
+        long startTime = System.currentTimeMillis();
         try {
-            timeMeasurement.put(url, System.currentTimeMillis());
+            String cacheKey = getCacheFileName(genericRequest);
+            CachedResponse cached = null;
             if (isCacheGetRequestsEnabled && !isIgnoreCache) {
-                String value = getCacheFileName(genericRequest);
-                File cache = new File(getCacheFolderName());
-                cache.mkdirs();
-                File cachedFile = new File(getCacheFolderName() + "/" + value);
-                if (cachedFile.exists()) {
-                    return FileUtils.readFileToString(cachedFile);
+                cached = getResponseCache().get(cacheKey);
+                if (cached != null && !cached.isExpired()) {
+                    return cached.getBody();
                 }
             }
             if (isWaitBeforePerform) {
@@ -355,19 +361,22 @@ public abstract class AbstractRestClient implements RestClient {
 
             while (attemptNumber <= retryPolicy.getMaxRetries()) {
                 try {
-                    Request request = applyHeaders(sign(new Request.Builder())
+                    Request.Builder requestBuilder = applyHeaders(sign(new Request.Builder())
                             .header("User-Agent", "DMTools"), genericRequest)
-                            .url(url)
-                            .build();
+                            .url(url);
+                    if (cached != null && cached.canRevalidate()) {
+                        requestBuilder.header("If-None-Match", cached.getEtag());
+                    }
+                    Request request = requestBuilder.build();
                     try (Response response = client.newCall(request).execute()) {
+                        if (response.code() == 304 && cached != null) {
+                            getResponseCache().touch(cacheKey);
+                            return cached.getBody();
+                        }
                         if (response.isSuccessful()) {
                             String result = response.body() != null ? response.body().string() : null;
                             if (isCacheGetRequestsEnabled) {
-                                String value = getCacheFileName(genericRequest);
-                                File cache = new File(getCacheFolderName());
-                                cache.mkdirs();
-                                File cachedFile = new File(getCacheFolderName() + "/" + value);
-                                FileUtils.writeStringToFile(cachedFile, result);
+                                getResponseCache().put(cacheKey, result, response.header("ETag"));
                             }
                             return result;
                         } else {
@@ -442,8 +451,7 @@ public abstract class AbstractRestClient implements RestClient {
             throw new IOException("Unexpected error in request execution");
 
         } finally {
-            Long prevTime = timeMeasurement.get(url);
-            long time = System.currentTimeMillis() - 200 - prevTime;
+            long time = System.currentTimeMillis() - 200 - startTime;
             logger.info("{} {}", time, url);
             // Let OkHttp manage connection lifecycle automatically
         }
@@ -472,6 +480,19 @@ public abstract class AbstractRestClient implements RestClient {
     public String post(GenericRequest genericRequest) throws IOException {
         return post(genericRequest, 0);
     }
+
+    /**
+     * Builds a signed POST request. Streaming calls execute it directly, bypassing the response cache and retries.
+     */
+    protected Request buildPostRequest(GenericRequest genericRequest) {
+        return applyHeaders(sign(
+                new Request.Builder())
+                .url(genericRequest.url())
+                .header("User-Agent", "DMTools")
+                , genericRequest)
+                .post(RequestBody.create(JSON, genericRequest.getBody()))
+                .build();
+    }
     
     private String post(GenericRequest genericRequest, int retryCount) throws IOException {
         if (genericRequest == null) {
@@ -488,13 +509,10 @@ public abstract class AbstractRestClient implements RestClient {
         }
 
         if (isCachePostRequestsEnabled && !genericRequest.isIgnoreCache()) {
-            String value = getCacheFileName(genericRequest);
-            File cache = new File(getCacheFolderName());
-            cache.mkdirs();
-            File cachedFile = new File(getCacheFolderName() + "/" + value);
-            if (cachedFile.exists()) {
+            CachedResponse cached = getResponseCache().get(getCacheFileName(genericRequest));
+            if (cached != null && !cached.isExpired()) {
                 logger.info("Read From Cache: ");
-                return FileUtils.readFileToString(cachedFile);
+                return cached.getBody();
             } else {
                 logger.info("Network Request: ");
             }
@@ -527,11 +545,7 @@ public abstract class AbstractRestClient implements RestClient {
                     logger.debug("POST success for URL: {} ({}ms, {} chars response)", url, responseTime, responseAsString.length());
 
                     if (isCachePostRequestsEnabled) {
-                        String value = getCacheFileName(genericRequest);
-                        File cache = new File(getCacheFolderName());
-                        cache.mkdirs();
-                        File cachedFile = new File(getCacheFolderName() + "/" + value);
-                        FileUtils.writeStringToFile(cachedFile, responseAsString);
+                        getResponseCache().put(getCacheFileName(genericRequest), responseAsString, null);
                     }
                     return responseAsString;
                 } else {
@@ -792,7 +806,8 @@ public abstract class AbstractRestClient implements RestClient {
 
     /**
      * Manually cleanup connection pool when absolutely necessary.
-     * Should only be called when shutting down the client or in exceptional circumstances.
+     * The pool is shared by all clients, so this drops idle connections of every client.
+     * Should only be called when shutting down or in exceptional circumstances.
      * Normal operation should rely on OkHttp's built-in connection management.
      */
     public void cleanupConnectionPool() {
@@ -0,0 +1,55 @@
+package com.github.istin.dmtools.networking;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide OkHttp base shared by all REST clients.
+ * <p>
+ * Clients derive their own {@link OkHttpClient} from {@link #newBuilder()} to set timeouts and protocols, but keep the
+ * shared {@link ConnectionPool} and {@link Dispatcher}, so connections (and their TLS sessions) to the same host are
+ * reused across client instances. Credentials are never part of the shared client, every client signs its own requests.
+ * Requests of all derived clients go through the per-host limits of {@link IntegrationScheduler}.
+ */
+public final class HttpClients {
+
+    static final int MAX_IDLE_CONNECTIONS = 32;
+
+    static final long KEEP_ALIVE_MINUTES = 5;
+
+    private HttpClients() {
+    }
+
+    private static final class SharedHolder {
+        private static final OkHttpClient SHARED = createShared();
+    }
+
+    private static OkHttpClient createShared() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(128);
+        dispatcher.setMaxRequestsPerHost(16);
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .addInterceptor(IntegrationScheduler.getInstance().interceptor())
+                .build();
+    }
+
+    /**
+     * @return builder sharing the process-wide connection pool and dispatcher
+     */
+    public static OkHttpClient.Builder newBuilder() {
+        return SharedHolder.SHARED.newBuilder();
+    }
+
+    public static ConnectionPool connectionPool() {
+        return SharedHolder.SHARED.connectionPool();
+    }
+
+    public static Dispatcher dispatcher() {
+        return SharedHolder.SHARED.dispatcher();
+    }
+}
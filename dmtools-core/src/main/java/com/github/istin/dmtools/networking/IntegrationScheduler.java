@@ -0,0 +1,261 @@
+package com.github.istin.dmtools.networking;
+
+import com.github.istin.dmtools.common.utils.PropertyReader;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide limits for requests to integration hosts.
+ * <p>
+ * Every host gets a token bucket limiting requests per second and a number of permits limiting requests in flight,
+ * shared by all clients and jobs of the process. Requests acquire them in {@link #interceptor()}, which is part of the
+ * OkHttp base in {@link HttpClients}. When a host answers with 429 or 503, the whole host is paused for the time from
+ * its Retry-After header, or an exponential backoff without one, and its rate is halved until requests succeed again,
+ * so parallel callers back off together instead of retrying into the quota one by one.
+ * <p>
+ * A permit is held until the response headers arrive, not until its body is read. Long streaming bodies, such as
+ * server-sent events of AI providers, don't count against the in-flight limit while they are read, so a caller that
+ * never closes a body can't block the host for everyone.
+ * <p>
+ * Limits come from {@code INTEGRATION_MAX_IN_FLIGHT} and {@code INTEGRATION_RATE_LIMIT_PER_SECOND}, overridden per host
+ * with {@code INTEGRATION_LIMITS=host:permitsPerSecond:maxInFlight,...}. A rate of 0 means no rate limit.
+ */
+public class IntegrationScheduler {
+
+    private static final Logger logger = LogManager.getLogger(IntegrationScheduler.class);
+
+    static final long BASE_BACKOFF_MS = 1000L;
+    static final long MAX_BACKOFF_MS = 60000L;
+
+    private static final class SharedHolder {
+        private static final IntegrationScheduler SHARED = fromProperties(new PropertyReader());
+    }
+
+    /**
+     * Limits of one host, see {@link IntegrationScheduler}.
+     */
+    public record Limits(double permitsPerSecond, int maxInFlight) {
+    }
+
+    /**
+     * A request slot of a host, released when the request completes.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final Limits defaultLimits;
+    private final Map<String, Limits> hostLimits;
+    private final Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+    IntegrationScheduler(Limits defaultLimits, Map<String, Limits> hostLimits) {
+        this.defaultLimits = defaultLimits;
+        this.hostLimits = hostLimits;
+    }
+
+    public static IntegrationScheduler getInstance() {
+        return SharedHolder.SHARED;
+    }
+
+    static IntegrationScheduler fromProperties(PropertyReader propertyReader) {
+        Limits defaults = new Limits(propertyReader.getIntegrationRateLimitPerSecond(), propertyReader.getIntegrationMaxInFlight());
+        return new IntegrationScheduler(defaults, parseHostLimits(propertyReader.getIntegrationLimits(), defaults));
+    }
+
+    /**
+     * Executor for tasks calling integrations: a virtual thread per task, concurrency is bounded by the host permits.
+     */
+    public static ExecutorService newExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Waits for the host's rate limit, backoff and a free in-flight slot.
+     */
+    public Permit acquire(String host) throws InterruptedException {
+        HostLimiter limiter = limiter(host);
+        long waitNanos = limiter.reserve(System.nanoTime());
+        if (waitNanos > 0) {
+            logger.debug("Waiting {} ms for rate limit of {}", TimeUnit.NANOSECONDS.toMillis(waitNanos), host);
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        limiter.inFlight.acquire();
+        return limiter.inFlight::release;
+    }
+
+    /**
+     * Pauses all requests to the host, e.g. after 429, and lowers its rate until requests succeed again.
+     *
+     * @param delayMs delay requested by the host, or a negative value to use exponential backoff
+     */
+    public void backoff(String host, long delayMs) {
+        long appliedMs = limiter(host).backoff(System.nanoTime(), delayMs);
+        logger.warn("Host {} is throttling requests, pausing it for {} ms", host, appliedMs);
+    }
+
+    public void onSuccess(String host) {
+        limiter(host).onSuccess();
+    }
+
+    /**
+     * Interceptor applying the limits of the request's host, shared by all clients in {@link HttpClients}.
+     */
+    public Interceptor interceptor() {
+        return new Interceptor() {
+            @NotNull
+            @Override
+            public Response intercept(@NotNull Chain chain) throws IOException {
+                String host = chain.request().url().host();
+                Permit permit;
+                try {
+                    permit = acquire(host);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a request slot of " + host);
+                }
+                // Released once the headers are received, the body is read without holding the slot
+                try (permit) {
+                    Response response = chain.proceed(chain.request());
+                    if (isThrottling(response)) {
+                        long delayMs = response.code() == 429 || response.code() == 503
+                                ? RetryPolicy.parseRetryAfterMs(response)
+                                // Quota is used up, e.g. GitHub: wait for its reset instead of collecting 403s
+                                : quotaResetDelayMs(response);
+                        backoff(host, delayMs);
+                    } else if (response.isSuccessful()) {
+                        onSuccess(host);
+                    }
+                    return response;
+                }
+            }
+        };
+    }
+
+    /**
+     * @return true if the host throttles with this response, {@link #interceptor()} has paused the host for it then
+     */
+    public static boolean isThrottling(Response response) {
+        return response.code() == 429 || response.code() == 503 || "0".equals(response.header("X-RateLimit-Remaining"));
+    }
+
+    /**
+     * Time until the quota from the {@code X-RateLimit-Reset} header resets, at most {@link RetryPolicy#MAX_RETRY_AFTER_SECONDS}.
+     *
+     * @return delay in milliseconds, or -1 if the response has no valid header
+     */
+    public static long quotaResetDelayMs(Response response) {
+        String reset = response.header("X-RateLimit-Reset");
+        if (reset == null) {
+            return -1;
+        }
+        try {
+            long delayMs = Long.parseLong(reset.trim()) * 1000L - System.currentTimeMillis();
+            return Math.min(Math.max(0, delayMs), TimeUnit.SECONDS.toMillis(RetryPolicy.MAX_RETRY_AFTER_SECONDS));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    Limits getLimits(String host) {
+        return limiter(host).limits;
+    }
+
+    private HostLimiter limiter(String host) {
+        return limiters.computeIfAbsent(host, h -> new HostLimiter(hostLimits.getOrDefault(h, defaultLimits)));
+    }
+
+    static Map<String, Limits> parseHostLimits(String value, Limits defaults) {
+        Map<String, Limits> result = new ConcurrentHashMap<>();
+        if (value == null || value.trim().isEmpty()) {
+            return result;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length < 2 || parts[0].isEmpty()) {
+                logger.warn("Skipping invalid INTEGRATION_LIMITS entry: {}", entry);
+                continue;
+            }
+            try {
+                double permitsPerSecond = Math.max(0, Double.parseDouble(parts[1]));
+                int maxInFlight = parts.length > 2 ? Math.max(1, Integer.parseInt(parts[2])) : defaults.maxInFlight();
+                result.put(parts[0].toLowerCase(), new Limits(permitsPerSecond, maxInFlight));
+            } catch (NumberFormatException e) {
+                logger.warn("Skipping invalid INTEGRATION_LIMITS entry: {}", entry);
+            }
+        }
+        return result;
+    }
+
+    private static class HostLimiter {
+        private final Limits limits;
+        private final Semaphore inFlight;
+        // Token bucket, tokens go negative for callers waiting for their turn
+        private double rate;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+        private long pausedUntil;
+        private int throttles;
+
+        HostLimiter(Limits limits) {
+            this.limits = limits;
+            this.inFlight = new Semaphore(limits.maxInFlight(), true);
+            this.rate = limits.permitsPerSecond();
+            this.tokens = burst();
+        }
+
+        private double burst() {
+            return Math.max(1, limits.permitsPerSecond());
+        }
+
+        synchronized long reserve(long now) {
+            long waitNanos = Math.max(0, pausedUntil - now);
+            if (rate <= 0) {
+                return waitNanos;
+            }
+            if (now > refilledAt) {
+                tokens = Math.min(burst(), tokens + (now - refilledAt) * rate / TimeUnit.SECONDS.toNanos(1));
+                refilledAt = now;
+            }
+            tokens -= 1;
+            if (tokens < 0) {
+                waitNanos = Math.max(waitNanos, (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1)));
+            }
+            return waitNanos;
+        }
+
+        synchronized long backoff(long now, long delayMs) {
+            throttles++;
+            if (delayMs < 0) {
+                delayMs = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << Math.min(throttles - 1, 16));
+            }
+            pausedUntil = Math.max(pausedUntil, now + TimeUnit.MILLISECONDS.toNanos(delayMs));
+            if (rate > 0) {
+                rate = Math.max(limits.permitsPerSecond() / 16, rate / 2);
+                // Nothing saved up during the pause may be spent at once after it
+                tokens = Math.min(tokens, 0);
+                refilledAt = Math.max(refilledAt, pausedUntil);
+            }
+            return delayMs;
+        }
+
+        synchronized void onSuccess() {
+            throttles = 0;
+            if (rate > 0 && rate < limits.permitsPerSecond()) {
+                rate = Math.min(limits.permitsPerSecond(), rate + limits.permitsPerSecond() / 20);
+            }
+        }
+    }
+}
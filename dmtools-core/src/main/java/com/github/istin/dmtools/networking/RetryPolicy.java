@@ -4,6 +4,9 @@ import org.apache.logging.log4j.Logger;
 import okhttp3.Response;
 
 import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
@@ -101,25 +104,20 @@ public class RetryPolicy {
     public long calculateDelayMs(int attemptNumber, Response response) throws IOException {
         // First check if server provided Retry-After header
         if (response != null) {
-            String retryAfter = response.header("Retry-After");
-            if (retryAfter != null) {
-                try {
-                    // Retry-After can be in seconds or HTTP-date format
-                    // For simplicity, assume it's in seconds
-                    long retryAfterSeconds = Long.parseLong(retryAfter);
-                    if (retryAfterSeconds > MAX_RETRY_AFTER_SECONDS) {
-                        throw new IOException(
-                            "Retry-After header value (" + retryAfterSeconds + "s) exceeds configured maximum of "
-                            + MAX_RETRY_AFTER_SECONDS + "s. Aborting to avoid excessive wait."
-                        );
-                    }
-                    long serverDelay = retryAfterSeconds * 1000L;
-                    logger.info("Server provided Retry-After header: {} seconds", retryAfter);
-                    // Add small jitter even to server-provided delay
-                    return addJitter(serverDelay);
-                } catch (NumberFormatException e) {
-                    logger.debug("Could not parse Retry-After header: {}", retryAfter);
+            long retryAfterMs = parseRetryAfterMs(response);
+            if (retryAfterMs >= 0) {
+                long retryAfterSeconds = TimeUnit.MILLISECONDS.toSeconds(retryAfterMs);
+                if (retryAfterSeconds > MAX_RETRY_AFTER_SECONDS) {
+                    throw new IOException(
+                        "Retry-After header value (" + retryAfterSeconds + "s) exceeds configured maximum of "
+                        + MAX_RETRY_AFTER_SECONDS + "s. Aborting to avoid excessive wait."
+                    );
                 }
+                logger.info("Server provided Retry-After header: {} seconds", retryAfterSeconds);
+                // Add small jitter even to server-provided delay
+                return addJitter(retryAfterMs);
+            } else if (response.header("Retry-After") != null) {
+                logger.debug("Could not parse Retry-After header: {}", response.header("Retry-After"));
             }
 
             // Check for X-RateLimit-Reset header (Unix timestamp)
@@ -147,6 +145,29 @@ public class RetryPolicy {
         return addJitter(delay);
     }
 
+    /**
+     * Parses the Retry-After header, given either in seconds or as an HTTP date.
+     *
+     * @return delay in milliseconds, or -1 if the response has no valid Retry-After header
+     */
+    public static long parseRetryAfterMs(Response response) {
+        String retryAfter = response != null ? response.header("Retry-After") : null;
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim())) * 1000L;
+        } catch (NumberFormatException e) {
+            // Not seconds, try the HTTP-date format
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, retryAt.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
     /**
      * Adds random jitter to the delay to prevent synchronized retries.
      */
@@ -0,0 +1,64 @@
+package com.github.istin.dmtools.networking.cache;
+
+/**
+ * Immutable cached response body together with the metadata needed for invalidation:
+ * the time it was stored, an optional absolute expiration time and the server ETag.
+ */
+public class CachedResponse {
+
+    /**
+     * Marker for entries which never expire by TTL.
+     */
+    public static final long NO_EXPIRATION = 0L;
+
+    private final String body;
+    private final long storedAt;
+    private final long expiresAt;
+    private final String etag;
+
+    public CachedResponse(String body, long storedAt, long expiresAt, String etag) {
+        this.body = body;
+        this.storedAt = storedAt;
+        this.expiresAt = expiresAt;
+        this.etag = etag;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public long getStoredAt() {
+        return storedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public boolean isExpired() {
+        return isExpired(System.currentTimeMillis());
+    }
+
+    public boolean isExpired(long now) {
+        return expiresAt != NO_EXPIRATION && now >= expiresAt;
+    }
+
+    /**
+     * Entries which are expired but carry an ETag can be revalidated with a conditional request
+     * instead of being downloaded again.
+     */
+    public boolean canRevalidate() {
+        return etag != null && !etag.isEmpty();
+    }
+
+    /**
+     * Approximate heap weight of the entry, used by the in-memory tier.
+     */
+    long weight() {
+        return (body != null ? body.length() * 2L : 0L) + (etag != null ? etag.length() * 2L : 0L) + 48L;
+    }
+}
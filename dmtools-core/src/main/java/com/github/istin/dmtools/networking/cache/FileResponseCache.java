@@ -0,0 +1,108 @@
+package com.github.istin.dmtools.networking.cache;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Legacy engine: one file per cached response in the cache folder ({@code cache<ClassName>/<md5>}).
+ * ETags are not persisted, the file modification time is used as the stored-at timestamp.
+ */
+public class FileResponseCache implements ResponseCache {
+
+    private static final Logger logger = LogManager.getLogger(FileResponseCache.class);
+
+    private final File folder;
+    private final long defaultTtlMillis;
+    private final ResponseCacheStats stats = new ResponseCacheStats();
+    private volatile boolean folderReady;
+
+    public FileResponseCache(File folder, long defaultTtlMillis) {
+        this.folder = folder;
+        this.defaultTtlMillis = defaultTtlMillis;
+    }
+
+    public File getFile(String key) {
+        return new File(folder, key);
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        File file = getFile(key);
+        long lastModified = file.lastModified();
+        if (lastModified == 0L) {
+            stats.recordMiss();
+            return null;
+        }
+        try {
+            String body = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+            stats.recordHit(false, file.length());
+            return new CachedResponse(body, lastModified, expiresAt(lastModified), null);
+        } catch (IOException e) {
+            logger.warn("Failed to read cached response {}: {}", file.getAbsolutePath(), e.getMessage());
+            stats.recordMiss();
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, String body, String etag) {
+        if (body == null) {
+            return;
+        }
+        if (!folderReady) {
+            folder.mkdirs();
+            folderReady = true;
+        }
+        try {
+            FileUtils.writeStringToFile(getFile(key), body, StandardCharsets.UTF_8);
+            stats.recordWrite(body.length());
+        } catch (IOException e) {
+            logger.warn("Failed to write cached response {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public Long getStoredAt(String key) {
+        long lastModified = getFile(key).lastModified();
+        return lastModified == 0L ? null : lastModified;
+    }
+
+    @Override
+    public void touch(String key) {
+        getFile(key).setLastModified(System.currentTimeMillis());
+        stats.recordRevalidation();
+    }
+
+    @Override
+    public void invalidate(String key) {
+        File file = getFile(key);
+        if (file.delete()) {
+            stats.recordEvictions(1);
+        }
+    }
+
+    @Override
+    public void clear() throws IOException {
+        FileUtils.deleteDirectory(folder);
+        folderReady = false;
+    }
+
+    @Override
+    public void flush() {
+        // every entry is written through to its own file
+    }
+
+    @Override
+    public ResponseCacheStats getStats() {
+        return stats;
+    }
+
+    private long expiresAt(long storedAt) {
+        return defaultTtlMillis > 0 ? storedAt + defaultTtlMillis : CachedResponse.NO_EXPIRATION;
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.istin.dmtools.networking.cache;
+
+import java.io.IOException;
+
+/**
+ * Pluggable storage for cached HTTP response bodies used by the REST clients.
+ * Keys are opaque hashes produced by the client (for example md5 of url, body and headers).
+ *
+ * Implementations must be thread-safe: the same instance is shared by every client
+ * which uses the same cache folder.
+ */
+public interface ResponseCache {
+
+    /**
+     * Returns the cached response or {@code null} on miss. Expired entries are returned as well
+     * so the caller can revalidate them by ETag; use {@link CachedResponse#isExpired()} to check.
+     */
+    CachedResponse get(String key);
+
+    /**
+     * Stores a response body using the default TTL of the cache.
+     */
+    void put(String key, String body, String etag);
+
+    /**
+     * Returns the time the entry was stored, or {@code null} if there is no entry.
+     * This is an index lookup and never reads the body.
+     */
+    Long getStoredAt(String key);
+
+    /**
+     * Marks an existing entry as fresh again, e.g. after a {@code 304 Not Modified} response.
+     */
+    void touch(String key);
+
+    void invalidate(String key);
+
+    /**
+     * Drops all cached responses.
+     */
+    void clear() throws IOException;
+
+    /**
+     * Persists any buffered state (e.g. the index) to disk.
+     */
+    void flush();
+
+    ResponseCacheStats getStats();
+
+    /**
+     * Convenience method for the common "expire if the source changed after caching" check.
+     *
+     * @param key cache key
+     * @param updated time the source was last updated, {@code null} means unknown
+     * @return true if the entry was invalidated
+     */
+    default boolean invalidateIfOlderThan(String key, Long updated) {
+        if (updated == null) {
+            return false;
+        }
+        Long storedAt = getStoredAt(key);
+        if (storedAt != null && storedAt < updated) {
+            invalidate(key);
+            return true;
+        }
+        return false;
+    }
+}
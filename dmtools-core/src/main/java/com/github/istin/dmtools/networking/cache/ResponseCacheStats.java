@@ -0,0 +1,83 @@
+package com.github.istin.dmtools.networking.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit/miss/byte counters of a {@link ResponseCache}. Counters are lock-free and can be
+ * updated concurrently from several client threads.
+ */
+public class ResponseCacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    void recordHit(boolean fromMemory, long bytes) {
+        hits.increment();
+        if (fromMemory) {
+            memoryHits.increment();
+        } else {
+            bytesRead.add(bytes);
+        }
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    void recordEvictions(long count) {
+        evictions.add(count);
+    }
+
+    void recordWrite(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d (memory=%d), misses=%d, hitRatio=%.2f, revalidations=%d, evictions=%d, bytesRead=%d, bytesWritten=%d",
+                getHits(), getMemoryHits(), getMisses(), getHitRatio(), getRevalidations(), getEvictions(), getBytesRead(), getBytesWritten());
+    }
+}
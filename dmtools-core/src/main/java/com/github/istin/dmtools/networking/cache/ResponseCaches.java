@@ -0,0 +1,82 @@
+package com.github.istin.dmtools.networking.cache;
+
+import com.github.istin.dmtools.common.utils.PropertyReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of response caches, one per cache folder. Clients using the same folder share the same
+ * instance, so a segment file is never opened twice by one process.
+ *
+ * The engine is selected with {@code DMTOOLS_CACHE_ENGINE}:
+ * <ul>
+ *     <li>{@code file} (default) - one file per response, compatible with existing cache folders</li>
+ *     <li>{@code segment} - in-memory LRU in front of a memory-mapped segment with an index,
+ *     bounded by {@code DMTOOLS_CACHE_MAX_SIZE_MB} and {@code DMTOOLS_CACHE_MEMORY_MAX_SIZE_MB}</li>
+ * </ul>
+ * {@code DMTOOLS_CACHE_TTL_HOURS} sets the default TTL of new entries (0 = no expiration).
+ */
+public final class ResponseCaches {
+
+    private static final Logger logger = LogManager.getLogger(ResponseCaches.class);
+
+    public static final String ENGINE_FILE = "file";
+    public static final String ENGINE_SEGMENT = "segment";
+
+    private static final Map<String, ResponseCache> caches = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ResponseCaches::flushAll, "response-cache-flush"));
+    }
+
+    private ResponseCaches() {
+    }
+
+    public static ResponseCache forFolder(String folderName) {
+        File folder = new File(folderName).getAbsoluteFile();
+        return caches.computeIfAbsent(folder.getPath(), path -> create(folder));
+    }
+
+    /**
+     * Replaces the cache used for a folder, e.g. to switch engines in tests.
+     */
+    public static void register(String folderName, ResponseCache cache) {
+        caches.put(new File(folderName).getAbsoluteFile().getPath(), cache);
+    }
+
+    public static void flushAll() {
+        for (Map.Entry<String, ResponseCache> entry : caches.entrySet()) {
+            ResponseCache cache = entry.getValue();
+            cache.flush();
+            ResponseCacheStats stats = cache.getStats();
+            if (stats.getHits() + stats.getMisses() > 0) {
+                logger.info("Response cache {}: {}", entry.getKey(), stats);
+            }
+        }
+    }
+
+    private static ResponseCache create(File folder) {
+        PropertyReader propertyReader = new PropertyReader();
+        String engine = propertyReader.getCacheEngine();
+        long ttlMillis = propertyReader.getCacheTtlHours() * 60L * 60L * 1000L;
+        if (ENGINE_SEGMENT.equalsIgnoreCase(engine)) {
+            long maxBytes = propertyReader.getCacheMaxSizeMb() * 1024L * 1024L;
+            if (maxBytes > SegmentStore.MAX_SEGMENT_BYTES) {
+                logger.warn("DMTOOLS_CACHE_MAX_SIZE_MB is above the segment limit of {} MB, using the limit",
+                        SegmentStore.MAX_SEGMENT_BYTES / (1024L * 1024L));
+                maxBytes = SegmentStore.MAX_SEGMENT_BYTES;
+            }
+            long memoryMaxBytes = propertyReader.getCacheMemoryMaxSizeMb() * 1024L * 1024L;
+            logger.debug("Using segment response cache in {} (max {} bytes, memory {} bytes)", folder, maxBytes, memoryMaxBytes);
+            return new SegmentResponseCache(folder, maxBytes, memoryMaxBytes, ttlMillis);
+        }
+        if (!ENGINE_FILE.equalsIgnoreCase(engine)) {
+            logger.warn("Unknown DMTOOLS_CACHE_ENGINE '{}', using '{}'", engine, ENGINE_FILE);
+        }
+        return new FileResponseCache(folder, ttlMillis);
+    }
+}
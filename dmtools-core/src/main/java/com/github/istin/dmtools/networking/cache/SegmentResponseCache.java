@@ -0,0 +1,182 @@
+package com.github.istin.dmtools.networking.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Two-tier response cache: a weight-bounded in-memory LRU in front of a single memory-mapped
+ * {@link SegmentStore}. Replaces thousands of per-request files with one segment and one index file
+ * per cache folder, bounded by a total size cap.
+ */
+public class SegmentResponseCache implements ResponseCache {
+
+    private final SegmentStore store;
+    private final long memoryMaxBytes;
+    private final long defaultTtlMillis;
+    private final ResponseCacheStats stats = new ResponseCacheStats();
+
+    private final LinkedHashMap<String, CachedResponse> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+
+    /**
+     * @param folder cache folder, created on first use
+     * @param maxBytes size cap of the segment file; least recently used entries are evicted above it
+     * @param memoryMaxBytes heap budget of the in-memory tier, 0 disables it
+     * @param defaultTtlMillis TTL of new entries, 0 means entries never expire by time
+     */
+    public SegmentResponseCache(File folder, long maxBytes, long memoryMaxBytes, long defaultTtlMillis) {
+        this.store = new SegmentStore(folder.toPath(), maxBytes);
+        this.memoryMaxBytes = memoryMaxBytes;
+        this.defaultTtlMillis = defaultTtlMillis;
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        CachedResponse cached = getFromMemory(key);
+        if (cached != null) {
+            stats.recordHit(true, 0);
+            return cached;
+        }
+        SegmentStore.StoredResponse stored = store.read(key);
+        if (stored == null) {
+            stats.recordMiss();
+            return null;
+        }
+        stats.recordHit(false, stored.body().length);
+        cached = new CachedResponse(new String(stored.body(), StandardCharsets.UTF_8), stored.storedAt(), stored.expiresAt(), stored.etag());
+        putInMemory(key, cached);
+        return cached;
+    }
+
+    @Override
+    public void put(String key, String body, String etag) {
+        if (body == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = expiresAt(now);
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        int evicted = store.append(key, bytes, now, expiresAt, etag);
+        stats.recordWrite(bytes.length);
+        if (evicted > 0) {
+            stats.recordEvictions(evicted);
+            // the segment dropped its least recently used entries, the memory tier must not outlive them
+            retainStoredInMemory();
+        }
+        putInMemory(key, new CachedResponse(body, now, expiresAt, etag));
+    }
+
+    @Override
+    public Long getStoredAt(String key) {
+        SegmentStore.IndexEntry entry = store.lookup(key);
+        return entry != null ? entry.storedAt : null;
+    }
+
+    @Override
+    public void touch(String key) {
+        long now = System.currentTimeMillis();
+        if (store.touch(key, now, expiresAt(now))) {
+            stats.recordRevalidation();
+            synchronized (memory) {
+                CachedResponse cached = memory.get(key);
+                if (cached != null) {
+                    memory.put(key, new CachedResponse(cached.getBody(), now, expiresAt(now), cached.getEtag()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        removeFromMemory(key);
+        if (store.remove(key)) {
+            stats.recordEvictions(1);
+        }
+    }
+
+    @Override
+    public void clear() throws IOException {
+        synchronized (memory) {
+            memory.clear();
+            memoryBytes = 0;
+        }
+        store.clear();
+    }
+
+    @Override
+    public void flush() {
+        store.flushIndex();
+    }
+
+    @Override
+    public ResponseCacheStats getStats() {
+        return stats;
+    }
+
+    int getEntryCount() {
+        return store.size();
+    }
+
+    long getSegmentLength() {
+        return store.getSegmentLength();
+    }
+
+    private long expiresAt(long storedAt) {
+        return defaultTtlMillis > 0 ? storedAt + defaultTtlMillis : CachedResponse.NO_EXPIRATION;
+    }
+
+    private CachedResponse getFromMemory(String key) {
+        if (memoryMaxBytes <= 0) {
+            return null;
+        }
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    private void putInMemory(String key, CachedResponse response) {
+        long weight = response.weight();
+        if (memoryMaxBytes <= 0 || weight > memoryMaxBytes) {
+            removeFromMemory(key);
+            return;
+        }
+        synchronized (memory) {
+            CachedResponse previous = memory.put(key, response);
+            if (previous != null) {
+                memoryBytes -= previous.weight();
+            }
+            memoryBytes += weight;
+            Iterator<CachedResponse> lru = memory.values().iterator();
+            while (memoryBytes > memoryMaxBytes && lru.hasNext()) {
+                memoryBytes -= lru.next().weight();
+                lru.remove();
+            }
+        }
+    }
+
+    private void removeFromMemory(String key) {
+        synchronized (memory) {
+            CachedResponse removed = memory.remove(key);
+            if (removed != null) {
+                memoryBytes -= removed.weight();
+            }
+        }
+    }
+
+    private void retainStoredInMemory() {
+        synchronized (memory) {
+            Iterator<Map.Entry<String, CachedResponse>> iterator = memory.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, CachedResponse> item = iterator.next();
+                if (store.lookup(item.getKey()) == null) {
+                    memoryBytes -= item.getValue().weight();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.github.istin.dmtools.networking.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single append-only segment file with an in-memory index, read through a memory mapping.
+ *
+ * <p>Record layout (big-endian):</p>
+ * <pre>
+ * int magic | int keyLength | long storedAt | long expiresAt | int etagLength | int bodyLength | key | etag | body
+ * </pre>
+ * A {@code bodyLength} of {@code -1} is a tombstone. The index is kept in access order, which makes it the
+ * LRU list used for eviction when the segment grows past {@code maxBytes}. On close the index is written to a
+ * side file together with the segment length it describes; on open the index is loaded and only records
+ * appended after that length are scanned. A torn record at the tail is truncated.
+ *
+ * <p>All public methods are synchronized; the store is shared by every client using the same folder.</p>
+ */
+class SegmentStore implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(SegmentStore.class);
+
+    static final String SEGMENT_FILE = "responses.seg";
+    static final String INDEX_FILE = "responses.idx";
+
+    private static final int RECORD_MAGIC = 0x444D5452;
+    private static final int INDEX_MAGIC = 0x444D5449;
+    private static final int INDEX_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int TOMBSTONE = -1;
+    private static final int NO_ETAG = -1;
+
+    /** After compaction the live data is reduced to this share of {@code maxBytes}. */
+    private static final double COMPACTION_TARGET = 0.75;
+
+    /**
+     * Largest supported {@code maxBytes}. The segment is mapped as one buffer, which is limited to 2 GB, and it
+     * grows by the record that triggers compaction before it is compacted.
+     */
+    static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    static final class IndexEntry {
+        final long offset;
+        final int recordLength;
+        final int bodyLength;
+        long storedAt;
+        long expiresAt;
+        final String etag;
+
+        IndexEntry(long offset, int recordLength, int bodyLength, long storedAt, long expiresAt, String etag) {
+            this.offset = offset;
+            this.recordLength = recordLength;
+            this.bodyLength = bodyLength;
+            this.storedAt = storedAt;
+            this.expiresAt = expiresAt;
+            this.etag = etag;
+        }
+
+        long bodyOffset() {
+            return offset + recordLength - bodyLength;
+        }
+    }
+
+    /**
+     * Body of an entry together with the metadata it was stored with.
+     */
+    record StoredResponse(byte[] body, long storedAt, long expiresAt, String etag) {
+    }
+
+    private final Path folder;
+    private final Path segmentPath;
+    private final Path indexPath;
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, IndexEntry> index = new LinkedHashMap<>(1024, 0.75f, true);
+    private FileChannel channel;
+    private MappedByteBuffer map;
+    private long writePosition;
+    private long liveBytes;
+    private boolean indexDirty;
+
+    SegmentStore(Path folder, long maxBytes) {
+        this.folder = folder;
+        this.segmentPath = folder.resolve(SEGMENT_FILE);
+        this.indexPath = folder.resolve(INDEX_FILE);
+        this.maxBytes = Math.min(maxBytes, MAX_SEGMENT_BYTES);
+    }
+
+    synchronized IndexEntry lookup(String key) {
+        ensureOpen();
+        return index.get(key);
+    }
+
+    /**
+     * Reads the body of an entry with its metadata in one step, so a concurrent append can't pair the body
+     * of one record with the metadata of another. Returns {@code null} if the key is not present.
+     */
+    synchronized StoredResponse read(String key) {
+        ensureOpen();
+        IndexEntry entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            ByteBuffer view = mapped(entry.offset + entry.recordLength);
+            byte[] body = new byte[entry.bodyLength];
+            view.get(Math.toIntExact(entry.bodyOffset()), body);
+            return new StoredResponse(body, entry.storedAt, entry.expiresAt, entry.etag);
+        } catch (IOException e) {
+            logger.warn("Failed to read cache segment {}: {}", segmentPath, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Appends a record and returns the number of entries evicted to stay within the size cap.
+     */
+    synchronized int append(String key, byte[] body, long storedAt, long expiresAt, String etag) {
+        ensureOpen();
+        try {
+            int recordLength = writeRecord(channel, writePosition, key, body, storedAt, expiresAt, etag);
+            IndexEntry previous = index.put(key, new IndexEntry(writePosition, recordLength, body.length, storedAt, expiresAt, etag));
+            if (previous != null) {
+                liveBytes -= previous.recordLength;
+            }
+            liveBytes += recordLength;
+            writePosition += recordLength;
+            indexDirty = true;
+            if (writePosition > maxBytes) {
+                return compact((long) (maxBytes * COMPACTION_TARGET));
+            }
+            return 0;
+        } catch (IOException e) {
+            logger.warn("Failed to append to cache segment {}: {}", segmentPath, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Rewrites the timestamps of an existing record in place.
+     */
+    synchronized boolean touch(String key, long storedAt, long expiresAt) {
+        ensureOpen();
+        IndexEntry entry = index.get(key);
+        if (entry == null) {
+            return false;
+        }
+        try {
+            ByteBuffer timestamps = ByteBuffer.allocate(16).putLong(storedAt).putLong(expiresAt).flip();
+            channel.write(timestamps, entry.offset + 8);
+            entry.storedAt = storedAt;
+            entry.expiresAt = expiresAt;
+            indexDirty = true;
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to update cache segment {}: {}", segmentPath, e.getMessage());
+            return false;
+        }
+    }
+
+    synchronized boolean remove(String key) {
+        ensureOpen();
+        IndexEntry entry = index.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        liveBytes -= entry.recordLength;
+        try {
+            writePosition += writeRecord(channel, writePosition, key, null, 0L, 0L, null);
+        } catch (IOException e) {
+            logger.warn("Failed to write tombstone to cache segment {}: {}", segmentPath, e.getMessage());
+        }
+        indexDirty = true;
+        return true;
+    }
+
+    synchronized int size() {
+        ensureOpen();
+        return index.size();
+    }
+
+    synchronized long getSegmentLength() {
+        ensureOpen();
+        return writePosition;
+    }
+
+    synchronized long getLiveBytes() {
+        ensureOpen();
+        return liveBytes;
+    }
+
+    /**
+     * Evicts least recently used entries until live data fits into {@code targetBytes} and rewrites the
+     * segment without dead records.
+     *
+     * @return number of evicted entries
+     */
+    synchronized int compact(long targetBytes) throws IOException {
+        ensureOpen();
+        int evicted = 0;
+        Iterator<Map.Entry<String, IndexEntry>> lru = index.entrySet().iterator();
+        while (liveBytes > targetBytes && lru.hasNext()) {
+            liveBytes -= lru.next().getValue().recordLength;
+            lru.remove();
+            evicted++;
+        }
+
+        Path compacted = folder.resolve(SEGMENT_FILE + ".compact");
+        List<Map.Entry<String, IndexEntry>> live = new ArrayList<>(index.entrySet());
+        ByteBuffer source = mapped(writePosition);
+        long position = 0;
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, IndexEntry> item : live) {
+                IndexEntry entry = item.getValue();
+                ByteBuffer record = source.slice(Math.toIntExact(entry.offset), entry.recordLength);
+                while (record.hasRemaining()) {
+                    target.write(record, position + record.position());
+                }
+                item.setValue(new IndexEntry(position, entry.recordLength, entry.bodyLength, entry.storedAt, entry.expiresAt, entry.etag));
+                position += entry.recordLength;
+            }
+            target.force(false);
+        }
+
+        closeChannel();
+        Files.move(compacted, segmentPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = openChannel();
+        writePosition = position;
+        liveBytes = position;
+        indexDirty = true;
+        flushIndex();
+        logger.debug("Compacted cache segment {}: {} entries, {} bytes, {} evicted", segmentPath, index.size(), position, evicted);
+        return evicted;
+    }
+
+    synchronized void flushIndex() {
+        if (channel == null || !indexDirty) {
+            return;
+        }
+        Path tmp = folder.resolve(INDEX_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(writePosition);
+            out.writeInt(index.size());
+            for (Map.Entry<String, IndexEntry> item : index.entrySet()) {
+                IndexEntry entry = item.getValue();
+                out.writeUTF(item.getKey());
+                out.writeLong(entry.offset);
+                out.writeInt(entry.recordLength);
+                out.writeInt(entry.bodyLength);
+                out.writeLong(entry.storedAt);
+                out.writeLong(entry.expiresAt);
+                out.writeBoolean(entry.etag != null);
+                if (entry.etag != null) {
+                    out.writeUTF(entry.etag);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write cache index {}: {}", indexPath, e.getMessage());
+            return;
+        }
+        try {
+            channel.force(false);
+            Files.move(tmp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            indexDirty = false;
+        } catch (IOException e) {
+            logger.warn("Failed to publish cache index {}: {}", indexPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops all entries and deletes the segment and index files. The store reopens lazily on next use.
+     */
+    synchronized void clear() throws IOException {
+        closeChannel();
+        index.clear();
+        liveBytes = 0;
+        writePosition = 0;
+        indexDirty = false;
+        Files.deleteIfExists(segmentPath);
+        Files.deleteIfExists(indexPath);
+    }
+
+    @Override
+    public synchronized void close() {
+        flushIndex();
+        closeChannel();
+    }
+
+    private void ensureOpen() {
+        if (channel != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(folder);
+            channel = openChannel();
+            index.clear();
+            liveBytes = 0;
+            long segmentLength = channel.size();
+            long scanFrom = loadIndex(segmentLength);
+            writePosition = scan(scanFrom, segmentLength);
+            if (writePosition < segmentLength) {
+                logger.warn("Truncating torn tail of cache segment {} at {} of {} bytes", segmentPath, writePosition, segmentLength);
+                channel.truncate(writePosition);
+                map = null;
+            }
+            indexDirty = scanFrom != writePosition;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open cache segment " + segmentPath, e);
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private void closeChannel() {
+        map = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close cache segment {}: {}", segmentPath, e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Loads the persisted index if it describes a prefix of the current segment.
+     *
+     * @return segment offset from which records still have to be scanned
+     */
+    private long loadIndex(long segmentLength) {
+        if (!Files.exists(indexPath)) {
+            return 0;
+        }
+        try (InputStream raw = Files.newInputStream(indexPath);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                return 0;
+            }
+            long indexedLength = in.readLong();
+            if (indexedLength > segmentLength) {
+                return 0;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                long offset = in.readLong();
+                int recordLength = in.readInt();
+                int bodyLength = in.readInt();
+                long storedAt = in.readLong();
+                long expiresAt = in.readLong();
+                String etag = in.readBoolean() ? in.readUTF() : null;
+                index.put(key, new IndexEntry(offset, recordLength, bodyLength, storedAt, expiresAt, etag));
+                liveBytes += recordLength;
+            }
+            return indexedLength;
+        } catch (IOException e) {
+            logger.warn("Cache index {} is unreadable, rebuilding from segment: {}", indexPath, e.getMessage());
+            index.clear();
+            liveBytes = 0;
+            return 0;
+        }
+    }
+
+    /**
+     * Replays records between {@code from} and {@code to} into the index.
+     *
+     * @return offset after the last complete record
+     */
+    private long scan(long from, long to) throws IOException {
+        if (from >= to) {
+            return from;
+        }
+        ByteBuffer view = mapped(to);
+        long position = from;
+        while (position + HEADER_SIZE <= to) {
+            int base = Math.toIntExact(position);
+            if (view.getInt(base) != RECORD_MAGIC) {
+                break;
+            }
+            int keyLength = view.getInt(base + 4);
+            long storedAt = view.getLong(base + 8);
+            long expiresAt = view.getLong(base + 16);
+            int etagLength = view.getInt(base + 24);
+            int bodyLength = view.getInt(base + 28);
+            int recordLength = HEADER_SIZE + keyLength + Math.max(etagLength, 0) + Math.max(bodyLength, 0);
+            if (keyLength < 0 || position + recordLength > to) {
+                break;
+            }
+            String key = string(view, base + HEADER_SIZE, keyLength);
+            IndexEntry previous;
+            if (bodyLength == TOMBSTONE) {
+                previous = index.remove(key);
+            } else {
+                String etag = etagLength == NO_ETAG ? null : string(view, base + HEADER_SIZE + keyLength, etagLength);
+                previous = index.put(key, new IndexEntry(position, recordLength, bodyLength, storedAt, expiresAt, etag));
+                liveBytes += recordLength;
+            }
+            if (previous != null) {
+                liveBytes -= previous.recordLength;
+            }
+            position += recordLength;
+        }
+        return position;
+    }
+
+    private ByteBuffer mapped(long limit) throws IOException {
+        if (map == null || map.capacity() < limit) {
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return map.duplicate();
+    }
+
+    private static String string(ByteBuffer view, int offset, int length) {
+        byte[] bytes = new byte[length];
+        view.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int writeRecord(FileChannel target, long position, String key, byte[] body,
+                                   long storedAt, long expiresAt, String etag) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] etagBytes = etag != null ? etag.getBytes(StandardCharsets.UTF_8) : null;
+        int length = HEADER_SIZE + keyBytes.length
+                + (etagBytes != null ? etagBytes.length : 0)
+                + (body != null ? body.length : 0);
+        ByteBuffer record = ByteBuffer.allocate(length)
+                .putInt(RECORD_MAGIC)
+                .putInt(keyBytes.length)
+                .putLong(storedAt)
+                .putLong(expiresAt)
+                .putInt(etagBytes != null ? etagBytes.length : NO_ETAG)
+                .putInt(body != null ? body.length : TOMBSTONE)
+                .put(keyBytes);
+        if (etagBytes != null) {
+            record.put(etagBytes);
+        }
+        if (body != null) {
+            record.put(body);
+        }
+        record.flip();
+        long written = 0;
+        while (record.hasRemaining()) {
+            written += target.write(record, position + written);
+        }
+        return length;
+    }
+}
@@ -17,6 +17,7 @@ import org.json.JSONArray;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class PdfAsTrackerClient implements TrackerClient<PdfPageAsTicket> {
@@ -156,8 +157,10 @@ public class PdfAsTrackerClient implements TrackerClient<PdfPageAsTicket> {
     @Override
     public void searchAndPerform(JiraClient.Performer<PdfPageAsTicket> performer, String searchQuery, String[] fields) throws Exception {
         if (!isWasParsed) {
-            ReadPDFFile.parsePdfFilesToTickets(folderWithPdfAssets);
+            // Pages are performed while the documents are still being split
+            renderAndPerform(performer, searchQuery, fields);
             isWasParsed = true;
+            return;
         }
         File cacheFolder = new File(folderWithPdfAssets + "/cache");
         File[] listOfFiles = cacheFolder.listFiles();
@@ -177,48 +180,87 @@ public class PdfAsTrackerClient implements TrackerClient<PdfPageAsTicket> {
         }
     }
 
+    /**
+     * Splits every PDF of the folder into page tickets and performs each page as soon as it is written. Once the
+     * performer stops, the remaining pages are still split, so the cache is complete for the next searches.
+     */
+    private void renderAndPerform(JiraClient.Performer<PdfPageAsTicket> performer, String searchQuery, String[] fields) throws Exception {
+        logger.info(folderWithPdfAssets);
+        File[] listOfFiles = new File(folderWithPdfAssets).listFiles();
+        if (listOfFiles == null) {
+            return;
+        }
+        boolean[] isStopped = {false};
+        Exception[] performerFailure = {null};
+        for (File file : listOfFiles) {
+            if (!file.isFile() || !file.getName().endsWith(".pdf")) {
+                continue;
+            }
+            File fileCacheFolder = ReadPDFFile.getCacheFolder(folderWithPdfAssets, file);
+            try {
+                ReadPDFFile.renderPages(file, fileCacheFolder, page -> {
+                    if (isStopped[0]) {
+                        return;
+                    }
+                    try {
+                        PdfPageAsTicket ticket = performTicket(fileCacheFolder.getName() + "-" + page.getPageNumber(), fields);
+                        isStopped[0] = ticket != null && performIfMatches(performer, searchQuery, ticket);
+                    } catch (Exception e) {
+                        performerFailure[0] = e;
+                        isStopped[0] = true;
+                    }
+                });
+            } catch (IOException e) {
+                logger.error("Failed to split {} into pages", file.getName(), e);
+            }
+            if (performerFailure[0] != null) {
+                throw performerFailure[0];
+            }
+        }
+    }
+
     private boolean searchAndPerformForFileTickets(JiraClient.Performer<PdfPageAsTicket> performer, String searchQuery, String[] fields, File fileCacheFolder) throws Exception {
         File[] listOfTickets = fileCacheFolder.listFiles();
-        for (int i = 0; i < listOfTickets.length; i++) {
-            File file = listOfTickets[i];
+        if (listOfTickets == null) {
+            return false;
+        }
+        // Page folders are named by page number, the listing order is not defined
+        List<Integer> pageNumbers = new ArrayList<>();
+        for (File file : listOfTickets) {
             if (file.isDirectory()) {
                 try {
-                    Integer number = Integer.parseInt(file.getName());
-                } catch (Exception e) {
-                    continue;
-                }
-
-                PdfPageAsTicket ticket = performTicket(fileCacheFolder.getName() + "-" + (i + 1), fields);
-                if (ticket == null) {
-                    continue;
-                }
-
-                if (searchQuery != null) {
-                    String[] paramAndValue = searchQuery.split("=");
-                    if (paramAndValue[0].equalsIgnoreCase("labels")) {
-                        if (TrackerClient.Utils.isLabelExists(ticket, paramAndValue[1])) {
-                            boolean isStopping = performer.perform(ticket);
-                            if (isStopping) {
-                                return true;
-                            }
-                        }
-                    } else {
-                        boolean isStopping = performer.perform(ticket);
-                        if (isStopping) {
-                            return true;
-                        }
-                    }
-                } else {
-                    boolean isStopping = performer.perform(ticket);
-                    if (isStopping) {
-                        return true;
-                    }
+                    pageNumbers.add(Integer.parseInt(file.getName()));
+                } catch (NumberFormatException e) {
+                    // not a page folder
                 }
             }
         }
+        Collections.sort(pageNumbers);
+        for (Integer pageNumber : pageNumbers) {
+            PdfPageAsTicket ticket = performTicket(fileCacheFolder.getName() + "-" + pageNumber, fields);
+            if (ticket == null) {
+                continue;
+            }
+            if (performIfMatches(performer, searchQuery, ticket)) {
+                return true;
+            }
+        }
         return false;
     }
 
+    /**
+     * @return true if the ticket matches the search query and the performer asked to stop
+     */
+    private static boolean performIfMatches(JiraClient.Performer<PdfPageAsTicket> performer, String searchQuery, PdfPageAsTicket ticket) throws Exception {
+        if (searchQuery != null) {
+            String[] paramAndValue = searchQuery.split("=");
+            if (paramAndValue[0].equalsIgnoreCase("labels") && !TrackerClient.Utils.isLabelExists(ticket, paramAndValue[1])) {
+                return false;
+            }
+        }
+        return performer.perform(ticket);
+    }
+
     @Override
     public PdfPageAsTicket performTicket(String ticketKey, String[] fields) throws IOException {
         String pathToTicketFolder = findTicketFolder(ticketKey);
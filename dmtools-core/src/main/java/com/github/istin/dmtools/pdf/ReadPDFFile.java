@@ -1,11 +1,13 @@
 package com.github.istin.dmtools.pdf;
 
+import com.github.istin.dmtools.common.utils.PropertyReader;
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.IOUtils;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
@@ -24,11 +26,30 @@ import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ReadPDFFile {
     private static final Logger logger = LogManager.getLogger(ReadPDFFile.class);
 
+    static final float MAX_DPI = 220;
+    static final float MIN_DPI = 72;
+    static final int SNAPSHOT_MAX_PIXELS = 2000;
+    static final int DENSE_SNAPSHOT_MAX_PIXELS = 2600;
+    static final int DENSE_TEXT_CHARS = 1500;
+    // Pages with less text are scanned or mostly graphics and are always rendered
+    static final int MIN_TEXT_LAYER_CHARS = 200;
+    static final int PAGES_AHEAD_PER_WORKER = 2;
+
     public static void parsePdfFilesToTickets(String folderPath) {
         logger.info(folderPath);
         File[] listOfFiles = new File(folderPath).listFiles();
@@ -44,131 +65,347 @@ public class ReadPDFFile {
     }
 
     private static void breakFileToTickets(String folderPath, File file) {
-        PDDocument document = null;
         try {
-            String cacheFolder = folderPath + "/cache/" + file.getName().split("\\.")[0];
-            File fileCacheFolder = new File(cacheFolder);
-            if (fileCacheFolder.exists()) {
+            renderPages(file, getCacheFolder(folderPath, file), page -> {
+                logger.info("Page {} Text:", page.getPageNumber());
+                logger.info(page.getText());
+            });
+        } catch (IOException e) {
+            logger.error("Failed to split {} into pages", file.getName(), e);
+        }
+    }
 
-//                return;
-            }
+    /**
+     * @return folder the pages of {@code pdfFile} from {@code folderPath} are written to
+     */
+    public static File getCacheFolder(String folderPath, File pdfFile) {
+        return new File(folderPath + "/cache/" + pdfFile.getName().split("\\.")[0]);
+    }
 
-            fileCacheFolder.mkdirs();
-            document = Loader.loadPDF(file);
-
-            PDFTextStripper pdfStripper = new PDFTextStripper();
-
-            PDFRenderer pdfRenderer = new PDFRenderer(document);
-            int pageNum = 0;
-
-            for (PDPage page : document.getPages()) {
-                pageNum++;
-                File currentPageCache = new File(cacheFolder + "/" + pageNum);
-                currentPageCache.mkdirs();
-                // Extract text
-                pdfStripper.setStartPage(pageNum);
-                pdfStripper.setEndPage(pageNum);
-                String text = pdfStripper.getText(document);
-
-                logger.info("Page {} Text:", pageNum);
-                logger.info(text);
-
-                // Extract links and replace in text
-                StringBuilder htmlContent = new StringBuilder();
-                htmlContent.append("<html><body>");
-                List<PDAnnotation> annotations = page.getAnnotations();
-                PDFTextStripperByArea stripper = new PDFTextStripperByArea();
-                int linksCounter = 1;
-                for (PDAnnotation annotation : annotations) {
-                    if (annotation instanceof PDAnnotationLink) {
-                        PDAnnotationLink link = (PDAnnotationLink) annotation;
-                        if (link.getAction() instanceof PDActionURI) {
-                            PDActionURI uriAction = (PDActionURI) link.getAction();
-                            String uri = uriAction.getURI();
-                            String annotationText = link.getContents();
-
-                            if (annotationText == null || annotationText.isEmpty()) {
-                                PDRectangle linkRect = link.getRectangle();
-
-                                // Convert PDRectangle to Java AWT Rectangle for the text stripper
-                                Rectangle awtRect = new Rectangle(
-                                        (int) linkRect.getLowerLeftX(),
-                                        (int) linkRect.getLowerLeftY(),
-                                        (int) linkRect.getWidth(),
-                                        (int) linkRect.getHeight()
-                                );
-
-                                stripper.addRegion("linkRegion", awtRect);
-                                stripper.extractRegions(page);
-
-                                annotationText = stripper.getTextForRegion("linkRegion").trim();
-                                if (annotationText.isEmpty()) {
-                                    annotationText = "Link" + linksCounter;  // Default text for unidentified links
-                                }
-                            }
+    /**
+     * A page written to its folder: {@code description.txt}, {@code description.html}, {@code attachment_N.png} for
+     * embedded images and {@code page_snapshot.png} when the page was rendered.
+     */
+    public static class RenderedPage {
+        private final int pageNumber;
+        private final File folder;
+        private final String text;
+        private final File pageSnapshot;
+        private final List<File> attachments;
+
+        RenderedPage(int pageNumber, File folder, String text, File pageSnapshot, List<File> attachments) {
+            this.pageNumber = pageNumber;
+            this.folder = folder;
+            this.text = text;
+            this.pageSnapshot = pageSnapshot;
+            this.attachments = attachments;
+        }
 
-                            // Create the HTML representation with the extracted text
-                            String linkHtml = "<a href=\"" + uri + "\">" + annotationText + "</a>";
-                            if (text.contains(annotationText)) {
-                                text = text.replace(annotationText, linkHtml);
-                            } else {
-                                logger.log(Level.DEBUG, "Warning: Couldn't find exact text, consider another matching strategy.");
-                                text += linkHtml;
-                            }
-                            linksCounter++;
+        public int getPageNumber() {
+            return pageNumber;
+        }
+
+        public File getFolder() {
+            return folder;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return rendered page, or null for pages with a text layer and no images
+         */
+        public File getPageSnapshot() {
+            return pageSnapshot;
+        }
+
+        public List<File> getAttachments() {
+            return attachments;
+        }
+    }
+
+    @FunctionalInterface
+    public interface PageConsumer {
+        void accept(RenderedPage page) throws IOException;
+    }
+
+    /**
+     * Splits the PDF into page folders {@code cacheFolder/<page number>}, processing pages concurrently on
+     * {@code PDF_RENDER_CONCURRENCY} workers. Pages are passed to the consumer on the calling thread as soon as they
+     * and all pages before them are done, in page order, so callers don't wait for the whole document. Workers run at
+     * most {@link #PAGES_AHEAD_PER_WORKER} pages per worker ahead of the consumer, so a slow consumer doesn't make
+     * them render the whole document into memory.
+     *
+     * @return number of pages
+     */
+    public static int renderPages(File pdfFile, File cacheFolder, PageConsumer consumer) throws IOException {
+        return renderPages(pdfFile, cacheFolder, new PropertyReader().getPdfRenderConcurrency(), consumer);
+    }
+
+    static int renderPages(File pdfFile, File cacheFolder, int concurrency, PageConsumer consumer) throws IOException {
+        int pageCount;
+        try (PDDocument document = load(pdfFile)) {
+            pageCount = document.getNumberOfPages();
+        }
+        cacheFolder.mkdirs();
+        int workers = Math.max(1, Math.min(concurrency, pageCount));
+        AtomicInteger nextPage = new AtomicInteger();
+        OrderedDelivery delivery = new OrderedDelivery(workers * PAGES_AHEAD_PER_WORKER);
+        // Rendering is CPU bound, platform threads; PDFBox documents aren't thread safe, so every worker loads its own
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    try (PDDocument document = load(pdfFile)) {
+                        PageWorker worker = new PageWorker(document, cacheFolder);
+                        int pageIndex;
+                        while ((pageIndex = nextPage.getAndIncrement()) < pageCount && delivery.awaitTurn(pageIndex)) {
+                            delivery.complete(pageIndex, worker.process(pageIndex));
                         }
+                    } catch (IOException | RuntimeException e) {
+                        delivery.fail();
+                        throw e;
                     }
+                    return null;
+                }));
+            }
+            for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+                RenderedPage page = delivery.take();
+                if (page == null) {
+                    // A worker failed, its exception is thrown below
+                    break;
                 }
-                htmlContent.append("<p>").append(text).append("</p>");
-                htmlContent.append("</body></html>");
+                consumer.accept(page);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to process " + pdfFile.getName(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while processing " + pdfFile.getName(), e);
+        } finally {
+            delivery.fail();
+            executor.shutdownNow();
+        }
+        return pageCount;
+    }
 
-                // Save text and links as HTML
-                FileUtils.write(new File(currentPageCache, "description.html"), htmlContent.toString(), "UTF-8");
+    private static PDDocument load(File pdfFile) throws IOException {
+        // Scanned documents are mostly images, keep their streams in temp files instead of the heap
+        return Loader.loadPDF(pdfFile, IOUtils.createTempFileOnlyStreamCache());
+    }
 
-                FileUtils.write(new File(currentPageCache, "description.txt"), text);
-                BufferedImage bim = pdfRenderer.renderImageWithDPI(pageNum-1, 220); // 300 is the dpi (dots per inch), change it as needed
+    /**
+     * Snapshot resolution for the page: the longest side gets {@link #SNAPSHOT_MAX_PIXELS}, or
+     * {@link #DENSE_SNAPSHOT_MAX_PIXELS} for pages with much text, so large pages don't produce huge images
+     * and small print stays readable.
+     */
+    static float snapshotDpi(PDRectangle box, int textChars) {
+        float longestSideInches = Math.max(box.getWidth(), box.getHeight()) / 72f;
+        if (longestSideInches <= 0) {
+            return MAX_DPI;
+        }
+        int maxPixels = textChars >= DENSE_TEXT_CHARS ? DENSE_SNAPSHOT_MAX_PIXELS : SNAPSHOT_MAX_PIXELS;
+        return Math.max(MIN_DPI, Math.min(MAX_DPI, maxPixels / longestSideInches));
+    }
 
-                // Save the image to a file
-                ImageIO.write(bim, "png", new File(currentPageCache, "page_snapshot.png"));
+    /**
+     * Hands completed pages to the consuming thread in page order and keeps workers at most {@code maxAhead} pages
+     * ahead of it. The consumer runs outside the lock, so a slow consumer doesn't block workers finishing pages.
+     */
+    private static class OrderedDelivery {
+        private final int maxAhead;
+        private final Map<Integer, RenderedPage> completed = new HashMap<>();
+        private int next;
+        private boolean failed;
+
+        OrderedDelivery(int maxAhead) {
+            this.maxAhead = Math.max(1, maxAhead);
+        }
 
+        /**
+         * Waits until the page is within {@code maxAhead} pages of the consumer.
+         *
+         * @return false if processing was stopped
+         */
+        synchronized boolean awaitTurn(int pageIndex) throws IOException {
+            try {
+                while (!failed && pageIndex >= next + maxAhead) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for page " + (pageIndex + 1));
+            }
+            return !failed;
+        }
 
-                // Extract images
-                PDResources resources = page.getResources();
-                int imageNum = 0;
+        synchronized void complete(int pageIndex, RenderedPage page) {
+            completed.put(pageIndex, page);
+            notifyAll();
+        }
 
-                for (COSName name : resources.getXObjectNames()) {
-                    if (resources.isImageXObject(name)) {
-                        PDImageXObject image = (PDImageXObject) resources.getXObject(name);
-                        BufferedImage bufferedImage = image.getImage();
+        /**
+         * @return the next page in order, or null if processing was stopped
+         */
+        synchronized RenderedPage take() throws InterruptedException {
+            RenderedPage page;
+            while ((page = completed.remove(next)) == null && !failed) {
+                wait();
+            }
+            if (page != null) {
+                next++;
+                notifyAll();
+            }
+            return page;
+        }
+
+        synchronized void fail() {
+            failed = true;
+            notifyAll();
+        }
+    }
 
-                        // Get page rotation
-                        int pageRotation = page.getRotation();
+    private static class PageWorker {
+        private final PDDocument document;
+        private final File cacheFolder;
+        private final PDFTextStripper pdfStripper = new PDFTextStripper();
+        private final PDFRenderer pdfRenderer;
+
+        PageWorker(PDDocument document, File cacheFolder) {
+            this.document = document;
+            this.cacheFolder = cacheFolder;
+            this.pdfRenderer = new PDFRenderer(document);
+            // Large scanned images are downsampled to the snapshot resolution while decoding
+            this.pdfRenderer.setSubsamplingAllowed(true);
+        }
+
+        RenderedPage process(int pageIndex) throws IOException {
+            int pageNum = pageIndex + 1;
+            PDPage page = document.getPage(pageIndex);
+            File currentPageCache = new File(cacheFolder, String.valueOf(pageNum));
+            currentPageCache.mkdirs();
+            // Extract text
+            pdfStripper.setStartPage(pageNum);
+            pdfStripper.setEndPage(pageNum);
+            String text = replaceLinks(page, pdfStripper.getText(document));
+
+            // Save text and links as HTML
+            FileUtils.write(new File(currentPageCache, "description.html"), "<html><body><p>" + text + "</p></body></html>", "UTF-8");
+            FileUtils.write(new File(currentPageCache, "description.txt"), text, "UTF-8");
+
+            List<File> attachments = extractImages(page, currentPageCache);
+
+            // Pages with a text layer and no images are fully described by their text
+            File pageSnapshot = new File(currentPageCache, "page_snapshot.png");
+            int textChars = countTextChars(text);
+            if (attachments.isEmpty() && textChars >= MIN_TEXT_LAYER_CHARS) {
+                Files.deleteIfExists(pageSnapshot.toPath());
+                pageSnapshot = null;
+            } else {
+                BufferedImage bim = pdfRenderer.renderImageWithDPI(pageIndex, snapshotDpi(page.getCropBox(), textChars));
+                ImageIO.write(bim, "png", pageSnapshot);
+            }
+            return new RenderedPage(pageNum, currentPageCache, text, pageSnapshot, attachments);
+        }
 
-                        // Rotate image if needed
-                        if (pageRotation != 0) {
-                            bufferedImage = rotateImage(bufferedImage, pageRotation);
+        private static String replaceLinks(PDPage page, String text) throws IOException {
+            List<PDAnnotation> annotations = page.getAnnotations();
+            PDFTextStripperByArea stripper = new PDFTextStripperByArea();
+            int linksCounter = 1;
+            for (PDAnnotation annotation : annotations) {
+                if (annotation instanceof PDAnnotationLink) {
+                    PDAnnotationLink link = (PDAnnotationLink) annotation;
+                    if (link.getAction() instanceof PDActionURI) {
+                        PDActionURI uriAction = (PDActionURI) link.getAction();
+                        String uri = uriAction.getURI();
+                        String annotationText = link.getContents();
+
+                        if (annotationText == null || annotationText.isEmpty()) {
+                            PDRectangle linkRect = link.getRectangle();
+
+                            // Convert PDRectangle to Java AWT Rectangle for the text stripper
+                            Rectangle awtRect = new Rectangle(
+                                    (int) linkRect.getLowerLeftX(),
+                                    (int) linkRect.getLowerLeftY(),
+                                    (int) linkRect.getWidth(),
+                                    (int) linkRect.getHeight()
+                            );
+
+                            stripper.addRegion("linkRegion", awtRect);
+                            stripper.extractRegions(page);
+
+                            annotationText = stripper.getTextForRegion("linkRegion").trim();
+                            if (annotationText.isEmpty()) {
+                                annotationText = "Link" + linksCounter;  // Default text for unidentified links
+                            }
                         }
 
-                        // Check if image needs to be rotated based on dimensions
-                        if (shouldRotateBasedOnDimensions(bufferedImage)) {
-                            bufferedImage = rotateImage(bufferedImage, 90);
+                        // Create the HTML representation with the extracted text
+                        String linkHtml = "<a href=\"" + uri + "\">" + annotationText + "</a>";
+                        if (text.contains(annotationText)) {
+                            text = text.replace(annotationText, linkHtml);
+                        } else {
+                            logger.log(Level.DEBUG, "Warning: Couldn't find exact text, consider another matching strategy.");
+                            text += linkHtml;
                         }
+                        linksCounter++;
+                    }
+                }
+            }
+            return text;
+        }
+
+        private static List<File> extractImages(PDPage page, File currentPageCache) throws IOException {
+            List<File> attachments = new ArrayList<>();
+            PDResources resources = page.getResources();
+            if (resources == null) {
+                return attachments;
+            }
+            int imageNum = 0;
+
+            for (COSName name : resources.getXObjectNames()) {
+                if (resources.isImageXObject(name)) {
+                    PDImageXObject image = (PDImageXObject) resources.getXObject(name);
+                    BufferedImage bufferedImage = image.getImage();
 
-                        // Save the image to a file
-                        ImageIO.write(bufferedImage, "png", new File(currentPageCache, "attachment_" + (++imageNum) + ".png"));
+                    // Get page rotation
+                    int pageRotation = page.getRotation();
+
+                    // Rotate image if needed
+                    if (pageRotation != 0) {
+                        bufferedImage = rotateImage(bufferedImage, pageRotation);
+                    }
+
+                    // Check if image needs to be rotated based on dimensions
+                    if (shouldRotateBasedOnDimensions(bufferedImage)) {
+                        bufferedImage = rotateImage(bufferedImage, 90);
                     }
+
+                    // Save the image to a file
+                    File attachment = new File(currentPageCache, "attachment_" + (++imageNum) + ".png");
+                    ImageIO.write(bufferedImage, "png", attachment);
+                    attachments.add(attachment);
                 }
             }
+            return attachments;
+        }
 
-            document.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            if (document != null) {
-                try {
-                    document.close();
-                } catch (IOException ignored) {}
+        private static int countTextChars(String text) {
+            int count = 0;
+            for (int i = 0; i < text.length(); i++) {
+                if (!Character.isWhitespace(text.charAt(i))) {
+                    count++;
+                }
             }
+            return count;
         }
     }
 
@@ -1,17 +1,11 @@
 package com.github.istin.dmtools.prompt;
 
+import com.github.istin.dmtools.common.utils.TemplateService;
 import com.github.istin.dmtools.prompt.input.*;
 import com.github.istin.dmtools.prompt.input.*;
-import freemarker.cache.ClassTemplateLoader;
-import freemarker.template.Configuration;
-import freemarker.template.Template;
 import freemarker.template.TemplateException;
-import org.apache.logging.log4j.core.config.Configurator;
-import org.apache.logging.log4j.core.config.DefaultConfiguration;
 
 import java.io.IOException;
-import java.io.StringWriter;
-import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -150,31 +144,8 @@ public class PromptManager implements IPromptTemplateReader {
     }
 
     public static String stringFromTemplate(Object o, Object input, String template) throws IOException, TemplateException {
-        Configurator.initialize(new DefaultConfiguration());
-
-        Configuration cfg = new Configuration(Configuration.VERSION_2_3_27);
-        cfg.setLocalizedLookup(false);
-        cfg.setTemplateLoader(new ClassTemplateLoader(o.getClass().getClassLoader(), "/ftl"));
-
-
-        Template temp;
-        try {
-            // First, try to load the .md file
-            temp = cfg.getTemplate("prompts/" + template + ".md");
-        } catch (IOException e) {
-            // If .md file is not found, try to load the .xml file
-            try {
-                temp = cfg.getTemplate("prompts/" + template + ".xml");
-            } catch (IOException ex) {
-                // If both .md and .xml files are not found, throw an exception
-                throw new IOException("Template file not found: " + template + " (neither .md nor .xml)", ex);
-            }
-        }
-
-
-        Writer out = new StringWriter();
-        temp.process(input, out);
-        return out.toString();
+        // .md template first, .xml if there is no markdown version; templates are parsed once and cached
+        return TemplateService.getInstance().renderPrompt(o.getClass().getClassLoader(), template, input);
     }
 
 
@@ -0,0 +1,165 @@
+package com.github.istin.dmtools.qa;
+
+import com.github.istin.dmtools.common.model.ITicket;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * In-memory BM25 index of existing test cases over their summaries and descriptions.
+ * <p>
+ * Shortlists the existing test cases most similar to a text, so related test case checks and deduplication
+ * send a few candidates to the AI instead of the whole corpus. The index is kept for the run and synced with
+ * the existing test cases of every story: only added and changed test cases are tokenized again.
+ */
+class TestCaseSimilarityIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static class Document {
+        final ITicket ticket;
+        final String text;
+        final Map<String, Integer> termFrequencies;
+        final int length;
+
+        Document(ITicket ticket, String text, Map<String, Integer> termFrequencies, int length) {
+            this.ticket = ticket;
+            this.text = text;
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+
+        static Document of(ITicket ticket, String text) {
+            List<String> terms = tokenize(text);
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            for (String term : terms) {
+                termFrequencies.merge(term, 1, Integer::sum);
+            }
+            return new Document(ticket, text, termFrequencies, terms.size());
+        }
+    }
+
+    private final Map<String, Document> documents = new LinkedHashMap<>();
+    // Term -> keys of the documents that contain it
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Makes the index contain exactly {@code testCases}: new and changed test cases are indexed,
+     * test cases that are no longer in the list are removed.
+     */
+    synchronized void sync(List<? extends ITicket> testCases) throws IOException {
+        Set<String> present = new HashSet<>();
+        for (ITicket testCase : testCases) {
+            String key = testCase.getKey();
+            if (key == null) {
+                continue;
+            }
+            present.add(key);
+            String text = textOf(testCase);
+            Document document = documents.get(key);
+            if (document != null && document.text.equals(text)) {
+                if (document.ticket != testCase) {
+                    documents.put(key, new Document(testCase, document.text, document.termFrequencies, document.length));
+                }
+                continue;
+            }
+            remove(key);
+            add(key, Document.of(testCase, text));
+        }
+        for (String key : new ArrayList<>(documents.keySet())) {
+            if (!present.contains(key)) {
+                remove(key);
+            }
+        }
+    }
+
+    /**
+     * Test cases with the highest BM25 score for {@code query}, best first.
+     * Test cases that share no terms with the query are not returned.
+     */
+    synchronized List<ITicket> search(String query, int topK) {
+        Map<String, Double> scores = new HashMap<>();
+        int documentsCount = documents.size();
+        if (documentsCount == 0 || topK <= 0) {
+            return new ArrayList<>();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / documentsCount);
+        for (String term : new LinkedHashSet<>(tokenize(query))) {
+            Set<String> keys = postings.get(term);
+            if (keys == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentsCount - keys.size() + 0.5) / (keys.size() + 0.5));
+            for (String key : keys) {
+                Document document = documents.get(key);
+                int frequency = document.termFrequencies.get(term);
+                double norm = frequency + K1 * (1 - B + B * document.length / averageLength);
+                scores.merge(key, idf * frequency * (K1 + 1) / norm, Double::sum);
+            }
+        }
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<ITicket> result = new ArrayList<>();
+        for (int i = 0; i < ranked.size() && i < topK; i++) {
+            result.add(documents.get(ranked.get(i).getKey()).ticket);
+        }
+        return result;
+    }
+
+    synchronized int size() {
+        return documents.size();
+    }
+
+    private void add(String key, Document document) {
+        documents.put(key, document);
+        totalLength += document.length;
+        for (String term : document.termFrequencies.keySet()) {
+            postings.computeIfAbsent(term, t -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void remove(String key) {
+        Document document = documents.remove(key);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        for (String term : document.termFrequencies.keySet()) {
+            Set<String> keys = postings.get(term);
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static String textOf(ITicket testCase) throws IOException {
+        String title = testCase.getTicketTitle();
+        String description = testCase.getTicketDescription();
+        return (title == null ? "" : title) + "\n" + (description == null ? "" : description);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (!term.isEmpty()) {
+                // Single chars are mostly markup and list numbers
+                if (term.length() > 1) {
+                    terms.add(term.toString());
+                }
+                term.setLength(0);
+            }
+        }
+        return terms;
+    }
+}
@@ -4,6 +4,7 @@ import com.github.istin.dmtools.ai.AI;
 import com.github.istin.dmtools.ai.ChunkPreparation;
 import com.github.istin.dmtools.ai.Claude35TokenCounter;
 import com.github.istin.dmtools.ai.TicketContext;
+import com.github.istin.dmtools.ai.agent.ChunkMapReduce;
 import com.github.istin.dmtools.ai.agent.RelatedTestCaseAgent;
 import com.github.istin.dmtools.ai.agent.RelatedTestCasesAgent;
 import com.github.istin.dmtools.ai.agent.TestCaseDeduplicationAgent;
@@ -36,7 +37,9 @@ import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.*;
 
 public class TestCasesGenerator extends AbstractJob<TestCasesGeneratorParams, List<TestCasesGenerator.TestCasesResult>> {
@@ -80,6 +83,9 @@ public class TestCasesGenerator extends AbstractJob<TestCasesGeneratorParams, Li
     @Inject
     TestCaseDeduplicationAgent testCaseDeduplicationAgent;
 
+    // Kept for the run, so for every next story only added and changed existing test cases are indexed
+    private final TestCaseSimilarityIndex similarityIndex = new TestCaseSimilarityIndex();
+
     /**
      * Server-managed Dagger component that uses pre-resolved integrations
      * Only includes ServerManagedIntegrationsModule to avoid duplicate bindings
@@ -251,19 +257,23 @@ public class TestCasesGenerator extends AbstractJob<TestCasesGeneratorParams, Li
                 List<ChunkPreparation.Chunk> testCaseChunks = chunkPreparation.prepareChunks(finaResults, tokenLimit);
                 System.out.println("TEST CASE CHUNKS FOR GENERATION: " + testCaseChunks.size());
 
-                // Generate test cases per chunk
-                for (ChunkPreparation.Chunk chunk : testCaseChunks) {
-                    List<TestCaseGeneratorAgent.TestCase> chunkTestCases = testCaseGeneratorAgent.run(params.getModelTestCasesCreation(),
-                            new TestCaseGeneratorAgent.Params(
-                                    params.getTestCasesPriorities(),
-                                    chunk.getText(), // Chunked test cases instead of all finaResults
-                                    ticketText,
-                                    extraRules,
-                                    params.isOverridePromptExamples(),
-                                    examples,
-                                    customFieldsRules != null ? customFieldsRules : ""
-                            )
-                    );
+                // Generate test cases per chunk concurrently, results keep the order of the chunks
+                String generationExtraRules = extraRules;
+                String generationCustomFieldsRules = customFieldsRules != null ? customFieldsRules : "";
+                List<List<TestCaseGeneratorAgent.TestCase>> chunksTestCases = ChunkMapReduce.forAgent(testCaseGeneratorAgent).map(testCaseChunks, 0,
+                        (chunk, index) -> testCaseGeneratorAgent.run(params.getModelTestCasesCreation(),
+                                new TestCaseGeneratorAgent.Params(
+                                        params.getTestCasesPriorities(),
+                                        chunk.getText(), // Chunked test cases instead of all finaResults
+                                        ticketText,
+                                        generationExtraRules,
+                                        params.isOverridePromptExamples(),
+                                        examples,
+                                        generationCustomFieldsRules
+                                )
+                        )
+                );
+                for (List<TestCaseGeneratorAgent.TestCase> chunkTestCases : chunksTestCases) {
                     allGeneratedTestCases.addAll(chunkTestCases);
                     System.out.println("Generated " + chunkTestCases.size() + " test cases from chunk");
                 }
@@ -535,26 +545,89 @@ public class TestCasesGenerator extends AbstractJob<TestCasesGeneratorParams, Li
         List<ChunkPreparation.Chunk> existingTestCaseChunks,
         TestCasesGeneratorParams params
     ) throws Exception {
-        // Deduplicate new test cases against each chunk of existing test cases
-        for (ChunkPreparation.Chunk existingChunk : existingTestCaseChunks) {
-            String newTestCasesText = ToText.Utils.toText(newTestCases);
-            String existingTestCasesText = existingChunk.getText();
-            
-            List<TestCaseGeneratorAgent.TestCase> deduplicatedAgainstChunk = testCaseDeduplicationAgent.run(params.getModelTestCaseDeduplication(),
-                new TestCaseDeduplicationAgent.Params(
-                    newTestCasesText, // Pass string directly
-                    existingTestCasesText,
-                    "" // No previous deduplicated results
+        if (newTestCases.isEmpty() || existingTestCaseChunks.isEmpty()) {
+            return newTestCases;
+        }
+
+        // Deduplicate new test cases against each chunk of existing test cases concurrently,
+        // a test case is kept only if no chunk marked it as a duplicate
+        String newTestCasesText = ToText.Utils.toText(newTestCases);
+        List<List<TestCaseGeneratorAgent.TestCase>> keptPerChunk = ChunkMapReduce.forAgent(testCaseDeduplicationAgent).map(existingTestCaseChunks, 0,
+                (existingChunk, index) -> testCaseDeduplicationAgent.run(params.getModelTestCaseDeduplication(),
+                        new TestCaseDeduplicationAgent.Params(
+                                newTestCasesText, // Pass string directly
+                                existingChunk.getText(),
+                                "" // No previous deduplicated results
+                        )
                 )
-            );
-            
-            // Update newTestCases to only include the ones that are not duplicates
-            // This way, the next chunk will check a smaller list
-            newTestCases = deduplicatedAgainstChunk;
-            System.out.println("After checking against existing chunk: " + newTestCases.size() + " test cases remain");
+        );
+
+        // The agent returns its own copies of the test cases, map them back to the input positions so a
+        // rewritten summary or two test cases with the same summary don't change what is kept
+        Set<Integer> keptByAll = null;
+        for (List<TestCaseGeneratorAgent.TestCase> kept : keptPerChunk) {
+            Set<Integer> keptIndexes = matchToInputs(newTestCases, kept);
+            if (keptByAll == null) {
+                keptByAll = keptIndexes;
+            } else {
+                keptByAll.retainAll(keptIndexes);
+            }
+            System.out.println("After checking against existing chunk: " + keptByAll.size() + " test cases remain");
         }
-        
-        return newTestCases;
+
+        List<TestCaseGeneratorAgent.TestCase> remaining = new ArrayList<>();
+        for (int i = 0; i < newTestCases.size(); i++) {
+            if (keptByAll.contains(i)) {
+                remaining.add(newTestCases.get(i));
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Positions in {@code inputs} of the test cases the agent returned in {@code kept}.
+     * Every returned test case takes the unused input sharing most words with it, inputs with the same summary are
+     * preferred. Returned test cases sharing no words with any input are ignored.
+     */
+    static Set<Integer> matchToInputs(List<TestCaseGeneratorAgent.TestCase> inputs, List<TestCaseGeneratorAgent.TestCase> kept) {
+        Set<Integer> matched = new HashSet<>();
+        for (TestCaseGeneratorAgent.TestCase testCase : kept) {
+            String summary = normalize(testCase.getSummary());
+            Set<String> terms = terms(testCase);
+            int bestIndex = -1;
+            double bestScore = 0;
+            for (int i = 0; i < inputs.size(); i++) {
+                if (matched.contains(i)) {
+                    continue;
+                }
+                Set<String> inputTerms = terms(inputs.get(i));
+                Set<String> common = new HashSet<>(terms);
+                common.retainAll(inputTerms);
+                int union = terms.size() + inputTerms.size() - common.size();
+                double score = union == 0 ? 0 : (double) common.size() / union;
+                if (summary.equals(normalize(inputs.get(i).getSummary()))) {
+                    score += 1;
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestIndex = i;
+                }
+            }
+            if (bestIndex >= 0) {
+                matched.add(bestIndex);
+            }
+        }
+        return matched;
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", TestCaseSimilarityIndex.tokenize(text));
+    }
+
+    private static Set<String> terms(TestCaseGeneratorAgent.TestCase testCase) {
+        Set<String> terms = new HashSet<>(TestCaseSimilarityIndex.tokenize(testCase.getSummary()));
+        terms.addAll(TestCaseSimilarityIndex.tokenize(testCase.getDescription()));
+        return terms;
     }
 
     private String resolveRelationshipForNew(TestCasesGeneratorParams params) {
@@ -793,7 +866,8 @@ public class TestCasesGenerator extends AbstractJob<TestCasesGeneratorParams, Li
         System.out.println("SYSTEM TOKEN LIMITS: " + systemTokenLimits);
         int tokenLimit = (systemTokenLimits - storyTokens)/2;
         System.out.println("TESTCASES TOKEN LIMITS: " + tokenLimit);
-        List<ChunkPreparation.Chunk> chunks = chunkPreparation.prepareChunks(listOfAllTestCases, tokenLimit);
+        List<? extends ITicket> candidates = shortlistSimilarTestCases(ticketText, listOfAllTestCases, params.getSimilarTestCasesTopK());
+        List<ChunkPreparation.Chunk> chunks = chunkPreparation.prepareChunks(candidates, tokenLimit);
 
         if (params.isEnableParallelTestCaseCheck()) {
             // Parallel chunk processing
@@ -843,6 +917,21 @@ public class TestCasesGenerator extends AbstractJob<TestCasesGeneratorParams, Li
         return finaResults;
     }
     
+    /**
+     * Existing test cases most similar to {@code text} by BM25 over their summaries and descriptions.
+     *
+     * @param topK maximum number of test cases to return, 0 returns all test cases
+     */
+    private List<? extends ITicket> shortlistSimilarTestCases(String text, List<? extends ITicket> listOfAllTestCases, int topK) throws IOException {
+        if (topK <= 0 || listOfAllTestCases == null || listOfAllTestCases.size() <= topK) {
+            return listOfAllTestCases;
+        }
+        similarityIndex.sync(listOfAllTestCases);
+        List<ITicket> shortlist = similarityIndex.search(text, topK);
+        System.out.println("SIMILAR TEST CASES SHORTLIST: " + shortlist.size() + " of " + listOfAllTestCases.size());
+        return shortlist;
+    }
+
     /**
      * Preprocess test cases using JavaScript function to handle preconditions with temporary IDs.
      * The JS function should create Precondition issues and replace temporary IDs with real keys.
@@ -42,6 +42,7 @@ public class TestCasesGeneratorParams extends Params {
     public static final String JQL_MODIFIER_JS_ACTION = "jqlModifierJSAction";
     public static final String TEST_CASES_CREATION_RULES = "testCasesCreationRules";
     public static final String CUSTOM_TEST_CASES_TRACKER = "customTestCasesTracker";
+    public static final String SIMILAR_TEST_CASES_TOP_K = "similarTestCasesTopK";
 
     @SerializedName(EXISTING_TEST_CASES_JQL)
     private String existingTestCasesJql;
@@ -105,4 +106,8 @@ public class TestCasesGeneratorParams extends Params {
 
     @SerializedName(CUSTOM_TEST_CASES_TRACKER)
     private CustomTestCasesTrackerParams customTestCasesTracker;
+
+    // Existing test cases most similar to the story sent to the AI for the related test case check, 0 sends all
+    @SerializedName(SIMILAR_TEST_CASES_TOP_K)
+    private int similarTestCasesTopK = 0;
 }
\ No newline at end of file
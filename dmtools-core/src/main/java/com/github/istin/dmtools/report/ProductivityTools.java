@@ -4,6 +4,7 @@ import com.github.istin.dmtools.atlassian.jira.JiraClient;
 import com.github.istin.dmtools.common.model.ITicket;
 import com.github.istin.dmtools.common.timeline.Release;
 import com.github.istin.dmtools.common.timeline.ReportIteration;
+import com.github.istin.dmtools.common.tracker.ChangelogStore;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.metrics.CombinedCustomRunnableMetrics;
 import com.github.istin.dmtools.metrics.Metric;
@@ -91,13 +92,14 @@ public class ProductivityTools {
         final int[] ticketCounter = {0};
 
         if (jql != null && !jql.isEmpty() && tracker != null) {
-            tracker.searchAndPerform(new JiraClient.Performer<ITicket>() {
+            // all metrics share one changelog store: changelogs are bulk-loaded per batch of tickets
+            // and parsed once instead of being requested by every changelog-based rule
+            ChangelogStore changelogStore = new ChangelogStore();
+            ChangelogStore.Prefetcher<ITicket> prefetcher = changelogStore.prefetcher(tracker, ChangelogStore.DEFAULT_BATCH_SIZE, new JiraClient.Performer<ITicket>() {
 
                 @Override
                 public boolean perform(ITicket ticket) throws Exception {
                     //custom metrics
-                    if (ProductivityUtils.isIgnoreTask(ignorePrefixes, ticket)) return false;
-
                     for (Metric m : listOfCustomMetrics) {
                         if (m.getSourceCollector() == null) {
                             List<KeyTime> productivityItem = m.getRule().check(tracker, ticket);
@@ -119,7 +121,14 @@ public class ProductivityTools {
                     return false;
                 }
 
-            }, jql, tracker.getDefaultQueryFields());
+            });
+            try (ChangelogStore.Scope ignored = changelogStore.open()) {
+                tracker.searchAndPerform(ticket -> {
+                    if (ProductivityUtils.isIgnoreTask(ignorePrefixes, ticket)) return false;
+                    return prefetcher.perform(ticket);
+                }, jql, tracker.getDefaultQueryFields());
+                prefetcher.flush();
+            }
 
         }
         for (Metric m : listOfCustomMetrics) {
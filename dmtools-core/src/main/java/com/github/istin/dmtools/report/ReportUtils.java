@@ -1,13 +1,9 @@
 package com.github.istin.dmtools.report;
 
-import freemarker.cache.ClassTemplateLoader;
-import freemarker.template.Configuration;
+import com.github.istin.dmtools.common.utils.TemplateService;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import org.apache.commons.io.FileUtils;
-import org.apache.logging.log4j.Level;
-import org.apache.logging.log4j.core.config.Configurator;
-import org.apache.logging.log4j.core.config.DefaultConfiguration;
 
 import java.io.*;
 
@@ -22,13 +18,8 @@ public class ReportUtils {
     }
 
     public File write(String reportFriendlyName, String root, Object model, Writer writer, String basePath) throws IOException, TemplateException {
-        Configurator.initialize(new DefaultConfiguration());
-
-        Configuration cfg = new Configuration(Configuration.VERSION_2_3_27);
-        cfg.setLocalizedLookup(false);
-        cfg.setTemplateLoader(new ClassTemplateLoader(getClass().getClassLoader(), basePath));
-
-        Template temp = cfg.getTemplate(root + "/index.html");
+        TemplateService templateService = TemplateService.getInstance();
+        Template temp = templateService.getTemplate(getClass().getClassLoader(), basePath, root + "/index.html");
 
         try {
             String reportName = getReportFileName(reportFriendlyName);
@@ -41,7 +32,7 @@ public class ReportUtils {
                 writer = new OutputStreamWriter(fileOutputStream);
             }
 
-            temp.process(model, writer);
+            templateService.render(temp, model, writer);
             return file;
         } finally {
             if (writer != null) {
@@ -5,6 +5,7 @@ import com.github.istin.dmtools.common.model.IChangelog;
 import com.github.istin.dmtools.common.model.IHistory;
 import com.github.istin.dmtools.common.model.IHistoryItem;
 import com.github.istin.dmtools.common.model.ITicket;
+import com.github.istin.dmtools.common.tracker.ChangelogStore;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.common.tracker.model.Status;
 import com.github.istin.dmtools.common.utils.DateUtils;
@@ -139,7 +140,7 @@ public class TimeInStatus {
     }
 
     public List<Item> check(ITicket ticket, List<String> listOfStatuses, String firstDefaultStatus) throws Exception {
-        IChangelog changeLog = tracker.getChangeLog(ticket.getTicketKey(), ticket);
+        IChangelog changeLog = ChangelogStore.getChangeLog(tracker, ticket.getTicketKey(), ticket);
         List<IHistory> histories = (List<IHistory>) changeLog.getHistories();
 
         List<Item> itemsFirstTimeRight = new ArrayList<>();
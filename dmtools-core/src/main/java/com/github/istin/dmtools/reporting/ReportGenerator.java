@@ -24,6 +24,11 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 /**
@@ -36,9 +41,9 @@ public class ReportGenerator {
     private final TrackerClient trackerClient;
     private final SourceCode sourceCode;
     private final FigmaClient figmaClient;
-    private final Set<String> weightMetricLabels = new HashSet<>();
-    private final Map<String, Double> metricDividers = new HashMap<>();
-    private final Map<String, String> metricLinkTemplates = new HashMap<>();
+    private final Set<String> weightMetricLabels = ConcurrentHashMap.newKeySet();
+    private final Map<String, Double> metricDividers = new ConcurrentHashMap<>();
+    private final Map<String, String> metricLinkTemplates = new ConcurrentHashMap<>();
 
     public ReportGenerator(TrackerClient trackerClient, SourceCode sourceCode) {
         this.trackerClient = trackerClient;
@@ -221,59 +226,27 @@ public class ReportGenerator {
     ) throws Exception {
         Map<String, Map<String, DataSourceResult>> results = new ConcurrentHashMap<>();
 
-        // Process each data source
+        // Create data sources and metrics up front (factories are not thread-safe)
+        List<SourceCollection> collections = new ArrayList<>();
         for (DataSourceConfig sourceConfig : config.getDataSources()) {
-            Map<String, DataSourceResult> sourceResults = new ConcurrentHashMap<>();
-
-            // Create data source
-            DataSource dataSource = dataSourceFactory.createDataSource(
-                sourceConfig.getName(),
-                sourceConfig.getParams(),
-                trackerClient,
-                sourceCode
-            );
-
-            // Process each metric
-            for (MetricConfig metricConfig : sourceConfig.getMetrics()) {
-                Metric metric = metricFactory.createMetric(
-                    metricConfig.getName(),
-                    metricConfig.getParams(),
-                    sourceConfig.getName(),
-                    sourceConfig.getParams()
-                );
-
-                DataSourceResult result = new DataSourceResult();
-
-                // Collect KeyTimes
-                dataSource.performMetricCollection(metric, (keyTimes, rawMetadata, itemKey) -> {
-                    result.addKeyTimes(itemKey, keyTimes);
-                    result.addMetadata(itemKey, rawMetadata);
-                    logger.debug("Collected {} KeyTimes for item: {}", keyTimes.size(), itemKey);
-                });
-
-                String metricLabel = (String) metricConfig.getParams().getOrDefault("label", metricConfig.getName());
-                logger.info("Metric '{}': collected {} items", metricLabel, result.getAllKeyTimes().size());
-                sourceResults.put(metricLabel, result);
-
-                if (metric.isWeight()) {
-                    weightMetricLabels.add(metricLabel);
-                }
-                if (metric.getDivider() != 1.0) {
-                    metricDividers.put(metricLabel, metric.getDivider());
-                }
+            collections.add(prepareSourceCollection(sourceConfig, trackerClient, sourceCode, dataSourceFactory, metricFactory));
+        }
 
-                // Build link template from data source params
-                String linkTemplate = buildLinkTemplate(sourceConfig.getName(), sourceConfig.getParams());
-                if (linkTemplate != null) {
-                    metricLinkTemplates.put(metricLabel, linkTemplate);
-                }
+        int parallelism = config.getParallelism() != null ? config.getParallelism() : 1;
+        if (parallelism <= 1 || collections.size() <= 1) {
+            for (SourceCollection collection : collections) {
+                collection.collect();
             }
+        } else {
+            collectInParallel(collections, parallelism, config.getIntegrationParallelism());
+        }
 
-            // Merge into existing results: combine KeyTimes when same metric label
-            // appears from multiple data sources (e.g. "Pull Requests Merged" from 2 repos)
+        // Merge in config order: combine KeyTimes when same metric label
+        // appears from multiple data sources (e.g. "Pull Requests Merged" from 2 repos)
+        for (SourceCollection collection : collections) {
             Map<String, DataSourceResult> existingMap =
-                results.computeIfAbsent(sourceConfig.getName(), k -> new ConcurrentHashMap<>());
-            for (Map.Entry<String, DataSourceResult> entry : sourceResults.entrySet()) {
+                results.computeIfAbsent(collection.sourceConfig.getName(), k -> new ConcurrentHashMap<>());
+            for (Map.Entry<String, DataSourceResult> entry : collection.getResultsByLabel().entrySet()) {
                 existingMap.merge(entry.getKey(), entry.getValue(), (existing, incoming) -> {
                     // Merge incoming keyTimes into existing result
                     for (Map.Entry<String, List<KeyTime>> ktEntry : incoming.getAllKeyTimes().entrySet()) {
@@ -291,6 +264,139 @@ public class ReportGenerator {
         return results;
     }
 
+    private SourceCollection prepareSourceCollection(
+        DataSourceConfig sourceConfig,
+        TrackerClient trackerClient,
+        SourceCode sourceCode,
+        DataSourceFactory dataSourceFactory,
+        MetricFactory metricFactory
+    ) throws Exception {
+        DataSource dataSource = dataSourceFactory.createDataSource(
+            sourceConfig.getName(),
+            sourceConfig.getParams(),
+            trackerClient,
+            sourceCode
+        );
+        SourceCollection collection = new SourceCollection(sourceConfig, dataSource);
+
+        String linkTemplate = buildLinkTemplate(sourceConfig.getName(), sourceConfig.getParams());
+        for (MetricConfig metricConfig : sourceConfig.getMetrics()) {
+            Metric metric = metricFactory.createMetric(
+                metricConfig.getName(),
+                metricConfig.getParams(),
+                sourceConfig.getName(),
+                sourceConfig.getParams()
+            );
+            String metricLabel = (String) metricConfig.getParams().getOrDefault("label", metricConfig.getName());
+            collection.add(metric, metricLabel);
+
+            if (metric.isWeight()) {
+                weightMetricLabels.add(metricLabel);
+            }
+            if (metric.getDivider() != 1.0) {
+                metricDividers.put(metricLabel, metric.getDivider());
+            }
+            // Build link template from data source params
+            if (linkTemplate != null) {
+                metricLinkTemplates.put(metricLabel, linkTemplate);
+            }
+        }
+        return collection;
+    }
+
+    /**
+     * Collects independent sources on a work-stealing pool. {@code integrationParallelism} caps how many
+     * sources with the same name (i.e. hitting the same integration) run at the same time.
+     */
+    private void collectInParallel(List<SourceCollection> collections, int parallelism, Map<String, Integer> integrationParallelism) throws Exception {
+        Map<String, Semaphore> permits = new HashMap<>();
+        if (integrationParallelism != null) {
+            for (Map.Entry<String, Integer> entry : integrationParallelism.entrySet()) {
+                if (entry.getValue() != null && entry.getValue() > 0) {
+                    permits.put(entry.getKey(), new Semaphore(entry.getValue()));
+                }
+            }
+        }
+        logger.info("Collecting {} data sources with parallelism {}", collections.size(), parallelism);
+
+        ExecutorService executor = Executors.newWorkStealingPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (SourceCollection collection : collections) {
+                Semaphore semaphore = permits.get(collection.sourceConfig.getName());
+                futures.add(executor.submit(() -> {
+                    if (semaphore == null) {
+                        collection.collect();
+                        return null;
+                    }
+                    semaphore.acquire();
+                    try {
+                        collection.collect();
+                    } finally {
+                        semaphore.release();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    throw cause instanceof Exception ? (Exception) cause : e;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Metrics of one configured data source, collected with a single {@link DataSource#performMetricsCollection} call.
+     */
+    private static class SourceCollection {
+        private final DataSourceConfig sourceConfig;
+        private final DataSource dataSource;
+        private final List<Metric> metrics = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<DataSourceResult> results = new ArrayList<>();
+
+        SourceCollection(DataSourceConfig sourceConfig, DataSource dataSource) {
+            this.sourceConfig = sourceConfig;
+            this.dataSource = dataSource;
+        }
+
+        void add(Metric metric, String label) {
+            metrics.add(metric);
+            labels.add(label);
+            results.add(new DataSourceResult());
+        }
+
+        void collect() throws Exception {
+            List<KeyTimeCollector> collectors = new ArrayList<>();
+            for (DataSourceResult result : results) {
+                collectors.add((keyTimes, rawMetadata, itemKey) -> {
+                    result.addKeyTimes(itemKey, keyTimes);
+                    result.addMetadata(itemKey, rawMetadata);
+                    logger.debug("Collected {} KeyTimes for item: {}", keyTimes.size(), itemKey);
+                });
+            }
+            dataSource.performMetricsCollection(metrics, collectors);
+            for (int i = 0; i < labels.size(); i++) {
+                logger.info("Metric '{}': collected {} items", labels.get(i), results.get(i).getAllKeyTimes().size());
+            }
+        }
+
+        Map<String, DataSourceResult> getResultsByLabel() {
+            // same label twice within one source: the last metric wins
+            Map<String, DataSourceResult> byLabel = new LinkedHashMap<>();
+            for (int i = 0; i < labels.size(); i++) {
+                byLabel.put(labels.get(i), results.get(i));
+            }
+            return byLabel;
+        }
+    }
+
     private TimePeriodResult buildPeriodResult(
         TimePeriod period,
         Map<String, Map<String, DataSourceResult>> dataBySourceAndMetric,
@@ -3,8 +3,20 @@ package com.github.istin.dmtools.reporting.datasource;
 import com.github.istin.dmtools.metrics.Metric;
 import org.json.JSONObject;
 
+import java.util.List;
+
 public abstract class DataSource {
     public abstract void performMetricCollection(Metric metric, KeyTimeCollector collector) throws Exception;
     public abstract JSONObject extractRawMetadata(Object item);
     public abstract String getSourceName();
+
+    /**
+     * Collects all metrics configured for this source; {@code collectors.get(i)} receives the items of {@code metrics.get(i)}.
+     * Sources which can serve every metric from a single scan override this, by default metrics are collected one by one.
+     */
+    public void performMetricsCollection(List<Metric> metrics, List<KeyTimeCollector> collectors) throws Exception {
+        for (int i = 0; i < metrics.size(); i++) {
+            performMetricCollection(metrics.get(i), collectors.get(i));
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.github.istin.dmtools.reporting.datasource;
 import com.github.istin.dmtools.atlassian.jira.JiraClient;
 import com.github.istin.dmtools.common.model.ITicket;
 import com.github.istin.dmtools.common.model.JSONModel;
+import com.github.istin.dmtools.common.tracker.ChangelogStore;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import com.github.istin.dmtools.metrics.Metric;
 import com.github.istin.dmtools.metrics.TrackerRule;
@@ -10,12 +11,16 @@ import com.github.istin.dmtools.report.model.KeyTime;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class TrackerDataSource extends DataSource {
     private final TrackerClient trackerClient;
     private final String jql;
     private final List<String> extraFields;
+    /** Shared by all metrics of this source, so each changelog is fetched and parsed once per report run. */
+    private final ChangelogStore changelogStore = new ChangelogStore();
 
     public TrackerDataSource(TrackerClient trackerClient, String jql) {
         this.trackerClient = trackerClient;
@@ -31,30 +36,72 @@ public class TrackerDataSource extends DataSource {
 
     @Override
     public void performMetricCollection(Metric metric, KeyTimeCollector collector) throws Exception {
-        TrackerRule rule = metric.getRule();
-        if (rule == null) {
+        performMetricsCollection(Collections.singletonList(metric), Collections.singletonList(collector));
+    }
+
+    /**
+     * Runs one search for all metrics and dispatches every ticket to each metric rule,
+     * so a report with N tracker metrics scans the tracker once instead of N times.
+     */
+    @Override
+    public void performMetricsCollection(List<Metric> metrics, List<KeyTimeCollector> collectors) throws Exception {
+        List<TrackerRule> rules = new ArrayList<>();
+        List<KeyTimeCollector> ruleCollectors = new ArrayList<>();
+        for (int i = 0; i < metrics.size(); i++) {
+            TrackerRule rule = metrics.get(i).getRule();
+            if (rule != null) {
+                rules.add(rule);
+                ruleCollectors.add(collectors.get(i));
+            }
+        }
+        if (rules.isEmpty()) {
             return;
         }
 
-        trackerClient.searchAndPerform(new JiraClient.Performer<ITicket>() {
+        JiraClient.Performer<ITicket> performer = new JiraClient.Performer<ITicket>() {
             @Override
             public boolean perform(ITicket ticket) throws Exception {
-                try {
-                    List<KeyTime> keyTimes = rule.check(trackerClient, ticket);
-
-                    if (!keyTimes.isEmpty()) {
-                        JSONObject rawMetadata = extractRawMetadata(ticket);
-                        collector.collect(keyTimes, rawMetadata, ticket.getTicketKey());
+                JSONObject rawMetadata = null;
+                for (int i = 0; i < rules.size(); i++) {
+                    try {
+                        List<KeyTime> keyTimes = rules.get(i).check(trackerClient, ticket);
+
+                        if (!keyTimes.isEmpty()) {
+                            if (rawMetadata == null) {
+                                rawMetadata = extractRawMetadata(ticket);
+                            }
+                            ruleCollectors.get(i).collect(keyTimes, rawMetadata, ticket.getTicketKey());
+                        }
+                    } catch (Exception e) {
+                        System.err.println("Error processing ticket " + ticket.getTicketKey() + ": " + e.getMessage());
                     }
-                } catch (Exception e) {
-                    System.err.println("Error processing ticket " + ticket.getTicketKey() + ": " + e.getMessage());
                 }
                 return false;
             }
-        }, jql, resolveQueryFields(rule));
+        };
+
+        String[] queryFields = resolveQueryFields(rules);
+        try (ChangelogStore.Scope ignored = changelogStore.open()) {
+            if (isChangelogRequired(queryFields)) {
+                ChangelogStore.Prefetcher<ITicket> prefetcher = changelogStore.prefetcher(trackerClient, ChangelogStore.DEFAULT_BATCH_SIZE, performer);
+                trackerClient.searchAndPerform(prefetcher, jql, queryFields);
+                prefetcher.flush();
+            } else {
+                trackerClient.searchAndPerform(performer, jql, queryFields);
+            }
+        }
     }
 
-    private String[] resolveQueryFields(TrackerRule rule) {
+    private static boolean isChangelogRequired(String[] queryFields) {
+        for (String field : queryFields) {
+            if ("changelog".equalsIgnoreCase(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String[] resolveQueryFields(List<TrackerRule> rules) {
         String[] defaults = trackerClient.getDefaultQueryFields();
         java.util.LinkedHashSet<String> merged = new java.util.LinkedHashSet<>();
         if (defaults != null) {
@@ -65,10 +112,12 @@ public class TrackerDataSource extends DataSource {
                 if (f != null && !f.trim().isEmpty()) merged.add(f.trim());
             }
         }
-        List<String> ruleFields = rule.getRequiredExtraFields();
-        if (ruleFields != null) {
-            for (String f : ruleFields) {
-                if (f != null && !f.trim().isEmpty()) merged.add(f.trim());
+        for (TrackerRule rule : rules) {
+            List<String> ruleFields = rule.getRequiredExtraFields();
+            if (ruleFields != null) {
+                for (String f : ruleFields) {
+                    if (f != null && !f.trim().isEmpty()) merged.add(f.trim());
+                }
             }
         }
         return merged.toArray(new String[0]);
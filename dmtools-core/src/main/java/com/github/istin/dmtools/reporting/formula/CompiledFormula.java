@@ -0,0 +1,522 @@
+package com.github.istin.dmtools.reporting.formula;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A metric formula parsed once and evaluated many times.
+ * <p>
+ * Plain arithmetic ({@code + - * / %}, parentheses, numbers, {@code ${Metric Label}} placeholders and
+ * {@code Math.min/max/abs/round/floor/ceil/sqrt/pow/log/exp}) is compiled into a small expression tree which
+ * is evaluated without GraalJS. Any other JavaScript is compiled once into a GraalJS function taking the
+ * placeholder values as arguments (see {@link FormulaEvaluator}).
+ * <p>
+ * Placeholders are bound to slots in order of first appearance, see {@link #getVariables()}.
+ */
+public final class CompiledFormula {
+
+    private final String formula;
+    private final List<String> variables;
+    private final Node root;
+    private final String jsFunction;
+
+    private CompiledFormula(String formula, List<String> variables, Node root, String jsFunction) {
+        this.formula = formula;
+        this.variables = Collections.unmodifiableList(variables);
+        this.root = root;
+        this.jsFunction = jsFunction;
+    }
+
+    public static CompiledFormula compile(String formula) {
+        if (formula == null || formula.trim().isEmpty()) {
+            return new CompiledFormula(formula, new ArrayList<>(), new Constant(0.0), null);
+        }
+        Map<String, Integer> slots = new LinkedHashMap<>();
+        String body = extractVariables(formula, slots);
+        List<String> variables = new ArrayList<>(slots.keySet());
+        Node root;
+        try {
+            root = new Parser(formula, slots).parse();
+        } catch (IllegalArgumentException e) {
+            root = null;
+        }
+        String jsFunction = root == null ? buildJsFunction(body, variables.size()) : null;
+        return new CompiledFormula(formula, variables, root, jsFunction);
+    }
+
+    public String getFormula() {
+        return formula;
+    }
+
+    /**
+     * @return metric labels referenced by the formula, in slot order
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * @return true if the formula is evaluated by the built-in interpreter, false if it needs GraalJS
+     */
+    public boolean isInterpreted() {
+        return root != null;
+    }
+
+    String getJsFunction() {
+        return jsFunction;
+    }
+
+    public double evaluate(Map<String, Double> metricValues) {
+        double[] slots = new double[variables.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = metricValues.getOrDefault(variables.get(i), 0.0);
+        }
+        return evaluate(slots);
+    }
+
+    /**
+     * @param slots values of {@link #getVariables()} in the same order; NaN and infinite values count as 0
+     */
+    public double evaluate(double[] slots) {
+        if (root != null) {
+            return sanitize(root.eval(slots));
+        }
+        return FormulaEvaluator.evaluateJs(this, slots);
+    }
+
+    /**
+     * Evaluates the formula for many rows at once, e.g. for all contributors of a period.
+     *
+     * @param columns {@code columns[v][row]} is the value of variable {@code v} for {@code row}
+     * @param rows    number of rows
+     * @return result per row
+     */
+    public double[] evaluateAll(double[][] columns, int rows) {
+        double[] result;
+        if (root != null) {
+            result = root.evalAll(columns, rows);
+            for (int row = 0; row < rows; row++) {
+                result[row] = sanitize(result[row]);
+            }
+        } else {
+            result = new double[rows];
+            double[] slots = new double[columns.length];
+            for (int row = 0; row < rows; row++) {
+                for (int v = 0; v < columns.length; v++) {
+                    slots[v] = columns[v][row];
+                }
+                result[row] = FormulaEvaluator.evaluateJs(this, slots);
+            }
+        }
+        return result;
+    }
+
+    public double[] evaluateAll(List<? extends Map<String, Double>> rows) {
+        double[][] columns = new double[variables.size()][rows.size()];
+        for (int row = 0; row < rows.size(); row++) {
+            Map<String, Double> values = rows.get(row);
+            for (int v = 0; v < columns.length; v++) {
+                Double value = values.get(variables.get(v));
+                columns[v][row] = value != null ? value : 0.0;
+            }
+        }
+        return evaluateAll(columns, rows.size());
+    }
+
+    static double sanitize(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? 0.0 : value;
+    }
+
+    /**
+     * Registers placeholders in {@code slots} and returns the formula with each placeholder replaced by its argument name.
+     */
+    private static String extractVariables(String formula, Map<String, Integer> slots) {
+        StringBuilder body = new StringBuilder(formula.length());
+        int i = 0;
+        while (i < formula.length()) {
+            int start = formula.indexOf("${", i);
+            int end = start < 0 ? -1 : formula.indexOf('}', start + 2);
+            if (start < 0 || end < 0) {
+                body.append(formula, i, formula.length());
+                break;
+            }
+            String name = formula.substring(start + 2, end);
+            if (name.isEmpty()) {
+                body.append(formula, i, end + 1);
+                i = end + 1;
+                continue;
+            }
+            int slot = slots.computeIfAbsent(name, k -> slots.size());
+            body.append(formula, i, start).append("__v").append(slot);
+            i = end + 1;
+        }
+        return body.toString();
+    }
+
+    private static String buildJsFunction(String body, int arity) {
+        StringBuilder js = new StringBuilder("(function(");
+        for (int i = 0; i < arity; i++) {
+            if (i > 0) {
+                js.append(", ");
+            }
+            js.append("__v").append(i);
+        }
+        return js.append(") { return (\n").append(body).append("\n); })").toString();
+    }
+
+    private interface Node {
+        double eval(double[] slots);
+
+        default double[] evalAll(double[][] columns, int rows) {
+            double[] result = new double[rows];
+            double[] slots = new double[columns.length];
+            for (int row = 0; row < rows; row++) {
+                for (int v = 0; v < columns.length; v++) {
+                    slots[v] = columns[v][row];
+                }
+                result[row] = eval(slots);
+            }
+            return result;
+        }
+    }
+
+    private static final class Constant implements Node {
+        private final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double eval(double[] slots) {
+            return value;
+        }
+
+        @Override
+        public double[] evalAll(double[][] columns, int rows) {
+            double[] result = new double[rows];
+            java.util.Arrays.fill(result, value);
+            return result;
+        }
+    }
+
+    private static final class Variable implements Node {
+        private final int slot;
+
+        Variable(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public double eval(double[] slots) {
+            return sanitize(slots[slot]);
+        }
+
+        @Override
+        public double[] evalAll(double[][] columns, int rows) {
+            double[] column = columns[slot];
+            double[] result = new double[rows];
+            for (int row = 0; row < rows; row++) {
+                result[row] = sanitize(column[row]);
+            }
+            return result;
+        }
+    }
+
+    private static final class Binary implements Node {
+        private final char operator;
+        private final Node left;
+        private final Node right;
+
+        Binary(char operator, Node left, Node right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public double eval(double[] slots) {
+            return apply(left.eval(slots), right.eval(slots));
+        }
+
+        @Override
+        public double[] evalAll(double[][] columns, int rows) {
+            double[] a = left.evalAll(columns, rows);
+            double[] b = right.evalAll(columns, rows);
+            for (int row = 0; row < rows; row++) {
+                a[row] = apply(a[row], b[row]);
+            }
+            return a;
+        }
+
+        private double apply(double a, double b) {
+            switch (operator) {
+                case '+': return a + b;
+                case '-': return a - b;
+                case '*': return a * b;
+                case '/': return a / b;
+                default: return a % b;
+            }
+        }
+    }
+
+    private static final class Negate implements Node {
+        private final Node operand;
+
+        Negate(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public double eval(double[] slots) {
+            return -operand.eval(slots);
+        }
+
+        @Override
+        public double[] evalAll(double[][] columns, int rows) {
+            double[] result = operand.evalAll(columns, rows);
+            for (int row = 0; row < rows; row++) {
+                result[row] = -result[row];
+            }
+            return result;
+        }
+    }
+
+    private static final class MathCall implements Node {
+        private final String function;
+        private final Node[] args;
+
+        MathCall(String function, Node[] args) {
+            this.function = function;
+            this.args = args;
+        }
+
+        @Override
+        public double eval(double[] slots) {
+            double[] values = new double[args.length];
+            for (int i = 0; i < args.length; i++) {
+                values[i] = args[i].eval(slots);
+            }
+            return apply(function, values);
+        }
+
+        static double apply(String function, double[] values) {
+            switch (function) {
+                case "min": {
+                    double result = Double.POSITIVE_INFINITY;
+                    for (double value : values) {
+                        result = Math.min(result, value);
+                    }
+                    return result;
+                }
+                case "max": {
+                    double result = Double.NEGATIVE_INFINITY;
+                    for (double value : values) {
+                        result = Math.max(result, value);
+                    }
+                    return result;
+                }
+                case "abs": return Math.abs(arg(values));
+                // JS Math.round rounds .5 towards +Infinity
+                case "round": return Math.floor(arg(values) + 0.5);
+                case "floor": return Math.floor(arg(values));
+                case "ceil": return Math.ceil(arg(values));
+                case "sqrt": return Math.sqrt(arg(values));
+                case "log": return Math.log(arg(values));
+                case "exp": return Math.exp(arg(values));
+                case "pow": return Math.pow(arg(values), values.length > 1 ? values[1] : Double.NaN);
+                default: throw new IllegalArgumentException("Unsupported function Math." + function);
+            }
+        }
+
+        private static double arg(double[] values) {
+            return values.length > 0 ? values[0] : Double.NaN;
+        }
+
+        static boolean isSupported(String function) {
+            switch (function) {
+                case "min": case "max": case "abs": case "round": case "floor":
+                case "ceil": case "sqrt": case "log": case "exp": case "pow":
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * Recursive-descent parser for the arithmetic subset. Throws {@link IllegalArgumentException}
+     * on anything else so that the formula falls back to GraalJS.
+     */
+    private static final class Parser {
+        private final String text;
+        private final Map<String, Integer> slots;
+        private int pos;
+
+        Parser(String text, Map<String, Integer> slots) {
+            this.text = text;
+            this.slots = slots;
+        }
+
+        Node parse() {
+            Node node = parseAdditive();
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw error();
+            }
+            return node;
+        }
+
+        private Node parseAdditive() {
+            Node node = parseMultiplicative();
+            while (true) {
+                skipWhitespace();
+                char c = peek();
+                if (c == '+' || c == '-') {
+                    pos++;
+                    node = new Binary(c, node, parseMultiplicative());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseMultiplicative() {
+            Node node = parseUnary();
+            while (true) {
+                skipWhitespace();
+                char c = peek();
+                if (c == '*' || c == '/' || c == '%') {
+                    pos++;
+                    // "**" and "//" comments are JavaScript the interpreter does not know
+                    if (peek() == '*' || peek() == '/') {
+                        throw error();
+                    }
+                    node = new Binary(c, node, parseUnary());
+                } else {
+                    return node;
+                }
+            }
+        }
+
+        private Node parseUnary() {
+            skipWhitespace();
+            char c = peek();
+            if (c == '-' || c == '+') {
+                pos++;
+                // "--" / "++" are JavaScript increment operators, not double signs
+                if (peek() == c) {
+                    throw error();
+                }
+                Node operand = parseUnary();
+                return c == '-' ? new Negate(operand) : operand;
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            skipWhitespace();
+            char c = peek();
+            if (c == '(') {
+                pos++;
+                Node node = parseAdditive();
+                expect(')');
+                return node;
+            }
+            if (c == '$' && text.startsWith("${", pos)) {
+                int end = text.indexOf('}', pos + 2);
+                if (end < 0) {
+                    throw error();
+                }
+                Integer slot = slots.get(text.substring(pos + 2, end));
+                if (slot == null) {
+                    throw error();
+                }
+                pos = end + 1;
+                return new Variable(slot);
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return parseNumber();
+            }
+            if (text.startsWith("Math.", pos)) {
+                return parseMathCall();
+            }
+            throw error();
+        }
+
+        private Node parseNumber() {
+            int start = pos;
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                pos++;
+            }
+            if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+                pos++;
+                if (pos < text.length() && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                    pos++;
+                }
+                while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                    pos++;
+                }
+            }
+            if (pos < text.length() && Character.isLetter(text.charAt(pos))) {
+                throw error();
+            }
+            try {
+                return new Constant(Double.parseDouble(text.substring(start, pos)));
+            } catch (NumberFormatException e) {
+                throw error();
+            }
+        }
+
+        private Node parseMathCall() {
+            pos += "Math.".length();
+            int start = pos;
+            while (pos < text.length() && Character.isLetter(text.charAt(pos))) {
+                pos++;
+            }
+            String function = text.substring(start, pos);
+            if (!MathCall.isSupported(function)) {
+                throw error();
+            }
+            expect('(');
+            List<Node> args = new ArrayList<>();
+            skipWhitespace();
+            if (peek() != ')') {
+                args.add(parseAdditive());
+                skipWhitespace();
+                while (peek() == ',') {
+                    pos++;
+                    args.add(parseAdditive());
+                    skipWhitespace();
+                }
+            }
+            expect(')');
+            return new MathCall(function, args.toArray(new Node[0]));
+        }
+
+        private void expect(char expected) {
+            skipWhitespace();
+            if (peek() != expected) {
+                throw error();
+            }
+            pos++;
+        }
+
+        private char peek() {
+            return pos < text.length() ? text.charAt(pos) : '\0';
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error() {
+            return new IllegalArgumentException("Unsupported formula syntax at position " + pos);
+        }
+    }
+}
@@ -22,41 +22,67 @@ public final class ComputedMetricsApplier {
         }
 
         for (ComputedMetricConfig cm : computedMetrics) {
+            CompiledFormula formula = FormulaEvaluator.compile(cm.getFormula());
             Map<String, Double> values = buildMetricValues(metrics, weightMetricLabels);
-            double computed = FormulaEvaluator.evaluate(cm.getFormula(), values);
-
-            MetricSummary summary = new MetricSummary();
-            if (cm.isWeight()) {
-                summary.setTotalWeight(computed);
-            } else {
-                summary.setCount((int) Math.round(computed));
-                summary.setTotalWeight(computed); // keep precision for UI if needed later
-            }
-
-            // Collect contributors from referenced metrics
-            Set<String> contributors = new HashSet<>();
-            for (Map.Entry<String, MetricSummary> e : metrics.entrySet()) {
-                if (cm.getFormula().contains("${" + e.getKey() + "}") && e.getValue().getContributors() != null) {
-                    contributors.addAll(e.getValue().getContributors());
-                }
-            }
-            summary.setContributors(new ArrayList<>(contributors));
-
-            metrics.put(cm.getLabel(), summary);
-            if (cm.isWeight() && weightMetricLabels != null) {
-                weightMetricLabels.add(cm.getLabel());
-            }
+            putComputed(cm, formula, formula.evaluate(values), metrics, weightMetricLabels);
         }
     }
 
+    /**
+     * Evaluates each computed metric once for all contributors (columns of referenced metric values),
+     * in config order so that computed metrics can reference the ones defined before them.
+     */
     public static void applyToContributors(List<ComputedMetricConfig> computedMetrics,
                                            Map<String, ContributorMetrics> contributorBreakdown,
                                            Set<String> weightMetricLabels) {
-        if (computedMetrics == null || computedMetrics.isEmpty()) {
+        if (computedMetrics == null || computedMetrics.isEmpty() || contributorBreakdown.isEmpty()) {
             return;
         }
-        for (Map.Entry<String, ContributorMetrics> entry : contributorBreakdown.entrySet()) {
-            applyToMetrics(computedMetrics, entry.getValue().getMetrics(), weightMetricLabels);
+        List<Map<String, MetricSummary>> rows = new ArrayList<>(contributorBreakdown.size());
+        for (ContributorMetrics contributor : contributorBreakdown.values()) {
+            rows.add(contributor.getMetrics());
+        }
+        for (ComputedMetricConfig cm : computedMetrics) {
+            CompiledFormula formula = FormulaEvaluator.compile(cm.getFormula());
+            List<String> variables = formula.getVariables();
+            double[][] columns = new double[variables.size()][rows.size()];
+            for (int v = 0; v < variables.size(); v++) {
+                String name = variables.get(v);
+                for (int row = 0; row < rows.size(); row++) {
+                    Map<String, MetricSummary> metrics = rows.get(row);
+                    columns[v][row] = metrics != null ? metricValue(name, metrics.get(name), weightMetricLabels) : 0.0;
+                }
+            }
+            double[] computed = formula.evaluateAll(columns, rows.size());
+            for (int row = 0; row < rows.size(); row++) {
+                putComputed(cm, formula, computed[row], rows.get(row), weightMetricLabels);
+            }
+        }
+    }
+
+    private static void putComputed(ComputedMetricConfig cm, CompiledFormula formula, double computed,
+                                    Map<String, MetricSummary> metrics, Set<String> weightMetricLabels) {
+        MetricSummary summary = new MetricSummary();
+        if (cm.isWeight()) {
+            summary.setTotalWeight(computed);
+        } else {
+            summary.setCount((int) Math.round(computed));
+            summary.setTotalWeight(computed); // keep precision for UI if needed later
+        }
+
+        // Collect contributors from referenced metrics
+        Set<String> contributors = new HashSet<>();
+        for (String referenced : formula.getVariables()) {
+            MetricSummary referencedSummary = metrics.get(referenced);
+            if (referencedSummary != null && referencedSummary.getContributors() != null) {
+                contributors.addAll(referencedSummary.getContributors());
+            }
+        }
+        summary.setContributors(new ArrayList<>(contributors));
+
+        metrics.put(cm.getLabel(), summary);
+        if (cm.isWeight() && weightMetricLabels != null) {
+            weightMetricLabels.add(cm.getLabel());
         }
     }
 
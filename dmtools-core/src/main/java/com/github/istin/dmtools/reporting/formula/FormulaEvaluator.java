@@ -5,18 +5,26 @@ import org.apache.logging.log4j.Logger;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * Evaluates metric formulas using GraalJS.
- * Supports ${Metric Label} placeholders which are replaced with numeric values.
+ * Evaluates metric formulas.
+ * Supports ${Metric Label} placeholders which are bound to numeric values.
+ * <p>
+ * Formulas are compiled once into a {@link CompiledFormula} and cached by text. Arithmetic formulas are
+ * interpreted directly, other JavaScript is evaluated by GraalJS as a function compiled once per thread.
  */
 public final class FormulaEvaluator {
 
     private static final Logger logger = LogManager.getLogger(FormulaEvaluator.class);
-    private static final Pattern VAR_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+
+    private static final int MAX_CACHED_FORMULAS = 1000;
+
+    private static final int MAX_JS_FUNCTIONS_PER_THREAD = 200;
+
+    private static final Map<String, CompiledFormula> COMPILED = Collections.synchronizedMap(lru(MAX_CACHED_FORMULAS));
 
     private static final ThreadLocal<Context> JS_CONTEXT = ThreadLocal.withInitial(() ->
         Context.newBuilder("js")
@@ -24,6 +32,8 @@ public final class FormulaEvaluator {
             .build()
     );
 
+    private static final ThreadLocal<Map<String, Value>> JS_FUNCTIONS = ThreadLocal.withInitial(() -> lru(MAX_JS_FUNCTIONS_PER_THREAD));
+
     private FormulaEvaluator() {
     }
 
@@ -31,36 +41,58 @@ public final class FormulaEvaluator {
         if (formula == null || formula.trim().isEmpty()) {
             return 0.0;
         }
+        return compile(formula).evaluate(metricValues);
+    }
+
+    /**
+     * @return compiled form of {@code formula}, shared between threads
+     */
+    public static CompiledFormula compile(String formula) {
+        if (formula == null) {
+            return CompiledFormula.compile(null);
+        }
+        CompiledFormula compiled = COMPILED.get(formula);
+        if (compiled != null) {
+            return compiled;
+        }
+        // Compiled outside the lock, a formula compiled twice by racing threads is harmless
+        compiled = CompiledFormula.compile(formula);
+        CompiledFormula existing = COMPILED.putIfAbsent(formula, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * Access-ordered map dropping its least recently used entry above {@code maxSize}.
+     */
+    private static <V> Map<String, V> lru(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
 
-        String expr = replaceVariables(formula, metricValues);
+    static double evaluateJs(CompiledFormula formula, double[] slots) {
         try {
-            Value value = JS_CONTEXT.get().eval("js", expr);
-            if (value == null || !value.isNumber()) {
-                return 0.0;
+            Map<String, Value> functions = JS_FUNCTIONS.get();
+            Value function = functions.get(formula.getFormula());
+            if (function == null) {
+                function = JS_CONTEXT.get().eval("js", formula.getJsFunction());
+                functions.put(formula.getFormula(), function);
+            }
+            Object[] args = new Object[slots.length];
+            for (int i = 0; i < slots.length; i++) {
+                args[i] = CompiledFormula.sanitize(slots[i]);
             }
-            double result = value.asDouble();
-            if (Double.isNaN(result) || Double.isInfinite(result)) {
+            Value value = function.execute(args);
+            if (value == null || !value.isNumber()) {
                 return 0.0;
             }
-            return result;
+            return CompiledFormula.sanitize(value.asDouble());
         } catch (Exception e) {
-            logger.debug("Failed to evaluate formula '{}': {}", formula, e.getMessage());
+            logger.debug("Failed to evaluate formula '{}': {}", formula.getFormula(), e.getMessage());
             return 0.0;
         }
     }
-
-    private static String replaceVariables(String formula, Map<String, Double> metricValues) {
-        Matcher matcher = VAR_PATTERN.matcher(formula);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            String metricName = matcher.group(1);
-            double value = metricValues.getOrDefault(metricName, 0.0);
-            if (Double.isNaN(value) || Double.isInfinite(value)) {
-                value = 0.0;
-            }
-            matcher.appendReplacement(sb, String.valueOf(value));
-        }
-        matcher.appendTail(sb);
-        return sb.toString();
-    }
 }
@@ -64,6 +64,21 @@ public class ReportConfig {
     @Getter
     private List<ComputedMetricConfig> computedMetrics;
 
+    /**
+     * Number of data sources collected concurrently. 1 (default) collects them one after another.
+     */
+    @Setter
+    @Getter
+    private Integer parallelism;
+
+    /**
+     * Optional cap of concurrently collected sources per data source name,
+     * e.g. {"tracker": 1, "pullRequests": 3}. Sources without an entry are limited by {@link #parallelism} only.
+     */
+    @Setter
+    @Getter
+    private Map<String, Integer> integrationParallelism;
+
     /**
      * Returns the list of time groupings. For backward compatibility,
      * a single-object JSON value is deserialized as a list with one element.
@@ -1,19 +1,20 @@
 package com.github.istin.dmtools.search;
 
 import com.github.istin.dmtools.ai.ChunkPreparation;
+import com.github.istin.dmtools.ai.Claude35TokenCounter;
+import com.github.istin.dmtools.ai.agent.ChunkMapReduce;
 import com.github.istin.dmtools.ai.agent.KeywordGeneratorAgent;
 import com.github.istin.dmtools.ai.agent.SearchResultsAssessmentAgent;
 import com.github.istin.dmtools.ai.agent.SnippetExtensionAgent;
 import com.github.istin.dmtools.ai.agent.SummaryContextAgent;
 import com.github.istin.dmtools.context.ContextOrchestrator;
 import com.github.istin.dmtools.context.UriToObject;
+import com.github.istin.dmtools.common.model.ToText;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import org.json.JSONArray;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.io.IOException;
+import java.util.*;
 
 public abstract class AbstractSearchOrchestrator {
 
@@ -65,7 +66,22 @@ public abstract class AbstractSearchOrchestrator {
         return searchStats;
     }
 
-    protected abstract Object getItemByKey(Object key, List<?> items);
+    /**
+     * Key of a found item, the value the assessment agent returns for it in {@link #getKeyFieldValue()}.
+     * Items with the same key (ignoring case) are the same item.
+     */
+    protected abstract String getItemKey(Object item);
+
+    /**
+     * Item of a key returned by the assessment agent, looked up in the items found so far by their
+     * {@link #normalizeKey(String) normalized} keys
+     *
+     * @return the item or {@code null} if it's unknown
+     */
+    protected Object getItemByKey(String key, Map<String, Object> items) throws Exception {
+        return items.get(normalizeKey(key));
+    }
+
     protected abstract String getKeyFieldValue();
     protected abstract String getSourceType();
     protected abstract String getFullItemContent(Object item, Object platformContext) throws Exception;
@@ -97,10 +113,13 @@ public abstract class AbstractSearchOrchestrator {
         this.searchStats = new SearchStats();
         ChunkPreparation chunkPreparation = new ChunkPreparation();
         Object platformContext = createInitialPlatformContext();
-        List<Object> items = new ArrayList<>();
+        // All items found so far by key; only items added in an iteration are sent for assessment
+        Map<String, Object> items = new LinkedHashMap<>();
+        List<Object> newItems = new ArrayList<>();
+        long assessedTokens = 0;
         List<Object> initialList = preprocessing(this.searchStats, fullTask, platformContext);
         if (initialList != null) {
-            items.addAll(initialList);
+            addNewItems(items, initialList, newItems);
         }
         for (int iteration = 0; iteration < iterations; iteration++) {
             JSONArray keywords = generateKeywords(fullTask, keywordsBlacklist);
@@ -110,36 +129,56 @@ public abstract class AbstractSearchOrchestrator {
             }
 
             SearchStats.IterationStats stats = new SearchStats.IterationStats(iteration, keywordsList);
-            for (String keyword : keywordsList) {
-                List<?> itemsFound = searchItemsWithKeywords(keyword, platformContext, itemsLimit);
-                stats.keywordStats.put(keyword, new SearchStats.IterationStats.KeywordStats(itemsFound.size()));
-                items.addAll(itemsFound);
+            List<List<?>> results = ChunkMapReduce.forSource(getSourceType()).map(keywordsList, 0,
+                    (keyword, index) -> searchItemsWithKeywords(keyword, platformContext, itemsLimit));
+            for (int i = 0; i < keywordsList.size(); i++) {
+                List<?> itemsFound = results.get(i);
+                stats.keywordStats.put(keywordsList.get(i), new SearchStats.IterationStats.KeywordStats(itemsFound.size()));
+                addNewItems(items, itemsFound, newItems);
             }
+            stats.newItems = newItems.size();
 
             this.searchStats.addIterationStats(stats);
-            this.searchStats.totalItemsProcessed += items.size();
-            if (!items.isEmpty()) {
-                List<ChunkPreparation.Chunk> chunks = chunkPreparation.prepareChunks(items);
-                Set<String> relevantKeys = new HashSet<>();
-                for (ChunkPreparation.Chunk chunk : chunks) {
-                    SearchResultsAssessmentAgent.Params params = new SearchResultsAssessmentAgent.Params(
-                            getSourceType(),
-                            getKeyFieldValue(),
-                            fullTask,
-                            chunk.getText()
-                    );
-                    JSONArray newRelevantKeys = searchResultsAssessmentAgent.run(params);
+            this.searchStats.totalItemsProcessed += newItems.size();
+            if (assessedTokens > 0) {
+                // Calls the assessment of all items found so far would have taken again
+                this.searchStats.tokensSaved += assessedTokens;
+                this.searchStats.llmCallsSaved += (int) Math.ceil((double) assessedTokens / chunkPreparation.getTokenLimit());
+            }
+            if (!newItems.isEmpty()) {
+                assessedTokens += countTokens(newItems);
+                List<ChunkPreparation.Chunk> chunks = chunkPreparation.prepareChunks(newItems);
+                stats.llmCalls = chunks.size();
+                this.searchStats.llmCalls += chunks.size();
+                List<JSONArray> assessments = ChunkMapReduce.forAgent(searchResultsAssessmentAgent).map(chunks, 0,
+                        (chunk, index) -> searchResultsAssessmentAgent.run(new SearchResultsAssessmentAgent.Params(
+                                getSourceType(),
+                                getKeyFieldValue(),
+                                fullTask,
+                                chunk.getText()
+                        )));
+                Set<String> relevantKeys = new LinkedHashSet<>();
+                for (JSONArray newRelevantKeys : assessments) {
                     for (int i = 0; i < newRelevantKeys.length(); i++) {
                         relevantKeys.add(newRelevantKeys.getString(i));
                     }
                 }
                 stats.addRelevantKeys(relevantKeys);
+                newItems.clear();
 
+                List<String> keysToFetch = new ArrayList<>();
                 for (String key : relevantKeys) {
+                    if (this.searchStats.processedKeys.add(normalizeKey(key))) {
+                        keysToFetch.add(key);
+                    }
+                }
+                List<String> contents = ChunkMapReduce.forSource(getSourceType()).map(keysToFetch, 0, (key, index) -> {
                     Object itemByKey = getItemByKey(key, items);
-                    if (itemByKey != null) {
-                        String fullContent = getFullItemContent(itemByKey, platformContext);
-                        contextOrchestrator.processFullContent(key, fullContent, (UriToObject) platformContext, null, 0);
+                    return itemByKey != null ? getFullItemContent(itemByKey, platformContext) : null;
+                });
+                for (int i = 0; i < keysToFetch.size(); i++) {
+                    if (contents.get(i) != null) {
+                        contextOrchestrator.processFullContent(keysToFetch.get(i), contents.get(i), (UriToObject) platformContext, null, 0);
                     }
                 }
             }
@@ -149,4 +188,30 @@ public abstract class AbstractSearchOrchestrator {
          return contextOrchestrator.summarize();
     }
 
+    /**
+     * Adds items with keys not seen before to {@code items} and {@code newItems}
+     */
+    private void addNewItems(Map<String, Object> items, List<?> found, List<Object> newItems) {
+        for (Object item : found) {
+            String key = getItemKey(item);
+            String mapKey = key != null ? normalizeKey(key) : "#" + items.size();
+            if (items.putIfAbsent(mapKey, item) == null) {
+                newItems.add(item);
+            }
+        }
+    }
+
+    private static long countTokens(List<Object> items) throws IOException {
+        Claude35TokenCounter tokenCounter = new Claude35TokenCounter();
+        long tokens = 0;
+        for (Object item : items) {
+            tokens += tokenCounter.countTokens(item instanceof ToText toText ? toText.toText() : item.toString());
+        }
+        return tokens;
+    }
+
+    static String normalizeKey(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
 }
\ No newline at end of file
@@ -65,14 +65,8 @@ public class CodebaseSearchOrchestrator extends AbstractSearchOrchestrator {
     }
 
     @Override
-    protected Object getItemByKey(Object key, List<?> items) {
-        for (Object o : items) {
-            IFile file = (IFile) o;
-            if (file.getPath().equalsIgnoreCase((String) key)) {
-                return file;
-            }
-        }
-        return null;
+    protected String getItemKey(Object item) {
+        return ((IFile) item).getPath();
     }
 
     @Override
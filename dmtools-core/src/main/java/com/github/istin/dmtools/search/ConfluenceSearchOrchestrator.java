@@ -54,14 +54,8 @@ public class ConfluenceSearchOrchestrator extends AbstractSearchOrchestrator {
     }
 
     @Override
-    protected Object getItemByKey(Object key, List<?> items) {
-        for (Object o : items) {
-            SearchResult searchResult = (SearchResult) o;
-            if (searchResult.getEntityId().equalsIgnoreCase((String) key)) {
-                return searchResult;
-            }
-        }
-        return null;
+    protected String getItemKey(Object item) {
+        return ((SearchResult) item).getEntityId();
     }
 
     @Override
@@ -9,12 +9,18 @@ public class SearchStats {
     final List<IterationStats> iterations = new ArrayList<>();
     final Set<String> processedKeys = new HashSet<>();
     int totalItemsProcessed = 0;
+    int llmCalls = 0;
+    // Assessment of items found in earlier iterations that is not repeated
+    int llmCallsSaved = 0;
+    long tokensSaved = 0;
 
     public static class IterationStats {
         final int iterationNumber;
         final List<String> keywords;
         final Map<String, IterationStats.KeywordStats> keywordStats = new HashMap<>();
         private Set<String> relevantKeys;
+        int newItems;
+        int llmCalls;
 
         public IterationStats(int iterationNumber, List<String> keywords) {
             this.iterationNumber = iterationNumber;
@@ -43,6 +49,8 @@ public class SearchStats {
             JSONObject json = new JSONObject();
             json.put("iterationNumber", iterationNumber);
             json.put("keywords", new JSONArray(keywords));
+            json.put("newItems", newItems);
+            json.put("llmCalls", llmCalls);
             if (relevantKeys != null) {
                 json.put("relevantKeys", new JSONArray(relevantKeys));
             }
@@ -60,6 +68,9 @@ public class SearchStats {
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
         json.put("totalItemsProcessed", totalItemsProcessed);
+        json.put("llmCalls", llmCalls);
+        json.put("llmCallsSaved", llmCallsSaved);
+        json.put("tokensSaved", tokensSaved);
         json.put("totalProcessedKeys", new JSONArray(processedKeys));
         JSONArray iterationsJson = new JSONArray();
         iterations.forEach(iteration -> iterationsJson.put(iteration.toJson()));
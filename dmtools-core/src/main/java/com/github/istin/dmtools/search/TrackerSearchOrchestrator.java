@@ -10,6 +10,7 @@ import org.json.JSONObject;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class TrackerSearchOrchestrator extends AbstractSearchOrchestrator {
 
@@ -53,15 +54,18 @@ public class TrackerSearchOrchestrator extends AbstractSearchOrchestrator {
     }
 
     @Override
-    protected Object getItemByKey(Object key, List<?> items) {
-        for (Object o : items) {
-            ITicket ticket = (ITicket) o;
-            if (ticket.getTicketKey().equalsIgnoreCase((String) key)) {
-                return ticket;
-            }
+    protected String getItemKey(Object item) {
+        return ((ITicket) item).getTicketKey();
+    }
+
+    @Override
+    protected Object getItemByKey(String key, Map<String, Object> items) throws Exception {
+        Object ticket = super.getItemByKey(key, items);
+        if (ticket != null) {
+            return ticket;
         }
         try {
-            return trackerClient.performTicket(String.valueOf(key), trackerClient.getDefaultQueryFields());
+            return trackerClient.performTicket(key, trackerClient.getDefaultQueryFields());
         } catch (IOException e) {
             return null;
         }
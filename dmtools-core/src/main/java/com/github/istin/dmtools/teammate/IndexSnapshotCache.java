@@ -0,0 +1,136 @@
+package com.github.istin.dmtools.teammate;
+
+import com.github.istin.dmtools.ai.ChunkPreparation;
+import com.github.istin.dmtools.common.model.ToText;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Index data read once per Teammate run and shared by all tickets of the run, with its text and chunks.
+ * <p>
+ * A snapshot is reused while the diagram files in the index folder keep their paths, sizes and modification
+ * times, so checking it costs a directory listing instead of reading and chunking the whole index per ticket.
+ */
+class IndexSnapshotCache {
+
+    private static final Logger logger = LogManager.getLogger(IndexSnapshotCache.class);
+
+    /**
+     * Chunk limits are rounded down to this step, so tickets with requests of similar size share index chunks.
+     */
+    static final int TOKEN_LIMIT_STEP = 512;
+
+    @FunctionalInterface
+    interface Loader {
+        List<ToText> load() throws IOException;
+    }
+
+    static class Snapshot {
+        private final String fingerprint;
+        private final List<ToText> data;
+        private final Map<Integer, List<ChunkPreparation.Chunk>> chunks = new HashMap<>();
+        private String text;
+
+        Snapshot(String fingerprint, List<ToText> data) {
+            this.fingerprint = fingerprint;
+            this.data = data;
+        }
+
+        List<ToText> getData() {
+            return data;
+        }
+
+        synchronized String getText() throws IOException {
+            if (text == null) {
+                text = ToText.Utils.toText(data);
+            }
+            return text;
+        }
+
+        /**
+         * Chunks of the index for the limit rounded down to {@link #TOKEN_LIMIT_STEP}, prepared once per limit.
+         */
+        synchronized List<ChunkPreparation.Chunk> getChunks(int tokenLimit, ChunkPreparation chunkPreparation) throws IOException {
+            int limit = roundTokenLimit(tokenLimit);
+            List<ChunkPreparation.Chunk> prepared = chunks.get(limit);
+            if (prepared == null) {
+                prepared = chunkPreparation.prepareChunks(data, limit);
+                chunks.put(limit, prepared);
+            } else {
+                logger.debug("Reusing {} index chunks for limit {}", prepared.size(), limit);
+            }
+            return new ArrayList<>(prepared);
+        }
+    }
+
+    private final Map<String, Snapshot> snapshots = new HashMap<>();
+
+    /**
+     * Returns the snapshot of the index, loading it if it wasn't loaded in this run or its files changed.
+     */
+    synchronized Snapshot get(String integration, String storagePath, Loader loader) throws IOException {
+        String fingerprint = fingerprint(integration, storagePath);
+        if (fingerprint == null) {
+            // Nothing to watch, e.g. the index folder doesn't exist: let the loader report it
+            return new Snapshot(null, loader.load());
+        }
+        String key = integration + "|" + storagePath;
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && fingerprint.equals(snapshot.fingerprint)) {
+            return snapshot;
+        }
+        if (snapshot != null) {
+            logger.info("Index {} at {} changed, reloading it", integration, storagePath);
+        }
+        snapshot = new Snapshot(fingerprint, loader.load());
+        snapshots.put(key, snapshot);
+        return snapshot;
+    }
+
+    static int roundTokenLimit(int tokenLimit) {
+        return tokenLimit >= TOKEN_LIMIT_STEP ? tokenLimit - tokenLimit % TOKEN_LIMIT_STEP : tokenLimit;
+    }
+
+    /**
+     * Paths, sizes and modification times of the diagram files in the index folder.
+     */
+    static String fingerprint(String integration, String storagePath) throws IOException {
+        if (integration == null || storagePath == null || storagePath.trim().isEmpty()) {
+            return null;
+        }
+        Path indexDir = Paths.get(storagePath, integration);
+        if (!Files.isDirectory(indexDir)) {
+            return null;
+        }
+        long count = 0;
+        long totalSize = 0;
+        long hash = 0;
+        try (Stream<Path> paths = Files.walk(indexDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (!path.toString().endsWith(".mmd")) {
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                count++;
+                totalSize += attributes.size();
+                // Order independent, walk order is not guaranteed
+                hash += 31L * (31L * path.hashCode() + attributes.size()) + attributes.lastModifiedTime().toMillis();
+            }
+        }
+        return count + ":" + totalSize + ":" + Long.toHexString(hash);
+    }
+}
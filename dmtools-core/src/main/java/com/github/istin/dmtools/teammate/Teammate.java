@@ -297,6 +297,8 @@ public class Teammate extends AbstractJob<Teammate.TeammateParams, List<ResultIt
         contextOrchestrator.clear();
 
         List<ResultItem> results = new ArrayList<>();
+        // Index data doesn't change between tickets: read and chunk it once per run
+        IndexSnapshotCache indexCache = new IndexSnapshotCache();
         trackerClient.searchAndPerform(ticket -> {
             long overallStart = System.currentTimeMillis();
             logger.info("Processing ticket: {}", ticket.getKey());
@@ -480,12 +482,17 @@ public class Teammate extends AbstractJob<Teammate.TeammateParams, List<ResultIt
             if (indexes != null) {
                 for (IndexConfig indexConfig : indexes) {
                     try {
-                        List<ToText> indexData = executeIndexTool(indexConfig);
+                        if (indexConfig == null) {
+                            continue;
+                        }
+                        IndexSnapshotCache.Snapshot indexSnapshot = indexCache.get(indexConfig.getIntegration(),
+                                indexConfig.getStoragePath(), () -> executeIndexTool(indexConfig));
+                        List<ToText> indexData = indexSnapshot.getData();
                         if (indexData != null && !indexData.isEmpty()) {
                             String indexName = indexConfig.getIntegration() != null ? indexConfig.getIntegration() : "index";
                             if (expertParams.isSkipAIProcessing()) {
                                 // Add to knownInfo as text and save as file
-                                String indexText = ToText.Utils.toText(indexData);
+                                String indexText = indexSnapshot.getText();
                                 inputParams.setKnownInfo(inputParams.getKnownInfo() + "\n\nIndex Data (" + indexName + "):\n" + indexText);
                                 attachResponse(this, "_index_" + indexName + ".txt", indexText, ticket.getKey(), "text/plain");
                                 logger.info("Saved index data from {} as attachment for ticket {}", indexName, ticket.getKey());
@@ -495,7 +502,7 @@ public class Teammate extends AbstractJob<Teammate.TeammateParams, List<ResultIt
                                 logger.info("Index chunking for {}: story tokens={}, system limit={}, chunk limit={}",
                                     indexName, systemTokenLimits, systemTokenLimits, tokenLimit);
                                 
-                                List<ChunkPreparation.Chunk> chunks = contextChunkPreparation.prepareChunks(indexData, tokenLimit);
+                                List<ChunkPreparation.Chunk> chunks = indexSnapshot.getChunks(tokenLimit, contextChunkPreparation);
                                 indexChunks.addAll(chunks);
                                 logger.info("Prepared {} chunks from index {} for ticket {}", chunks.size(), indexName, ticket.getKey());
                             }
@@ -148,4 +148,18 @@ class AITest {
         assertNotNull(result);
         assertEquals("test", result.getString("name"));
     }
+
+    @Test
+    void testChatStream_DefaultDeliversWholeResponseAsOneDelta() throws Exception {
+        AI mockAI = mock(AI.class);
+        Message message = new Message("user", "Hello", null);
+        when(mockAI.chat(eq("model-1"), any(Message[].class))).thenReturn("Full response");
+        when(mockAI.chatStream(anyString(), any(AIStreamHandler.class), any(Message[].class))).thenCallRealMethod();
+
+        List<String> deltas = new java.util.ArrayList<>();
+        String result = mockAI.chatStream("model-1", deltas::add, message);
+
+        assertEquals("Full response", result);
+        assertEquals(List.of("Full response"), deltas);
+    }
 }
@@ -137,4 +137,77 @@ class ChunkPreparationTest {
         int tokenLimit = chunkPreparation.getTokenLimit();
         assertTrue(tokenLimit > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPrepareChunks_SplitsLargeTextWithinLimit() throws Exception {
+        Claude35TokenCounter tokenCounter = new Claude35TokenCounter();
+        ChunkPreparation cp = new ChunkPreparation(tokenCounter);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("{\"key\": \"DMC-").append(i).append("\", \"summary\": \"Some Ticket summary\"},\n");
+        }
+
+        List<ChunkPreparation.Chunk> result = cp.prepareChunks(List.of(text.toString()), 1000);
+
+        assertTrue(result.size() > 1);
+        StringBuilder joined = new StringBuilder();
+        for (ChunkPreparation.Chunk chunk : result) {
+            assertTrue(tokenCounter.countTokens(chunk.getText()) <= 1000);
+            joined.append(chunk.getText());
+        }
+        assertEquals(text.toString(), joined.toString());
+        // Parts end at natural breaks
+        String firstPart = result.get(0).getText();
+        assertTrue(firstPart.endsWith(",") || firstPart.endsWith("}") || firstPart.endsWith("\n"));
+    }
+
+    @Test
+    void testPrepareChunks_SplitsLargeTextInLinearTime() throws Exception {
+        Claude35TokenCounter claudeCounter = new Claude35TokenCounter();
+        long[] countedChars = {0};
+        long[] charTokenCalls = {0};
+        TokenCounter countingCounter = new TokenCounter() {
+            @Override
+            public int countTokens(String text) {
+                countedChars[0] += text.length();
+                return claudeCounter.countTokens(text);
+            }
+
+            @Override
+            public int baseTokens() {
+                return claudeCounter.baseTokens();
+            }
+
+            @Override
+            public int charTokens(char previous, char c) {
+                charTokenCalls[0]++;
+                return claudeCounter.charTokens(previous, c);
+            }
+        };
+        ChunkPreparation cp = new ChunkPreparation(countingCounter);
+        String text = "Confluence export line with Some words, numbers 12345 and/or symbols-like_this.\n".repeat(5_000);
+
+        List<ChunkPreparation.Chunk> result = cp.prepareChunks(List.of(text), 4000);
+
+        assertTrue(result.size() > 10);
+        // Every char is counted a bounded number of times, however many parts the text is cut into
+        assertTrue(charTokenCalls[0] <= 2L * text.length() + 2, "charTokens calls: " + charTokenCalls[0]);
+        assertTrue(countedChars[0] <= 2L * text.length(), "chars counted by countTokens: " + countedChars[0]);
+    }
+
+    @Test
+    void testPrepareChunks_SplitsWithCounterThatCannotCountByChar() throws Exception {
+        TokenCounter wordCounter = text -> text.split("\\s+").length;
+        ChunkPreparation cp = new ChunkPreparation(wordCounter);
+        String text = "word ".repeat(100);
+
+        List<ChunkPreparation.Chunk> result = cp.prepareChunks(List.of(text), 10);
+
+        assertTrue(result.size() >= 10);
+        StringBuilder joined = new StringBuilder();
+        for (ChunkPreparation.Chunk chunk : result) {
+            joined.append(chunk.getText());
+        }
+        assertEquals(text, joined.toString());
+    }
+}
@@ -137,4 +137,35 @@ class Claude35TokenCounterTest {
         assertTrue(result > 8);
         // All uppercase should add extra tokens
     }
+
+    @Test
+    void testCountTokens_ExactCount() {
+        // base 8 + 2 words + 1 space
+        assertEquals(11, tokenCounter.countTokens("hello world"));
+        // base 8 + 1 word + 1 uppercase + 2 quotes + 1 colon + 2 braces
+        assertEquals(15, tokenCounter.countTokens("{\"Key\":1}"));
+    }
+
+    @Test
+    void testCountTokens_RangeMatchesSubstring() {
+        String text = "The {\"summary\": \"Fix login-page_redirect.js\"} for /api/v2";
+        for (int start = 0; start < text.length(); start += 7) {
+            for (int end = start; end <= text.length(); end += 5) {
+                assertEquals(tokenCounter.countTokens(text.substring(start, end)),
+                        tokenCounter.countTokens(text, start, end));
+            }
+        }
+    }
+
+    @Test
+    void testCharTokens_SumToCount() {
+        String text = "camelCase words/with-special_chars.and {\"json\":\"values\"}";
+        int total = tokenCounter.baseTokens();
+        char previous = 0;
+        for (char c : text.toCharArray()) {
+            total += tokenCounter.charTokens(previous, c);
+            previous = c;
+        }
+        assertEquals(tokenCounter.countTokens(text), total);
+    }
 }
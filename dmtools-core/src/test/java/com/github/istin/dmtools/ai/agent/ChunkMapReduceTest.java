@@ -0,0 +1,118 @@
+package com.github.istin.dmtools.ai.agent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkMapReduceTest {
+
+    @Test
+    void testResultsKeepOrderOfItems() throws Exception {
+        ChunkMapReduce mapReduce = new ChunkMapReduce(4);
+        List<Integer> items = List.of(5, 1, 4, 2, 3);
+
+        List<String> results = mapReduce.map(items, 0, (item, index) -> {
+            Thread.sleep(item * 10L);
+            return index + ":" + item;
+        });
+
+        assertEquals(List.of("0:5", "1:1", "2:4", "3:2", "4:3"), results);
+    }
+
+    @Test
+    void testConcurrencyLimit() throws Exception {
+        ChunkMapReduce mapReduce = new ChunkMapReduce(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            items.add(i);
+        }
+
+        List<Integer> results = mapReduce.map(items, 0, (item, index) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return item;
+        });
+
+        assertEquals(items, results);
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    void testDeadlineCancelsRunningCalls() throws Exception {
+        ChunkMapReduce mapReduce = new ChunkMapReduce(4);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+
+        long start = System.nanoTime();
+        List<String> results = mapReduce.map(List.of("fast", "slow"), 200, (item, index) -> {
+            if (item.equals("slow")) {
+                try {
+                    Thread.sleep(10_000);
+                    finished.set(true);
+                } catch (InterruptedException e) {
+                    cancelled.countDown();
+                    throw e;
+                }
+            }
+            return item;
+        });
+
+        assertEquals(List.of("fast"), results);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        assertFalse(finished.get());
+    }
+
+    @Test
+    void testCallExceptionIsRethrown() {
+        ChunkMapReduce mapReduce = new ChunkMapReduce(2);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> mapReduce.map(List.of(1, 2), 0, (item, index) -> {
+                    if (item == 2) {
+                        throw new IllegalStateException("failed " + item);
+                    }
+                    return item;
+                }));
+        assertEquals("failed 2", exception.getMessage());
+    }
+
+    @Test
+    void testNestedMapReusesPermit() throws Exception {
+        ChunkMapReduce mapReduce = new ChunkMapReduce(1);
+
+        List<List<Integer>> results = mapReduce.map(List.of(1, 2), 0,
+                (item, index) -> mapReduce.map(List.of(item, item * 10), 0, (nested, nestedIndex) -> nested));
+
+        assertEquals(List.of(List.of(1, 10), List.of(2, 20)), results);
+    }
+
+    @Test
+    void testTreeReduceUntilPartialsFitLimit() throws Exception {
+        ChunkMapReduce mapReduce = new ChunkMapReduce(4);
+        List<String> partials = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            partials.add("p" + i);
+        }
+        AtomicInteger reduceCalls = new AtomicInteger();
+
+        // Every partial is 9 tokens, so a limit of 30 groups them by 3: 10 -> 4 -> 2 partials
+        List<String> reduced = mapReduce.treeReduce(partials, 30, (group, index) -> {
+            reduceCalls.incrementAndGet();
+            return "r" + index;
+        });
+
+        assertEquals(List.of("r0", "r1"), reduced);
+        assertEquals(6, reduceCalls.get());
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.istin.dmtools.ai.stream;
+
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Source;
+import okio.Timeout;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIStreamsTest {
+
+    private static final String EXPECTED = "Hello, wörld 🚀!";
+
+    @Test
+    void testOpenAIStream() throws IOException {
+        List<String> deltas = new ArrayList<>();
+        String text = AIStreams.readSse(fixture("openai.sse"), StreamFormats.OPENAI, deltas::add);
+
+        assertEquals(EXPECTED, text);
+        assertEquals(List.of("Hello", ", ", "wörld", " 🚀", "!"), deltas);
+    }
+
+    @Test
+    void testAnthropicStream() throws IOException {
+        List<String> deltas = new ArrayList<>();
+        String text = AIStreams.readSse(fixture("anthropic.sse"), StreamFormats.ANTHROPIC, deltas::add);
+
+        assertEquals(EXPECTED, text);
+        assertEquals(5, deltas.size());
+    }
+
+    @Test
+    void testGeminiStream() throws IOException {
+        List<String> deltas = new ArrayList<>();
+        String text = AIStreams.readSse(fixture("gemini.sse"), StreamFormats.GEMINI, deltas::add);
+
+        assertEquals(EXPECTED, text);
+        assertEquals(List.of("Hello, ", "wörld", " 🚀!"), deltas);
+    }
+
+    @Test
+    void testBedrockEventStream() throws IOException {
+        List<String> deltas = new ArrayList<>();
+        String text = AIStreams.readEventStream(fixture("bedrock.eventstream"), StreamFormats.BEDROCK, deltas::add);
+
+        assertEquals(EXPECTED, text);
+        assertEquals(5, deltas.size());
+    }
+
+    @Test
+    void testMultibyteCharactersSplitBetweenReads() throws IOException {
+        assertEquals(EXPECTED, AIStreams.readSse(byteByByte("openai.sse"), StreamFormats.OPENAI, delta -> true));
+        assertEquals(EXPECTED, AIStreams.readEventStream(byteByByte("bedrock.eventstream"), StreamFormats.BEDROCK, delta -> true));
+    }
+
+    @Test
+    void testHandlerStopsStream() throws IOException {
+        List<String> deltas = new ArrayList<>();
+        String text = AIStreams.readSse(fixture("openai.sse"), StreamFormats.OPENAI, delta -> {
+            deltas.add(delta);
+            return deltas.size() < 2;
+        });
+
+        assertEquals("Hello, ", text);
+        assertEquals(2, deltas.size());
+    }
+
+    @Test
+    void testErrorEventThrows() {
+        Buffer source = new Buffer().writeUtf8("event: content_block_delta\n"
+                + "data: {\"type\":\"content_block_delta\",\"delta\":{\"text\":\"Hi\"}}\n\n"
+                + "event: error\n"
+                + "data: {\"type\":\"error\",\"error\":{\"type\":\"overloaded_error\",\"message\":\"Overloaded\"}}\n\n");
+
+        IOException exception = assertThrows(IOException.class,
+                () -> AIStreams.readSse(source, StreamFormats.ANTHROPIC, delta -> true));
+        assertTrue(exception.getMessage().contains("Overloaded"));
+    }
+
+    @Test
+    void testCorruptedEventStreamThrows() throws IOException {
+        byte[] bytes = fixture("bedrock.eventstream").readByteArray();
+        bytes[20] ^= 1;
+
+        assertThrows(IOException.class,
+                () -> AIStreams.readEventStream(new Buffer().write(bytes), StreamFormats.BEDROCK, delta -> true));
+    }
+
+    @Test
+    void testMultiLineSseData() throws IOException {
+        SseReader reader = new SseReader(new Buffer().writeUtf8("event: update\ndata: first\ndata: second\n\ndata: last"));
+
+        SseReader.Event event = reader.next();
+        assertEquals("update", event.getName());
+        assertEquals("first\nsecond", event.getData());
+
+        SseReader.Event last = reader.next();
+        assertNull(last.getName());
+        assertEquals("last", last.getData());
+        assertNull(reader.next());
+    }
+
+    private Buffer fixture(String name) throws IOException {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("ai/stream/" + name)) {
+            assertNotNull(inputStream, name);
+            return new Buffer().write(inputStream.readAllBytes());
+        }
+    }
+
+    private BufferedSource byteByByte(String name) throws IOException {
+        Buffer data = fixture(name);
+        return Okio.buffer(new Source() {
+            @Override
+            public long read(Buffer sink, long byteCount) {
+                if (data.exhausted()) {
+                    return -1;
+                }
+                sink.writeByte(data.readByte());
+                return 1;
+            }
+
+            @Override
+            public Timeout timeout() {
+                return Timeout.NONE;
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.istin.dmtools.atlassian.jira.xray;
+
+import com.github.istin.dmtools.atlassian.jira.model.Ticket;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PageEnrichmentPipelineTest {
+
+    @Test
+    public void testTicketsArePerformedEnrichedAndInSearchOrder() throws Exception {
+        List<String> performed = new ArrayList<>();
+        List<Integer> pageSizes = Collections.synchronizedList(new ArrayList<>());
+
+        try (PageEnrichmentPipeline pipeline = new PageEnrichmentPipeline(ticket -> {
+            assertTrue(ticket.getJSONObject().optBoolean("enriched"));
+            performed.add(ticket.getKey());
+            return false;
+        }, page -> {
+            pageSizes.add(page.size());
+            Thread.sleep(10);
+            page.forEach(ticket -> ticket.getJSONObject().put("enriched", true));
+        }, 3, 2)) {
+            for (int i = 1; i <= 7; i++) {
+                assertFalse(pipeline.perform(ticket(i)));
+            }
+            pipeline.finish();
+            assertEquals(7, pipeline.getPerformed());
+        }
+
+        assertEquals(List.of("TP-1", "TP-2", "TP-3", "TP-4", "TP-5", "TP-6", "TP-7"), performed);
+        assertEquals(7, pageSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testBufferedPagesAreLimitedByWindow() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger performed = new AtomicInteger();
+
+        try (PageEnrichmentPipeline pipeline = new PageEnrichmentPipeline(ticket -> {
+            performed.incrementAndGet();
+            return false;
+        }, page -> {
+            started.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+        }, 1, 2)) {
+            pipeline.perform(ticket(1));
+            pipeline.perform(ticket(2));
+            assertEquals(0, performed.get());
+
+            // The third page exceeds the window, the search waits for the first one
+            Thread releaser = Thread.ofVirtual().start(() -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release.countDown();
+            });
+            pipeline.perform(ticket(3));
+            assertTrue(performed.get() >= 1);
+            assertTrue(started.get() >= 2);
+            releaser.join();
+            pipeline.finish();
+        }
+        assertEquals(3, performed.get());
+    }
+
+    @Test
+    public void testBreakStopsSearchAndSkipsRemainingPages() throws Exception {
+        List<String> performed = new ArrayList<>();
+
+        try (PageEnrichmentPipeline pipeline = new PageEnrichmentPipeline(ticket -> {
+            performed.add(ticket.getKey());
+            return "TP-3".equals(ticket.getKey());
+        }, page -> Thread.sleep(10), 2, 1)) {
+            boolean isBreak = false;
+            int number = 1;
+            while (!isBreak && number <= 6) {
+                isBreak = pipeline.perform(ticket(number++));
+            }
+            pipeline.finish();
+            // The search is stopped once the performer breaks
+            assertTrue(pipeline.perform(ticket(7)));
+        }
+
+        assertEquals(List.of("TP-1", "TP-2", "TP-3"), performed);
+    }
+
+    @Test
+    public void testFailedEnrichmentPassesTicketsOn() throws Exception {
+        List<String> performed = new ArrayList<>();
+
+        try (PageEnrichmentPipeline pipeline = new PageEnrichmentPipeline(ticket -> {
+            performed.add(ticket.getKey());
+            return false;
+        }, page -> {
+            throw new IllegalStateException("X-ray is not available");
+        }, 2, 2)) {
+            pipeline.perform(ticket(1));
+            pipeline.perform(ticket(2));
+            pipeline.perform(ticket(3));
+            pipeline.finish();
+        }
+
+        assertEquals(List.of("TP-1", "TP-2", "TP-3"), performed);
+    }
+
+    private static Ticket ticket(int number) {
+        return new Ticket(new JSONObject().put("key", "TP-" + number));
+    }
+}
@@ -3,7 +3,9 @@ package com.github.istin.dmtools.common.kb.utils;
 import com.github.istin.dmtools.common.kb.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -254,5 +256,45 @@ class KBIdMapperTest {
         assertEquals("q_0006", result.getAnswers().get(0).getAnswersQuestion());
         assertEquals("q_0007", result.getAnswers().get(1).getAnswersQuestion());
     }
-}
 
+    @Test
+    void testSharedMapperAllocatesDistinctBlocksUntilReleased(@TempDir Path tempDir) {
+        KBIdMapper shared = KBIdMapper.forPath(tempDir);
+        KBContext context = new KBContext();
+        context.setMaxQuestionId(0);
+        context.setMaxAnswerId(0);
+        context.setMaxNoteId(0);
+        
+        // Two builds loaded the same context, their IDs must not collide
+        AnalysisResult first = resultWithQuestions("q_1", "q_2");
+        AnalysisResult second = resultWithQuestions("q_1");
+        shared.mapAndUpdateIds(first, context);
+        shared.mapAndUpdateIds(second, context);
+        
+        assertEquals("q_0001", first.getQuestions().get(0).getId());
+        assertEquals("q_0002", first.getQuestions().get(1).getId());
+        assertEquals("q_0003", second.getQuestions().get(0).getId());
+        
+        // Nothing was written, so once both builds are done IDs are allocated from disk again
+        shared.release();
+        shared.release();
+        AnalysisResult third = resultWithQuestions("q_1");
+        shared.mapAndUpdateIds(third, context);
+        shared.release();
+        
+        assertEquals("q_0001", third.getQuestions().get(0).getId());
+    }
+    
+    private AnalysisResult resultWithQuestions(String... ids) {
+        AnalysisResult result = new AnalysisResult();
+        result.setQuestions(new ArrayList<>());
+        result.setAnswers(new ArrayList<>());
+        result.setNotes(new ArrayList<>());
+        for (String id : ids) {
+            Question question = new Question();
+            question.setId(id);
+            result.getQuestions().add(question);
+        }
+        return result;
+    }
+}
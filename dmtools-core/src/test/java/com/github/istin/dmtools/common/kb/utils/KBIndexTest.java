@@ -0,0 +1,143 @@
+package com.github.istin.dmtools.common.kb.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KBIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testIndexesFrontMatterAndLinks() throws IOException {
+        writeQuestion("q_0001", "Alice", "What is Docker?", true);
+        writeQuestion("q_0012", "Bob", "What is Kubernetes?", false);
+
+        KBIndex index = new KBIndex(tempDir, new KBFileParser());
+        List<KBIndex.Entry> entries = index.getEntries(KBIndex.QUESTIONS);
+
+        assertEquals(2, entries.size());
+        KBIndex.Entry first = entries.get(0);
+        assertEquals("q_0001", first.getId());
+        assertEquals("Alice", first.getAuthor());
+        assertEquals("devops", first.getArea());
+        assertEquals("2024-10-10", first.getDate());
+        assertEquals(List.of("docker", "containers"), first.getTopics());
+        assertEquals("What is Docker?", first.getQuestionText());
+        assertEquals("a_0001", first.getAnsweredBy());
+        assertTrue(first.isAnswered());
+        assertFalse(entries.get(1).isAnswered());
+        assertEquals(12, index.getMaxId(KBIndex.QUESTIONS, "q_"));
+        assertEquals(0, index.getMaxId(KBIndex.NOTES, "n_"));
+    }
+
+    @Test
+    void testParsesOnlyChangedFiles() throws IOException {
+        writeQuestion("q_0001", "Alice", "What is Docker?", false);
+        Path second = writeQuestion("q_0002", "Bob", "What is Kubernetes?", false);
+        CountingParser parser = new CountingParser();
+        KBIndex index = new KBIndex(tempDir, parser);
+
+        index.getEntries(KBIndex.QUESTIONS);
+        assertEquals(2, parser.parsed.get());
+
+        index.getEntries(KBIndex.QUESTIONS);
+        assertEquals(2, parser.parsed.get());
+
+        writeQuestion("q_0002", "Carol", "What is Kubernetes?", false);
+        Files.setLastModifiedTime(second, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        List<KBIndex.Entry> entries = index.getEntries(KBIndex.QUESTIONS);
+        assertEquals(3, parser.parsed.get());
+        assertEquals("Carol", entries.get(1).getAuthor());
+
+        Files.delete(second);
+        assertEquals(1, index.getEntries(KBIndex.QUESTIONS).size());
+        assertEquals(3, parser.parsed.get());
+    }
+
+    @Test
+    void testIndexIsLoadedFromDisk() throws IOException {
+        writeQuestion("q_0001", "Alice", "What is Docker?", false);
+        new KBIndex(tempDir, new KBFileParser()).getEntries(KBIndex.QUESTIONS);
+        assertTrue(Files.exists(tempDir.resolve("inbox").resolve("kb_index.json")));
+
+        CountingParser parser = new CountingParser();
+        List<KBIndex.Entry> entries = new KBIndex(tempDir, parser).getEntries(KBIndex.QUESTIONS);
+
+        assertEquals(0, parser.parsed.get());
+        assertEquals("Alice", entries.get(0).getAuthor());
+    }
+
+    @Test
+    void testUpdateReindexesWrittenFile() throws IOException {
+        CountingParser parser = new CountingParser();
+        KBIndex index = new KBIndex(tempDir, parser);
+        assertTrue(index.getEntries(KBIndex.QUESTIONS).isEmpty());
+
+        Path question = writeQuestion("q_0001", "Alice", "What is Docker?", false);
+        index.update(question);
+        assertEquals(1, parser.parsed.get());
+
+        List<KBIndex.Entry> entries = index.getEntries(KBIndex.QUESTIONS);
+        assertEquals(1, entries.size());
+        assertEquals(1, parser.parsed.get());
+    }
+
+    @Test
+    void testRebuildParsesAllFiles() throws IOException {
+        writeQuestion("q_0001", "Alice", "What is Docker?", false);
+        CountingParser parser = new CountingParser();
+        KBIndex index = new KBIndex(tempDir, parser);
+        index.getEntries(KBIndex.QUESTIONS);
+
+        index.rebuild();
+
+        assertEquals(2, parser.parsed.get());
+        assertEquals(1, index.getEntries(KBIndex.QUESTIONS).size());
+    }
+
+    private Path writeQuestion(String id, String author, String text, boolean answered) throws IOException {
+        Path questionsDir = tempDir.resolve(KBIndex.QUESTIONS);
+        Files.createDirectories(questionsDir);
+        String content = """
+                ---
+                id: "%s"
+                author: "%s"
+                date: "2024-10-10T10:00:00Z"
+                area: "devops"
+                topics: ["docker", "containers"]
+                answered: %s
+                ---
+
+                # Question: %s
+
+                %s
+
+                **Asked by:** [[../../people/%s/%s|%s]]
+
+                **Answer:** [[../../answers/a_0001|a_0001]]
+                """.formatted(id, author, answered, id, text, author, author, author);
+        Path file = questionsDir.resolve(id + ".md");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static class CountingParser extends KBFileParser {
+        final AtomicInteger parsed = new AtomicInteger();
+
+        @Override
+        public String extractAuthor(String content) {
+            parsed.incrementAndGet();
+            return super.extractAuthor(content);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.github.istin.dmtools.common.model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JSONModelViewsTest {
+
+    public static class Issue extends JSONModel {
+        public Issue() {
+        }
+
+        public Issue(JSONObject json) {
+            super(json);
+        }
+
+        public IssueFields getFields() {
+            return getModel(IssueFields.class, "fields");
+        }
+    }
+
+    public static class IssueFields extends JSONModel {
+        public Named getStatus() {
+            return getModel(Named.class, "status");
+        }
+
+        public List<Named> getFixVersions() {
+            return getModels(Named.class, "fixVersions");
+        }
+    }
+
+    public static class Named extends JSONModel {
+        public String getName() {
+            return getString("name");
+        }
+    }
+
+    public static abstract class AbstractModel extends JSONModel {
+    }
+
+    @Test
+    public void testGetModelReturnsSameViewForSameJSONObject() {
+        Issue issue = new Issue(issueJSON(1));
+
+        IssueFields fields = issue.getFields();
+
+        assertSame(fields, issue.getFields());
+        assertSame(fields.getStatus(), issue.getFields().getStatus());
+        assertSame(issue.getJSONObject().getJSONObject("fields"), fields.getJSONObject());
+    }
+
+    @Test
+    public void testSetInvalidatesView() {
+        Issue issue = new Issue(issueJSON(1));
+        IssueFields fields = issue.getFields();
+
+        issue.set("fields", new JSONObject().put("status", new JSONObject().put("name", "Done")));
+
+        assertNotSame(fields, issue.getFields());
+        assertEquals("Done", issue.getFields().getStatus().getName());
+    }
+
+    @Test
+    public void testViewIsRecreatedWhenJSONIsReplacedDirectly() {
+        Issue issue = new Issue(issueJSON(1));
+        IssueFields fields = issue.getFields();
+
+        issue.getJSONObject().put("fields", new JSONObject());
+
+        assertNotSame(fields, issue.getFields());
+        assertNull(issue.getFields().getStatus());
+    }
+
+    @Test
+    public void testGetModelWithAnotherClassCreatesAnotherView() {
+        Issue issue = new Issue(issueJSON(1));
+
+        IssueFields fields = issue.getFields();
+        Named named = issue.getModel(Named.class, "fields");
+
+        assertNotSame(fields, named);
+        assertSame(fields.getJSONObject(), named.getJSONObject());
+        assertSame(issue.getFields(), issue.getFields());
+    }
+
+    @Test
+    public void testGetModelsReusesModelsOfUnchangedItems() {
+        IssueFields fields = new Issue(issueJSON(1)).getFields();
+        List<Named> fixVersions = fields.getFixVersions();
+
+        fields.getJSONObject().getJSONArray("fixVersions").put(new JSONObject().put("name", "3.0"));
+        List<Named> updated = fields.getFixVersions();
+
+        assertNotSame(fixVersions, updated);
+        assertEquals(3, updated.size());
+        assertSame(fixVersions.get(0), updated.get(0));
+        assertSame(fixVersions.get(1), updated.get(1));
+        assertEquals("3.0", updated.get(2).getName());
+    }
+
+    @Test
+    public void testSetJOClearsViews() {
+        Issue issue = new Issue(issueJSON(1));
+        IssueFields fields = issue.getFields();
+
+        issue.setJO(issueJSON(2));
+
+        assertNotSame(fields, issue.getFields());
+        assertEquals("Status 2", issue.getFields().getStatus().getName());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAbstractModelCantBeCreated() {
+        new Issue(issueJSON(1)).getModel(AbstractModel.class, "fields");
+    }
+
+    @Test
+    public void testAllocationsOnSearchResult() throws Exception {
+        JSONArray issues = new JSONArray();
+        for (int i = 0; i < 10_000; i++) {
+            issues.put(issueJSON(i));
+        }
+        List<Issue> tickets = JSONModel.convertToModels(Issue.class, issues);
+        // Typical report access: several fields of every ticket, each going through getFields()
+        int reads = 5;
+
+        // Warm up
+        for (int i = 0; i < 3; i++) {
+            readWithNewInstances(tickets, reads);
+            readWithViews(tickets, reads);
+        }
+        for (Issue ticket : tickets) {
+            ticket.setJO(ticket.getJSONObject());
+        }
+
+        long legacyBytes = allocatedBytes(() -> readWithNewInstances(tickets, reads));
+        long firstPassBytes = allocatedBytes(() -> readWithViews(tickets, reads));
+        long nextPassBytes = allocatedBytes(() -> readWithViews(tickets, reads));
+
+        System.out.println("Allocations on 10k tickets (" + reads + " reads of fields and status per ticket):");
+        System.out.println("newInstance per call: " + legacyBytes / 1024 + " KB");
+        System.out.println("Views, first pass:    " + firstPassBytes / 1024 + " KB");
+        System.out.println("Views, next pass:     " + nextPassBytes / 1024 + " KB");
+
+        if (legacyBytes > 0) {
+            assertTrue(firstPassBytes < legacyBytes);
+            assertTrue(nextPassBytes < firstPassBytes);
+        }
+    }
+
+    private static int readWithNewInstances(List<Issue> tickets, int reads) {
+        int length = 0;
+        try {
+            for (Issue ticket : tickets) {
+                for (int i = 0; i < reads; i++) {
+                    IssueFields fields = IssueFields.class.getDeclaredConstructor().newInstance();
+                    fields.setJO(ticket.getJSONObject().getJSONObject("fields"));
+                    Named status = Named.class.getDeclaredConstructor().newInstance();
+                    status.setJO(fields.getJSONObject().getJSONObject("status"));
+                    length += status.getName().length();
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return length;
+    }
+
+    private static int readWithViews(List<Issue> tickets, int reads) {
+        int length = 0;
+        for (Issue ticket : tickets) {
+            for (int i = 0; i < reads; i++) {
+                length += ticket.getFields().getStatus().getName().length();
+            }
+        }
+        return length;
+    }
+
+    private static long allocatedBytes(Runnable runnable) {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            runnable.run();
+            return 0;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threadMXBean;
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        runnable.run();
+        return allocations.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static JSONObject issueJSON(int index) {
+        return new JSONObject()
+                .put("key", "DMC-" + index)
+                .put("fields", new JSONObject()
+                        .put("summary", "Ticket " + index)
+                        .put("status", new JSONObject().put("name", "Status " + index))
+                        .put("fixVersions", new JSONArray()
+                                .put(new JSONObject().put("name", "1.0"))
+                                .put(new JSONObject().put("name", "2.0"))));
+    }
+}
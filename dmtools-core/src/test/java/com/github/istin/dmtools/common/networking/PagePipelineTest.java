@@ -0,0 +1,137 @@
+package com.github.istin.dmtools.common.networking;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagePipelineTest {
+
+    @Test
+    void testSequentialFetchesLazilyOnCallerThread() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+        try (PagePipeline<Integer> pages = PagePipeline.chained(0, previous -> {
+            assertSame(caller, Thread.currentThread());
+            fetches.incrementAndGet();
+            return previous < 3 ? previous + 1 : null;
+        }, 0, "test")) {
+            assertEquals(Integer.valueOf(0), pages.next());
+            assertEquals(0, fetches.get());
+            assertEquals(Integer.valueOf(1), pages.next());
+            assertEquals(Integer.valueOf(2), pages.next());
+            assertEquals(Integer.valueOf(3), pages.next());
+            assertNull(pages.next());
+        }
+    }
+
+    @Test
+    void testChainedReturnsPagesInOrder() throws Exception {
+        List<Integer> result = new ArrayList<>();
+        try (PagePipeline<Integer> pages = PagePipeline.chained(0, previous -> previous < 9 ? previous + 1 : null, 2, "test")) {
+            Integer page;
+            while ((page = pages.next()) != null) {
+                result.add(page);
+            }
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), result);
+    }
+
+    @Test
+    void testChainedPrefetchesWhileConsumerWorks() throws Exception {
+        CountDownLatch secondPageFetched = new CountDownLatch(1);
+        try (PagePipeline<Integer> pages = PagePipeline.chained(0, previous -> {
+            if (previous == 0) {
+                secondPageFetched.countDown();
+                return 1;
+            }
+            return null;
+        }, 1, "test")) {
+            assertEquals(Integer.valueOf(0), pages.next());
+            // the second page is requested before the consumer asks for it
+            assertTrue(secondPageFetched.await(5, TimeUnit.SECONDS));
+            assertEquals(Integer.valueOf(1), pages.next());
+            assertNull(pages.next());
+        }
+    }
+
+    @Test
+    void testChainedLookAheadIsBounded() throws Exception {
+        AtomicInteger fetched = new AtomicInteger();
+        try (PagePipeline<Integer> pages = PagePipeline.chained(0, previous -> {
+            fetched.incrementAndGet();
+            return previous + 1;
+        }, 2, "test")) {
+            assertEquals(Integer.valueOf(0), pages.next());
+            Thread.sleep(200);
+            // 2 pages queued + 1 page waiting to be queued
+            assertTrue(fetched.get() <= 3, "fetched " + fetched.get());
+        }
+    }
+
+    @Test
+    void testChainedPropagatesFetchError() throws Exception {
+        try (PagePipeline<Integer> pages = PagePipeline.chained(0, previous -> {
+            throw new IOException("boom");
+        }, 1, "test")) {
+            assertEquals(Integer.valueOf(0), pages.next());
+            IOException exception = assertThrows(IOException.class, pages::next);
+            assertEquals("boom", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testChainedCloseStopsFetching() throws Exception {
+        AtomicInteger fetched = new AtomicInteger();
+        PagePipeline<Integer> pages = PagePipeline.chained(0, previous -> {
+            fetched.incrementAndGet();
+            return previous + 1;
+        }, 1, "test");
+        assertEquals(Integer.valueOf(0), pages.next());
+        pages.close();
+        Thread.sleep(100);
+        int afterClose = fetched.get();
+        Thread.sleep(100);
+        assertEquals(afterClose, fetched.get());
+        assertNull(pages.next());
+    }
+
+    @Test
+    void testWindowedReturnsPagesInOrderAndRunsInParallel() throws Exception {
+        ConcurrentHashMap<String, Boolean> threads = new ConcurrentHashMap<>();
+        List<Integer> result = new ArrayList<>();
+        try (PagePipeline<Integer> pages = PagePipeline.windowed(8, pageIndex -> {
+            threads.put(Thread.currentThread().getName(), true);
+            // later pages finish first
+            Thread.sleep((8 - pageIndex) * 10L);
+            return pageIndex;
+        }, 4, "test")) {
+            Integer page;
+            while ((page = pages.next()) != null) {
+                result.add(page);
+            }
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), result);
+        assertTrue(threads.size() > 1);
+    }
+
+    @Test
+    void testWindowedCloseCancelsOutstandingFetches() throws Exception {
+        AtomicInteger started = new AtomicInteger();
+        PagePipeline<Integer> pages = PagePipeline.windowed(100, pageIndex -> {
+            started.incrementAndGet();
+            return pageIndex;
+        }, 2, "test");
+        assertEquals(Integer.valueOf(0), pages.next());
+        pages.close();
+        assertNull(pages.next());
+        assertTrue(started.get() <= 3, "started " + started.get());
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.istin.dmtools.common.tracker;
+
+import com.github.istin.dmtools.common.model.IChangelog;
+import com.github.istin.dmtools.common.model.IHistory;
+import com.github.istin.dmtools.common.model.IHistoryItem;
+import com.github.istin.dmtools.common.model.ITicket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChangelogStoreTest {
+
+    private TrackerClient<ITicket> trackerClient;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        trackerClient = mock(TrackerClient.class);
+        when(trackerClient.getChangeLog(anyString(), any())).thenAnswer(invocation -> changelog());
+        when(trackerClient.getChangeLogs(anyList())).thenAnswer(invocation -> {
+            List<ITicket> tickets = invocation.getArgument(0);
+            Map<String, IChangelog> result = new HashMap<>();
+            for (ITicket ticket : tickets) {
+                result.put(ticket.getKey(), changelog());
+            }
+            return result;
+        });
+    }
+
+    @Test
+    void testWithoutOpenStoreDelegatesToTracker() throws IOException {
+        ChangelogStore.getChangeLog(trackerClient, "PRJ-1", null);
+        ChangelogStore.getChangeLog(trackerClient, "PRJ-1", null);
+
+        verify(trackerClient, times(2)).getChangeLog("PRJ-1", null);
+        assertNull(ChangelogStore.current());
+    }
+
+    @Test
+    void testOpenStoreFetchesEachTicketOnce() throws IOException {
+        ChangelogStore store = new ChangelogStore();
+        try (ChangelogStore.Scope ignored = store.open()) {
+            assertSame(store, ChangelogStore.current());
+            IChangelog first = ChangelogStore.getChangeLog(trackerClient, "PRJ-1", null);
+            IChangelog second = ChangelogStore.getChangeLog(trackerClient, "PRJ-1", null);
+            assertSame(first, second);
+        }
+
+        verify(trackerClient, times(1)).getChangeLog("PRJ-1", null);
+        assertEquals(1, store.getHits());
+        assertNull(ChangelogStore.current());
+    }
+
+    @Test
+    void testPrefetcherBulkLoadsBatches() throws Exception {
+        ChangelogStore store = new ChangelogStore();
+        List<String> processed = new ArrayList<>();
+        ChangelogStore.Prefetcher<ITicket> prefetcher = store.prefetcher(trackerClient, 2, ticket -> {
+            ChangelogStore.getChangeLog(trackerClient, ticket.getKey(), ticket);
+            processed.add(ticket.getKey());
+            return false;
+        });
+
+        for (ITicket ticket : tickets(5)) {
+            assertFalse(prefetcher.perform(ticket));
+        }
+        assertEquals(4, processed.size());
+        assertFalse(prefetcher.flush());
+
+        assertEquals(List.of("PRJ-0", "PRJ-1", "PRJ-2", "PRJ-3", "PRJ-4"), processed);
+        verify(trackerClient, times(3)).getChangeLogs(anyList());
+        verify(trackerClient, never()).getChangeLog(anyString(), any());
+        assertEquals(5, store.size());
+    }
+
+    @Test
+    void testPrefetcherStopsWhenPerformerBreaks() throws Exception {
+        ChangelogStore store = new ChangelogStore();
+        List<String> processed = new ArrayList<>();
+        ChangelogStore.Prefetcher<ITicket> prefetcher = store.prefetcher(trackerClient, 3, ticket -> {
+            processed.add(ticket.getKey());
+            return ticket.getKey().equals("PRJ-1");
+        });
+
+        List<ITicket> tickets = tickets(3);
+        assertFalse(prefetcher.perform(tickets.get(0)));
+        assertFalse(prefetcher.perform(tickets.get(1)));
+        assertTrue(prefetcher.perform(tickets.get(2)));
+        assertTrue(prefetcher.flush());
+
+        assertEquals(List.of("PRJ-0", "PRJ-1"), processed);
+    }
+
+    @Test
+    void testFailedPrefetchFallsBackToSingleRequests() throws Exception {
+        doThrow(new IOException("bulk is not available")).when(trackerClient).getChangeLogs(anyList());
+        ChangelogStore store = new ChangelogStore();
+
+        store.prefetch(trackerClient, tickets(2));
+        try (ChangelogStore.Scope ignored = store.open()) {
+            assertNotNull(ChangelogStore.getChangeLog(trackerClient, "PRJ-0", null));
+        }
+
+        verify(trackerClient, times(1)).getChangeLog("PRJ-0", null);
+    }
+
+    @Test
+    void testStoredHistoriesAreNotChangedByCallers() throws IOException {
+        ChangelogStore store = new ChangelogStore();
+        IHistory history = store.get(trackerClient, "PRJ-1", null).getHistories().get(0);
+
+        history.getCreated().add(Calendar.YEAR, 1);
+
+        assertEquals(2024, history.getCreated().get(Calendar.YEAR));
+        assertEquals("status", history.getHistoryItems().get(0).getField());
+    }
+
+    private static List<ITicket> tickets(int count) {
+        List<ITicket> tickets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ITicket ticket = mock(ITicket.class);
+            when(ticket.getKey()).thenReturn("PRJ-" + i);
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    private static IChangelog changelog() {
+        IHistory history = mock(IHistory.class);
+        Calendar created = Calendar.getInstance();
+        created.set(2024, Calendar.JANUARY, 10);
+        when(history.getCreated()).thenReturn(created);
+        List<IHistoryItem> items = Collections.singletonList(new IHistoryItem.Impl("status", "Open", "Done"));
+        doReturn(items).when(history).getHistoryItems();
+        IChangelog changelog = mock(IChangelog.class);
+        doReturn(Collections.singletonList(history)).when(changelog).getHistories();
+        return changelog;
+    }
+}
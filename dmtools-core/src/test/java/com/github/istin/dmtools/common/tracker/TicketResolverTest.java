@@ -0,0 +1,127 @@
+package com.github.istin.dmtools.common.tracker;
+
+import com.github.istin.dmtools.common.model.ITicket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TicketResolverTest {
+
+    private static final String[] FIELDS = {"summary", "description"};
+
+    private TrackerClient<ITicket> trackerClient;
+    private final Map<String, ITicket> tickets = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        for (String key : List.of("DMC-1", "DMC-2", "DMC-3")) {
+            ITicket ticket = mock(ITicket.class);
+            when(ticket.getKey()).thenReturn(key);
+            tickets.put(key, ticket);
+        }
+        trackerClient = mock(TrackerClient.class);
+        when(trackerClient.isBatchFetchSupported()).thenReturn(true);
+        when(trackerClient.performTickets(anyList(), any())).thenAnswer(invocation -> {
+            List<String> keys = invocation.getArgument(0);
+            List<ITicket> result = new ArrayList<>();
+            // Trackers return search results in their own order
+            for (int i = keys.size() - 1; i >= 0; i--) {
+                if (!keys.get(i).startsWith("GONE")) {
+                    result.add(tickets.get(keys.get(i)));
+                }
+            }
+            return result;
+        });
+        when(trackerClient.performTicket(anyString(), any())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            return tickets.get(key);
+        });
+    }
+
+    @Test
+    void testTicketsAreLoadedInBatchesAndReturnedInKeyOrder() throws IOException {
+        TicketResolver resolver = new TicketResolver(2);
+
+        Map<String, ITicket> resolved = resolver.resolveTickets(trackerClient, List.of("DMC-1", "DMC-2", "DMC-3"), FIELDS);
+
+        assertEquals(List.of("DMC-1", "DMC-2", "DMC-3"), new ArrayList<>(resolved.keySet()));
+        assertEquals("DMC-3", resolved.get("DMC-3").getKey());
+        verify(trackerClient).performTickets(List.of("DMC-1", "DMC-2"), FIELDS);
+        verify(trackerClient).performTickets(List.of("DMC-3"), FIELDS);
+        verify(trackerClient, never()).performTicket(anyString(), any());
+    }
+
+    @Test
+    void testResolvedKeysAreNotRequestedAgain() throws IOException {
+        TicketResolver resolver = new TicketResolver(50);
+
+        resolver.resolveTickets(trackerClient, List.of("DMC-1", "DMC-2"), FIELDS);
+        Map<String, ITicket> resolved = resolver.resolveTickets(trackerClient, List.of("DMC-2", "DMC-3", "DMC-1"), FIELDS);
+
+        assertEquals(List.of("DMC-2", "DMC-3", "DMC-1"), new ArrayList<>(resolved.keySet()));
+        verify(trackerClient).performTickets(List.of("DMC-1", "DMC-2"), FIELDS);
+        verify(trackerClient).performTickets(List.of("DMC-3"), FIELDS);
+        assertEquals(2, resolver.getHits());
+        assertEquals(2, resolver.getRequests());
+    }
+
+    @Test
+    void testMissingTicketsAreCheckedOnceAndRemembered() throws IOException {
+        TicketResolver resolver = new TicketResolver(50);
+
+        Map<String, ITicket> resolved = resolver.resolveTickets(trackerClient, List.of("DMC-1", "GONE-1"), FIELDS);
+        resolver.resolveTickets(trackerClient, List.of("GONE-1"), FIELDS);
+
+        assertEquals(List.of("DMC-1"), new ArrayList<>(resolved.keySet()));
+        verify(trackerClient, times(1)).performTicket("GONE-1", FIELDS);
+        verify(trackerClient, times(1)).performTickets(anyList(), any());
+    }
+
+    @Test
+    void testFailedBatchFallsBackToSingleRequests() throws IOException {
+        doThrow(new IOException("Bad request")).when(trackerClient).performTickets(anyList(), any());
+        TicketResolver resolver = new TicketResolver(50);
+
+        Map<String, ITicket> resolved = resolver.resolveTickets(trackerClient, List.of("DMC-1", "DMC-2"), FIELDS);
+
+        assertEquals(List.of("DMC-1", "DMC-2"), new ArrayList<>(resolved.keySet()));
+        verify(trackerClient).performTicket("DMC-1", FIELDS);
+        verify(trackerClient).performTicket("DMC-2", FIELDS);
+    }
+
+    @Test
+    void testTrackersWithoutBatchFetchAreRequestedPerKey() throws IOException {
+        doReturn(false).when(trackerClient).isBatchFetchSupported();
+        TicketResolver resolver = new TicketResolver(50);
+
+        Map<String, ITicket> resolved = resolver.resolveTickets(trackerClient, List.of("DMC-1", "DMC-2"), FIELDS);
+
+        assertEquals(List.of("DMC-1", "DMC-2"), new ArrayList<>(resolved.keySet()));
+        verify(trackerClient, never()).performTickets(anyList(), any());
+        verify(trackerClient).performTicket("DMC-1", FIELDS);
+        verify(trackerClient).performTicket("DMC-2", FIELDS);
+    }
+
+    @Test
+    void testFailedKeysAreNotRemembered() throws IOException {
+        doReturn(false).when(trackerClient).isBatchFetchSupported();
+        doThrow(new IOException("Timeout")).doReturn(tickets.get("DMC-1")).when(trackerClient).performTicket(eq("DMC-1"), any());
+        TicketResolver resolver = new TicketResolver(50);
+
+        Map<String, ITicket> first = resolver.resolveTickets(trackerClient, List.of("DMC-1"), FIELDS);
+        Map<String, ITicket> second = resolver.resolveTickets(trackerClient, List.of("DMC-1"), FIELDS);
+
+        assertTrue(first.isEmpty());
+        assertEquals(List.of("DMC-1"), new ArrayList<>(second.keySet()));
+    }
+}
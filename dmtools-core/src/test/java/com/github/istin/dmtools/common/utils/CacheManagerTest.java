@@ -0,0 +1,161 @@
+package com.github.istin.dmtools.common.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheManagerTest {
+
+    private static final Logger logger = LogManager.getLogger(CacheManagerTest.class);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConcurrentMissesCallSupplierOnce() throws Exception {
+        CacheManager cacheManager = new CacheManager(logger, 100, null);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> cacheManager.getOrComputeWithTTL("fields", () -> {
+                    calls.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "value";
+                }, 60_000)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> future : futures) {
+                assertEquals("value", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(1, cacheManager.getStats().getLoads());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        CacheManager cacheManager = new CacheManager(logger, 2, null);
+        cacheManager.getOrComputeSimple("a", () -> "1");
+        cacheManager.getOrComputeSimple("b", () -> "2");
+        cacheManager.getFromSimpleCache("a");
+        cacheManager.getOrComputeSimple("c", () -> "3");
+
+        assertEquals(2, cacheManager.getSimpleCacheSize());
+        assertEquals("1", cacheManager.getFromSimpleCache("a"));
+        assertNull(cacheManager.getFromSimpleCache("b"));
+        assertEquals(1, cacheManager.getStats().getEvictions());
+    }
+
+    @Test
+    void testNullIsNotCachedAndFailuresReachAllCallers() {
+        CacheManager cacheManager = new CacheManager(logger, 10, null);
+
+        assertNull(cacheManager.getOrComputeWithTTL("negative", () -> null, 60_000));
+        assertEquals("marker", cacheManager.getOrComputeWithTTL("negative", () -> "marker", 60_000));
+        assertEquals("marker", cacheManager.getOrComputeWithTTL("negative", () -> null, 60_000));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> cacheManager.getOrComputeSimple("failing", () -> {
+                    throw new IllegalStateException("failed");
+                }));
+        assertEquals("failed", exception.getMessage());
+        assertEquals(1, cacheManager.getStats().getLoadFailures());
+    }
+
+    @Test
+    void testEntryCloseToExpirationIsRefreshedInBackground() throws Exception {
+        CacheManager cacheManager = new CacheManager(logger, 10, null);
+        AtomicInteger version = new AtomicInteger();
+        long ttl = 1_000;
+
+        assertEquals(Integer.valueOf(0), cacheManager.<Integer>getOrComputeWithTTL("config", version::getAndIncrement, ttl));
+        Thread.sleep(850);
+        // Still valid: the cached value is returned and a reload starts in background
+        assertEquals(Integer.valueOf(0), cacheManager.<Integer>getOrComputeWithTTL("config", version::getAndIncrement, ttl));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cacheManager.getStats().getLoads() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Integer.valueOf(1), cacheManager.<Integer>getOrComputeWithTTL("config", version::getAndIncrement, ttl));
+        assertEquals(1, cacheManager.getStats().getRefreshes());
+    }
+
+    @Test
+    void testReadOnlyLookupDoesNotLoadOrRefresh() throws Exception {
+        CacheManager cacheManager = new CacheManager(logger, 10, null);
+        long ttl = 1_000;
+
+        assertNull(cacheManager.getIfPresentWithTTL("negativeField", ttl));
+        assertEquals(0, cacheManager.getTTLCacheSize());
+        cacheManager.getOrComputeWithTTL("negativeField", () -> "NOT_FOUND", ttl);
+        Thread.sleep(850);
+
+        assertEquals("NOT_FOUND", cacheManager.getIfPresentWithTTL("negativeField", ttl));
+        Thread.sleep(200);
+        assertEquals(1, cacheManager.getStats().getLoads());
+        assertEquals(0, cacheManager.getStats().getRefreshes());
+        assertNull(cacheManager.getIfPresentWithTTL("negativeField", ttl));
+        assertEquals(0, cacheManager.getTTLCacheSize());
+    }
+
+    @Test
+    void testRefreshWithoutValueIsNotCounted() throws Exception {
+        CacheManager cacheManager = new CacheManager(logger, 10, null);
+        long ttl = 1_000;
+
+        cacheManager.getOrComputeWithTTL("config", () -> "value", ttl);
+        Thread.sleep(850);
+        assertEquals("value", cacheManager.getOrComputeWithTTL("config", () -> null, ttl));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (cacheManager.getStats().getLoads() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, cacheManager.getStats().getLoads());
+        assertEquals(0, cacheManager.getStats().getRefreshes());
+    }
+
+    @Test
+    void testTTLEntriesSurviveRestartWithSnapshot() {
+        Path snapshot = tempDir.resolve("cache_manager.json");
+        CacheManager cacheManager = new CacheManager(logger, 10, snapshot);
+        cacheManager.getOrComputeWithTTL("fieldMapping_PROJ", () -> new ConcurrentHashMap<>(Map.of("Story Points", "customfield_10001")), 60_000);
+        cacheManager.getOrComputeWithTTL("projects", () -> List.of("PROJ", "TEST"), 60_000);
+        cacheManager.getOrComputeWithTTL("notPersisted", Object::new, 60_000);
+        cacheManager.getOrComputeSimple("simple", () -> "value");
+
+        CacheManager restarted = new CacheManager(logger, 10, snapshot);
+
+        assertEquals(2, restarted.getTTLCacheSize());
+        assertEquals(0, restarted.getSimpleCacheSize());
+        Map<String, String> mapping = restarted.getOrComputeWithTTL("fieldMapping_PROJ", () -> null, 60_000);
+        assertEquals("customfield_10001", mapping.get("Story Points"));
+        assertEquals(List.of("PROJ", "TEST"), restarted.getOrComputeWithTTL("projects", () -> null, 60_000));
+
+        restarted.clearAllMemoryCache();
+        assertEquals(0, new CacheManager(logger, 10, snapshot).getTTLCacheSize());
+    }
+}
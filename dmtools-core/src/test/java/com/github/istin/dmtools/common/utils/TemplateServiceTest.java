@@ -0,0 +1,66 @@
+package com.github.istin.dmtools.common.utils;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateServiceTest {
+
+    private final TemplateService templateService = TemplateService.getInstance();
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    void testPromptTemplateIsParsedOnce() throws Exception {
+        Template first = templateService.getPromptTemplate(classLoader, "convert_to_html");
+        Template second = templateService.getPromptTemplate(classLoader, "convert_to_html");
+
+        assertSame(first, second);
+        assertEquals("prompts/convert_to_html.md", first.getName());
+    }
+
+    @Test
+    void testXmlPromptIsUsedWhenThereIsNoMarkdown() throws Exception {
+        Template template = templateService.getPromptTemplate(classLoader, "agents/generic_request");
+
+        assertEquals("prompts/agents/generic_request.xml", template.getName());
+    }
+
+    @Test
+    void testMissingPromptThrows() {
+        IOException exception = assertThrows(IOException.class,
+                () -> templateService.getPromptTemplate(classLoader, "missing_prompt_template"));
+
+        assertTrue(exception.getMessage().contains("neither .md nor .xml"));
+    }
+
+    @Test
+    void testRenderReusesWriterAndRecordsStats() throws Exception {
+        Template template = new Template("inline_greeting", new StringReader("Hello ${name}!"),
+                new Configuration(Configuration.VERSION_2_3_27));
+
+        assertEquals("Hello A!", templateService.render(template, Map.of("name", "A")));
+        assertEquals("Hello B!", templateService.render(template, Map.of("name", "B")));
+
+        TemplateService.RenderStats stats = templateService.getRenderStats().get("inline_greeting");
+        assertNotNull(stats);
+        assertTrue(stats.getCount() >= 2);
+        assertTrue(stats.getMaxNanos() > 0);
+    }
+
+    @Test
+    void testWarmUpPrecompilesPromptsFromSubfolders() {
+        List<String> names = TemplateService.listPromptNames(classLoader);
+
+        assertTrue(names.contains("convert_to_html"));
+        assertTrue(names.contains("agents/generic_request"));
+        assertTrue(templateService.warmUpPrompts(classLoader) > 0);
+    }
+}
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -168,6 +169,91 @@ class MermaidIndexTest {
         verify(mockDiagramGenerator, times(1)).run(any());
     }
 
+    @Test
+    void testIndexSkipsMetadataOnlyUpdate() throws Exception {
+        String storagePath = tempDir.toString();
+        List<String> includePatterns = List.of("TEST/pages/790/MetadataPage");
+
+        Content content = createMockContent("790", "MetadataPage", "TEST", "<p>Content</p>");
+        when(content.getLastModifiedDate()).thenReturn(createDateDaysOffset(-1));
+        when(mockConfluence.contentById(eq("790"))).thenReturn(content);
+        when(mockConfluence.getContentAttachments(eq("790"))).thenReturn(new ArrayList<>());
+        when(mockDiagramGenerator.run(any())).thenReturn("flowchart TD\nA --> B");
+
+        new MermaidIndex("confluence", storagePath, includePatterns, new ArrayList<>(), mockConfluence, mockDiagramGenerator).index();
+        verify(mockDiagramGenerator, times(1)).run(any());
+        assertTrue(Files.exists(tempDir.resolve("confluence").resolve(MermaidIndexManifest.FILE_NAME)));
+
+        // Page was saved again without changes to its text
+        Content touchedContent = createMockContent("790", "MetadataPage", "TEST", "<p>Content</p>");
+        when(touchedContent.getLastModifiedDate()).thenReturn(createDateDaysOffset(1));
+        when(mockConfluence.contentById(eq("790"))).thenReturn(touchedContent);
+
+        new MermaidIndex("confluence", storagePath, includePatterns, new ArrayList<>(), mockConfluence, mockDiagramGenerator).index();
+
+        verify(mockDiagramGenerator, times(1)).run(any());
+    }
+
+    @Test
+    void testIndexGeneratesDiagramsConcurrently() throws Exception {
+        String storagePath = tempDir.toString();
+        List<String> includePatterns = List.of("TEST/pages/500/Parent/*");
+
+        Content parent = createMockContent("500", "Parent", "TEST", "<p>Parent</p>");
+        List<Content> children = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            children.add(createMockContent("50" + i, "Child" + i, "TEST", "<p>Child " + i + "</p>"));
+        }
+        when(mockConfluence.contentById(eq("500"))).thenReturn(parent);
+        when(mockConfluence.getChildrenOfContentById(eq("500"))).thenReturn(children);
+        when(mockConfluence.getContentAttachments(anyString())).thenReturn(new ArrayList<>());
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(mockDiagramGenerator.run(any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            running.decrementAndGet();
+            return "flowchart TD\nA --> B";
+        });
+
+        MermaidIndex index = new MermaidIndex("confluence", storagePath, includePatterns, new ArrayList<>(), mockConfluence, mockDiagramGenerator);
+        index.setConcurrency(3);
+        index.index();
+
+        verify(mockDiagramGenerator, times(9)).run(any());
+        assertTrue(maxRunning.get() > 1, "Diagrams should be generated concurrently");
+        assertTrue(maxRunning.get() <= 3, "Concurrency limit should be respected");
+    }
+
+    @Test
+    void testIndexResumesWithItemsNotFinishedInPreviousRun() throws Exception {
+        String storagePath = tempDir.toString();
+        List<String> includePatterns = List.of("TEST/pages/600/Parent/*");
+
+        Content parent = createMockContent("600", "Parent", "TEST", "<p>Parent</p>");
+        Content finished = createMockContent("601", "Finished", "TEST", "<p>Finished</p>");
+        Content failed = createMockContent("602", "Failed", "TEST", "<p>Failed</p>");
+        when(mockConfluence.contentById(eq("600"))).thenReturn(parent);
+        when(mockConfluence.getChildrenOfContentById(eq("600"))).thenReturn(List.of(finished, failed));
+        when(mockConfluence.getContentAttachments(anyString())).thenReturn(new ArrayList<>());
+        when(mockDiagramGenerator.run(argThat(params -> params != null && params.getContent().contains("Failed"))))
+                .thenThrow(new IllegalStateException("AI is not available"));
+        when(mockDiagramGenerator.run(argThat(params -> params != null && !params.getContent().contains("Failed"))))
+                .thenReturn("flowchart TD\nA --> B");
+
+        new MermaidIndex("confluence", storagePath, includePatterns, new ArrayList<>(), mockConfluence, mockDiagramGenerator).index();
+        verify(mockDiagramGenerator, times(3)).run(any());
+
+        reset(mockDiagramGenerator);
+        when(mockDiagramGenerator.run(any())).thenReturn("flowchart TD\nA --> B");
+
+        new MermaidIndex("confluence", storagePath, includePatterns, new ArrayList<>(), mockConfluence, mockDiagramGenerator).index();
+
+        verify(mockDiagramGenerator, times(1)).run(argThat(params -> params.getContent().contains("Failed")));
+        verifyNoMoreInteractions(mockDiagramGenerator);
+    }
+
     @Test
     void testUnsupportedIntegration() {
         // Given
@@ -266,4 +266,25 @@ class JavaScriptExecutorTest {
 
         assertNotNull(executor);
     }
+
+    @Test
+    void testExecutionsOfJobRunShareContext() throws Exception {
+        String js = "function action(params) { return params.ticket.key; }";
+        JavaScriptBridges bridges = new JavaScriptBridges();
+        int createdContexts = JavaScriptContexts.getCreatedContexts();
+        try {
+            for (String key : new String[] {"DMC-1", "DMC-2", "DMC-3"}) {
+                Object result = new JavaScriptExecutor(js, bridges)
+                    .mcp(mockTrackerClient, mockAI, mockConfluence, mockSourceCode)
+                    .with("ticket", new JSONObject().put("key", key))
+                    .execute();
+                assertEquals(key, result.toString());
+            }
+            assertEquals(1, bridges.getCreatedBridges());
+            assertEquals(createdContexts + 1, JavaScriptContexts.getCreatedContexts());
+        } finally {
+            bridges.close();
+        }
+        assertEquals(0, bridges.getCreatedBridges());
+    }
 }
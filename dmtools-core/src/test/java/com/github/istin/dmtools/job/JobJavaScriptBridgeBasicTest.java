@@ -212,4 +212,95 @@ class JobJavaScriptBridgeBasicTest {
         assertTrue(resultStr.contains("25"));
         assertTrue(resultStr.contains("john@example.com"));
     }
+
+    @Test
+    void testContextIsReusedWithinBridgeAndClosedWithIt() throws Exception {
+        String js = "function action(params) { return params.value * 2; }";
+        JSONObject params = new JSONObject().put("value", 21);
+
+        int createdContexts = JavaScriptContexts.getCreatedContexts();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(42.0, ((Number) bridge.executeJavaScript(js, params)).doubleValue(), 0.001);
+        }
+        assertEquals(createdContexts + 1, JavaScriptContexts.getCreatedContexts());
+
+        bridge.close();
+        assertEquals(42.0, ((Number) bridge.executeJavaScript(js, params)).doubleValue(), 0.001);
+        assertEquals(createdContexts + 2, JavaScriptContexts.getCreatedContexts());
+    }
+
+    @Test
+    void testGlobalsDoNotLeakBetweenBridges() throws Exception {
+        String js = """
+            function action(params) {
+                var previous = typeof globalThis.leaked;
+                globalThis.leaked = params.value;
+                return previous;
+            }
+            """;
+        JobJavaScriptBridge anotherBridge = new JobJavaScriptBridge(mockTrackerClient, mockAI, mockConfluence, mockSourceCode, null);
+        try {
+            assertEquals("undefined", bridge.executeJavaScript(js, new JSONObject().put("value", 1)).toString());
+            assertEquals("undefined", anotherBridge.executeJavaScript(js, new JSONObject().put("value", 2)).toString());
+        } finally {
+            anotherBridge.close();
+        }
+    }
+
+    @Test
+    void testScriptWithoutActionDoesNotRunPreviousGlobalAction() throws Exception {
+        String globalAction = "action = function(params) { return 'stale'; };";
+        assertEquals("stale", bridge.executeJavaScript(globalAction, new JSONObject()).toString());
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> bridge.executeJavaScript("var result = 1;", new JSONObject()));
+        assertTrue(error.getMessage().contains("must define an 'action' function"));
+    }
+
+    @Test
+    void testTopLevelDeclarationsDoNotLeakBetweenExecutions() throws Exception {
+        String js = """
+            const greeting = "Hello";
+            let counter = 0;
+            function action(params) {
+                counter++;
+                return greeting + " " + params.name + " " + counter;
+            }
+            """;
+
+        assertEquals("Hello A 1", bridge.executeJavaScript(js, new JSONObject().put("name", "A")).toString());
+        assertEquals("Hello B 1", bridge.executeJavaScript(js, new JSONObject().put("name", "B")).toString());
+    }
+
+    @Test
+    void testParametersArePassedWithoutModifyingCaller() throws Exception {
+        String js = """
+            function action(params) {
+                params.name = "changed";
+                params.user.age = params.user.age + 1;
+                var doubled = params.numbers.map(function(n) { return n * 2; });
+                return {
+                    keys: Object.keys(params).join(","),
+                    doubled: doubled,
+                    json: JSON.stringify(params.user),
+                    params: params
+                };
+            }
+            """;
+        JSONObject params = new JSONObject();
+        params.put("name", "original");
+        params.put("user", new JSONObject().put("age", 25));
+        params.put("numbers", new org.json.JSONArray().put(1).put(2).put(3));
+
+        JSONObject result = (JSONObject) bridge.executeJavaScript(js, params);
+
+        assertEquals("original", params.getString("name"));
+        assertEquals(25, params.getJSONObject("user").getInt("age"));
+        assertEquals(3, result.getString("keys").split(",").length);
+        assertEquals(3, result.getJSONArray("doubled").length());
+        assertEquals(6, result.getJSONArray("doubled").getInt(2));
+        assertEquals(26, new JSONObject(result.getString("json")).getInt("age"));
+        assertEquals("changed", result.getJSONObject("params").getString("name"));
+        assertEquals(26, result.getJSONObject("params").getJSONObject("user").getInt("age"));
+    }
 }
@@ -0,0 +1,252 @@
+package com.github.istin.dmtools.microsoft.ado;
+
+import com.github.istin.dmtools.microsoft.ado.model.WorkItem;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AzureDevOpsClientWiqlTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 7, 1);
+
+    @Test
+    void testCreatedDateRangeKeepsConditionsAndOrder() {
+        String query = "SELECT [System.Id] FROM WorkItems WHERE [System.State] = 'Active' OR [System.State] = 'New' ORDER BY [System.Id] DESC";
+
+        assertEquals("SELECT [System.Id] FROM WorkItems WHERE ([System.State] = 'Active' OR [System.State] = 'New') "
+                        + "AND [System.CreatedDate] >= '2024-01-01' AND [System.CreatedDate] < '2024-07-01' ORDER BY [System.Id] DESC",
+                AzureDevOpsClient.withCreatedDateRange(query, FROM, TO));
+    }
+
+    @Test
+    void testCreatedDateRangeWithoutConditions() {
+        assertEquals("SELECT [System.Id] FROM WorkItems WHERE [System.CreatedDate] >= '2024-01-01' AND [System.CreatedDate] < '2024-07-01'",
+                AzureDevOpsClient.withCreatedDateRange("SELECT [System.Id] FROM WorkItems", FROM, TO));
+    }
+
+    @Test
+    void testCreatedDateRangeWithOpenBounds() {
+        assertEquals("SELECT [System.Id] FROM WorkItems WHERE [System.CreatedDate] < '2024-07-01'",
+                AzureDevOpsClient.withCreatedDateRange("SELECT [System.Id] FROM WorkItems", null, TO));
+        assertEquals("SELECT [System.Id] FROM WorkItems WHERE [System.CreatedDate] >= '2024-01-01'",
+                AzureDevOpsClient.withCreatedDateRange("SELECT [System.Id] FROM WorkItems", FROM, null));
+    }
+
+    @Test
+    void testOrderByIsReplaced() {
+        assertEquals("SELECT [System.Id] FROM WorkItems where [System.State] = 'Active' ORDER BY [System.CreatedDate] ASC",
+                AzureDevOpsClient.withOrderBy("SELECT [System.Id] FROM WorkItems where [System.State] = 'Active' order by [System.Id]",
+                        "[System.CreatedDate] ASC"));
+    }
+
+    @Test
+    void testKeywordsInLiteralsAreIgnored() {
+        String query = "SELECT [System.Id] FROM WorkItems WHERE [System.Title] CONTAINS 'sort order by date' "
+                + "AND [System.Description] CONTAINS 'it''s where we are'";
+
+        assertEquals(query + " ORDER BY [System.CreatedDate] ASC",
+                AzureDevOpsClient.withOrderBy(query, "[System.CreatedDate] ASC"));
+        assertEquals("SELECT [System.Id] FROM WorkItems WHERE ([System.Title] CONTAINS 'sort order by date' "
+                        + "AND [System.Description] CONTAINS 'it''s where we are') "
+                        + "AND [System.CreatedDate] >= '2024-01-01' AND [System.CreatedDate] < '2024-07-01'",
+                AzureDevOpsClient.withCreatedDateRange(query, FROM, TO));
+    }
+
+    @Test
+    void testResultLimitErrorIsRecognized() {
+        assertTrue(AzureDevOpsClient.isResultLimitExceeded(new IOException(
+                "VS402337: The number of work items returned exceeds the size limit of 20000.")));
+        assertFalse(AzureDevOpsClient.isResultLimitExceeded(new IOException("TF51005: The query references a field that does not exist.")));
+    }
+
+    @Test
+    void testWorkItemsArePerformedInQueryOrderAcrossBatches() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 450; id > 0; id--) {
+            ids.add(id);
+        }
+        StubClient client = new StubClient(ids, 150);
+
+        List<Integer> performed = new ArrayList<>();
+        client.searchAndPerform(workItem -> {
+            performed.add(workItem.getId());
+            return false;
+        }, "SELECT [System.Id] FROM WorkItems ORDER BY [System.Id] DESC", null);
+
+        assertEquals(ids, performed);
+        assertEquals(3, client.requestedBatches.size());
+    }
+
+    @Test
+    void testNoBatchesAreRequestedAfterPerformerStops() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= 2000; id++) {
+            ids.add(id);
+        }
+        StubClient client = new StubClient(ids, 0);
+        client.setBatchPrefetch(2);
+
+        List<Integer> performed = new ArrayList<>();
+        client.searchAndPerform(workItem -> {
+            performed.add(workItem.getId());
+            return true;
+        }, "SELECT [System.Id] FROM WorkItems", null);
+        int requested = client.requestedBatches.size();
+        Thread.sleep(100);
+
+        assertEquals(List.of(1), performed);
+        // The first batch and the ones prefetched while it was performed, nothing after the performer stopped
+        assertTrue(requested <= 3, "requested " + requested);
+        assertEquals(requested, client.requestedBatches.size());
+    }
+
+    @Test
+    void testQueryOverResultLimitIsSplitByCreatedDate() throws Exception {
+        StubClient client = new StubClient(new ArrayList<>(), 0);
+        List<Integer> expected = new ArrayList<>();
+        // 40 work items created over 10 days, at most 5 results per query
+        for (int id = 1; id <= 40; id++) {
+            client.createdDates.put(id, FROM.plusDays(id % 10));
+            expected.add(id);
+        }
+        expected.sort(Comparator.comparing((Integer id) -> client.createdDates.get(id)).thenComparing(id -> id));
+        client.resultLimit = 5;
+
+        List<Integer> ids = client.queryWorkItemIds("SELECT [System.Id] FROM WorkItems WHERE [System.Title] CONTAINS 'order by'");
+
+        assertEquals(expected, ids);
+        // The first shard holds all work items and is split again until every range fits
+        assertTrue(client.queries.stream().filter(query -> query.contains("[System.CreatedDate] >=")).count() > AzureDevOpsClient.WIQL_SHARDS);
+        for (String query : client.queries) {
+            assertTrue(query.contains("CONTAINS 'order by'"), query);
+        }
+    }
+
+    @Test
+    void testOuterShardsAreOpenOnTheirOuterSide() throws Exception {
+        StubClient client = new StubClient(new ArrayList<>(), 0);
+        for (int id = 1; id <= 6; id++) {
+            client.createdDates.put(id, FROM.plusDays(id * 30L));
+        }
+        client.resultLimit = 5;
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), client.queryWorkItemIds("SELECT [System.Id] FROM WorkItems"));
+
+        List<String> shardQueries = client.queries.stream()
+                .filter(query -> query.contains("[System.CreatedDate] >=") || query.contains("[System.CreatedDate] <"))
+                .toList();
+        assertEquals(AzureDevOpsClient.WIQL_SHARDS, shardQueries.size());
+        // Shards are bounded in UTC dates, WIQL compares them in the profile's time zone
+        assertEquals(1, shardQueries.stream().filter(query -> !query.contains(">=")).count());
+        assertEquals(1, shardQueries.stream().filter(query -> !query.contains("<")).count());
+        for (String query : shardQueries) {
+            assertTrue(query.contains(">=") || query.contains("<"), query);
+        }
+    }
+
+    @Test
+    void testSingleDayOverResultLimitFails() throws Exception {
+        StubClient client = new StubClient(new ArrayList<>(), 0);
+        for (int id = 1; id <= 6; id++) {
+            client.createdDates.put(id, FROM);
+        }
+        client.resultLimit = 5;
+
+        IOException error = assertThrows(IOException.class,
+                () -> client.queryWorkItemIds("SELECT [System.Id] FROM WorkItems"));
+        assertTrue(AzureDevOpsClient.isResultLimitExceeded(error));
+    }
+
+    /**
+     * Answers WIQL queries and work item batches without ADO. Without created dates the query returns {@code ids},
+     * with them it returns the work items in the query's created date range ordered by creation date.
+     */
+    private static class StubClient extends AzureDevOpsClient {
+
+        private static final Pattern CREATED_FROM = Pattern.compile("\\[System\\.CreatedDate] >= '([\\d-]+)'");
+        private static final Pattern CREATED_TO = Pattern.compile("\\[System\\.CreatedDate] < '([\\d-]+)'");
+
+        private final List<Integer> ids;
+        private final long slowFirstBatchMs;
+        private final Map<Integer, LocalDate> createdDates = new ConcurrentHashMap<>();
+        private final List<Integer> requestedBatches = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> queries = Collections.synchronizedList(new ArrayList<>());
+        private int resultLimit = Integer.MAX_VALUE;
+
+        StubClient(List<Integer> ids, long slowFirstBatchMs) throws IOException {
+            super("organization", "project", "token");
+            this.ids = ids;
+            this.slowFirstBatchMs = slowFirstBatchMs;
+            setLogEnabled(false);
+        }
+
+        @Override
+        protected List<Integer> runWiql(String wiqlQuery, Integer top) throws IOException {
+            queries.add(wiqlQuery);
+            if (createdDates.isEmpty()) {
+                return ids;
+            }
+            LocalDate from = LocalDate.MIN;
+            LocalDate to = LocalDate.MAX;
+            Matcher fromBound = CREATED_FROM.matcher(wiqlQuery);
+            if (fromBound.find()) {
+                from = LocalDate.parse(fromBound.group(1));
+            }
+            Matcher toBound = CREATED_TO.matcher(wiqlQuery);
+            if (toBound.find()) {
+                to = LocalDate.parse(toBound.group(1));
+            }
+            List<Integer> result = new ArrayList<>();
+            for (Map.Entry<Integer, LocalDate> entry : createdDates.entrySet()) {
+                if (!entry.getValue().isBefore(from) && entry.getValue().isBefore(to)) {
+                    result.add(entry.getKey());
+                }
+            }
+            result.sort(Comparator.comparing((Integer id) -> createdDates.get(id)).thenComparing(id -> id));
+            if (top != null) {
+                return result.subList(0, Math.min(top, result.size()));
+            }
+            if (result.size() > resultLimit) {
+                throw new IOException("VS402337: The number of work items returned exceeds the size limit of " + resultLimit + ".");
+            }
+            return result;
+        }
+
+        @Override
+        protected List<WorkItem> getWorkItemsBatch(List<Integer> batchIds, String[] fields) throws IOException {
+            requestedBatches.add(batchIds.get(0));
+            if (slowFirstBatchMs > 0 && batchIds.get(0).equals(ids.get(0))) {
+                try {
+                    // Later batches complete first, they are still performed after this one
+                    Thread.sleep(slowFirstBatchMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            List<WorkItem> workItems = new ArrayList<>();
+            for (Integer id : new ArrayList<>(batchIds)) {
+                JSONObject workItemFields = new JSONObject();
+                LocalDate createdDate = createdDates.get(id);
+                if (createdDate != null) {
+                    workItemFields.put("System.CreatedDate", createdDate + "T10:00:00Z");
+                }
+                workItems.add(new WorkItem(new JSONObject().put("id", id).put("fields", workItemFields)));
+            }
+            return workItems;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.istin.dmtools.networking;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntegrationSchedulerTest {
+
+    @Test
+    void testRateLimitSpreadsRequestsBeyondBurst() throws Exception {
+        IntegrationScheduler scheduler = new IntegrationScheduler(new IntegrationScheduler.Limits(20, 4), Map.of());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 25; i++) {
+            scheduler.acquire("jira.example.com").close();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 20 requests fit into the burst, the other 5 are spread at 20 per second
+        assertTrue(elapsedMs >= 200, "Elapsed: " + elapsedMs);
+    }
+
+    @Test
+    void testRequestsInFlightAreLimitedPerHost() throws Exception {
+        IntegrationScheduler scheduler = new IntegrationScheduler(new IntegrationScheduler.Limits(0, 2), Map.of());
+        IntegrationScheduler.Permit first = scheduler.acquire("api.github.com");
+        IntegrationScheduler.Permit second = scheduler.acquire("api.github.com");
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        Thread waiting = Thread.ofVirtual().start(() -> {
+            try (IntegrationScheduler.Permit ignored = scheduler.acquire("api.github.com")) {
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        // Other hosts have their own permits
+        scheduler.acquire("jira.example.com").close();
+        first.close();
+        assertTrue(acquired.await(1, TimeUnit.SECONDS));
+        second.close();
+        waiting.join();
+    }
+
+    @Test
+    void testBackoffPausesOnlyThrottledHost() throws Exception {
+        IntegrationScheduler scheduler = new IntegrationScheduler(new IntegrationScheduler.Limits(0, 4), Map.of());
+
+        scheduler.backoff("api.github.com", 300);
+
+        long start = System.nanoTime();
+        scheduler.acquire("jira.example.com").close();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+        scheduler.acquire("api.github.com").close();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 250);
+    }
+
+    @Test
+    void testHostLimitsOverrideDefaults() {
+        IntegrationScheduler.Limits defaults = new IntegrationScheduler.Limits(0, 16);
+        Map<String, IntegrationScheduler.Limits> hostLimits = IntegrationScheduler.parseHostLimits(
+                "api.github.com:10:4, Jira.Example.com:20,invalid", defaults);
+        IntegrationScheduler scheduler = new IntegrationScheduler(defaults, hostLimits);
+
+        assertEquals(new IntegrationScheduler.Limits(10, 4), scheduler.getLimits("api.github.com"));
+        assertEquals(new IntegrationScheduler.Limits(20, 16), scheduler.getLimits("jira.example.com"));
+        assertEquals(defaults, scheduler.getLimits("dev.azure.com"));
+    }
+
+    @Test
+    void testThrottlingResponses() {
+        assertTrue(IntegrationScheduler.isThrottling(response(429, null)));
+        assertTrue(IntegrationScheduler.isThrottling(response(503, null)));
+        assertTrue(IntegrationScheduler.isThrottling(response(403, "0")));
+        assertFalse(IntegrationScheduler.isThrottling(response(403, null)));
+        assertFalse(IntegrationScheduler.isThrottling(response(200, "10")));
+    }
+
+    private static Response response(int code, String rateLimitRemaining) {
+        Response.Builder builder = new Response.Builder()
+                .request(new Request.Builder().url("https://api.github.com/search/code").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("");
+        if (rateLimitRemaining != null) {
+            builder.header("X-RateLimit-Remaining", rateLimitRemaining);
+        }
+        return builder.build();
+    }
+}
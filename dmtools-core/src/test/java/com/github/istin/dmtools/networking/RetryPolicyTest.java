@@ -181,4 +181,21 @@ class RetryPolicyTest {
         }
         assertTrue(hasVariation, "Jitter should create variation in delays");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should parse Retry-After given in seconds or as HTTP date")
+    void testParseRetryAfterMs() {
+        when(mockResponse.header("Retry-After")).thenReturn("120");
+        assertEquals(120000L, RetryPolicy.parseRetryAfterMs(mockResponse));
+
+        String inTenSeconds = java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(java.time.ZonedDateTime.now(java.time.ZoneOffset.UTC).plusSeconds(10));
+        when(mockResponse.header("Retry-After")).thenReturn(inTenSeconds);
+        long delay = RetryPolicy.parseRetryAfterMs(mockResponse);
+        assertTrue(delay > 8000 && delay <= 10000, "Delay until HTTP date: " + delay);
+
+        when(mockResponse.header("Retry-After")).thenReturn("invalid");
+        assertEquals(-1L, RetryPolicy.parseRetryAfterMs(mockResponse));
+        assertEquals(-1L, RetryPolicy.parseRetryAfterMs(null));
+    }
+}
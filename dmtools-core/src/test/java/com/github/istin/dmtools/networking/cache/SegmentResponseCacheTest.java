@@ -0,0 +1,183 @@
+package com.github.istin.dmtools.networking.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentResponseCacheTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    @TempDir
+    Path tempDir;
+
+    private SegmentResponseCache newCache(long maxBytes, long memoryBytes, long ttl) {
+        return new SegmentResponseCache(tempDir.toFile(), maxBytes, memoryBytes, ttl);
+    }
+
+    @Test
+    void testPutAndGet() {
+        SegmentResponseCache cache = newCache(MB, MB, 0);
+        assertNull(cache.get("missing"));
+
+        cache.put("key", "{\"key\":\"PRJ-1\",\"summary\":\"Ünïcødé\"}", "\"etag-1\"");
+        CachedResponse cached = cache.get("key");
+
+        assertNotNull(cached);
+        assertEquals("{\"key\":\"PRJ-1\",\"summary\":\"Ünïcødé\"}", cached.getBody());
+        assertEquals("\"etag-1\"", cached.getEtag());
+        assertFalse(cached.isExpired());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+        assertTrue(cache.getStats().getBytesWritten() > 0);
+    }
+
+    @Test
+    void testReadsFromSegmentWhenMemoryTierDisabled() {
+        SegmentResponseCache cache = newCache(MB, 0, 0);
+        cache.put("key", "body", null);
+
+        assertEquals("body", cache.get("key").getBody());
+        assertEquals(0, cache.getStats().getMemoryHits());
+        assertEquals(4, cache.getStats().getBytesRead());
+    }
+
+    @Test
+    void testConcurrentPutNeverPairsBodyWithAnotherEtag() throws Exception {
+        SegmentResponseCache cache = newCache(MB, 0, 0);
+        cache.put("key", "body-0", "etag-0");
+        Thread writer = Thread.ofVirtual().start(() -> {
+            for (int i = 1; i <= 2000; i++) {
+                cache.put("key", "body-" + i, "etag-" + i);
+            }
+        });
+        while (writer.isAlive()) {
+            CachedResponse cached = cache.get("key");
+            assertEquals(cached.getBody().substring("body-".length()), cached.getEtag().substring("etag-".length()));
+        }
+        writer.join();
+    }
+
+    @Test
+    void testEntriesSurviveReopenWithPersistedIndex() {
+        SegmentResponseCache cache = newCache(MB, MB, 0);
+        cache.put("a", "first", null);
+        cache.put("b", "second", "W/\"2\"");
+        cache.flush();
+
+        SegmentResponseCache reopened = newCache(MB, MB, 0);
+        assertEquals("first", reopened.get("a").getBody());
+        assertEquals("second", reopened.get("b").getBody());
+        assertEquals("W/\"2\"", reopened.get("b").getEtag());
+    }
+
+    @Test
+    void testEntriesAppendedAfterIndexFlushAreRecoveredByScan() {
+        SegmentResponseCache cache = newCache(MB, MB, 0);
+        cache.put("a", "first", null);
+        cache.flush();
+        cache.put("b", "second", null);
+        cache.put("a", "first-updated", null);
+
+        SegmentResponseCache reopened = newCache(MB, MB, 0);
+        assertEquals("first-updated", reopened.get("a").getBody());
+        assertEquals("second", reopened.get("b").getBody());
+        assertEquals(2, reopened.getEntryCount());
+    }
+
+    @Test
+    void testInvalidateIsPersisted() {
+        SegmentResponseCache cache = newCache(MB, MB, 0);
+        cache.put("a", "first", null);
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+
+        SegmentResponseCache reopened = newCache(MB, MB, 0);
+        assertNull(reopened.get("a"));
+    }
+
+    @Test
+    void testInvalidateIfOlderThanUsesIndex() {
+        SegmentResponseCache cache = newCache(MB, MB, 0);
+        cache.put("a", "first", null);
+        Long storedAt = cache.getStoredAt("a");
+        assertNotNull(storedAt);
+
+        assertFalse(cache.invalidateIfOlderThan("a", storedAt - 1000));
+        assertFalse(cache.invalidateIfOlderThan("a", null));
+        assertNotNull(cache.get("a"));
+
+        assertTrue(cache.invalidateIfOlderThan("a", storedAt + 1000));
+        assertNull(cache.getStoredAt("a"));
+    }
+
+    @Test
+    void testSizeCapEvictsLeastRecentlyUsed() {
+        long maxBytes = 64 * 1024;
+        SegmentResponseCache cache = newCache(maxBytes, 0, 0);
+        String body = "x".repeat(1000);
+        cache.put("hot", body, null);
+        for (int i = 0; i < 200; i++) {
+            cache.put("key" + i, body, null);
+            // keep "hot" recently used
+            assertNotNull(cache.get("hot"));
+        }
+
+        assertTrue(cache.getSegmentLength() <= maxBytes);
+        assertTrue(cache.getStats().getEvictions() > 0);
+        assertNull(cache.get("key0"));
+        assertNotNull(cache.get("key199"));
+        assertNotNull(cache.get("hot"));
+    }
+
+    @Test
+    void testTtlExpirationAndTouch() throws InterruptedException {
+        SegmentResponseCache cache = newCache(MB, MB, 50);
+        cache.put("a", "first", "\"v1\"");
+        assertFalse(cache.get("a").isExpired());
+
+        Thread.sleep(80);
+        CachedResponse expired = cache.get("a");
+        assertTrue(expired.isExpired());
+        assertTrue(expired.canRevalidate());
+
+        cache.touch("a");
+        assertFalse(cache.get("a").isExpired());
+        assertEquals(1, cache.getStats().getRevalidations());
+    }
+
+    @Test
+    void testTornTailIsTruncated() throws Exception {
+        SegmentResponseCache cache = newCache(MB, MB, 0);
+        cache.put("a", "first", null);
+        cache.put("b", "second", null);
+        long length = cache.getSegmentLength();
+
+        File segment = tempDir.resolve(SegmentStore.SEGMENT_FILE).toFile();
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(length - 3);
+        }
+
+        SegmentResponseCache reopened = newCache(MB, MB, 0);
+        assertEquals("first", reopened.get("a").getBody());
+        assertNull(reopened.get("b"));
+    }
+
+    @Test
+    void testClear() throws Exception {
+        SegmentResponseCache cache = newCache(MB, MB, 0);
+        cache.put("a", "first", null);
+        cache.flush();
+
+        cache.clear();
+
+        assertNull(cache.get("a"));
+        cache.put("b", "second", null);
+        assertEquals("second", cache.get("b").getBody());
+    }
+}
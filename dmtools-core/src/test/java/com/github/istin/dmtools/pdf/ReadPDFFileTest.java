@@ -1,5 +1,133 @@
 package com.github.istin.dmtools.pdf;
 
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
 public class ReadPDFFileTest {
 
-}
\ No newline at end of file
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testPagesAreDeliveredInPageOrder() throws Exception {
+        File pdf = createPdf(9, true);
+        File cacheFolder = temporaryFolder.newFolder("cache");
+        List<Integer> pageNumbers = new ArrayList<>();
+
+        int pageCount = ReadPDFFile.renderPages(pdf, cacheFolder, 3, page -> pageNumbers.add(page.getPageNumber()));
+
+        assertEquals(9, pageCount);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), pageNumbers);
+        assertTrue(new File(cacheFolder, "9/description.txt").exists());
+    }
+
+    @Test
+    public void testTextLayerPagesAreNotRendered() throws Exception {
+        File pdf = createPdf(2, true);
+        List<ReadPDFFile.RenderedPage> pages = new ArrayList<>();
+
+        ReadPDFFile.renderPages(pdf, temporaryFolder.newFolder("cache"), 2, pages::add);
+
+        for (ReadPDFFile.RenderedPage page : pages) {
+            assertNull(page.getPageSnapshot());
+            assertFalse(new File(page.getFolder(), "page_snapshot.png").exists());
+            assertTrue(page.getText().contains("Requirement"));
+        }
+    }
+
+    @Test
+    public void testPagesWithoutTextLayerAreRendered() throws Exception {
+        File pdf = createPdf(2, false);
+        List<ReadPDFFile.RenderedPage> pages = new ArrayList<>();
+
+        ReadPDFFile.renderPages(pdf, temporaryFolder.newFolder("cache"), 2, pages::add);
+
+        assertEquals(2, pages.size());
+        for (ReadPDFFile.RenderedPage page : pages) {
+            assertNotNull(page.getPageSnapshot());
+            assertTrue(page.getPageSnapshot().exists());
+        }
+    }
+
+    @Test
+    public void testSlowConsumerRunsOnCallerAndLimitsPagesAhead() throws Exception {
+        File pdf = createPdf(9, true);
+        File cacheFolder = temporaryFolder.newFolder("cache");
+        Thread caller = Thread.currentThread();
+        List<Integer> pagesDoneWhileWaiting = new ArrayList<>();
+
+        ReadPDFFile.renderPages(pdf, cacheFolder, 2, page -> {
+            assertSame(caller, Thread.currentThread());
+            if (page.getPageNumber() == 1) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                String[] pageFolders = cacheFolder.list();
+                pagesDoneWhileWaiting.add(pageFolders == null ? 0 : pageFolders.length);
+            }
+        });
+
+        // Page 1 is being consumed, workers may run 2 pages per worker ahead of it
+        assertTrue(pagesDoneWhileWaiting.get(0) <= 1 + 2 * ReadPDFFile.PAGES_AHEAD_PER_WORKER);
+    }
+
+    @Test(expected = IOException.class)
+    public void testConsumerFailureIsReported() throws Exception {
+        File pdf = createPdf(4, true);
+
+        ReadPDFFile.renderPages(pdf, temporaryFolder.newFolder("cache"), 2, page -> {
+            throw new IOException("Consumer failed");
+        });
+    }
+
+    @Test
+    public void testSnapshotDpiAdaptsToPageSize() {
+        // A4: 11.7 inches on the longest side
+        assertEquals(2000 / (PDRectangle.A4.getHeight() / 72f), ReadPDFFile.snapshotDpi(PDRectangle.A4, 0), 0.01f);
+        assertEquals(2600 / (PDRectangle.A4.getHeight() / 72f), ReadPDFFile.snapshotDpi(PDRectangle.A4, 5000), 0.01f);
+        assertEquals(ReadPDFFile.MAX_DPI, ReadPDFFile.snapshotDpi(new PDRectangle(300, 300), 0), 0.01f);
+        assertEquals(ReadPDFFile.MIN_DPI, ReadPDFFile.snapshotDpi(PDRectangle.A0, 0), 0.01f);
+    }
+
+    private File createPdf(int pages, boolean withText) throws IOException {
+        File file = temporaryFolder.newFile("document.pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                if (!withText) {
+                    continue;
+                }
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(font, 10);
+                    contentStream.newLineAtOffset(50, 780);
+                    for (int line = 0; line < 20; line++) {
+                        contentStream.showText("Requirement " + i + "." + line + ": the system shall export reports daily.");
+                        contentStream.newLineAtOffset(0, -14);
+                    }
+                    contentStream.endText();
+                }
+            }
+            document.save(file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.istin.dmtools.qa;
+
+import com.github.istin.dmtools.common.model.ITicket;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestCaseSimilarityIndexTest {
+
+    @Test
+    public void testSearchRanksMostSimilarFirst() throws Exception {
+        TestCaseSimilarityIndex index = new TestCaseSimilarityIndex();
+        index.sync(List.of(
+                testCase("TC-1", "Login with valid password", "User logs in"),
+                testCase("TC-2", "Export report to PDF", "Report is exported"),
+                testCase("TC-3", "Reset password via email", "Password reset link is sent"),
+                testCase("TC-4", "Logout", "User logs out")
+        ));
+
+        List<String> keys = keys(index.search("User resets the password with the email link", 2));
+
+        assertEquals(List.of("TC-3", "TC-1"), keys);
+    }
+
+    @Test
+    public void testTestCasesWithoutCommonTermsAreNotReturned() throws Exception {
+        TestCaseSimilarityIndex index = new TestCaseSimilarityIndex();
+        index.sync(List.of(testCase("TC-1", "Login with valid password", "User logs in")));
+
+        assertTrue(index.search("Export report", 10).isEmpty());
+    }
+
+    @Test
+    public void testSyncReindexesChangedAndDropsRemovedTestCases() throws Exception {
+        TestCaseSimilarityIndex index = new TestCaseSimilarityIndex();
+        List<ITicket> testCases = new ArrayList<>(List.of(
+                testCase("TC-1", "Login with valid password", "User logs in"),
+                testCase("TC-2", "Export report to PDF", "Report is exported"),
+                testCase("TC-3", "Logout", "User logs out")
+        ));
+        index.sync(testCases);
+
+        testCases.set(1, testCase("TC-2", "Export password policy", "Policy is exported"));
+        testCases.remove(2);
+        index.sync(testCases);
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("TC-2"), keys(index.search("policy", 10)));
+        assertTrue(index.search("logout", 10).isEmpty());
+    }
+
+    @Test
+    public void testTokenizeSkipsSingleCharsAndPunctuation() {
+        assertEquals(List.of("step", "open", "the", "app"), TestCaseSimilarityIndex.tokenize("Step 1: Open the App!"));
+    }
+
+    private static ITicket testCase(String key, String summary, String description) throws Exception {
+        ITicket ticket = mock(ITicket.class);
+        when(ticket.getKey()).thenReturn(key);
+        when(ticket.getTicketTitle()).thenReturn(summary);
+        when(ticket.getTicketDescription()).thenReturn(description);
+        return ticket;
+    }
+
+    private static List<String> keys(List<ITicket> testCases) {
+        List<String> keys = new ArrayList<>();
+        for (ITicket testCase : testCases) {
+            keys.add(testCase.getKey());
+        }
+        return keys;
+    }
+}
@@ -125,6 +125,7 @@ public class TestCasesGeneratorParamsTest {
             "jqlModifier.js"                    // jqlModifierJSAction
             , null                              // testCasesCreationRules
             , null                              // customTestCasesTracker
+            , 50                                // similarTestCasesTopK
         );
 
         assertTrue("Constructor should set enableParallelTestCaseCheck correctly",
@@ -639,4 +639,21 @@ public class TestCasesGeneratorTest {
         assertTrue("extraRules should contain content from page 1", capturedRules.contains("Rules from page 1"));
         assertTrue("extraRules should contain content from page 2", capturedRules.contains("Rules from page 2"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMatchToInputsKeepsRewrittenSummariesAndSameSummaryDuplicates() {
+        List<TestCaseGeneratorAgent.TestCase> inputs = List.of(
+                new TestCaseGeneratorAgent.TestCase("High", "Login with valid credentials", "User logs in with a valid password"),
+                new TestCaseGeneratorAgent.TestCase("High", "Login with valid credentials", "User logs in with SSO"),
+                new TestCaseGeneratorAgent.TestCase("Low", "Logout clears the session", "Session cookie is removed on logout"));
+        List<TestCaseGeneratorAgent.TestCase> kept = List.of(
+                new TestCaseGeneratorAgent.TestCase("High", "login with valid credentials.", "User logs in with a valid password"),
+                new TestCaseGeneratorAgent.TestCase("High", "Login With Valid Credentials", "User logs in with SSO"),
+                new TestCaseGeneratorAgent.TestCase("Low", "Verify logout clears session", "Session cookie is removed on logout"));
+
+        assertEquals(java.util.Set.of(0, 1, 2), TestCasesGenerator.matchToInputs(inputs, kept));
+        assertEquals(java.util.Set.of(2), TestCasesGenerator.matchToInputs(inputs, kept.subList(2, 3)));
+        assertEquals(java.util.Set.of(0), TestCasesGenerator.matchToInputs(inputs, kept.subList(0, 1)));
+        assertEquals(java.util.Set.of(1), TestCasesGenerator.matchToInputs(inputs, kept.subList(1, 2)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.istin.dmtools.reporting.datasource;
+
+import com.github.istin.dmtools.atlassian.jira.JiraClient;
+import com.github.istin.dmtools.common.model.ITicket;
+import com.github.istin.dmtools.common.tracker.TrackerClient;
+import com.github.istin.dmtools.metrics.Metric;
+import com.github.istin.dmtools.metrics.TrackerRule;
+import com.github.istin.dmtools.report.model.KeyTime;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TrackerDataSourceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAllMetricsAreCollectedInOneSearch() throws Exception {
+        TrackerClient<ITicket> trackerClient = mock(TrackerClient.class);
+        when(trackerClient.getDefaultQueryFields()).thenReturn(new String[]{"summary"});
+        ITicket ticket = mock(ITicket.class);
+        when(ticket.getKey()).thenReturn("PRJ-1");
+        when(ticket.getTicketKey()).thenReturn("PRJ-1");
+        doAnswer(invocation -> {
+            JiraClient.Performer<ITicket> performer = invocation.getArgument(0);
+            performer.perform(ticket);
+            return null;
+        }).when(trackerClient).searchAndPerform(any(JiraClient.Performer.class), anyString(), any(String[].class));
+
+        TrackerRule<ITicket> created = rule("created", Collections.singletonList("creator"));
+        TrackerRule<ITicket> failing = mock(TrackerRule.class);
+        when(failing.check(any(), any())).thenThrow(new IllegalStateException("broken rule"));
+        TrackerRule<ITicket> resolved = rule("resolved", Collections.singletonList("resolutiondate"));
+
+        List<String> collected = new ArrayList<>();
+        TrackerDataSource dataSource = new TrackerDataSource(trackerClient, "project = PRJ");
+        dataSource.performMetricsCollection(
+                Arrays.asList(new Metric("Created", created), new Metric("Failing", failing), new Metric("Resolved", resolved)),
+                Arrays.asList(
+                        (keyTimes, rawMetadata, itemKey) -> collected.add("Created:" + itemKey),
+                        (keyTimes, rawMetadata, itemKey) -> collected.add("Failing:" + itemKey),
+                        (keyTimes, rawMetadata, itemKey) -> collected.add("Resolved:" + itemKey)
+                ));
+
+        assertEquals(Arrays.asList("Created:PRJ-1", "Resolved:PRJ-1"), collected);
+        verify(trackerClient, times(1)).searchAndPerform(any(JiraClient.Performer.class), eq("project = PRJ"),
+                eq(new String[]{"summary", "creator", "resolutiondate"}));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TrackerRule<ITicket> rule(String who, List<String> fields) throws Exception {
+        TrackerRule<ITicket> rule = mock(TrackerRule.class);
+        when(rule.getRequiredExtraFields()).thenReturn(fields);
+        when(rule.check(any(), any())).thenReturn(Collections.singletonList(new KeyTime("PRJ-1", Calendar.getInstance(), who)));
+        return rule;
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.istin.dmtools.search;
+
+import com.github.istin.dmtools.ai.agent.KeywordGeneratorAgent;
+import com.github.istin.dmtools.ai.agent.SearchResultsAssessmentAgent;
+import com.github.istin.dmtools.context.ContextOrchestrator;
+import org.json.JSONArray;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AbstractSearchOrchestratorTest {
+
+    private KeywordGeneratorAgent keywordGeneratorAgent;
+    private SearchResultsAssessmentAgent assessmentAgent;
+    private ContextOrchestrator contextOrchestrator;
+    private List<String> assessedTexts;
+    private TestSearchOrchestrator orchestrator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keywordGeneratorAgent = mock(KeywordGeneratorAgent.class);
+        assessmentAgent = mock(SearchResultsAssessmentAgent.class);
+        contextOrchestrator = mock(ContextOrchestrator.class);
+        when(contextOrchestrator.summarize()).thenReturn(new ArrayList<>());
+
+        // Every item found is relevant
+        assessedTexts = Collections.synchronizedList(new ArrayList<>());
+        when(assessmentAgent.run(any())).thenAnswer(invocation -> {
+            SearchResultsAssessmentAgent.Params params = invocation.getArgument(0);
+            assessedTexts.add(params.getSearchResults());
+            JSONArray keys = new JSONArray();
+            for (String line : params.getSearchResults().split("\n")) {
+                keys.put(line.substring(0, line.indexOf(':')));
+            }
+            return keys;
+        });
+
+        orchestrator = new TestSearchOrchestrator(Map.of(
+                "docker", List.of("A-1:docker", "A-2:compose"),
+                "compose", List.of("a-2:compose", "A-3:swarm"),
+                "swarm", List.of("A-3:swarm")
+        ));
+        orchestrator.initAgents(keywordGeneratorAgent, null, null, assessmentAgent, contextOrchestrator);
+    }
+
+    @Test
+    void testAssessesOnlyNewItems() throws Exception {
+        when(keywordGeneratorAgent.run(any()))
+                .thenReturn(new JSONArray(List.of("docker")))
+                .thenReturn(new JSONArray(List.of("compose", "swarm")));
+
+        orchestrator.run("task", "", 10, 2);
+
+        String allAssessed = String.join("\n", assessedTexts);
+        assertEquals(1, countOccurrences(allAssessed, "A-1:docker"));
+        assertEquals(1, countOccurrences(allAssessed.toLowerCase(), "a-2:compose"));
+        assertEquals(1, countOccurrences(allAssessed, "A-3:swarm"));
+
+        SearchStats stats = orchestrator.getSearchStats();
+        assertEquals(3, stats.totalItemsProcessed);
+        assertEquals(2, stats.iterations.get(0).newItems);
+        assertEquals(1, stats.iterations.get(1).newItems);
+        assertEquals(1, stats.llmCallsSaved);
+        assertTrue(stats.tokensSaved > 0);
+    }
+
+    @Test
+    void testFetchesFullContentOncePerKey() throws Exception {
+        when(keywordGeneratorAgent.run(any()))
+                .thenReturn(new JSONArray(List.of("docker", "compose")))
+                .thenReturn(new JSONArray(List.of("swarm")));
+
+        orchestrator.run("task", "", 10, 2);
+
+        assertEquals(3, orchestrator.fullContentCalls.get());
+        verify(contextOrchestrator).processFullContent(eq("A-1"), eq("full A-1:docker"), any(), any(), anyInt());
+        verify(contextOrchestrator).processFullContent(eq("A-2"), eq("full A-2:compose"), any(), any(), anyInt());
+        verify(contextOrchestrator).processFullContent(eq("A-3"), eq("full A-3:swarm"), any(), any(), anyInt());
+        verify(contextOrchestrator, times(3)).processFullContent(any(), any(), any(), any(), anyInt());
+        assertEquals(Set.of("a-1", "a-2", "a-3"), orchestrator.getSearchStats().processedKeys);
+    }
+
+    @Test
+    void testKeyAssessedAgainInOtherCaseIsNotFetchedAgain() throws Exception {
+        when(keywordGeneratorAgent.run(any()))
+                .thenReturn(new JSONArray(List.of("docker")))
+                .thenReturn(new JSONArray(List.of("swarm")));
+        // The assessment of the second iteration names the already fetched A-1 in lower case
+        when(assessmentAgent.run(any()))
+                .thenReturn(new JSONArray(List.of("A-1", "A-2")))
+                .thenReturn(new JSONArray(List.of("a-1", "A-3")));
+
+        orchestrator.run("task", "", 10, 2);
+
+        assertEquals(3, orchestrator.fullContentCalls.get());
+        verify(contextOrchestrator, times(3)).processFullContent(any(), any(), any(), any(), anyInt());
+        assertEquals(Set.of("a-1", "a-2", "a-3"), orchestrator.getSearchStats().processedKeys);
+    }
+
+    private static int countOccurrences(String text, String value) {
+        int count = 0;
+        for (int index = text.indexOf(value); index >= 0; index = text.indexOf(value, index + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static class TestSearchOrchestrator extends AbstractSearchOrchestrator {
+
+        private final Map<String, List<String>> results;
+        final AtomicInteger fullContentCalls = new AtomicInteger();
+
+        TestSearchOrchestrator(Map<String, List<String>> results) {
+            this.results = results;
+        }
+
+        @Override
+        protected String getItemKey(Object item) {
+            String text = (String) item;
+            return text.substring(0, text.indexOf(':'));
+        }
+
+        @Override
+        protected String getKeyFieldValue() {
+            return "key";
+        }
+
+        @Override
+        protected String getSourceType() {
+            return "test";
+        }
+
+        @Override
+        protected String getFullItemContent(Object item, Object platformContext) {
+            fullContentCalls.incrementAndGet();
+            return "full " + item;
+        }
+
+        @Override
+        protected String getItemResourceKey(Object item) {
+            return getItemKey(item);
+        }
+
+        @Override
+        public List<?> searchItemsWithKeywords(String keyword, Object platformContext, int itemsLimit) {
+            return results.getOrDefault(keyword, List.of());
+        }
+
+        @Override
+        public Object createInitialPlatformContext() {
+            return null;
+        }
+    }
+}
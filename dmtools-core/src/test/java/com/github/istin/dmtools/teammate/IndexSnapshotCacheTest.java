@@ -0,0 +1,105 @@
+package com.github.istin.dmtools.teammate;
+
+import com.github.istin.dmtools.ai.ChunkPreparation;
+import com.github.istin.dmtools.common.model.ToText;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IndexSnapshotCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testIndexIsLoadedOncePerRun() throws Exception {
+        writeDiagram("SPACE/1/Page.mmd", "flowchart TD\nA --> B");
+        IndexSnapshotCache cache = new IndexSnapshotCache();
+        AtomicInteger loads = new AtomicInteger();
+        IndexSnapshotCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            return List.<ToText>of(() -> "flowchart TD\nA --> B");
+        };
+
+        IndexSnapshotCache.Snapshot first = cache.get("confluence", tempDir.toString(), loader);
+        IndexSnapshotCache.Snapshot second = cache.get("confluence", tempDir.toString(), loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertSame(first.getText(), second.getText());
+    }
+
+    @Test
+    void testIndexIsReloadedWhenDiagramsChange() throws Exception {
+        Path diagram = writeDiagram("SPACE/1/Page.mmd", "flowchart TD\nA --> B");
+        IndexSnapshotCache cache = new IndexSnapshotCache();
+        AtomicInteger loads = new AtomicInteger();
+        IndexSnapshotCache.Loader loader = () -> {
+            int version = loads.incrementAndGet();
+            return List.of(() -> "version " + version);
+        };
+
+        cache.get("confluence", tempDir.toString(), loader);
+        Files.writeString(diagram, "flowchart TD\nA --> B --> C");
+        Files.setLastModifiedTime(diagram, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+        IndexSnapshotCache.Snapshot changed = cache.get("confluence", tempDir.toString(), loader);
+        writeDiagram("SPACE/2/Other.mmd", "flowchart TD\nC --> D");
+        cache.get("confluence", tempDir.toString(), loader);
+
+        assertEquals(3, loads.get());
+        assertTrue(changed.getText().contains("version 2"));
+    }
+
+    @Test
+    void testChunksAreSharedByLimitsWithinOneStep() throws Exception {
+        writeDiagram("SPACE/1/Page.mmd", "flowchart TD\nA --> B");
+        IndexSnapshotCache cache = new IndexSnapshotCache();
+        ChunkPreparation chunkPreparation = mock(ChunkPreparation.class);
+        ChunkPreparation.Chunk chunk = new ChunkPreparation.Chunk("flowchart TD\nA --> B", null, 0);
+        when(chunkPreparation.prepareChunks(any(), anyInt())).thenReturn(List.of(chunk));
+
+        IndexSnapshotCache.Snapshot snapshot = cache.get("confluence", tempDir.toString(), () -> List.of(() -> "flowchart TD\nA --> B"));
+        List<ChunkPreparation.Chunk> first = snapshot.getChunks(4100, chunkPreparation);
+        List<ChunkPreparation.Chunk> second = snapshot.getChunks(4600, chunkPreparation);
+        snapshot.getChunks(5000, chunkPreparation);
+
+        assertEquals(List.of(chunk), first);
+        assertEquals(List.of(chunk), second);
+        verify(chunkPreparation, times(1)).prepareChunks(any(), eq(4096));
+        verify(chunkPreparation, times(1)).prepareChunks(any(), eq(4608));
+        verifyNoMoreInteractions(chunkPreparation);
+    }
+
+    @Test
+    void testMissingIndexFolderIsNotCached() throws Exception {
+        IndexSnapshotCache cache = new IndexSnapshotCache();
+        AtomicInteger loads = new AtomicInteger();
+        IndexSnapshotCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            return List.of();
+        };
+
+        cache.get("confluence", tempDir.resolve("missing").toString(), loader);
+        cache.get("confluence", tempDir.resolve("missing").toString(), loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private Path writeDiagram(String relativePath, String content) throws Exception {
+        Path path = tempDir.resolve("confluence").resolve(relativePath);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+        return path;
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.istin.dmtools.auth.controller;
 
 import com.github.istin.dmtools.server.service.McpConfigurationResolverService;
+import com.github.istin.dmtools.server.util.SseEvents;
 
 import com.github.istin.dmtools.auth.model.jsonrpc.JsonRpcRequest;
 import com.github.istin.dmtools.auth.model.jsonrpc.JsonRpcResponse;
@@ -161,12 +162,7 @@ public class DynamicMCPController {
     }
     
     private void sendSseEvent(SseEmitter emitter, String data) throws IOException {
-        try {
-            emitter.send(SseEmitter.event().data(data));
-        } catch (IllegalStateException e) {
-            logger.warn("Emitter already completed, skipping send");
-            throw e;
-        }
+        SseEvents.send(emitter, data);
     }
 
     private void handleInitialize(SseEmitter emitter, Object id, JSONObject params, String configId, HttpServletRequest request) throws Exception {
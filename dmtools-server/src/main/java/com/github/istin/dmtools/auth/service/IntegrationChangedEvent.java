@@ -0,0 +1,18 @@
+package com.github.istin.dmtools.auth.service;
+
+/**
+ * Published by {@link IntegrationService} when an integration's configuration or access changes,
+ * so that clients built from the previous configuration are not used anymore.
+ */
+public class IntegrationChangedEvent {
+
+    private final String integrationId;
+
+    public IntegrationChangedEvent(String integrationId) {
+        this.integrationId = integrationId;
+    }
+
+    public String getIntegrationId() {
+        return integrationId;
+    }
+}
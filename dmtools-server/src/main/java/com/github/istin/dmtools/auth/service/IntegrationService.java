@@ -15,6 +15,7 @@ import com.github.istin.dmtools.common.model.IUser;
 import com.github.istin.dmtools.common.model.ITicket;
 import com.github.istin.dmtools.common.tracker.TrackerClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,6 +48,7 @@ public class IntegrationService {
     private final WorkspaceRepository workspaceRepo;
     private final EncryptionUtils encryptionUtils;
     private final IntegrationConfigurationLoader configurationLoader;
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public IntegrationService(
@@ -68,6 +70,17 @@ public class IntegrationService {
         this.configurationLoader = configurationLoader;
     }
 
+    @Autowired(required = false)
+    public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    private void publishIntegrationChanged(String integrationId) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new IntegrationChangedEvent(integrationId));
+        }
+    }
+
     /**
      * Get all integrations accessible to a user.
      *
@@ -356,6 +369,7 @@ public class IntegrationService {
         }
         
         Integration updatedIntegration = integrationRepository.save(integration);
+        publishIntegrationChanged(integrationId);
         // Get categories for this integration type
         List<String> categories = getCategoriesForIntegrationType(updatedIntegration.getType());
         return IntegrationDto.fromEntityWithCategories(updatedIntegration, categories);
@@ -390,6 +404,7 @@ public class IntegrationService {
         
         // Delete the integration and all remaining related entities
         integrationRepository.delete(integration);
+        publishIntegrationChanged(integrationId);
     }
 
     /**
@@ -421,6 +436,7 @@ public class IntegrationService {
         
         integration.setEnabled(enabled);
         Integration updatedIntegration = integrationRepository.save(integration);
+        publishIntegrationChanged(integrationId);
         // Get categories for this integration type
         List<String> categories = getCategoriesForIntegrationType(updatedIntegration.getType());
         return IntegrationDto.fromEntityWithCategories(updatedIntegration, categories);
@@ -506,6 +522,7 @@ public class IntegrationService {
         
         // Remove the user's access
         userRepository.deleteByIntegrationAndUser(integration, targetUser);
+        publishIntegrationChanged(integrationId);
     }
 
     /**
@@ -608,6 +625,7 @@ public class IntegrationService {
         
         // Remove the integration from the workspace
         workspaceRepository.deleteByIntegrationAndWorkspace(integration, workspace);
+        publishIntegrationChanged(integrationId);
     }
 
     /**
@@ -3,7 +3,9 @@ package com.github.istin.dmtools.server;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.istin.dmtools.dto.ChatRequest;
 import com.github.istin.dmtools.dto.ChatResponse;
+import com.github.istin.dmtools.dto.ToolCallRequest;
 import com.github.istin.dmtools.auth.service.UserService;
+import com.github.istin.dmtools.server.util.SseEvents;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,13 +16,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.File;
 import java.io.IOException;
@@ -47,6 +52,8 @@ public class ChatController {
     @Autowired
     private UserService userService;
 
+    private static final long STREAM_TIMEOUT_MILLIS = 10 * 60 * 1000L;
+
     @PostMapping("/completions")
     @Operation(
         summary = "Chat Completions with MCP Tools Support", 
@@ -182,6 +189,83 @@ public class ChatController {
         }
     }
 
+    @PostMapping(value = "/completions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Streaming Chat Completions with MCP Tools Support",
+        description = "Same as /completions, but progress is streamed as server-sent events: 'tool_call' and 'tool_result' " +
+                     "while MCP tools run, 'message' with parts of the response content, and finally 'done' with the " +
+                     "complete ChatResponse or 'error'."
+    )
+    public SseEmitter chatCompletionsStream(@RequestBody ChatRequest request, Authentication authentication) {
+        logger.info("Received streaming chat completions request with {} messages",
+                   request.getMessages() != null ? request.getMessages().size() : 0);
+        
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        
+        String userId = null;
+        try {
+            if (authentication != null) {
+                userId = getUserId(authentication);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to extract user ID from authentication: {}", e.getMessage());
+        }
+        
+        String streamUserId = userId;
+        // The agent loop can take minutes, don't hold the request thread
+        Thread.ofVirtual().name("chat-stream").start(() -> {
+            try {
+                ChatResponse response = chatService.streamChat(request, streamUserId, new SseChatStreamListener(emitter));
+                SseEvents.send(emitter, response.isSuccess() ? "done" : "error", objectMapper.writeValueAsString(response));
+                emitter.complete();
+            } catch (Exception e) {
+                logger.error("Error streaming chat response", e);
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Forwards chat progress to the client as server-sent events.
+     */
+    private static class SseChatStreamListener implements ChatStreamListener {
+
+        private final SseEmitter emitter;
+
+        SseChatStreamListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onToolCallStarted(ToolCallRequest toolCall) {
+            send("tool_call", new JSONObject()
+                    .put("tool", toolCall.getToolName())
+                    .put("reason", toolCall.getReason()));
+        }
+
+        @Override
+        public void onToolCallCompleted(ToolCallRequest toolCall, boolean success) {
+            send("tool_result", new JSONObject()
+                    .put("tool", toolCall.getToolName())
+                    .put("success", success));
+        }
+
+        @Override
+        public void onContent(String content) {
+            send("message", new JSONObject().put("content", content));
+        }
+
+        private void send(String name, JSONObject data) {
+            try {
+                SseEvents.send(emitter, name, data.toString());
+            } catch (Exception e) {
+                // client went away, the chat request still completes
+                logger.debug("Failed to send {} event: {}", name, e.getMessage());
+            }
+        }
+    }
+
     @PostMapping(value = "/completions-with-files", consumes = {"multipart/form-data"})
     @Operation(
         summary = "Chat Completions with File Upload and MCP Tools",
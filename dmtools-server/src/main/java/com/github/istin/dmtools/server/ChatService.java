@@ -1,6 +1,7 @@
 package com.github.istin.dmtools.server;
 
 import com.github.istin.dmtools.ai.AI;
+import com.github.istin.dmtools.ai.AIStreamHandler;
 import com.github.istin.dmtools.ai.Message;
 
 
@@ -16,15 +17,24 @@ import com.github.istin.dmtools.server.service.McpConfigurationResolverService;
 import com.github.istin.dmtools.di.ServerManagedIntegrationsModule;
 import com.github.istin.dmtools.ai.agent.ToolSelectorAgent;
 import com.github.istin.dmtools.dto.ToolCallRequest;
+import com.github.istin.dmtools.mcp.MCPToolDefinition;
+import com.github.istin.dmtools.mcp.generated.MCPToolRegistry;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 @Service
 public class ChatService {
@@ -37,6 +47,17 @@ public class ChatService {
     @Autowired
     private McpConfigurationResolverService mcpConfigurationResolverService;
 
+    /**
+     * Max number of tool calls of one chat iteration running at the same time against one integration of a user.
+     */
+    @Value("${dmtools.chat.tool-calls.max-per-integration:4}")
+    private int maxToolCallsPerIntegration = 4;
+
+    // Tool calls mostly wait for HTTP responses, a virtual thread per call is enough
+    private final ExecutorService toolCallExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<String, Semaphore> integrationPermits = new ConcurrentHashMap<>();
+
     public ChatResponse chat(ChatRequest request) {
         return chat(request, null);
     }
@@ -50,7 +71,14 @@ public class ChatService {
     }
 
     public ChatResponse chatWithFiles(ChatRequest request, List<File> files, String userId) {
-        return processChatRequest(request, files, userId);
+        return processChatRequest(request, files, userId, null);
+    }
+
+    /**
+     * Processes the chat request and reports tool calls and response content to {@code listener} as they happen.
+     */
+    public ChatResponse streamChat(ChatRequest request, String userId, ChatStreamListener listener) {
+        return processChatRequest(request, null, userId, listener);
     }
 
     public ChatResponse simpleChatMessage(String message, String model, String aiIntegrationId, String userId) {
@@ -60,13 +88,13 @@ public class ChatService {
         request.setModel(model);
         request.setAi(aiIntegrationId); // Set AI integration ID if provided
         
-        return processChatRequest(request, null, userId);
+        return processChatRequest(request, null, userId, null);
     }
 
     /**
      * Main processing method that handles all chat request types with unified resolution logic
      */
-    private ChatResponse processChatRequest(ChatRequest request, List<File> files, String userId) {
+    private ChatResponse processChatRequest(ChatRequest request, List<File> files, String userId, ChatStreamListener listener) {
         try {
             // Validate request
             if (request.getMessages() == null || request.getMessages().isEmpty()) {
@@ -95,12 +123,12 @@ public class ChatService {
                 toolsResult = mcpConfigurationResolverService.getToolsListAsMap(mcpConfigResult);
             } catch (Exception e) {
                 logger.error("Failed to load MCP tools for config {}: {}", request.getMcpConfigId(), e.getMessage());
-                return chatWithoutTools(messages, request, aiToUse);
+                return chatWithoutTools(messages, request, aiToUse, listener);
             }
             
-            return chatWithMcpTools(messages, request, aiToUse, toolsResult, mcpConfigResult);
+            return chatWithMcpTools(messages, request, aiToUse, toolsResult, mcpConfigResult, listener);
         } else {
-            return chatWithoutTools(messages, request, aiToUse);
+            return chatWithoutTools(messages, request, aiToUse, listener);
         }
             
         } catch (Exception e) {
@@ -109,20 +137,30 @@ public class ChatService {
         }
     }
 
-    private ChatResponse chatWithoutTools(List<Message> messages, ChatRequest request, AI aiToUse) throws Exception {
+    private ChatResponse chatWithoutTools(List<Message> messages, ChatRequest request, AI aiToUse, ChatStreamListener listener) throws Exception {
         // Use the AI service to get response without tools
-        String response;
-        if (request.getModel() != null && !request.getModel().trim().isEmpty()) {
-            response = aiToUse.chat(request.getModel(), messages.toArray(new Message[0]));
-        } else {
-            response = aiToUse.chat(messages.toArray(new Message[0]));
-        }
+        String response = complete(aiToUse, request.getModel(), messages.toArray(new Message[0]), listener);
         
         logger.info("Successfully processed chat request without tools");
         return ChatResponse.success(response);
     }
 
-    private ChatResponse chatWithMcpTools(List<Message> messages, ChatRequest request, AI aiToUse, Map<String, Object> toolsResult, McpConfigurationResolverService.McpConfigurationResult mcpConfigResult) {
+    /**
+     * Gets the AI response, streaming it to the listener token by token when there is one.
+     */
+    private String complete(AI aiToUse, String model, Message[] messages, ChatStreamListener listener) throws Exception {
+        boolean hasModel = model != null && !model.trim().isEmpty();
+        if (listener == null) {
+            return hasModel ? aiToUse.chat(model, messages) : aiToUse.chat(messages);
+        }
+        AIStreamHandler handler = delta -> {
+            listener.onContent(delta);
+            return true;
+        };
+        return hasModel ? aiToUse.chatStream(model, handler, messages) : aiToUse.chatStream(handler, messages);
+    }
+
+    private ChatResponse chatWithMcpTools(List<Message> messages, ChatRequest request, AI aiToUse, Map<String, Object> toolsResult, McpConfigurationResolverService.McpConfigurationResult mcpConfigResult, ChatStreamListener listener) {
         try {
             logger.info("Processing chat request with MCP tools enabled using ToolSelectorAgent workflow");
             
@@ -132,7 +170,7 @@ public class ChatService {
             
             if (availableTools == null || availableTools.isEmpty()) {
                 logger.warn("No MCP tools available for config {}, falling back to regular chat", request.getMcpConfigId());
-                return chatWithoutTools(messages, request, aiToUse);
+                return chatWithoutTools(messages, request, aiToUse, listener);
             }
             
             logger.info("Found {} MCP tools available for config {}", availableTools.size(), request.getMcpConfigId());
@@ -177,7 +215,7 @@ public class ChatService {
                 
                 // Execute selected tools and add results to working messages
                 ToolExecutionResult iterationResult = executeToolsAndPrepareMessages(
-                    workingMessages, selectedToolCalls, mcpConfigResult);
+                    workingMessages, selectedToolCalls, mcpConfigResult, listener);
                 
                 // Update working messages with new tool results
                 workingMessages = iterationResult.messages;
@@ -197,15 +235,13 @@ public class ChatService {
                 iteration, allSelectedToolCalls.size());
             
             // Step 4: Send all messages to AI for final response
-            String finalResponse;
-            if (request.getModel() != null && !request.getModel().trim().isEmpty()) {
-                finalResponse = aiToUse.chat(request.getModel(), workingMessages.toArray(new Message[0]));
-            } else {
-                finalResponse = aiToUse.chat(workingMessages.toArray(new Message[0]));
-            }
+            String finalResponse = complete(aiToUse, request.getModel(), workingMessages.toArray(new Message[0]), listener);
             
             // Step 5: Format final response with tool execution information
             String formattedResponse = formatFinalResponseWithToolInfo(finalResponse, allSelectedToolCalls, allToolResults);
+            if (listener != null && finalResponse != null && formattedResponse.length() > finalResponse.length()) {
+                listener.onContent(formattedResponse.substring(finalResponse.length()));
+            }
             
             logger.info("Successfully processed chat request with MCP tools using ToolSelectorAgent workflow");
             return ChatResponse.success(formattedResponse);
@@ -215,7 +251,7 @@ public class ChatService {
             // Fallback to regular chat if tool integration fails
             logger.warn("Falling back to regular chat without tools");
             try {
-                return chatWithoutTools(messages, request, aiToUse);
+                return chatWithoutTools(messages, request, aiToUse, listener);
             } catch (Exception fallbackError) {
                 logger.error("Error in fallback chat", fallbackError);
                 return ChatResponse.error("Failed to process chat request: " + e.getMessage());
@@ -364,11 +400,13 @@ public class ChatService {
     }
 
     /**
-     * Executes selected tools and prepares messages with results inserted before last user message
+     * Executes selected tools and prepares messages with results inserted before last user message.
+     * Independent tool calls run concurrently, results are inserted in the order the tools were selected.
      */
     private ToolExecutionResult executeToolsAndPrepareMessages(List<Message> originalMessages, 
                                                          List<ToolCallRequest> toolCalls, 
-                                                         McpConfigurationResolverService.McpConfigurationResult mcpConfigResult) {
+                                                         McpConfigurationResolverService.McpConfigurationResult mcpConfigResult,
+                                                         ChatStreamListener listener) {
         List<Message> messagesWithResults = new ArrayList<>(originalMessages);
         
         // If no tools were selected, return original messages
@@ -391,56 +429,144 @@ public class ChatService {
             lastUserMessageIndex = messagesWithResults.size();
         }
         
-        // Execute each tool and insert results as model messages before the last user message
+        // Execute tools and insert results as model messages before the last user message
+        List<ToolCallOutcome> outcomes = executeToolCalls(toolCalls, mcpConfigResult, listener);
         List<String> toolExecutionResults = new ArrayList<>();
+        for (ToolCallOutcome outcome : outcomes) {
+            toolExecutionResults.add(outcome.toolResult);
+            messagesWithResults.add(lastUserMessageIndex, outcome.message);
+            lastUserMessageIndex++; // Adjust index for next insertion
+        }
+        
+        logger.info("Executed {} tools and inserted results into message chain", toolCalls.size());
+        return new ToolExecutionResult(messagesWithResults, toolExecutionResults);
+    }
+
+    /**
+     * Runs the tool calls on virtual threads, at most {@link #maxToolCallsPerIntegration} at a time per integration.
+     *
+     * @return outcomes in the order of {@code toolCalls}
+     */
+    private List<ToolCallOutcome> executeToolCalls(List<ToolCallRequest> toolCalls,
+                                                   McpConfigurationResolverService.McpConfigurationResult mcpConfigResult,
+                                                   ChatStreamListener listener) {
+        List<ToolCallOutcome> outcomes = new ArrayList<>(toolCalls.size());
+        if (toolCalls.size() == 1) {
+            outcomes.add(executeToolCall(toolCalls.get(0), mcpConfigResult, listener));
+            return outcomes;
+        }
+        
+        List<Future<ToolCallOutcome>> futures = new ArrayList<>(toolCalls.size());
         for (ToolCallRequest toolCall : toolCalls) {
+            Semaphore permits = integrationPermits.computeIfAbsent(
+                mcpConfigResult.getUserId() + ":" + getToolIntegration(toolCall.getToolName()),
+                key -> new Semaphore(Math.max(1, maxToolCallsPerIntegration)));
+            futures.add(toolCallExecutor.submit(() -> {
+                permits.acquire();
+                try {
+                    return executeToolCall(toolCall, mcpConfigResult, listener);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        
+        for (int i = 0; i < futures.size(); i++) {
+            ToolCallRequest toolCall = toolCalls.get(i);
             try {
-                logger.info("Executing tool: {} with arguments: {}", toolCall.getToolName(), toolCall.getArguments());
-                
-                // Execute the tool
-                Object result = mcpConfigurationResolverService.executeToolCallRaw(
-                    mcpConfigResult, toolCall.getToolName(), toolCall.getArguments());
-
-                if (result instanceof ToText) {
-                    result = ((ToText) result).toText();
-                } else if (result instanceof String jsonString) {
-                    if (jsonString.startsWith("[") && jsonString.endsWith("]") ||
-                            jsonString.startsWith("{") && jsonString.endsWith("}")) {
-                        result = LLMOptimizedJson.format(jsonString);
-                    }
+                outcomes.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.subList(i, futures.size()).forEach(future -> future.cancel(true));
+                for (int j = i; j < toolCalls.size(); j++) {
+                    outcomes.add(ToolCallOutcome.error(toolCalls.get(j), "Tool execution was interrupted"));
                 }
-                String resultString = result != null ? result.toString() : "Tool executed successfully but returned no result.";
-                
-                // Store result for final response formatting
-                String toolReason = (toolCall.getReason() != null && !toolCall.getReason().trim().isEmpty()) 
-                    ? String.format(" (%s)", toolCall.getReason()) 
-                    : "";
-                toolExecutionResults.add(resultString);
-                
-                // Create model message with tool execution result
-                Message toolResultMessage = new Message("model",
-                    String.format("Tool execution result for '%s'%s: %s", toolCall.getToolName(), toolReason, resultString),
-                    null);
-                
-                // Insert before the last user message
-                messagesWithResults.add(lastUserMessageIndex, toolResultMessage);
-                lastUserMessageIndex++; // Adjust index for next insertion
-                
-            } catch (Exception e) {
-                logger.error("Failed to execute tool {}: {}", toolCall.getToolName(), e.getMessage());
-                
-                String errorMsg = String.format("Error executing tool '%s': %s", toolCall.getToolName(), e.getMessage());
-                toolExecutionResults.add(String.format("Tool: %s\nError: %s", toolCall.getToolName(), e.getMessage()));
-                
-                // Create model message with error
-                Message errorMessage = new Message("model", errorMsg, null);
-                messagesWithResults.add(lastUserMessageIndex, errorMessage);
-                lastUserMessageIndex++;
+                break;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                outcomes.add(ToolCallOutcome.error(toolCall, cause.getMessage()));
             }
         }
-        
-        logger.info("Executed {} tools and inserted results into message chain", toolCalls.size());
-        return new ToolExecutionResult(messagesWithResults, toolExecutionResults);
+        return outcomes;
+    }
+
+    private ToolCallOutcome executeToolCall(ToolCallRequest toolCall,
+                                            McpConfigurationResolverService.McpConfigurationResult mcpConfigResult,
+                                            ChatStreamListener listener) {
+        if (listener != null) {
+            listener.onToolCallStarted(toolCall);
+        }
+        try {
+            logger.info("Executing tool: {} with arguments: {}", toolCall.getToolName(), toolCall.getArguments());
+            
+            // Execute the tool
+            Object result = mcpConfigurationResolverService.executeToolCallRaw(
+                mcpConfigResult, toolCall.getToolName(), toolCall.getArguments());
+
+            if (result instanceof ToText) {
+                result = ((ToText) result).toText();
+            } else if (result instanceof String jsonString) {
+                if (jsonString.startsWith("[") && jsonString.endsWith("]") ||
+                        jsonString.startsWith("{") && jsonString.endsWith("}")) {
+                    result = LLMOptimizedJson.format(jsonString);
+                }
+            }
+            String resultString = result != null ? result.toString() : "Tool executed successfully but returned no result.";
+            
+            String toolReason = (toolCall.getReason() != null && !toolCall.getReason().trim().isEmpty()) 
+                ? String.format(" (%s)", toolCall.getReason()) 
+                : "";
+            
+            // Create model message with tool execution result
+            Message toolResultMessage = new Message("model",
+                String.format("Tool execution result for '%s'%s: %s", toolCall.getToolName(), toolReason, resultString),
+                null);
+            if (listener != null) {
+                listener.onToolCallCompleted(toolCall, true);
+            }
+            return new ToolCallOutcome(resultString, toolResultMessage);
+            
+        } catch (Exception e) {
+            logger.error("Failed to execute tool {}: {}", toolCall.getToolName(), e.getMessage());
+            if (listener != null) {
+                listener.onToolCallCompleted(toolCall, false);
+            }
+            return ToolCallOutcome.error(toolCall, e.getMessage());
+        }
+    }
+
+    /**
+     * @return integration type the tool belongs to, e.g. {@code jira}; used to limit concurrent calls per integration
+     */
+    private String getToolIntegration(String toolName) {
+        MCPToolDefinition tool = toolName != null ? MCPToolRegistry.getTool(toolName) : null;
+        if (tool != null && tool.getIntegration() != null) {
+            return tool.getIntegration();
+        }
+        if (toolName == null) {
+            return "";
+        }
+        int separator = toolName.indexOf('_') > 0 ? toolName.indexOf('_') : toolName.indexOf('-');
+        return separator > 0 ? toolName.substring(0, separator) : toolName;
+    }
+
+    /**
+     * Result of one tool call: text for the final response details and the message added to the conversation
+     */
+    private static class ToolCallOutcome {
+        final String toolResult;
+        final Message message;
+
+        ToolCallOutcome(String toolResult, Message message) {
+            this.toolResult = toolResult;
+            this.message = message;
+        }
+
+        static ToolCallOutcome error(ToolCallRequest toolCall, String error) {
+            String errorMsg = String.format("Error executing tool '%s': %s", toolCall.getToolName(), error);
+            return new ToolCallOutcome(String.format("Tool: %s\nError: %s", toolCall.getToolName(), error),
+                new Message("model", errorMsg, null));
+        }
     }
 
     /**
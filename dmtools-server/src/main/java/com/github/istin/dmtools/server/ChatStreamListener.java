@@ -0,0 +1,22 @@
+package com.github.istin.dmtools.server;
+
+import com.github.istin.dmtools.dto.ToolCallRequest;
+
+/**
+ * Receives progress of a chat request while {@link ChatService} processes it.
+ * Tool call callbacks may come from several threads at once, as independent tool calls run concurrently.
+ */
+public interface ChatStreamListener {
+
+    default void onToolCallStarted(ToolCallRequest toolCall) {
+    }
+
+    default void onToolCallCompleted(ToolCallRequest toolCall, boolean success) {
+    }
+
+    /**
+     * Next part of the response content, parts are delivered in order.
+     */
+    default void onContent(String content) {
+    }
+}
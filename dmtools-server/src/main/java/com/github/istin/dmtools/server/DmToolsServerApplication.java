@@ -1,5 +1,6 @@
 package com.github.istin.dmtools.server;
 
+import com.github.istin.dmtools.common.utils.TemplateService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -32,6 +33,7 @@ public class DmToolsServerApplication {
 
         @Override
         public void onApplicationEvent(ApplicationReadyEvent event) {
+            TemplateService.warmUpPromptsIfEnabled();
             // Open Swagger UI since we deleted the settings page
             systemCommandService.openBrowser(baseUrl + "/swagger-ui.html");
         }
@@ -12,6 +12,7 @@ import com.github.istin.dmtools.diagram.DiagramsCreator;
 import com.github.istin.dmtools.documentation.DocumentationGenerator;
 import com.github.istin.dmtools.estimations.JEstimator;
 import com.github.istin.dmtools.expert.Expert;
+import com.github.istin.dmtools.job.AbstractJob;
 import com.github.istin.dmtools.job.Job;
 import com.github.istin.dmtools.job.JobParams;
 import com.github.istin.dmtools.job.Params;
@@ -67,7 +68,13 @@ public class JobService {
             if (job.getName().equalsIgnoreCase(jobParams.getName())) {
                 Object paramsByClass = jobParams.getParamsByClass(job.getParamsClass());
                 initMetadata(job, paramsByClass);
-                job.runJob(paramsByClass);
+                try {
+                    job.runJob(paramsByClass);
+                } finally {
+                    if (job instanceof AbstractJob) {
+                        ((AbstractJob<?, ?>) job).closeJavaScriptBridges();
+                    }
+                }
                 return;
             }
         }
@@ -0,0 +1,162 @@
+package com.github.istin.dmtools.server.service;
+
+import com.github.istin.dmtools.auth.service.IntegrationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps integration client instances created for MCP tool calls, so consecutive tool calls of the same user
+ * reuse the clients (and their caches and open connections) instead of building new ones per call.
+ * <p>
+ * Entries are keyed by user, integration IDs and the configuration version of each integration. The version is
+ * bumped when {@link com.github.istin.dmtools.auth.service.IntegrationService} changes an integration, which makes
+ * all entries built from the previous configuration unreachable; they are removed right away. Entries which were
+ * not used for the idle timeout are evicted on access.
+ */
+@Component
+public class IntegrationClientPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(IntegrationClientPool.class);
+
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Creates client instances by type (jira, confluence, ...) for the given integrations.
+     */
+    @FunctionalInterface
+    public interface ClientFactory {
+        Map<String, Object> create(String userId, List<String> integrationIds) throws Exception;
+    }
+
+    private final long idleTimeoutMillis;
+
+    private final Map<String, PooledClients> entries = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile long lastSweep = System.currentTimeMillis();
+
+    public IntegrationClientPool(@Value("${dmtools.mcp.client-pool.idle-minutes:15}") long idleMinutes) {
+        this.idleTimeoutMillis = TimeUnit.MINUTES.toMillis(idleMinutes);
+    }
+
+    /**
+     * @return pooled client instances for the user and integrations, created by {@code factory} if there are none
+     */
+    public Map<String, Object> getClients(String userId, List<String> integrationIds, ClientFactory factory) throws Exception {
+        long now = System.currentTimeMillis();
+        if (now - lastSweep > SWEEP_INTERVAL_MILLIS) {
+            evictIdle(now);
+        }
+
+        String key = key(userId, integrationIds);
+        PooledClients pooled = entries.get(key);
+        if (pooled != null) {
+            pooled.lastAccess = now;
+            hits.incrementAndGet();
+            return pooled.clients;
+        }
+
+        misses.incrementAndGet();
+        Map<String, Object> clients = factory.create(userId, integrationIds);
+        if (clients.isEmpty()) {
+            // nothing could be created (e.g. integration not accessible), don't keep the failure
+            return clients;
+        }
+        PooledClients created = new PooledClients(Collections.unmodifiableMap(new HashMap<>(clients)),
+                new HashSet<>(integrationIds), now);
+        PooledClients existing = entries.putIfAbsent(key, created);
+        if (existing != null) {
+            // another request built the same clients concurrently, use the pooled ones
+            existing.lastAccess = now;
+            return existing.clients;
+        }
+        // the integration may have changed while the clients were built
+        if (!key.equals(key(userId, integrationIds))) {
+            entries.remove(key, created);
+        }
+        logger.debug("Pooled {} client instances for user {} with integrations {}", clients.size(), userId, integrationIds);
+        return created.clients;
+    }
+
+    /**
+     * Drops all client instances built from {@code integrationId}; the next tool call builds them from the current configuration.
+     */
+    public void invalidateIntegration(String integrationId) {
+        versions.computeIfAbsent(integrationId, id -> new AtomicLong()).incrementAndGet();
+        int removed = 0;
+        for (Iterator<PooledClients> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().integrationIds.contains(integrationId)) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            logger.info("Invalidated {} pooled client sets for integration {}", removed, integrationId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIntegrationChanged(IntegrationChangedEvent event) {
+        invalidateIntegration(event.getIntegrationId());
+    }
+
+    /**
+     * Drops all pooled client instances.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    void evictIdle(long now) {
+        lastSweep = now;
+        entries.values().removeIf(pooled -> now - pooled.lastAccess > idleTimeoutMillis);
+    }
+
+    private String key(String userId, List<String> integrationIds) {
+        List<String> sorted = new ArrayList<>(integrationIds);
+        Collections.sort(sorted);
+        StringBuilder key = new StringBuilder(userId);
+        for (String integrationId : sorted) {
+            AtomicLong version = versions.get(integrationId);
+            key.append('|').append(integrationId).append('@').append(version != null ? version.get() : 0);
+        }
+        return key.toString();
+    }
+
+    private static final class PooledClients {
+        private final Map<String, Object> clients;
+        private final Set<String> integrationIds;
+        private volatile long lastAccess;
+
+        private PooledClients(Map<String, Object> clients, Set<String> integrationIds, long lastAccess) {
+            this.clients = clients;
+            this.integrationIds = integrationIds;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
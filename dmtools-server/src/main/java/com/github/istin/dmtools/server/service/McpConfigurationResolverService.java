@@ -33,16 +33,19 @@ public class McpConfigurationResolverService {
     private final IntegrationService integrationService;
     private final IntegrationResolutionHelper integrationResolutionHelper;
     private final FileDownloadService fileDownloadService;
+    private final IntegrationClientPool integrationClientPool;
 
     public McpConfigurationResolverService(
             McpConfigurationService mcpConfigurationService,
             IntegrationService integrationService,
             IntegrationResolutionHelper integrationResolutionHelper,
-            FileDownloadService fileDownloadService) {
+            FileDownloadService fileDownloadService,
+            IntegrationClientPool integrationClientPool) {
         this.mcpConfigurationService = mcpConfigurationService;
         this.integrationService = integrationService;
         this.integrationResolutionHelper = integrationResolutionHelper;
         this.fileDownloadService = fileDownloadService;
+        this.integrationClientPool = integrationClientPool;
     }
 
     /**
@@ -219,8 +222,8 @@ public class McpConfigurationResolverService {
             
             logger.info("Executing tool {} for integrations: {}", toolName, configResult.getIntegrationTypes());
             
-            // Create client instances
-            Map<String, Object> clientInstances = createClientInstances(userId, integrationIds);
+            // Reuse pooled client instances, they are created only on the first call for this user and configuration
+            Map<String, Object> clientInstances = integrationClientPool.getClients(userId, integrationIds, this::createClientInstances);
             
             // Convert JSONObject arguments to Map with proper type conversion
             Map<String, Object> argumentsMap = new HashMap<>();
@@ -253,6 +256,7 @@ public class McpConfigurationResolverService {
 
     /**
      * Creates client instances for the given user and integration IDs.
+     * Tool calls go through {@link IntegrationClientPool}, which calls this only when there are no pooled instances.
      */
     public Map<String, Object> createClientInstances(String userId, List<String> integrationIds) throws Exception {
         if (userId == null || integrationIds == null) {
@@ -0,0 +1,43 @@
+package com.github.istin.dmtools.server.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Sends server-sent events; shared by the MCP stream endpoint and chat streaming.
+ */
+public class SseEvents {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseEvents.class);
+
+    private SseEvents() {
+    }
+
+    /**
+     * Sends an unnamed event with {@code data}.
+     */
+    public static void send(SseEmitter emitter, String data) throws IOException {
+        send(emitter, null, data);
+    }
+
+    /**
+     * Sends event {@code name} with {@code data}.
+     *
+     * @throws IllegalStateException if the emitter is already completed
+     */
+    public static void send(SseEmitter emitter, String name, String data) throws IOException {
+        SseEmitter.SseEventBuilder event = SseEmitter.event().data(data);
+        if (name != null) {
+            event.name(name);
+        }
+        try {
+            emitter.send(event);
+        } catch (IllegalStateException e) {
+            logger.warn("Emitter already completed, skipping send");
+            throw e;
+        }
+    }
+}
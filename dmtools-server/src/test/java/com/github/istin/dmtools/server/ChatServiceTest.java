@@ -1,6 +1,7 @@
 package com.github.istin.dmtools.server;
 
 import com.github.istin.dmtools.ai.AI;
+import com.github.istin.dmtools.ai.AIStreamHandler;
 import com.github.istin.dmtools.ai.ConversationObserver;
 import com.github.istin.dmtools.ai.Message;
 import com.github.istin.dmtools.ai.agent.ToolSelectorAgent;
@@ -16,6 +17,7 @@ import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedConstruction;
@@ -31,6 +33,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -61,6 +64,8 @@ class ChatServiceTest {
         lenient().when(mockAI.chat(anyString())).thenReturn("Mock AI response");
         lenient().when(mockAI.chat(anyString(), any(Message[].class))).thenReturn("Mock AI response");
         lenient().when(mockAI.chat(any(Message[].class))).thenReturn("Mock AI response");
+        lenient().when(mockAI.chatStream(anyString(), any(AIStreamHandler.class), any(Message[].class))).thenCallRealMethod();
+        lenient().when(mockAI.chatStream(any(AIStreamHandler.class), any(Message[].class))).thenCallRealMethod();
     }
 
     /**
@@ -568,4 +573,82 @@ class ChatServiceTest {
         }
     }
 
-} 
\ No newline at end of file
+    @Test
+    void testChatWithMcpTools_IndependentToolCallsRunConcurrentlyInOrder() throws Exception {
+        ToolCallRequest slowCall = new ToolCallRequest("jira_get_ticket", "Get ticket", Map.of("key", "DMC-1"));
+        ToolCallRequest fastCall = new ToolCallRequest("confluence_get_content", "Get page", Map.of("title", "Page"));
+        try (MockedConstruction<ServerManagedIntegrationsModule> mockedIntegrationsModule =
+                mockConstruction(ServerManagedIntegrationsModule.class,
+                    (mock, context) -> when(mock.createAI()).thenReturn(mockAI));
+             MockedConstruction<ToolSelectorAgent> mockedToolSelector =
+                mockConstruction(ToolSelectorAgent.class,
+                    (mock, context) -> when(mock.run(any()))
+                        .thenReturn(Arrays.asList(slowCall, fastCall))
+                        .thenReturn(Arrays.asList()))) {
+
+            // Given
+            String userId = "user123";
+            String mcpConfigId = "mcp-config-123";
+            ChatRequest request = new ChatRequest(
+                Arrays.asList(new ChatMessage("user", "Compare ticket and page", null)), "test-model", null, mcpConfigId);
+
+            when(integrationResolutionHelper.resolveUserFirstAIIntegration(userId)).thenReturn(new JSONObject());
+
+            McpConfigurationResolverService.McpConfigurationResult mcpConfigResult = mock(McpConfigurationResolverService.McpConfigurationResult.class);
+            when(mcpConfigurationResolverService.resolveMcpConfiguration(mcpConfigId)).thenReturn(mcpConfigResult);
+            when(mcpConfigurationResolverService.getToolsListAsMap(mcpConfigResult)).thenReturn(Map.of(
+                "tools", Arrays.asList(
+                    Map.of("name", "jira_get_ticket", "description", "Get ticket"),
+                    Map.of("name", "confluence_get_content", "description", "Get page"))));
+
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            when(mcpConfigurationResolverService.executeToolCallRaw(eq(mcpConfigResult), anyString(), anyMap()))
+                .thenAnswer(invocation -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        if ("jira_get_ticket".equals(invocation.getArgument(1))) {
+                            Thread.sleep(200);
+                            return "ticket result";
+                        }
+                        Thread.sleep(50);
+                        return "page result";
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                });
+
+            List<String> events = Collections.synchronizedList(new java.util.ArrayList<>());
+            ChatStreamListener listener = new ChatStreamListener() {
+                @Override
+                public void onToolCallStarted(ToolCallRequest toolCall) {
+                    events.add("start:" + toolCall.getToolName());
+                }
+
+                @Override
+                public void onContent(String content) {
+                    events.add("content");
+                }
+            };
+
+            // When
+            ChatResponse response = chatService.streamChat(request, userId, listener);
+
+            // Then
+            assertTrue(response.isSuccess());
+            assertEquals(2, maxRunning.get());
+            assertTrue(events.contains("start:jira_get_ticket"));
+            assertTrue(events.contains("start:confluence_get_content"));
+            assertTrue(events.contains("content"));
+
+            ArgumentCaptor<Message[]> finalMessages = ArgumentCaptor.forClass(Message[].class);
+            verify(mockAI).chat(eq("test-model"), finalMessages.capture());
+            Message[] sent = finalMessages.getValue();
+            assertEquals(3, sent.length);
+            assertTrue(sent[0].getText().contains("ticket result"));
+            assertTrue(sent[1].getText().contains("page result"));
+            assertEquals("user", sent[2].getRole());
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.github.istin.dmtools.server.service;
+
+import com.github.istin.dmtools.auth.service.IntegrationChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntegrationClientPoolTest {
+
+    private IntegrationClientPool pool;
+    private AtomicInteger created;
+    private IntegrationClientPool.ClientFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        pool = new IntegrationClientPool(15);
+        created = new AtomicInteger();
+        factory = (userId, integrationIds) -> {
+            created.incrementAndGet();
+            Map<String, Object> clients = new HashMap<>();
+            for (String integrationId : integrationIds) {
+                clients.put(integrationId, new Object());
+            }
+            return clients;
+        };
+    }
+
+    @Test
+    void testClientsAreReusedForSameUserAndIntegrations() throws Exception {
+        Map<String, Object> first = pool.getClients("user1", Arrays.asList("jira", "confluence"), factory);
+        Map<String, Object> second = pool.getClients("user1", Arrays.asList("confluence", "jira"), factory);
+
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+    }
+
+    @Test
+    void testClientsAreNotSharedBetweenUsers() throws Exception {
+        Map<String, Object> first = pool.getClients("user1", List.of("jira"), factory);
+        Map<String, Object> second = pool.getClients("user2", List.of("jira"), factory);
+
+        assertNotSame(first, second);
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    void testChangedIntegrationInvalidatesItsClients() throws Exception {
+        Map<String, Object> jira = pool.getClients("user1", List.of("jira"), factory);
+        Map<String, Object> figma = pool.getClients("user1", List.of("figma"), factory);
+
+        pool.onIntegrationChanged(new IntegrationChangedEvent("jira"));
+
+        assertNotSame(jira, pool.getClients("user1", List.of("jira"), factory));
+        assertSame(figma, pool.getClients("user1", List.of("figma"), factory));
+        assertEquals(3, created.get());
+    }
+
+    @Test
+    void testIdleClientsAreEvicted() throws Exception {
+        pool.getClients("user1", List.of("jira"), factory);
+        assertEquals(1, pool.size());
+
+        pool.evictIdle(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5));
+        assertEquals(1, pool.size());
+
+        pool.evictIdle(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(16));
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    void testEmptyResultIsNotPooled() throws Exception {
+        IntegrationClientPool.ClientFactory failing = (userId, integrationIds) -> {
+            created.incrementAndGet();
+            return new HashMap<>();
+        };
+
+        pool.getClients("user1", List.of("jira"), failing);
+        pool.getClients("user1", List.of("jira"), failing);
+
+        assertEquals(2, created.get());
+        assertEquals(0, pool.size());
+    }
+}
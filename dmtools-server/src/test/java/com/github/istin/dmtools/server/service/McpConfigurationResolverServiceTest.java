@@ -17,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -44,6 +45,9 @@ class McpConfigurationResolverServiceTest {
     @Mock
     private FileDownloadService fileDownloadService;
 
+    @Spy
+    private IntegrationClientPool integrationClientPool = new IntegrationClientPool(15);
+
     @InjectMocks
     private McpConfigurationResolverService mcpConfigurationResolverService;
 